@@ -84,6 +84,60 @@ public interface ExternalTaskClientBuilder {
    */
   ExternalTaskClientBuilder defaultSerializationFormat(String defaultSerializationFormat);
 
+  /**
+   * Buffers completions, failures and BPMN errors reported through the
+   * {@link org.camunda.bpm.client.task.ExternalTaskService} and sends them to the engine in
+   * a single bulk request, either once <code>flushSize</code> operations are buffered or at
+   * the latest every <code>flushInterval</code> milliseconds. All buffered operations are
+   * handled in one transaction on engine side.
+   *
+   * NOTE: Buffered operations are sent asynchronously. Errors, e.g. due to an expired lock,
+   *       are logged instead of being thrown to the handler. Choose a flush interval that
+   *       is considerably shorter than the lock duration.
+   *
+   * This information is optional. By default, every operation is sent immediately.
+   *
+   * @param flushSize the maximum number of buffered operations, must be greater than zero
+   * @param flushInterval the maximum time in milliseconds an operation is buffered, must be greater than zero
+   * @return the builder
+   */
+  ExternalTaskClientBuilder bufferCompletions(int flushSize, long flushInterval);
+
+  /**
+   * Executes the external task handlers on a bounded pool of handler threads instead of
+   * the thread which fetches and locks the tasks. Fetching continues while handlers are
+   * still running, so a slow handler does not delay the tasks of other topics. Each fetch
+   * and lock request asks for at most as many tasks as there are free handler threads,
+   * limited by {@link #maxTasks(int)}; when all handlers are busy, no tasks are fetched.
+   *
+   * NOTE: Handlers of all topics may be called concurrently and must be thread-safe.
+   *       Requests to the engine share a connection pool which allows at most five
+   *       connections per route by default, see the system property
+   *       <code>http.maxConnections</code>.
+   *
+   * This information is optional. By default, all handlers are called one after another
+   * on the fetching thread.
+   *
+   * @param maxConcurrentHandlers the maximum number of handlers which are executed concurrently,
+   *                              must be greater than zero
+   * @return the builder
+   */
+  ExternalTaskClientBuilder executeHandlersConcurrently(int maxConcurrentHandlers);
+
+  /**
+   * Same as {@link #executeHandlersConcurrently(int)}, but allows to run every handler on
+   * its own virtual thread instead of a pool of platform threads. The number of concurrently
+   * executed handlers is still limited to <code>maxConcurrentHandlers</code>.
+   *
+   * NOTE: Virtual threads require Java 21 or later.
+   *
+   * @param maxConcurrentHandlers the maximum number of handlers which are executed concurrently,
+   *                              must be greater than zero
+   * @param useVirtualThreads <code>true</code> to run handlers on virtual threads
+   * @return the builder
+   */
+  ExternalTaskClientBuilder executeHandlersConcurrently(int maxConcurrentHandlers, boolean useVirtualThreads);
+
   /**
    * Specifies the date format to de-/serialize date variables.
    *
@@ -23,6 +23,9 @@ import java.util.Map;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
 import org.camunda.bpm.client.task.impl.dto.BpmnErrorRequestDto;
+import org.camunda.bpm.client.task.impl.dto.BulkOperationDto;
+import org.camunda.bpm.client.task.impl.dto.BulkRequestDto;
+import org.camunda.bpm.client.task.impl.dto.BulkResultDto;
 import org.camunda.bpm.client.task.impl.dto.CompleteRequestDto;
 import org.camunda.bpm.client.task.impl.dto.ExtendLockRequestDto;
 import org.camunda.bpm.client.task.impl.dto.FailureRequestDto;
@@ -50,6 +53,7 @@ public class EngineClient {
   public static final String COMPLETE_RESOURCE_PATH = ID_RESOURCE_PATH + "/complete";
   public static final String FAILURE_RESOURCE_PATH = ID_RESOURCE_PATH + "/failure";
   public static final String BPMN_ERROR_RESOURCE_PATH = ID_RESOURCE_PATH + "/bpmnError";
+  public static final String HANDLE_BULK_RESOURCE_PATH = EXTERNAL_TASK_RESOURCE_PATH + "/handle-bulk";
   public static final String NAME_PATH_PARAM = "{name}";
   public static final String EXECUTION_RESOURCE_PATH = "/execution";
   public static final String EXECUTION_ID_RESOURCE_PATH = EXECUTION_RESOURCE_PATH + "/" + ID_PATH_PARAM;
@@ -78,6 +82,10 @@ public class EngineClient {
   }
 
   public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics)  {
+    return fetchAndLock(topics, maxTasks);
+  }
+
+  public List<ExternalTask> fetchAndLock(List<TopicRequestDto> topics, int maxTasks)  {
     FetchAndLockRequestDto payload = new FetchAndLockRequestDto(workerId, maxTasks, asyncResponseTimeout, topics, usePriority);
     String resourceUrl = baseUrl + FETCH_AND_LOCK_RESOURCE_PATH;
     ExternalTask[] externalTasks = engineInteraction.postRequest(resourceUrl, payload, ExternalTaskImpl[].class);
@@ -134,6 +142,30 @@ public class EngineClient {
     engineInteraction.postRequest(resourceUrl, payload, Void.class);
   }
 
+  public BulkOperationDto completeOperation(String taskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
+    Map<String, TypedValueField> localTypedValueDtoMap = typedValues.serializeVariables(localVariables);
+    return BulkOperationDto.complete(taskId, typedValueDtoMap, localTypedValueDtoMap);
+  }
+
+  public BulkOperationDto failureOperation(String taskId, String errorMessage, String errorDetails, int retries, long retryTimeout, Map<String, Object> variables, Map<String, Object> localVariables) {
+    Map<String, TypedValueField> typedValueDtoMap = typedValues.serializeVariables(variables);
+    Map<String, TypedValueField> localTypedValueDtoMap = typedValues.serializeVariables(localVariables);
+    return BulkOperationDto.failure(taskId, errorMessage, errorDetails, retries, retryTimeout, typedValueDtoMap, localTypedValueDtoMap);
+  }
+
+  public BulkOperationDto bpmnErrorOperation(String taskId, String errorCode, String errorMessage, Map<String, Object> variables) {
+    Map<String, TypedValueField> typeValueDtoMap = typedValues.serializeVariables(variables);
+    return BulkOperationDto.bpmnError(taskId, errorCode, errorMessage, typeValueDtoMap);
+  }
+
+  public List<BulkResultDto> handleBulk(List<BulkOperationDto> operations) {
+    BulkRequestDto payload = new BulkRequestDto(workerId, operations);
+    String resourceUrl = baseUrl + HANDLE_BULK_RESOURCE_PATH;
+    BulkResultDto[] results = engineInteraction.postRequest(resourceUrl, payload, BulkResultDto[].class);
+    return Arrays.asList(results);
+  }
+
   public void extendLock(String taskId, long newDuration)  {
     ExtendLockRequestDto payload = new ExtendLockRequestDto(workerId, newDuration);
     String resourcePath = EXTEND_LOCK_RESOURCE_PATH.replace("{id}", taskId);
@@ -157,6 +189,10 @@ public class EngineClient {
     return workerId;
   }
 
+  public int getMaxTasks() {
+    return maxTasks;
+  }
+
   public void setTypedValues(TypedValues typedValues) {
     this.typedValues = typedValues;
   }
@@ -35,6 +35,7 @@ import org.camunda.bpm.client.interceptor.impl.RequestInterceptorHandler;
 import org.camunda.bpm.client.spi.DataFormat;
 import org.camunda.bpm.client.spi.DataFormatConfigurator;
 import org.camunda.bpm.client.spi.DataFormatProvider;
+import org.camunda.bpm.client.topic.impl.ExternalTaskHandlerExecutor;
 import org.camunda.bpm.client.topic.impl.TopicSubscriptionManager;
 import org.camunda.bpm.client.variable.impl.DefaultValueMappers;
 import org.camunda.bpm.client.variable.impl.TypedValues;
@@ -86,6 +87,12 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
   protected boolean isAutoFetchingEnabled;
   protected BackoffStrategy backoffStrategy;
   protected boolean isBackoffStrategyDisabled;
+  protected boolean isCompletionBufferEnabled;
+  protected int completionBufferFlushSize;
+  protected long completionBufferFlushInterval;
+  protected boolean isConcurrentHandlerExecutionEnabled;
+  protected int maxConcurrentHandlers;
+  protected boolean useVirtualThreadsForHandlers;
 
   public ExternalTaskClientBuilderImpl() {
     // default values
@@ -149,6 +156,24 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
     return this;
   }
 
+  public ExternalTaskClientBuilder bufferCompletions(int flushSize, long flushInterval) {
+    this.isCompletionBufferEnabled = true;
+    this.completionBufferFlushSize = flushSize;
+    this.completionBufferFlushInterval = flushInterval;
+    return this;
+  }
+
+  public ExternalTaskClientBuilder executeHandlersConcurrently(int maxConcurrentHandlers) {
+    return executeHandlersConcurrently(maxConcurrentHandlers, false);
+  }
+
+  public ExternalTaskClientBuilder executeHandlersConcurrently(int maxConcurrentHandlers, boolean useVirtualThreads) {
+    this.isConcurrentHandlerExecutionEnabled = true;
+    this.maxConcurrentHandlers = maxConcurrentHandlers;
+    this.useVirtualThreadsForHandlers = useVirtualThreads;
+    return this;
+  }
+
   public ExternalTaskClientBuilder defaultSerializationFormat(String defaultSerializationFormat) {
     this.defaultSerializationFormat = defaultSerializationFormat;
     return this;
@@ -176,6 +201,26 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       throw LOG.baseUrlNullException();
     }
 
+    if (isCompletionBufferEnabled) {
+      if (completionBufferFlushSize <= 0) {
+        throw LOG.bufferFlushSizeNotGreaterThanZeroException(completionBufferFlushSize);
+      }
+
+      if (completionBufferFlushInterval <= 0L) {
+        throw LOG.bufferFlushIntervalNotGreaterThanZeroException(completionBufferFlushInterval);
+      }
+    }
+
+    if (isConcurrentHandlerExecutionEnabled) {
+      if (maxConcurrentHandlers <= 0) {
+        throw LOG.maxConcurrentHandlersNotGreaterThanZeroException(maxConcurrentHandlers);
+      }
+
+      if (useVirtualThreadsForHandlers && !ExternalTaskHandlerExecutor.isVirtualThreadSupported()) {
+        throw LOG.virtualThreadsNotSupportedException(null);
+      }
+    }
+
     checkInterceptors();
 
     initBaseUrl();
@@ -274,6 +319,14 @@ public class ExternalTaskClientBuilderImpl implements ExternalTaskClientBuilder
       topicSubscriptionManager.disableBackoffStrategy();
     }
 
+    if (isCompletionBufferEnabled) {
+      topicSubscriptionManager.bufferOperations(completionBufferFlushSize, completionBufferFlushInterval);
+    }
+
+    if (isConcurrentHandlerExecutionEnabled) {
+      topicSubscriptionManager.executeHandlersConcurrently(maxConcurrentHandlers, useVirtualThreadsForHandlers);
+    }
+
     if (isAutoFetchingEnabled()) {
       topicSubscriptionManager.start();
     }
@@ -238,4 +238,40 @@ public class ExternalTaskClientLogger extends BaseLogger {
         "030", "Null value is not allowed as '{}'", parameterName));
   }
 
+  public ExternalTaskClientException bufferFlushSizeNotGreaterThanZeroException(int flushSize) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "031", "Flush size of buffered completions must be greater than zero, but was '{}'", flushSize));
+  }
+
+  public ExternalTaskClientException bufferFlushIntervalNotGreaterThanZeroException(long flushInterval) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "032", "Flush interval of buffered completions must be greater than zero, but was '{}'", flushInterval));
+  }
+
+  public void exceptionWhileFlushingBufferedOperations(int operationCount, ExternalTaskClientException e) {
+    logError(
+      "033", String.format("Exception while flushing %d buffered external task operations.", operationCount), e);
+  }
+
+  public void bufferedOperationFailed(String operationType, String externalTaskId, String errorType, String errorMessage) {
+    logError(
+      "034", "Buffered operation '{}' on external task '{}' was not applied: {}: {}",
+      operationType, externalTaskId, errorType, errorMessage);
+  }
+
+  public ExternalTaskClientException maxConcurrentHandlersNotGreaterThanZeroException(int maxConcurrentHandlers) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "035", "Maximum number of concurrent handlers must be greater than zero, but was '{}'", maxConcurrentHandlers));
+  }
+
+  public ExternalTaskClientException virtualThreadsNotSupportedException(Exception e) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "036", "Handlers cannot be executed on virtual threads: virtual threads require Java 21 or later"), e);
+  }
+
+  public ExternalTaskClientException handlerExecutorNotRunningException(Exception e) {
+    return new ExternalTaskClientException(exceptionMessage(
+      "037", "Cannot submit external task handler: the handler executor is not running"), e);
+  }
+
 }
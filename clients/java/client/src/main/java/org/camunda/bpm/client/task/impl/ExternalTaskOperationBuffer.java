@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.impl.EngineClientException;
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+import org.camunda.bpm.client.task.impl.dto.BulkOperationDto;
+import org.camunda.bpm.client.task.impl.dto.BulkResultDto;
+
+/**
+ * <p>Collects completions, failures and BPMN errors of external tasks and sends them
+ * to the engine with a single bulk request once <code>flushSize</code> operations are
+ * buffered or at the latest every <code>flushInterval</code> milliseconds.</p>
+ *
+ * <p>Operations which the engine cannot apply, e.g. because the lock of the task
+ * expired in the meantime, are logged.</p>
+ */
+public class ExternalTaskOperationBuffer {
+
+  protected static final ExternalTaskClientLogger LOG = ExternalTaskClientLogger.CLIENT_LOGGER;
+
+  protected EngineClient engineClient;
+  protected int flushSize;
+  protected long flushInterval;
+
+  protected List<BulkOperationDto> operations;
+  protected ScheduledExecutorService flushScheduler;
+
+  public ExternalTaskOperationBuffer(EngineClient engineClient, int flushSize, long flushInterval) {
+    this.engineClient = engineClient;
+    this.flushSize = flushSize;
+    this.flushInterval = flushInterval;
+    this.operations = new ArrayList<>();
+  }
+
+  public synchronized void start() {
+    if (flushScheduler == null) {
+      flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, ExternalTaskOperationBuffer.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+      });
+      flushScheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Stops the periodic flushing and sends all operations which are still buffered.
+   */
+  public void stop() {
+    synchronized (this) {
+      if (flushScheduler != null) {
+        flushScheduler.shutdown();
+        flushScheduler = null;
+      }
+    }
+
+    flush();
+  }
+
+  public void add(BulkOperationDto operation) {
+    List<BulkOperationDto> operationsToSend = null;
+
+    synchronized (this) {
+      operations.add(operation);
+      if (operations.size() >= flushSize) {
+        operationsToSend = drain();
+      }
+    }
+
+    if (operationsToSend != null) {
+      send(operationsToSend);
+    }
+  }
+
+  public void flush() {
+    List<BulkOperationDto> operationsToSend;
+
+    synchronized (this) {
+      if (operations.isEmpty()) {
+        return;
+      }
+      operationsToSend = drain();
+    }
+
+    send(operationsToSend);
+  }
+
+  protected List<BulkOperationDto> drain() {
+    List<BulkOperationDto> drainedOperations = operations;
+    operations = new ArrayList<>();
+    return drainedOperations;
+  }
+
+  protected void send(List<BulkOperationDto> operationsToSend) {
+    try {
+      List<BulkResultDto> results = engineClient.handleBulk(operationsToSend);
+
+      for (int i = 0; i < results.size(); i++) {
+        BulkResultDto result = results.get(i);
+        if (!result.isSuccessful()) {
+          LOG.bufferedOperationFailed(operationsToSend.get(i).getType(), result.getExternalTaskId(),
+              result.getErrorType(), result.getErrorMessage());
+        }
+      }
+    } catch (EngineClientException e) {
+      LOG.exceptionWhileFlushingBufferedOperations(operationsToSend.size(),
+          LOG.handledEngineClientException("handling buffered external task operations", e));
+    }
+  }
+
+  public int getFlushSize() {
+    return flushSize;
+  }
+
+  public long getFlushInterval() {
+    return flushInterval;
+  }
+
+}
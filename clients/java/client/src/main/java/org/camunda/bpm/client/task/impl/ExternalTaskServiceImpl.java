@@ -33,6 +33,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   protected EngineClient engineClient;
 
+  /**
+   * If set, completions, failures and BPMN errors are buffered and sent in bulk.
+   */
+  protected ExternalTaskOperationBuffer operationBuffer;
+
   public ExternalTaskServiceImpl(EngineClient engineClient) {
     this.engineClient = engineClient;
   }
@@ -95,6 +100,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
   }
 
   public void complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    if (operationBuffer != null) {
+      operationBuffer.add(engineClient.completeOperation(externalTaskId, variables, localVariables));
+      return;
+    }
+
     try {
       engineClient.complete(externalTaskId, variables, localVariables);
     } catch (EngineClientException e) {
@@ -116,6 +126,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout, Map<String, Object> variables, Map<String, Object> locaclVariables) {
+    if (operationBuffer != null) {
+      operationBuffer.add(engineClient.failureOperation(externalTaskId, errorMessage, errorDetails, retries, retryTimeout, variables, locaclVariables));
+      return;
+    }
+
     try {
       engineClient.failure(externalTaskId, errorMessage, errorDetails, retries, retryTimeout, variables, locaclVariables);
     } catch (EngineClientException e) {
@@ -140,6 +155,11 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
 
   @Override
   public void handleBpmnError(String externalTaskId, String errorCode, String errorMessage, Map<String, Object> variables) {
+    if (operationBuffer != null) {
+      operationBuffer.add(engineClient.bpmnErrorOperation(externalTaskId, errorCode, errorMessage, variables));
+      return;
+    }
+
     try {
       engineClient.bpmnError(externalTaskId, errorCode, errorMessage, variables);
     } catch (EngineClientException e) {
@@ -160,4 +180,13 @@ public class ExternalTaskServiceImpl implements ExternalTaskService {
       throw LOG.handledEngineClientException("extending lock", e);
     }
   }
+
+  public ExternalTaskOperationBuffer getOperationBuffer() {
+    return operationBuffer;
+  }
+
+  public void setOperationBuffer(ExternalTaskOperationBuffer operationBuffer) {
+    this.operationBuffer = operationBuffer;
+  }
+
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task.impl.dto;
+
+import java.util.Map;
+
+import org.camunda.bpm.client.variable.impl.TypedValueField;
+
+/**
+ * A completion, failure or BPMN error which is sent as part of a {@link BulkRequestDto}.
+ */
+public class BulkOperationDto {
+
+  public static final String TYPE_COMPLETE = "complete";
+  public static final String TYPE_FAILURE = "failure";
+  public static final String TYPE_BPMN_ERROR = "bpmnError";
+
+  protected String type;
+  protected String externalTaskId;
+  protected Map<String, TypedValueField> variables;
+  protected Map<String, TypedValueField> localVariables;
+  protected String errorMessage;
+  protected String errorDetails;
+  protected Integer retries;
+  protected Long retryTimeout;
+  protected String errorCode;
+
+  protected BulkOperationDto(String type, String externalTaskId) {
+    this.type = type;
+    this.externalTaskId = externalTaskId;
+  }
+
+  public static BulkOperationDto complete(String externalTaskId, Map<String, TypedValueField> variables, Map<String, TypedValueField> localVariables) {
+    BulkOperationDto operation = new BulkOperationDto(TYPE_COMPLETE, externalTaskId);
+    operation.variables = variables;
+    operation.localVariables = localVariables;
+    return operation;
+  }
+
+  public static BulkOperationDto failure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout,
+      Map<String, TypedValueField> variables, Map<String, TypedValueField> localVariables) {
+    BulkOperationDto operation = new BulkOperationDto(TYPE_FAILURE, externalTaskId);
+    operation.errorMessage = errorMessage;
+    operation.errorDetails = errorDetails;
+    operation.retries = retries;
+    operation.retryTimeout = retryTimeout;
+    operation.variables = variables;
+    operation.localVariables = localVariables;
+    return operation;
+  }
+
+  public static BulkOperationDto bpmnError(String externalTaskId, String errorCode, String errorMessage, Map<String, TypedValueField> variables) {
+    BulkOperationDto operation = new BulkOperationDto(TYPE_BPMN_ERROR, externalTaskId);
+    operation.errorCode = errorCode;
+    operation.errorMessage = errorMessage;
+    operation.variables = variables;
+    return operation;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public Map<String, TypedValueField> getVariables() {
+    return variables;
+  }
+
+  public Map<String, TypedValueField> getLocalVariables() {
+    return localVariables;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public String getErrorDetails() {
+    return errorDetails;
+  }
+
+  public Integer getRetries() {
+    return retries;
+  }
+
+  public Long getRetryTimeout() {
+    return retryTimeout;
+  }
+
+  public String getErrorCode() {
+    return errorCode;
+  }
+
+}
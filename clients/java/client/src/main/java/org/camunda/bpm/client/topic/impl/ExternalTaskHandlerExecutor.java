@@ -0,0 +1,165 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic.impl;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
+
+/**
+ * <p>Executes external task handlers decoupled from the thread which fetches and
+ * locks the tasks. At most <code>maxConcurrentHandlers</code> handlers are submitted
+ * at the same time; the free capacity is used by the {@link TopicSubscriptionManager}
+ * to limit the number of tasks requested with the next fetch and lock request.</p>
+ *
+ * <p>Handlers are either run on a fixed pool of platform threads or, on Java 21 and
+ * later, each on its own virtual thread.</p>
+ */
+public class ExternalTaskHandlerExecutor {
+
+  protected static final TopicSubscriptionManagerLogger LOG = ExternalTaskClientLogger.TOPIC_SUBSCRIPTION_MANAGER_LOGGER;
+
+  protected static final String VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+  protected int maxConcurrentHandlers;
+  protected boolean useVirtualThreads;
+  protected Runnable capacityListener;
+
+  protected Semaphore capacity;
+  protected volatile ExecutorService executorService;
+
+  /**
+   * @param maxConcurrentHandlers the maximum number of handlers which are executed concurrently
+   * @param useVirtualThreads whether every handler is executed on its own virtual thread
+   * @param capacityListener notified each time a handler finishes and frees capacity
+   */
+  public ExternalTaskHandlerExecutor(int maxConcurrentHandlers, boolean useVirtualThreads, Runnable capacityListener) {
+    this.maxConcurrentHandlers = maxConcurrentHandlers;
+    this.useVirtualThreads = useVirtualThreads;
+    this.capacityListener = capacityListener;
+    this.capacity = new Semaphore(maxConcurrentHandlers);
+  }
+
+  public synchronized void start() {
+    if (executorService == null) {
+      executorService = createExecutorService();
+    }
+  }
+
+  /**
+   * Stops accepting new handlers and waits until all submitted handlers are finished.
+   */
+  public void stop() {
+    ExecutorService executorService;
+
+    synchronized (this) {
+      executorService = this.executorService;
+      this.executorService = null;
+    }
+
+    if (executorService != null) {
+      executorService.shutdown();
+
+      try {
+        while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+          // keep waiting for running handlers, their tasks are still locked
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.exceptionWhileShuttingDown(e);
+      }
+    }
+  }
+
+  /**
+   * Submits a handler. The caller must not submit more handlers than there is
+   * {@link #getFreeCapacity() free capacity}, otherwise it blocks until a running
+   * handler finishes.
+   */
+  public void execute(Runnable handler) {
+    ExecutorService executorService = this.executorService;
+    if (executorService == null) {
+      throw LOG.handlerExecutorNotRunningException(null);
+    }
+
+    capacity.acquireUninterruptibly();
+
+    try {
+      executorService.execute(() -> {
+        try {
+          handler.run();
+        } finally {
+          capacity.release();
+          capacityListener.run();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      capacity.release();
+      throw LOG.handlerExecutorNotRunningException(e);
+    }
+  }
+
+  /**
+   * @return the number of handlers which can be submitted without blocking
+   */
+  public int getFreeCapacity() {
+    return capacity.availablePermits();
+  }
+
+  public int getMaxConcurrentHandlers() {
+    return maxConcurrentHandlers;
+  }
+
+  public boolean isUseVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  protected ExecutorService createExecutorService() {
+    if (useVirtualThreads) {
+      try {
+        return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD).invoke(null);
+      } catch (Exception e) {
+        throw LOG.virtualThreadsNotSupportedException(e);
+      }
+    }
+    else {
+      AtomicInteger threadCount = new AtomicInteger();
+      return Executors.newFixedThreadPool(maxConcurrentHandlers, runnable -> {
+        String threadName = ExternalTaskHandlerExecutor.class.getSimpleName() + "-" + threadCount.incrementAndGet();
+        return new Thread(runnable, threadName);
+      });
+    }
+  }
+
+  /**
+   * @return <code>true</code> if the running JVM supports virtual threads
+   */
+  public static boolean isVirtualThreadSupported() {
+    try {
+      Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+}
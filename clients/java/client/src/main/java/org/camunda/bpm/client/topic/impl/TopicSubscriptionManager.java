@@ -35,6 +35,7 @@ import org.camunda.bpm.client.impl.ExternalTaskClientLogger;
 import org.camunda.bpm.client.task.ExternalTask;
 import org.camunda.bpm.client.task.ExternalTaskHandler;
 import org.camunda.bpm.client.task.impl.ExternalTaskImpl;
+import org.camunda.bpm.client.task.impl.ExternalTaskOperationBuffer;
 import org.camunda.bpm.client.task.impl.ExternalTaskServiceImpl;
 import org.camunda.bpm.client.topic.TopicSubscription;
 import org.camunda.bpm.client.topic.impl.dto.FetchAndLockResponseDto;
@@ -52,9 +53,12 @@ public class TopicSubscriptionManager implements Runnable {
 
   protected ReentrantLock ACQUISITION_MONITOR = new ReentrantLock(false);
   protected Condition IS_WAITING = ACQUISITION_MONITOR.newCondition();
+  protected Condition HAS_FREE_HANDLER_CAPACITY = ACQUISITION_MONITOR.newCondition();
   protected AtomicBoolean isRunning = new AtomicBoolean(false);
 
   protected ExternalTaskServiceImpl externalTaskService;
+  protected ExternalTaskOperationBuffer operationBuffer;
+  protected ExternalTaskHandlerExecutor handlerExecutor;
 
   protected EngineClient engineClient;
 
@@ -99,13 +103,28 @@ public class TopicSubscriptionManager implements Runnable {
     subscriptions.forEach(this::prepareAcquisition);
 
     if (!taskTopicRequests.isEmpty()) {
-      FetchAndLockResponseDto fetchAndLockResponse = fetchAndLock(taskTopicRequests);
+      FetchAndLockResponseDto fetchAndLockResponse;
+
+      if (handlerExecutor != null) {
+        int maxTasks = awaitFreeHandlerCapacity();
+        if (maxTasks == 0) {
+          return;
+        }
+
+        fetchAndLockResponse = fetchAndLock(taskTopicRequests, maxTasks);
+      }
+      else {
+        fetchAndLockResponse = fetchAndLock(taskTopicRequests);
+      }
 
       fetchAndLockResponse.getExternalTasks().forEach(externalTask -> {
         String topicName = externalTask.getTopicName();
         ExternalTaskHandler taskHandler = externalTaskHandlers.get(topicName);
 
-        if (taskHandler != null) {
+        if (taskHandler != null && handlerExecutor != null) {
+          handlerExecutor.execute(() -> handleExternalTask(externalTask, taskHandler));
+        }
+        else if (taskHandler != null) {
           handleExternalTask(externalTask, taskHandler);
         }
         else {
@@ -129,11 +148,15 @@ public class TopicSubscriptionManager implements Runnable {
   }
 
   protected FetchAndLockResponseDto fetchAndLock(List<TopicRequestDto> subscriptions) {
+    return fetchAndLock(subscriptions, engineClient.getMaxTasks());
+  }
+
+  protected FetchAndLockResponseDto fetchAndLock(List<TopicRequestDto> subscriptions, int maxTasks) {
     List<ExternalTask> externalTasks = null;
 
     try {
       LOG.fetchAndLock(subscriptions);
-      externalTasks = engineClient.fetchAndLock(subscriptions);
+      externalTasks = engineClient.fetchAndLock(subscriptions, maxTasks);
 
     } catch (EngineClientException ex) {
       LOG.exceptionWhilePerformingFetchAndLock(ex);
@@ -143,6 +166,34 @@ public class TopicSubscriptionManager implements Runnable {
     return new FetchAndLockResponseDto(externalTasks);
   }
 
+  /**
+   * Blocks until at least one handler can be submitted to the handler executor.
+   *
+   * @return the number of tasks to fetch with the next request, i.e. the free handler
+   * capacity limited by the configured maximum number of tasks, or zero if the
+   * manager was stopped in the meantime
+   */
+  protected int awaitFreeHandlerCapacity() {
+    ACQUISITION_MONITOR.lock();
+    try {
+      while (isRunning.get() && handlerExecutor.getFreeCapacity() == 0) {
+        HAS_FREE_HANDLER_CAPACITY.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.exceptionWhileAcquiringTasks(e);
+    }
+    finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+
+    if (!isRunning.get()) {
+      return 0;
+    }
+
+    return Math.min(engineClient.getMaxTasks(), handlerExecutor.getFreeCapacity());
+  }
+
   @SuppressWarnings("rawtypes")
   protected void handleExternalTask(ExternalTask externalTask, ExternalTaskHandler taskHandler) {
     ExternalTaskImpl task = (ExternalTaskImpl) externalTask;
@@ -163,6 +214,7 @@ public class TopicSubscriptionManager implements Runnable {
   public synchronized void stop() {
     if (isRunning.compareAndSet(true, false)) {
       resume();
+      signalFreeHandlerCapacity();
 
       try {
         thread.join();
@@ -170,11 +222,27 @@ public class TopicSubscriptionManager implements Runnable {
         Thread.currentThread().interrupt();
         LOG.exceptionWhileShuttingDown(e);
       }
+
+      if (handlerExecutor != null) {
+        handlerExecutor.stop();
+      }
+
+      if (operationBuffer != null) {
+        operationBuffer.stop();
+      }
     }
   }
 
   public synchronized void start() {
     if (isRunning.compareAndSet(false, true)) {
+      if (operationBuffer != null) {
+        operationBuffer.start();
+      }
+
+      if (handlerExecutor != null) {
+        handlerExecutor.start();
+      }
+
       thread = new Thread(this, TopicSubscriptionManager.class.getSimpleName());
       thread.start();
     }
@@ -255,8 +323,44 @@ public class TopicSubscriptionManager implements Runnable {
     }
   }
 
+  protected void signalFreeHandlerCapacity() {
+    ACQUISITION_MONITOR.lock();
+    try {
+      HAS_FREE_HANDLER_CAPACITY.signal();
+    }
+    finally {
+      ACQUISITION_MONITOR.unlock();
+    }
+  }
+
   public void disableBackoffStrategy() {
     this.isBackoffStrategyDisabled.set(true);
   }
 
+  /**
+   * Buffers completions, failures and BPMN errors of the external task service
+   * and sends them in bulk requests.
+   */
+  public void bufferOperations(int flushSize, long flushInterval) {
+    operationBuffer = new ExternalTaskOperationBuffer(engineClient, flushSize, flushInterval);
+    externalTaskService.setOperationBuffer(operationBuffer);
+  }
+
+  public ExternalTaskOperationBuffer getOperationBuffer() {
+    return operationBuffer;
+  }
+
+  /**
+   * Executes the handlers on separate threads instead of the acquisition thread.
+   * The acquisition thread fetches the next tasks while the previous ones are still
+   * handled and only requests as many tasks as there are free handlers.
+   */
+  public void executeHandlersConcurrently(int maxConcurrentHandlers, boolean useVirtualThreads) {
+    handlerExecutor = new ExternalTaskHandlerExecutor(maxConcurrentHandlers, useVirtualThreads, this::signalFreeHandlerCapacity);
+  }
+
+  public ExternalTaskHandlerExecutor getHandlerExecutor() {
+    return handlerExecutor;
+  }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.client.impl.EngineClient;
+import org.camunda.bpm.client.task.impl.ExternalTaskOperationBuffer;
+import org.camunda.bpm.client.task.impl.dto.BulkOperationDto;
+import org.camunda.bpm.client.task.impl.dto.BulkResultDto;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExternalTaskOperationBufferTest {
+
+  protected RecordingEngineClient engineClient;
+  protected ExternalTaskOperationBuffer buffer;
+
+  @Before
+  public void setup() {
+    engineClient = new RecordingEngineClient();
+  }
+
+  @After
+  public void tearDown() {
+    if (buffer != null) {
+      buffer.stop();
+    }
+  }
+
+  @Test
+  public void shouldSendOperationsOnceFlushSizeIsReached() {
+    // given
+    buffer = new ExternalTaskOperationBuffer(engineClient, 3, Long.MAX_VALUE);
+
+    // when
+    buffer.add(BulkOperationDto.complete("task1", null, null));
+    buffer.add(BulkOperationDto.failure("task2", "anErrorMessage", null, 1, 0L, null, null));
+
+    // then
+    assertThat(engineClient.requests).isEmpty();
+
+    // when
+    buffer.add(BulkOperationDto.bpmnError("task3", "anErrorCode", null, null));
+
+    // then
+    assertThat(engineClient.requests).hasSize(1);
+    assertThat(engineClient.requests.get(0))
+      .extracting("externalTaskId")
+      .containsExactly("task1", "task2", "task3");
+  }
+
+  @Test
+  public void shouldSendOperationsAfterFlushInterval() throws InterruptedException {
+    // given
+    buffer = new ExternalTaskOperationBuffer(engineClient, 100, 50L);
+    buffer.start();
+
+    // when
+    buffer.add(BulkOperationDto.complete("task1", null, null));
+
+    // then
+    long timeout = System.currentTimeMillis() + 5000L;
+    while (engineClient.requests.isEmpty() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10L);
+    }
+
+    assertThat(engineClient.requests).hasSize(1);
+    assertThat(engineClient.requests.get(0))
+      .extracting("externalTaskId")
+      .containsExactly("task1");
+  }
+
+  @Test
+  public void shouldSendRemainingOperationsOnStop() {
+    // given
+    buffer = new ExternalTaskOperationBuffer(engineClient, 100, Long.MAX_VALUE);
+    buffer.add(BulkOperationDto.complete("task1", null, null));
+
+    // when
+    buffer.stop();
+
+    // then
+    assertThat(engineClient.requests).hasSize(1);
+  }
+
+  @Test
+  public void shouldNotSendEmptyRequest() {
+    // given
+    buffer = new ExternalTaskOperationBuffer(engineClient, 100, Long.MAX_VALUE);
+
+    // when
+    buffer.flush();
+
+    // then
+    assertThat(engineClient.requests).isEmpty();
+  }
+
+  protected static class RecordingEngineClient extends EngineClient {
+
+    protected List<List<BulkOperationDto>> requests = new CopyOnWriteArrayList<>();
+
+    public RecordingEngineClient() {
+      super("aWorkerId", 10, null, "http://localhost:8080/engine-rest", null);
+    }
+
+    @Override
+    public List<BulkResultDto> handleBulk(List<BulkOperationDto> operations) {
+      requests.add(operations);
+
+      List<BulkResultDto> results = new ArrayList<>();
+      for (BulkOperationDto operation : operations) {
+        BulkResultDto result = new BulkResultDto();
+        result.setExternalTaskId(operation.getExternalTaskId());
+        result.setSuccessful(true);
+        results.add(result);
+      }
+      return results;
+    }
+  }
+
+}
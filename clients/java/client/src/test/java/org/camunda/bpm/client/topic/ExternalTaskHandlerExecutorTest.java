@@ -0,0 +1,154 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.client.topic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.camunda.bpm.client.exception.ExternalTaskClientException;
+import org.camunda.bpm.client.topic.impl.ExternalTaskHandlerExecutor;
+import org.junit.After;
+import org.junit.Test;
+
+public class ExternalTaskHandlerExecutorTest {
+
+  protected Semaphore freedCapacity = new Semaphore(0);
+  protected ExternalTaskHandlerExecutor executor;
+
+  @After
+  public void tearDown() {
+    if (executor != null) {
+      executor.stop();
+    }
+  }
+
+  @Test
+  public void shouldReduceFreeCapacityWhileHandlerIsRunning() throws InterruptedException {
+    // given
+    executor = new ExternalTaskHandlerExecutor(2, false, freedCapacity::release);
+    executor.start();
+
+    CountDownLatch handlerLatch = new CountDownLatch(1);
+
+    // when
+    executor.execute(() -> await(handlerLatch));
+
+    // then
+    assertThat(executor.getFreeCapacity()).isEqualTo(1);
+
+    // when
+    handlerLatch.countDown();
+
+    // then
+    assertThat(freedCapacity.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.getFreeCapacity()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExecuteHandlersConcurrently() throws InterruptedException {
+    // given
+    executor = new ExternalTaskHandlerExecutor(3, false, freedCapacity::release);
+    executor.start();
+
+    CountDownLatch runningHandlers = new CountDownLatch(3);
+    CountDownLatch handlerLatch = new CountDownLatch(1);
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      executor.execute(() -> {
+        runningHandlers.countDown();
+        await(handlerLatch);
+      });
+    }
+
+    // then
+    assertThat(runningHandlers.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.getFreeCapacity()).isZero();
+
+    handlerLatch.countDown();
+  }
+
+  @Test
+  public void shouldFreeCapacityIfHandlerFails() throws InterruptedException {
+    // given
+    executor = new ExternalTaskHandlerExecutor(1, false, freedCapacity::release);
+    executor.start();
+
+    // when
+    executor.execute(() -> {
+      throw new RuntimeException("expected exception");
+    });
+
+    // then
+    assertThat(freedCapacity.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(executor.getFreeCapacity()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWaitForRunningHandlersOnStop() {
+    // given
+    executor = new ExternalTaskHandlerExecutor(1, false, freedCapacity::release);
+    executor.start();
+
+    AtomicBoolean handlerFinished = new AtomicBoolean(false);
+    executor.execute(() -> {
+      sleep(200L);
+      handlerFinished.set(true);
+    });
+
+    // when
+    executor.stop();
+
+    // then
+    assertThat(handlerFinished.get()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectHandlerIfNotStarted() {
+    // given
+    executor = new ExternalTaskHandlerExecutor(1, false, freedCapacity::release);
+
+    // when
+    Throwable exception = catchThrowable(() -> executor.execute(() -> { }));
+
+    // then
+    assertThat(exception).isInstanceOf(ExternalTaskClientException.class);
+    assertThat(executor.getFreeCapacity()).isEqualTo(1);
+  }
+
+  protected static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -26,10 +26,13 @@ import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationListener;
 import org.camunda.bpm.dmn.engine.impl.el.DefaultScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.el.JuelElProvider;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableIndexBuilder;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableIndexTransformListener;
 import org.camunda.bpm.dmn.engine.impl.metrics.DefaultEngineMetricCollector;
 import org.camunda.bpm.dmn.engine.impl.metrics.DmnEngineMetricCollectorWrapper;
 import org.camunda.bpm.dmn.engine.impl.spi.el.DmnScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.spi.el.ElProvider;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformer;
 import org.camunda.bpm.dmn.engine.impl.transform.DefaultDmnTransformer;
 import org.camunda.bpm.dmn.engine.spi.DmnEngineMetricCollector;
@@ -74,6 +77,13 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
    */
   protected boolean enableFeelLegacyBehavior = false;
 
+  /**
+   * Index the FEEL input entries of decision tables, so that an evaluation only
+   * evaluates the rules which can match the input values
+   */
+  protected boolean decisionTableIndexEnabled = false;
+  protected int decisionTableIndexMinRules = 50;
+
   protected String defaultInputExpressionExpressionLanguage = null;
   protected String defaultInputEntryExpressionLanguage = null;
   protected String defaultOutputEntryExpressionLanguage = null;
@@ -95,6 +105,7 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     initElDefaults();
     initElProvider();
     initFeelEngine();
+    initDecisionTableIndex();
   }
 
   public void initElDefaults() {
@@ -129,6 +140,18 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     }
   }
 
+  protected void initDecisionTableIndex() {
+    if (decisionTableIndexEnabled) {
+      List<DmnTransformListener> transformListeners = transformer.getTransformListeners();
+      for (DmnTransformListener transformListener : transformListeners) {
+        if (transformListener instanceof DecisionTableIndexTransformListener) {
+          return;
+        }
+      }
+      transformListeners.add(new DecisionTableIndexTransformListener(new DecisionTableIndexBuilder(decisionTableIndexMinRules)));
+    }
+  }
+
   protected void initMetricCollector() {
     if (engineMetricCollector == null) {
       engineMetricCollector = new DefaultEngineMetricCollector();
@@ -603,4 +626,64 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return whether the input entries of decision tables are indexed
+   */
+  public boolean isDecisionTableIndexEnabled() {
+    return decisionTableIndexEnabled;
+  }
+
+  /**
+   * Controls whether the FEEL input entries of decision tables are indexed. An
+   * evaluation then only evaluates the rules which can match the input values;
+   * the result is the same.
+   *
+   * @param decisionTableIndexEnabled true to index decision tables
+   */
+  public void setDecisionTableIndexEnabled(boolean decisionTableIndexEnabled) {
+    this.decisionTableIndexEnabled = decisionTableIndexEnabled;
+  }
+
+  /**
+   * Controls whether the FEEL input entries of decision tables are indexed. An
+   * evaluation then only evaluates the rules which can match the input values;
+   * the result is the same.
+   *
+   * @param decisionTableIndexEnabled true to index decision tables
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration decisionTableIndexEnabled(boolean decisionTableIndexEnabled) {
+    setDecisionTableIndexEnabled(decisionTableIndexEnabled);
+    return this;
+  }
+
+  /**
+   * @return the minimum number of rules of an indexed decision table
+   */
+  public int getDecisionTableIndexMinRules() {
+    return decisionTableIndexMinRules;
+  }
+
+  /**
+   * Sets the minimum number of rules of a decision table to index it; smaller
+   * tables are evaluated rule by rule.
+   *
+   * @param decisionTableIndexMinRules the minimum number of rules
+   */
+  public void setDecisionTableIndexMinRules(int decisionTableIndexMinRules) {
+    this.decisionTableIndexMinRules = decisionTableIndexMinRules;
+  }
+
+  /**
+   * Sets the minimum number of rules of a decision table to index it; smaller
+   * tables are evaluated rule by rule.
+   *
+   * @param decisionTableIndexMinRules the minimum number of rules
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration decisionTableIndexMinRules(int decisionTableIndexMinRules) {
+    setDecisionTableIndexMinRules(decisionTableIndexMinRules);
+    return this;
+  }
+
 }
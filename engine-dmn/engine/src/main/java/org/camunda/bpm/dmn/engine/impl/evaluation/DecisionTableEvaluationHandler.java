@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,7 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionTableEvaluationEventI
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedDecisionRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedInputImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableIndex;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
@@ -96,6 +98,12 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    DecisionTableIndex index = decisionTable.getIndex();
+    if (index != null && isIndexApplicable(index)) {
+      evaluateIndexedDecisionTable(decisionTable, index, variableContext, evaluationResult);
+      return;
+    }
+
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
@@ -114,6 +122,50 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  protected boolean isIndexApplicable(DecisionTableIndex index) {
+    return !index.isUsingDefaultExpressionLanguage()
+        || expressionEvaluationHandler.isFeelExpressionLanguage(inputEntryExpressionLanguage);
+  }
+
+  /**
+   * Evaluates the decision table like {@link #evaluateDecisionTable}, but only
+   * evaluates the input entries of the rules which the index didn't rule out.
+   */
+  protected void evaluateIndexedDecisionTable(DmnDecisionTableImpl decisionTable, DecisionTableIndex index, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    BitSet remainingRules = new BitSet(rules.size());
+    remainingRules.set(0, rules.size());
+
+    int inputSize = decisionTable.getInputs().size();
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      // evaluate input
+      DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
+      evaluationResult.getInputs().add(evaluatedInput);
+
+      VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
+
+      BitSet candidates = index.getCandidates(inputIdx, evaluatedInput.getValue().getValue());
+      if (candidates != null) {
+        remainingRules.and(candidates);
+      }
+
+      for (int ruleIdx = remainingRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = remainingRules.nextSetBit(ruleIdx + 1)) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        if (!isConditionApplicable(input, condition, localVariableContext)) {
+          remainingRules.clear(ruleIdx);
+        }
+      }
+    }
+
+    List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(remainingRules.cardinality());
+    for (int ruleIdx = remainingRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = remainingRules.nextSetBit(ruleIdx + 1)) {
+      matchingRules.add(rules.get(ruleIdx));
+    }
+
+    setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation.index;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * <p>Index of the input entries of a decision table, which narrows down the rules
+ * that have to be evaluated for given input values.</p>
+ *
+ * <p>The index never excludes a rule which could match. The remaining candidate rules
+ * are evaluated as usual, so the result of a decision table is the same with and
+ * without index.</p>
+ *
+ * @see DecisionTableIndexBuilder
+ */
+public class DecisionTableIndex {
+
+  protected final int ruleCount;
+  protected final List<DecisionTableInputIndex> inputIndexes;
+  protected final boolean usesDefaultExpressionLanguage;
+
+  public DecisionTableIndex(int ruleCount, List<DecisionTableInputIndex> inputIndexes, boolean usesDefaultExpressionLanguage) {
+    this.ruleCount = ruleCount;
+    this.inputIndexes = inputIndexes;
+    this.usesDefaultExpressionLanguage = usesDefaultExpressionLanguage;
+  }
+
+  /**
+   * @return the positions of the rules which can match the value of the input,
+   *   or <code>null</code> if the index can't narrow down the rules for this value
+   */
+  public BitSet getCandidates(int inputIdx, Object value) {
+    return inputIndexes.get(inputIdx).getCandidates(value);
+  }
+
+  public int getRuleCount() {
+    return ruleCount;
+  }
+
+  public List<DecisionTableInputIndex> getInputIndexes() {
+    return inputIndexes;
+  }
+
+  /**
+   * @return true if indexed input entries don't declare an expression language, so that
+   *   the index can only be used if the default input entry expression language is FEEL
+   */
+  public boolean isUsingDefaultExpressionLanguage() {
+    return usesDefaultExpressionLanguage;
+  }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableInputIndex.Interval;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableInputIndex.ValueKind;
+
+/**
+ * <p>Analyzes the FEEL simple unary tests of the input entries of a decision table and
+ * builds a {@link DecisionTableIndex}. The following input entries are indexed, also as
+ * comma separated disjunction:</p>
+ *
+ * <ul>
+ *   <li>string literals without escape sequences and commas, e.g. <code>"gold"</code></li>
+ *   <li>number literals, e.g. <code>5</code> or <code>-1.5</code></li>
+ *   <li>comparisons with a number literal, e.g. <code>&lt;= 100</code></li>
+ *   <li>intervals with number literals, e.g. <code>[1..10[</code></li>
+ * </ul>
+ *
+ * <p>Other input entries, e.g. with variables, functions or negations, are not
+ * indexed; these rules are always evaluated.</p>
+ */
+public class DecisionTableIndexBuilder {
+
+  protected static final String NUMBER = "-?\\d+(?:\\.\\d+)?";
+
+  protected static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\\\,]*)\"");
+  protected static final Pattern NUMBER_LITERAL = Pattern.compile(NUMBER);
+  protected static final Pattern COMPARISON = Pattern.compile("(<=|>=|<|>)\\s*(" + NUMBER + ")");
+  protected static final Pattern INTERVAL = Pattern.compile("([\\[\\]])\\s*(" + NUMBER + ")\\s*\\.\\.\\s*(" + NUMBER + ")\\s*([\\[\\]])");
+
+  protected int minRules;
+
+  /**
+   * @param minRules the minimum number of rules of a decision table to build an index for
+   */
+  public DecisionTableIndexBuilder(int minRules) {
+    this.minRules = minRules;
+  }
+
+  /**
+   * @return the index, or <code>null</code> if the decision table has too few rules
+   *   or no input entries which can be indexed
+   */
+  public DecisionTableIndex build(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+    if (rules.size() < minRules || inputSize == 0) {
+      return null;
+    }
+
+    List<DecisionTableInputIndex> inputIndexes = new ArrayList<DecisionTableInputIndex>(inputSize);
+    boolean indexed = false;
+    boolean usesDefaultExpressionLanguage = false;
+
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      ValueKind kind = ValueKind.NONE;
+      boolean mixedKinds = false;
+      boolean defaultExpressionLanguage = false;
+
+      BitSet unindexedRules = new BitSet(rules.size());
+      Map<Object, BitSet> rulesByValue = new HashMap<Object, BitSet>();
+      List<Interval> intervals = new ArrayList<Interval>();
+
+      for (int ruleIdx = 0; ruleIdx < rules.size(); ruleIdx++) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        List<Object> tests = parseCondition(condition, ruleIdx);
+        if (tests == null) {
+          unindexedRules.set(ruleIdx);
+          continue;
+        }
+
+        defaultExpressionLanguage |= condition.getExpressionLanguage() == null;
+
+        for (Object test : tests) {
+          ValueKind testKind = test instanceof String ? ValueKind.STRING : ValueKind.NUMBER;
+          if (kind == ValueKind.NONE) {
+            kind = testKind;
+          }
+          else if (kind != testKind) {
+            mixedKinds = true;
+          }
+
+          if (test instanceof Interval) {
+            intervals.add((Interval) test);
+          }
+          else {
+            rulesByValue.computeIfAbsent(test, key -> new BitSet()).set(ruleIdx);
+          }
+        }
+      }
+
+      if (kind == ValueKind.NONE || mixedKinds) {
+        inputIndexes.add(new DecisionTableInputIndex(ValueKind.NONE, unindexedRules, rulesByValue, intervals));
+      }
+      else {
+        inputIndexes.add(new DecisionTableInputIndex(kind, unindexedRules, rulesByValue, intervals));
+        indexed = true;
+        usesDefaultExpressionLanguage |= defaultExpressionLanguage;
+      }
+    }
+
+    if (!indexed) {
+      return null;
+    }
+
+    return new DecisionTableIndex(rules.size(), inputIndexes, usesDefaultExpressionLanguage);
+  }
+
+  /**
+   * @return the tests of the condition, or <code>null</code> if the condition can't be indexed
+   */
+  protected List<Object> parseCondition(DmnExpressionImpl condition, int ruleIdx) {
+    if (condition == null || !isFeelOrDefaultExpressionLanguage(condition.getExpressionLanguage())) {
+      return null;
+    }
+
+    String expression = condition.getExpression();
+    if (expression == null || expression.trim().isEmpty() || expression.trim().equals("-")) {
+      return null;
+    }
+
+    List<Object> tests = new ArrayList<Object>();
+    for (String unaryTest : expression.split(",")) {
+      Object test = parseUnaryTest(unaryTest.trim(), ruleIdx);
+      if (test == null) {
+        return null;
+      }
+      tests.add(test);
+    }
+    return tests;
+  }
+
+  protected Object parseUnaryTest(String unaryTest, int ruleIdx) {
+    Matcher matcher = STRING_LITERAL.matcher(unaryTest);
+    if (matcher.matches()) {
+      return matcher.group(1);
+    }
+
+    matcher = NUMBER_LITERAL.matcher(unaryTest);
+    if (matcher.matches()) {
+      return DecisionTableInputIndex.normalize(new BigDecimal(unaryTest));
+    }
+
+    matcher = COMPARISON.matcher(unaryTest);
+    if (matcher.matches()) {
+      String operator = matcher.group(1);
+      BigDecimal number = new BigDecimal(matcher.group(2));
+      if (operator.startsWith("<")) {
+        return new Interval(ruleIdx, null, false, number, operator.endsWith("="));
+      }
+      else {
+        return new Interval(ruleIdx, number, operator.endsWith("="), null, false);
+      }
+    }
+
+    matcher = INTERVAL.matcher(unaryTest);
+    if (matcher.matches()) {
+      return new Interval(ruleIdx,
+          new BigDecimal(matcher.group(2)), matcher.group(1).equals("["),
+          new BigDecimal(matcher.group(3)), matcher.group(4).equals("]"));
+    }
+
+    return null;
+  }
+
+  protected boolean isFeelOrDefaultExpressionLanguage(String expressionLanguage) {
+    return expressionLanguage == null
+        || expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE)
+        || expressionLanguage.toLowerCase().equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_ALTERNATIVE)
+        || expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN12)
+        || expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN13);
+  }
+
+  public int getMinRules() {
+    return minRules;
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation.index;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableInputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
+import org.camunda.bpm.model.dmn.instance.Decision;
+import org.camunda.bpm.model.dmn.instance.Definitions;
+import org.camunda.bpm.model.dmn.instance.Input;
+import org.camunda.bpm.model.dmn.instance.Output;
+import org.camunda.bpm.model.dmn.instance.Rule;
+
+/**
+ * Builds the index of a decision table after the decision was transformed.
+ */
+public class DecisionTableIndexTransformListener implements DmnTransformListener {
+
+  protected DecisionTableIndexBuilder indexBuilder;
+
+  public DecisionTableIndexTransformListener(DecisionTableIndexBuilder indexBuilder) {
+    this.indexBuilder = indexBuilder;
+  }
+
+  @Override
+  public void transformDecision(Decision decision, DmnDecision dmnDecision) {
+    if (dmnDecision != null && dmnDecision.getDecisionLogic() instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) dmnDecision.getDecisionLogic();
+      decisionTable.setIndex(indexBuilder.build(decisionTable));
+    }
+  }
+
+  @Override
+  public void transformDecisionTableInput(Input input, DmnDecisionTableInputImpl dmnInput) {
+    // nothing to do
+  }
+
+  @Override
+  public void transformDecisionTableOutput(Output output, DmnDecisionTableOutputImpl dmnOutput) {
+    // nothing to do
+  }
+
+  @Override
+  public void transformDecisionTableRule(Rule rule, DmnDecisionTableRuleImpl dmnRule) {
+    // nothing to do
+  }
+
+  @Override
+  public void transformDecisionRequirementsGraph(Definitions definitions, DmnDecisionRequirementsGraph dmnDecisionRequirementsGraph) {
+    // nothing to do
+  }
+
+}
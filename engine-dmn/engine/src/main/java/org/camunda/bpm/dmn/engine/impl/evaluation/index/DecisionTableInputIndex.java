@@ -0,0 +1,346 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation.index;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Index of the input entries of one decision table input:</p>
+ *
+ * <ul>
+ *   <li>rules which test the input for equality with a literal, by literal</li>
+ *   <li>rules which test the input against a range, in an interval tree</li>
+ *   <li>rules with an empty input entry, or an input entry which can't be indexed;
+ *   these are always candidates</li>
+ * </ul>
+ *
+ * <p>The literals of an input are either all strings or all numbers. The index is only
+ * used for values of the same kind. Any other value, e.g. <code>null</code> or a
+ * double, is tested against all rules, so that the result of the evaluation stays
+ * the same, including errors.</p>
+ */
+public class DecisionTableInputIndex {
+
+  public enum ValueKind {
+    NONE, STRING, NUMBER
+  }
+
+  protected final ValueKind kind;
+  protected final BitSet unindexedRules;
+  protected final Map<Object, BitSet> rulesByValue;
+  protected final IntervalTree intervals;
+
+  public DecisionTableInputIndex(ValueKind kind, BitSet unindexedRules, Map<Object, BitSet> rulesByValue, List<Interval> intervals) {
+    this.kind = kind;
+    this.unindexedRules = unindexedRules;
+    this.rulesByValue = rulesByValue;
+    this.intervals = IntervalTree.build(intervals);
+  }
+
+  public BitSet getCandidates(Object value) {
+    Object key = toKey(value);
+    if (key == null) {
+      return null;
+    }
+
+    BitSet candidates = (BitSet) unindexedRules.clone();
+
+    BitSet equalRules = rulesByValue.get(key);
+    if (equalRules != null) {
+      candidates.or(equalRules);
+    }
+
+    if (key instanceof BigDecimal && intervals != null) {
+      intervals.addContainingRules((BigDecimal) key, candidates);
+    }
+
+    return candidates;
+  }
+
+  protected Object toKey(Object value) {
+    if (kind == ValueKind.STRING && value instanceof String) {
+      return value;
+    }
+    else if (kind == ValueKind.NUMBER) {
+      BigDecimal number = toExactNumber(value);
+      return number != null ? normalize(number) : null;
+    }
+    else {
+      return null;
+    }
+  }
+
+  public ValueKind getKind() {
+    return kind;
+  }
+
+  /**
+   * @return the number, or <code>null</code> if the value is not an exact number
+   */
+  public static BigDecimal toExactNumber(Object value) {
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      return BigDecimal.valueOf(((Number) value).longValue());
+    }
+    else if (value instanceof BigInteger) {
+      return new BigDecimal((BigInteger) value);
+    }
+    else if (value instanceof BigDecimal) {
+      return (BigDecimal) value;
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * Numbers which are equal but differ in scale, like <code>1</code> and <code>1.0</code>,
+   * have the same normalized form.
+   */
+  public static BigDecimal normalize(BigDecimal number) {
+    if (number.signum() == 0) {
+      return BigDecimal.ZERO;
+    }
+    return number.stripTrailingZeros();
+  }
+
+  /**
+   * A range of numbers tested by the input entry of a rule. A missing bound is unbounded.
+   */
+  public static class Interval {
+
+    protected final int ruleIdx;
+    protected final BigDecimal lower;
+    protected final boolean lowerInclusive;
+    protected final BigDecimal upper;
+    protected final boolean upperInclusive;
+
+    public Interval(int ruleIdx, BigDecimal lower, boolean lowerInclusive, BigDecimal upper, boolean upperInclusive) {
+      this.ruleIdx = ruleIdx;
+      this.lower = lower;
+      this.lowerInclusive = lowerInclusive;
+      this.upper = upper;
+      this.upperInclusive = upperInclusive;
+    }
+
+    public boolean isEmpty() {
+      if (lower == null || upper == null) {
+        return false;
+      }
+      int comparison = lower.compareTo(upper);
+      return comparison > 0 || (comparison == 0 && !(lowerInclusive && upperInclusive));
+    }
+
+    /**
+     * @return a number contained in this interval, which must not be empty
+     */
+    public BigDecimal getContainedNumber() {
+      if (lower != null && lowerInclusive) {
+        return lower;
+      }
+      else if (upper != null && upperInclusive) {
+        return upper;
+      }
+      else if (lower != null && upper != null) {
+        return lower.add(upper).divide(BigDecimal.valueOf(2));
+      }
+      else if (lower != null) {
+        return lower.add(BigDecimal.ONE);
+      }
+      else if (upper != null) {
+        return upper.subtract(BigDecimal.ONE);
+      }
+      else {
+        return BigDecimal.ZERO;
+      }
+    }
+
+    /**
+     * @return <code>true</code> if all numbers of this interval are less than the given number
+     */
+    public boolean isBelow(BigDecimal number) {
+      if (upper == null) {
+        return false;
+      }
+      int comparison = upper.compareTo(number);
+      return comparison < 0 || (comparison == 0 && !upperInclusive);
+    }
+
+    /**
+     * @return <code>true</code> if all numbers of this interval are greater than the given number
+     */
+    public boolean isAbove(BigDecimal number) {
+      if (lower == null) {
+        return false;
+      }
+      int comparison = lower.compareTo(number);
+      return comparison > 0 || (comparison == 0 && !lowerInclusive);
+    }
+
+    public boolean contains(BigDecimal number) {
+      if (lower != null) {
+        int comparison = number.compareTo(lower);
+        if (comparison < 0 || (comparison == 0 && !lowerInclusive)) {
+          return false;
+        }
+      }
+      if (upper != null) {
+        int comparison = number.compareTo(upper);
+        if (comparison > 0 || (comparison == 0 && !upperInclusive)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    public int getRuleIdx() {
+      return ruleIdx;
+    }
+
+    public BigDecimal getLower() {
+      return lower;
+    }
+
+    public boolean isLowerInclusive() {
+      return lowerInclusive;
+    }
+
+    public BigDecimal getUpper() {
+      return upper;
+    }
+
+    public boolean isUpperInclusive() {
+      return upperInclusive;
+    }
+
+  }
+
+  /**
+   * <p>Centered interval tree: each node holds the intervals which contain its center,
+   * the intervals below the center are in the left subtree and the ones above it in
+   * the right subtree. A lookup visits one node per level and only the intervals of a
+   * node which contain the number, plus one.</p>
+   */
+  public static class IntervalTree {
+
+    /** unbounded lower bounds first, for equal bounds the inclusive one first */
+    protected static final Comparator<Interval> BY_LOWER_BOUND = Comparator
+        .comparing(Interval::getLower, Comparator.nullsFirst(Comparator.<BigDecimal>naturalOrder()))
+        .thenComparing(interval -> !interval.isLowerInclusive());
+
+    /** unbounded upper bounds first, for equal bounds the inclusive one first */
+    protected static final Comparator<Interval> BY_UPPER_BOUND_DESCENDING = Comparator
+        .comparing(Interval::getUpper, Comparator.nullsFirst(Comparator.<BigDecimal>reverseOrder()))
+        .thenComparing(interval -> !interval.isUpperInclusive());
+
+    protected final BigDecimal center;
+    protected final List<Interval> byLowerBound;
+    protected final List<Interval> byUpperBoundDescending;
+    protected final IntervalTree below;
+    protected final IntervalTree above;
+
+    protected IntervalTree(BigDecimal center, List<Interval> intervals, IntervalTree below, IntervalTree above) {
+      this.center = center;
+      this.byLowerBound = new ArrayList<Interval>(intervals);
+      this.byLowerBound.sort(BY_LOWER_BOUND);
+      this.byUpperBoundDescending = new ArrayList<Interval>(intervals);
+      this.byUpperBoundDescending.sort(BY_UPPER_BOUND_DESCENDING);
+      this.below = below;
+      this.above = above;
+    }
+
+    /**
+     * @return the tree, or <code>null</code> if none of the intervals contains any number
+     */
+    public static IntervalTree build(List<Interval> intervals) {
+      List<Interval> nonEmptyIntervals = new ArrayList<Interval>(intervals.size());
+      for (Interval interval : intervals) {
+        if (!interval.isEmpty()) {
+          nonEmptyIntervals.add(interval);
+        }
+      }
+      nonEmptyIntervals.sort(BY_LOWER_BOUND);
+      return buildSorted(nonEmptyIntervals);
+    }
+
+    /**
+     * @param intervals non-empty intervals, sorted by lower bound
+     */
+    protected static IntervalTree buildSorted(List<Interval> intervals) {
+      if (intervals.isEmpty()) {
+        return null;
+      }
+
+      // the center is contained in the median interval, so that each node holds at least one interval
+      BigDecimal center = intervals.get(intervals.size() / 2).getContainedNumber();
+
+      List<Interval> containing = new ArrayList<Interval>();
+      List<Interval> below = new ArrayList<Interval>();
+      List<Interval> above = new ArrayList<Interval>();
+      for (Interval interval : intervals) {
+        if (interval.isBelow(center)) {
+          below.add(interval);
+        }
+        else if (interval.isAbove(center)) {
+          above.add(interval);
+        }
+        else {
+          containing.add(interval);
+        }
+      }
+
+      return new IntervalTree(center, containing, buildSorted(below), buildSorted(above));
+    }
+
+    public void addContainingRules(BigDecimal number, BitSet rules) {
+      IntervalTree node = this;
+      while (node != null) {
+        int comparison = number.compareTo(node.center);
+        if (comparison < 0) {
+          // all intervals of the node reach up to the center, only the lower bound decides
+          addWhileContained(node.byLowerBound, number, rules);
+          node = node.below;
+        }
+        else if (comparison > 0) {
+          // all intervals of the node reach down to the center, only the upper bound decides
+          addWhileContained(node.byUpperBoundDescending, number, rules);
+          node = node.above;
+        }
+        else {
+          addWhileContained(node.byLowerBound, number, rules);
+          node = null;
+        }
+      }
+    }
+
+    protected void addWhileContained(List<Interval> intervals, BigDecimal number, BitSet rules) {
+      for (Interval interval : intervals) {
+        if (!interval.contains(number)) {
+          break;
+        }
+        rules.set(interval.getRuleIdx());
+      }
+    }
+
+  }
+
+}
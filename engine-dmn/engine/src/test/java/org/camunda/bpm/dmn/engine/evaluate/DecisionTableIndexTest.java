@@ -0,0 +1,220 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionRuleResult;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableInputIndex;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableInputIndex.Interval;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableInputIndex.ValueKind;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Evaluates the same decision tables with and without index and expects the same results.
+ */
+public class DecisionTableIndexTest {
+
+  protected static final String[] CATEGORY_ENTRIES = {
+      "\"a\"", "\"b\", \"c\"", "-", "not(\"a\")"
+  };
+
+  protected static final String[] AMOUNT_ENTRIES = {
+      "< 5", ">= 90", "[10..20[", "]20..30]", "42", "-", "7, 8"
+  };
+
+  protected static final List<String> CATEGORIES = Arrays.asList("a", "b", "c", "d");
+
+  protected static final List<Object> AMOUNTS = Arrays.<Object>asList(
+      0, 4, 5, 7, 8, 10, 19, 20, 21, 30, 31, 42, 89, 90, 1000, -3,
+      42L, (short) 8, new BigDecimal("10.0"), new BigDecimal("19.99"),
+      19.5, 42.0);
+
+  protected DmnEngine indexedEngine;
+  protected DmnEngine engine;
+
+  @Before
+  public void buildEngines() {
+    indexedEngine = new DefaultDmnEngineConfiguration()
+        .decisionTableIndexEnabled(true)
+        .decisionTableIndexMinRules(1)
+        .buildEngine();
+
+    engine = new DefaultDmnEngineConfiguration().buildEngine();
+  }
+
+  @Test
+  public void shouldBuildIndexOnlyIfEnabled() {
+    String dmn = createDecisionTable("COLLECT");
+
+    assertThat(getDecisionTable(parseDecision(indexedEngine, dmn)).getIndex()).isNotNull();
+    assertThat(getDecisionTable(parseDecision(engine, dmn)).getIndex()).isNull();
+  }
+
+  @Test
+  public void shouldNotBuildIndexForSmallDecisionTable() {
+    DmnEngine engine = new DefaultDmnEngineConfiguration()
+        .decisionTableIndexEnabled(true)
+        .buildEngine();
+
+    DmnDecision decision = parseDecision(engine, createDecisionTable("COLLECT"));
+
+    assertThat(getDecisionTable(decision).getIndex()).isNull();
+  }
+
+  @Test
+  public void shouldMatchSameRulesWithCollectHitPolicy() {
+    assertSameResults(createDecisionTable("COLLECT"));
+  }
+
+  @Test
+  public void shouldMatchSameRuleWithFirstHitPolicy() {
+    assertSameResults(createDecisionTable("FIRST"));
+  }
+
+  @Test
+  public void shouldMatchSameRulesForMissingValues() {
+    String dmn = createDecisionTable("COLLECT");
+    DmnDecision indexedDecision = parseDecision(indexedEngine, dmn);
+    DmnDecision decision = parseDecision(engine, dmn);
+
+    VariableMap variables = Variables.createVariables()
+        .putValue("category", null)
+        .putValue("amount", null);
+
+    assertThat(getRuleIds(indexedEngine.evaluateDecisionTable(indexedDecision, variables)))
+      .isEqualTo(getRuleIds(engine.evaluateDecisionTable(decision, variables)));
+  }
+
+  @Test
+  public void shouldFindSameIntervalsAsScan() {
+    // given
+    Random random = new Random(42);
+    List<Interval> intervals = new ArrayList<Interval>();
+    for (int ruleIdx = 0; ruleIdx < 5000; ruleIdx++) {
+      BigDecimal lower = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(1000));
+      BigDecimal upper = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(1000));
+      intervals.add(new Interval(ruleIdx, lower, random.nextBoolean(), upper, random.nextBoolean()));
+    }
+
+    DecisionTableInputIndex inputIndex = new DecisionTableInputIndex(ValueKind.NUMBER, new BitSet(),
+        Collections.<Object, BitSet>emptyMap(), intervals);
+
+    for (BigDecimal number = BigDecimal.valueOf(-2); number.compareTo(BigDecimal.valueOf(1002)) <= 0; number = number.add(new BigDecimal("0.5"))) {
+      BitSet expected = new BitSet();
+      for (Interval interval : intervals) {
+        if (interval.contains(number)) {
+          expected.set(interval.getRuleIdx());
+        }
+      }
+
+      // when
+      BitSet candidates = inputIndex.getCandidates(number);
+
+      // then
+      assertThat(candidates).describedAs("number %s", number).isEqualTo(expected);
+    }
+  }
+
+  protected void assertSameResults(String dmn) {
+    DmnDecision indexedDecision = parseDecision(indexedEngine, dmn);
+    DmnDecision decision = parseDecision(engine, dmn);
+
+    for (String category : CATEGORIES) {
+      for (Object amount : AMOUNTS) {
+        VariableMap variables = Variables.createVariables()
+            .putValue("category", category)
+            .putValue("amount", amount);
+
+        List<String> expected = getRuleIds(engine.evaluateDecisionTable(decision, variables));
+        List<String> actual = getRuleIds(indexedEngine.evaluateDecisionTable(indexedDecision, variables));
+
+        assertThat(actual)
+          .describedAs("category '%s', amount %s (%s)", category, amount, amount.getClass().getSimpleName())
+          .isEqualTo(expected);
+      }
+    }
+  }
+
+  protected List<String> getRuleIds(DmnDecisionTableResult result) {
+    List<String> ruleIds = new ArrayList<String>();
+    for (DmnDecisionRuleResult ruleResult : result) {
+      ruleIds.add((String) ruleResult.getSingleEntry());
+    }
+    return ruleIds;
+  }
+
+  protected DmnDecision parseDecision(DmnEngine engine, String dmn) {
+    return engine.parseDecision("decision", new ByteArrayInputStream(dmn.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  protected DmnDecisionTableImpl getDecisionTable(DmnDecision decision) {
+    return (DmnDecisionTableImpl) ((DmnDecisionImpl) decision).getDecisionLogic();
+  }
+
+  /**
+   * Creates a decision table with a rule for each combination of the input entries.
+   */
+  protected String createDecisionTable(String hitPolicy) {
+    StringBuilder dmn = new StringBuilder()
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+      .append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101/dmn.xsd\" id=\"definitions\" name=\"camunda\" namespace=\"http://camunda.org/schema/1.0/dmn\">")
+      .append("<decision id=\"decision\" name=\"decision\">")
+      .append("<decisionTable id=\"decisionTable\" hitPolicy=\"").append(hitPolicy).append("\">")
+      .append("<input id=\"category\"><inputExpression typeRef=\"string\"><text>category</text></inputExpression></input>")
+      .append("<input id=\"amount\"><inputExpression><text>amount</text></inputExpression></input>")
+      .append("<output id=\"output\" name=\"rule\" typeRef=\"string\" />");
+
+    int ruleIdx = 0;
+    for (String categoryEntry : CATEGORY_ENTRIES) {
+      for (String amountEntry : AMOUNT_ENTRIES) {
+        dmn.append("<rule id=\"rule").append(ruleIdx).append("\">")
+          .append("<inputEntry id=\"category").append(ruleIdx).append("\"><text><![CDATA[").append(categoryEntry).append("]]></text></inputEntry>")
+          .append("<inputEntry id=\"amount").append(ruleIdx).append("\"><text><![CDATA[").append(amountEntry).append("]]></text></inputEntry>")
+          .append("<outputEntry id=\"output").append(ruleIdx).append("\"><text>\"rule").append(ruleIdx).append("\"</text></outputEntry>")
+          .append("</rule>");
+        ruleIdx++;
+      }
+    }
+
+    return dmn
+      .append("</decisionTable>")
+      .append("</decision>")
+      .append("</definitions>")
+      .toString();
+  }
+
+}
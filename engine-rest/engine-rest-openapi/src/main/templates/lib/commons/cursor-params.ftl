@@ -0,0 +1,9 @@
+  <@lib.parameter
+      name = "cursor"
+      location = "query"
+      type = "string"
+      last = last
+      desc = "Keyset pagination of results. Returns the results following the result the cursor
+              was created for; pass an empty value to get the first page. The cursor of the last
+              returned result is provided in the `X-Next-Cursor` response header. The results must
+              not be sorted or only be sorted by ${cursorSortBy}. Cannot be combined with `firstResult`."/>
@@ -0,0 +1,9 @@
+  <@lib.parameter
+      name = "stream"
+      location = "query"
+      type = "boolean"
+      last = last
+      desc = "Streams the results: every result is written to the response as soon as it is fetched
+              from the database instead of collecting all results first, which keeps the memory
+              consumption of large result sets low. Default `false`. Cannot be combined with
+              `firstResult`, `maxResults` or `cursor`."/>
@@ -18,8 +18,15 @@
         name = "failedJobs"
         type = "integer"
         format = "int32"
-        last = true
         desc = "The number of failed batch execution jobs. This does not include aborted or deleted batch execution jobs." />
 
+    <@lib.property
+        name = "failedInstances"
+        type = "integer"
+        format = "int32"
+        last = true
+        desc = "The number of instances of failed batch execution jobs which were not executed successfully.
+                Instances which a failed batch execution job committed in their own transaction are not included." />
+
 </@lib.dto>
 </#macro>
\ No newline at end of file
@@ -0,0 +1,13 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto extends = "HandleExternalTaskDto" >
+
+  <@lib.property
+      name = "operations"
+      type = "array"
+      dto = "ExternalTaskBulkOperationDto"
+      last = true
+      desc = "A JSON array of operations which are applied in the given order. Each operation has the following properties:" />
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,63 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+  <@lib.property
+      name = "type"
+      type = "string"
+      nullable = false
+      enumValues = ['"complete"', '"failure"', '"bpmnError"']
+      desc = "**Mandatory.** The operation to apply to the external task." />
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      nullable = false
+      desc = "**Mandatory.** The id of the external task." />
+
+  <@lib.property
+      name = "errorCode"
+      type = "string"
+      desc = "The error code that indicates the predefined error. Used for `bpmnError` operations." />
+
+  <@lib.property
+      name = "errorMessage"
+      type = "string"
+      desc = "A message indicating the reason of the failure or the BPMN error. Used for `failure` and `bpmnError` operations." />
+
+  <@lib.property
+      name = "errorDetails"
+      type = "string"
+      desc = "A detailed error description. Used for `failure` operations." />
+
+  <@lib.property
+      name = "retries"
+      type = "integer"
+      format = "int32"
+      desc = "A number of how often the task should be retried. Must be >= 0. Used for `failure` operations." />
+
+  <@lib.property
+      name = "retryTimeout"
+      type = "integer"
+      format = "int64"
+      desc = "A timeout in milliseconds before the external task becomes available again for fetching. Must be >= 0.
+              Used for `failure` operations." />
+
+  <@lib.property
+      name = "variables"
+      type = "object"
+      additionalProperties = true
+      dto = "VariableValueDto"
+      desc = "A JSON object containing variable key-value pairs. Each key is a variable name and each value a JSON variable value object with the following properties:" />
+
+  <@lib.property
+      name = "localVariables"
+      type = "object"
+      additionalProperties = true
+      last = true
+      dto = "VariableValueDto"
+      desc = "A JSON object containing local variable key-value pairs. Local variables are set only in the scope of external task.
+              Used for `complete` and `failure` operations. Each key is a variable name and each value a JSON variable value object with the following properties:" />
+
+</@lib.dto>
+
+</#macro>
@@ -0,0 +1,28 @@
+<#macro dto_macro docsUrl="">
+<@lib.dto>
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      desc = "The id of the external task." />
+
+  <@lib.property
+      name = "successful"
+      type = "boolean"
+      desc = "`true` if the operation was applied to the external task." />
+
+  <@lib.property
+      name = "errorType"
+      type = "string"
+      desc = "The type of the exception which prevented the operation, e.g., `NotFoundException` if the task does not exist
+              or `BadUserRequestException` if it is locked by another worker. `null` if the operation was successful." />
+
+  <@lib.property
+      name = "errorMessage"
+      type = "string"
+      last = true
+      desc = "The message of the exception which prevented the operation. `null` if the operation was successful." />
+
+</@lib.dto>
+
+</#macro>
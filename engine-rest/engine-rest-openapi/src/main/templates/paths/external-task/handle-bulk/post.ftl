@@ -0,0 +1,98 @@
+<#macro endpoint_macro docsUrl="">
+{
+
+  <@lib.endpointInfo
+      id = "handleExternalTasksBulk"
+      tag = "External Task"
+      summary = "Handle Bulk"
+      desc = "Completes external tasks, reports failures and BPMN errors of one worker in a single transaction.
+              The operations are applied in the given order. An operation whose task does not exist, is locked by
+              another worker or may not be updated by the authenticated user is skipped and reported in the response.
+              All other errors, e.g., if a process instance could not be resumed successfully, roll back all operations." />
+
+  "parameters" : [],
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "ExternalTaskBulkHandlingDto"
+      examples = ['"example-1": {
+                       "summary": "POST /external-task/handle-bulk",
+                       "value": {
+                         "workerId": "aWorker",
+                         "operations": [
+                           {
+                             "type": "complete",
+                             "externalTaskId": "anExternalTaskId",
+                             "variables": {
+                               "aVariable": {
+                                 "value": "aStringValue"
+                               }
+                             }
+                           },
+                           {
+                             "type": "failure",
+                             "externalTaskId": "anotherExternalTaskId",
+                             "errorMessage": "Does not compute",
+                             "retries": 3,
+                             "retryTimeout": 60000
+                           },
+                           {
+                             "type": "bpmnError",
+                             "externalTaskId": "aThirdExternalTaskId",
+                             "errorCode": "bpmn-error"
+                           }
+                         ]
+                       }
+                     }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "ExternalTaskHandlingResultDto"
+        array = true
+        desc = "Request successful. Contains one result per operation in the order of the request."
+        examples = ['"example-1": {
+                       "summary": "POST /external-task/handle-bulk",
+                       "value": [
+                         {
+                           "externalTaskId": "anExternalTaskId",
+                           "successful": true,
+                           "errorType": null,
+                           "errorMessage": null
+                         },
+                         {
+                           "externalTaskId": "anotherExternalTaskId",
+                           "successful": false,
+                           "errorType": "NotFoundException",
+                           "errorMessage": "Cannot find external task with id anotherExternalTaskId: externalTask is null"
+                         },
+                         {
+                           "externalTaskId": "aThirdExternalTaskId",
+                           "successful": true,
+                           "errorType": null,
+                           "errorMessage": null
+                         }
+                       ]
+                     }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if the request does not contain any operation, an operation has an unknown type or the worker id
+                or an external task id is missing. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "500"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if a process instance could not be resumed successfully. No operation is applied in this case. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
+
+</#macro>
@@ -19,6 +19,11 @@
 
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign cursorSortBy = "`startTime`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#include "/lib/commons/stream-params.ftl" >
+
     <@lib.parameters
         object = params
         last = true/>
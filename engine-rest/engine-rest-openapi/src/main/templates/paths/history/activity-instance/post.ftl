@@ -10,8 +10,14 @@
               [Get Historic Activity Instance Count](${docsUrl}/reference/rest/history/activity-instance/get-activity-instance-query-count/) method." />
 
   "parameters" : [
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
+
+    <#assign cursorSortBy = "`startTime`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#assign last = true >
+    <#include "/lib/commons/stream-params.ftl" >
    ],
 
   <#assign requestMethod="POST"/>
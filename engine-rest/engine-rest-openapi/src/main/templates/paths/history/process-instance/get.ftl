@@ -18,6 +18,11 @@
 
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign cursorSortBy = "`startTime`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#include "/lib/commons/stream-params.ftl" >
+
     <@lib.parameters
         object = params
         skip = ["orQueries"] <#-- OR Queries not available in GET -->
@@ -10,8 +10,14 @@
               because it allows filtering by multiple process variables of types `String`, `Number` or `Boolean`." />
 
   "parameters" : [
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
+
+    <#assign cursorSortBy = "`startTime`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#assign last = true >
+    <#include "/lib/commons/stream-params.ftl" >
   ],
   <#assign requestMethod="POST"/>
   <@lib.requestBody
@@ -22,6 +22,7 @@
     />
     <#include "/lib/commons/sort-params.ftl">
     <#include "/lib/commons/pagination-params.ftl">
+    <#include "/lib/commons/stream-params.ftl">
     <#assign last = true >
     <#include "/lib/commons/deserialize-values-parameter.ftl">
 
@@ -16,6 +16,7 @@
 
     <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl">
+    <#include "/lib/commons/stream-params.ftl">
     <#assign last = true >
     <#include "/lib/commons/deserialize-values-parameter.ftl">
 
@@ -25,9 +25,15 @@
                               '"caseExecutionVariable"', '"caseInstanceVariable"' ] >
     <#include "/lib/commons/sort-params.ftl" >
 
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign cursorSortBy = "`created`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#assign last = true >
+    <#include "/lib/commons/stream-params.ftl" >
+
   ],
 
   "responses" : {
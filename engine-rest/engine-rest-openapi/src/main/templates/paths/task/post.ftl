@@ -20,9 +20,15 @@
 
   "parameters" : [
 
-    <#assign last = true >
+    <#assign last = false >
     <#include "/lib/commons/pagination-params.ftl" >
 
+    <#assign cursorSortBy = "`created`" >
+    <#include "/lib/commons/cursor-params.ftl" >
+
+    <#assign last = true >
+    <#include "/lib/commons/stream-params.ftl" >
+
   ],
 
   <@lib.requestBody
@@ -34,7 +34,9 @@ import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskBulkHandlingDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskHandlingResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.SetRetriesForExternalTasksDto;
@@ -78,6 +80,12 @@ public interface ExternalTaskRestService {
   @Produces(MediaType.APPLICATION_JSON)
   void fetchAndLock(FetchExternalTasksExtendedDto dto, @Suspended final AsyncResponse asyncResponse);
 
+  @POST
+  @Path("/handle-bulk")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskHandlingResultDto> handleBulk(ExternalTaskBulkHandlingDto dto);
+
   @Path("/{id}")
   ExternalTaskResource getExternalTask(@PathParam("id") String externalTaskId);
 
@@ -22,13 +22,15 @@ import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.util.List;
 
 @Produces(MediaType.APPLICATION_JSON)
 public interface TaskRestService {
@@ -41,21 +43,30 @@ public interface TaskRestService {
   @GET
   @Produces({MediaType.APPLICATION_JSON, Hal.APPLICATION_HAL_JSON})
   Object getTasks(@Context Request request, @Context UriInfo uriInfo,
-                  @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+                  @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+                  @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+                  @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   /**
-   * Expects the same parameters as {@link TaskRestService#getTasks(UriInfo, Integer, Integer)} (as
+   * Expects the same parameters as {@link TaskRestService#getTasks(Request, UriInfo, Integer, Integer, String, boolean)} (as
    * JSON message body) and allows more than one variable check.
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param cursor the cursor to fetch the results following it by keyset pagination;
+   *   empty for the first page. The cursor of the next page is returned in the
+   *   {@link KeysetPaginationUtil#NEXT_CURSOR_HEADER} header.
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  List<TaskDto> queryTasks(TaskQueryDto query,
-      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults);
+  Response queryTasks(TaskQueryDto query,
+      @QueryParam("firstResult") Integer firstResult, @QueryParam("maxResults") Integer maxResults,
+      @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   @GET
   @Path("/count")
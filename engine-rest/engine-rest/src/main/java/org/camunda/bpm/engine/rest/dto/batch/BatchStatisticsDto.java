@@ -23,6 +23,7 @@ public class BatchStatisticsDto extends BatchDto {
   protected int remainingJobs;
   protected int completedJobs;
   protected int failedJobs;
+  protected int failedInstances;
 
   public int getRemainingJobs() {
     return remainingJobs;
@@ -36,6 +37,10 @@ public class BatchStatisticsDto extends BatchDto {
     return failedJobs;
   }
 
+  public int getFailedInstances() {
+    return failedInstances;
+  }
+
   public static BatchStatisticsDto fromBatchStatistics(BatchStatistics batchStatistics) {
     BatchStatisticsDto dto = new BatchStatisticsDto();
     dto.id = batchStatistics.getId();
@@ -56,6 +61,7 @@ public class BatchStatisticsDto extends BatchDto {
     dto.remainingJobs = batchStatistics.getRemainingJobs();
     dto.completedJobs = batchStatistics.getCompletedJobs();
     dto.failedJobs = batchStatistics.getFailedJobs();
+    dto.failedInstances = batchStatistics.getFailedInstances();
     return dto;
   }
 
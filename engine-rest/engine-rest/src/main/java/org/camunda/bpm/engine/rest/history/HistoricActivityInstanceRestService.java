@@ -17,15 +17,16 @@
 package org.camunda.bpm.engine.rest.history;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
-import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.util.List;
 
 @Path(HistoricActivityInstanceRestService.PATH)
 @Produces(MediaType.APPLICATION_JSON)
@@ -43,24 +44,36 @@ public interface HistoricActivityInstanceRestService {
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param cursor the cursor to fetch the results following it by keyset pagination;
+   *   empty for the first page. The cursor of the next page is returned in the
+   *   {@link KeysetPaginationUtil#NEXT_CURSOR_HEADER} header.
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricActivityInstanceDto> getHistoricActivityInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+  Response getHistoricActivityInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   /**
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param cursor the cursor to fetch the results following it by keyset pagination;
+   *   empty for the first page. The cursor of the next page is returned in the
+   *   {@link KeysetPaginationUtil#NEXT_CURSOR_HEADER} header.
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricActivityInstanceDto> queryHistoricActivityInstances(HistoricActivityInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+  Response queryHistoricActivityInstances(HistoricActivityInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   @GET
   @Path("/count")
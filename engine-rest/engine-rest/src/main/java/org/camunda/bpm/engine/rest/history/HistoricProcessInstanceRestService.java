@@ -16,8 +16,6 @@
  */
 package org.camunda.bpm.engine.rest.history;
 
-import java.util.List;
-
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
@@ -36,10 +34,11 @@ import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
 import org.camunda.bpm.engine.rest.dto.history.DeleteHistoricProcessInstancesDto;
-import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.batch.removaltime.SetRemovalTimeToHistoricProcessInstancesDto;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
 @Path(HistoricProcessInstanceRestService.PATH)
 @Produces(MediaType.APPLICATION_JSON)
@@ -57,24 +56,36 @@ public interface HistoricProcessInstanceRestService {
    * @param uriInfo
    * @param firstResult
    * @param maxResults
+   * @param cursor the cursor to fetch the results following it by keyset pagination;
+   *   empty for the first page. The cursor of the next page is returned in the
+   *   {@link KeysetPaginationUtil#NEXT_CURSOR_HEADER} header.
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricProcessInstanceDto> getHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+  Response getHistoricProcessInstances(@Context UriInfo uriInfo, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   /**
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param cursor the cursor to fetch the results following it by keyset pagination;
+   *   empty for the first page. The cursor of the next page is returned in the
+   *   {@link KeysetPaginationUtil#NEXT_CURSOR_HEADER} header.
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
-      @QueryParam("maxResults") Integer maxResults);
+  Response queryHistoricProcessInstances(HistoricProcessInstanceQueryDto query, @QueryParam("firstResult") Integer firstResult,
+      @QueryParam("maxResults") Integer maxResults, @QueryParam(KeysetPaginationUtil.CURSOR_PARAM) String cursor,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   @GET
   @Path("/count")
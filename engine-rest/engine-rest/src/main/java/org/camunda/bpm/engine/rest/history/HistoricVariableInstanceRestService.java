@@ -22,12 +22,13 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.sub.VariableResource;
 import org.camunda.bpm.engine.rest.sub.history.HistoricVariableInstanceResource;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
-import java.util.List;
 
 @Path(HistoricVariableInstanceRestService.PATH)
 @Produces(MediaType.APPLICATION_JSON)
@@ -45,30 +46,36 @@ public interface HistoricVariableInstanceRestService {
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @GET
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricVariableInstanceDto> getHistoricVariableInstances(
+  Response getHistoricVariableInstances(
       @Context UriInfo uriInfo,
       @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults,
-      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeValues);
+      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeValues,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   /**
    * @param query
    * @param firstResult
    * @param maxResults
+   * @param stream whether to write the results to the response while they are
+   *   fetched instead of collecting them first; cannot be combined with paging
    * @return
    */
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
-  List<HistoricVariableInstanceDto> queryHistoricVariableInstances(
+  Response queryHistoricVariableInstances(
       HistoricVariableInstanceQueryDto query,
       @QueryParam("firstResult") Integer firstResult,
       @QueryParam("maxResults") Integer maxResults,
-      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeValues);
+      @QueryParam(VariableResource.DESERIALIZE_VALUES_QUERY_PARAM) @DefaultValue("true") boolean deserializeValues,
+      @QueryParam(QueryStreamingUtil.STREAM_PARAM) boolean stream);
 
   @GET
   @Path("/count")
@@ -28,14 +28,21 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkHandlingBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskBulkHandlingDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskBulkOperationDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskHandlingResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
@@ -48,6 +55,7 @@ import org.camunda.bpm.engine.rest.sub.externaltask.impl.ExternalTaskResourceImp
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.variable.VariableMap;
 
 /**
  * @author Thorben Lindhauer
@@ -121,6 +129,57 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     fetchAndLockHandler.addPendingRequest(dto, asyncResponse, processEngine);
   }
 
+  @Override
+  public List<ExternalTaskHandlingResultDto> handleBulk(ExternalTaskBulkHandlingDto dto) {
+    ProcessEngine engine = getProcessEngine();
+    ObjectMapper objectMapper = getObjectMapper();
+
+    ExternalTaskBulkHandlingBuilder builder = engine.getExternalTaskService().handleBulk(dto.getWorkerId());
+
+    List<ExternalTaskBulkOperationDto> operations = dto.getOperations();
+    if (operations == null || operations.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "At least one operation must be specified.");
+    }
+
+    for (ExternalTaskBulkOperationDto operation : operations) {
+      String type = operation.getType();
+      VariableMap variables = VariableValueDto.toMap(operation.getVariables(), engine, objectMapper);
+
+      if (ExternalTaskBulkOperationDto.TYPE_COMPLETE.equals(type)) {
+        VariableMap localVariables = VariableValueDto.toMap(operation.getLocalVariables(), engine, objectMapper);
+        builder.complete(operation.getExternalTaskId(), variables, localVariables);
+      }
+      else if (ExternalTaskBulkOperationDto.TYPE_FAILURE.equals(type)) {
+        VariableMap localVariables = VariableValueDto.toMap(operation.getLocalVariables(), engine, objectMapper);
+        builder.handleFailure(operation.getExternalTaskId(), operation.getErrorMessage(), operation.getErrorDetails(),
+            operation.getRetries(), operation.getRetryTimeout(), variables, localVariables);
+      }
+      else if (ExternalTaskBulkOperationDto.TYPE_BPMN_ERROR.equals(type)) {
+        builder.handleBpmnError(operation.getExternalTaskId(), operation.getErrorCode(), operation.getErrorMessage(), variables);
+      }
+      else {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Unknown operation type '" + type + "'. Must be one of '"
+            + ExternalTaskBulkOperationDto.TYPE_COMPLETE + "', '" + ExternalTaskBulkOperationDto.TYPE_FAILURE + "' or '"
+            + ExternalTaskBulkOperationDto.TYPE_BPMN_ERROR + "'.");
+      }
+    }
+
+    List<ExternalTaskHandlingResult> results;
+    try {
+      results = builder.execute();
+    }
+    catch (NullValueException e) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, e.getMessage());
+    }
+
+    List<ExternalTaskHandlingResultDto> resultDtos = new ArrayList<ExternalTaskHandlingResultDto>();
+    for (ExternalTaskHandlingResult result : results) {
+      resultDtos.add(ExternalTaskHandlingResultDto.fromResult(result));
+    }
+
+    return resultDtos;
+  }
+
   @Override
   public ExternalTaskResource getExternalTask(String externalTaskId) {
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
@@ -34,6 +34,8 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
@@ -48,11 +50,12 @@ import org.camunda.bpm.engine.rest.util.EngineUtil;
 /**
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskNotificationListener {
 
   private static final Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String TOPIC_WAKE_UP_PARAM_NAME = "fetch-and-lock-topic-wake-up";
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -70,6 +73,16 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected boolean isUniqueWorkerRequest = false;
 
+  /**
+   * If true, pending requests are only fetched again when a notification about
+   * available tasks on one of their topics arrives, when they time out or
+   * periodically every {@link #PENDING_REQUEST_FETCH_INTERVAL}. Otherwise, all
+   * pending requests are fetched again whenever any external task becomes available.
+   */
+  protected boolean isTopicWakeUp = false;
+  protected FetchAndLockRequestRegistry requestRegistry = new FetchAndLockRequestRegistry();
+  protected long lastFullFetchTime = 0;
+
   public FetchAndLockHandlerImpl() {
     this.condition = new SingleConsumerCondition(handlerThread);
   }
@@ -99,6 +112,15 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       }
 
       pendingRequests.addAll(newRequests);
+
+      if (isTopicWakeUp) {
+        for (FetchAndLockRequest newRequest : newRequests) {
+          requestRegistry.register(newRequest);
+          // fetch once after registration to not miss tasks created in between
+          requestRegistry.wakeUp(newRequest);
+        }
+      }
+
       newRequests.clear();
     }
 
@@ -106,11 +128,22 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
+    boolean isFullFetch = isFullFetchRequired();
+
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
     while (iterator.hasNext()) {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
+      boolean isWokenUp = requestRegistry.consumeWakeUp(pendingRequest);
+
+      if (!isFullFetch && !isWokenUp && !isExpired(pendingRequest)) {
+        // no matching tasks became available since the last fetch
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
+
       LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
 
       FetchAndLockResult result = tryFetchAndLock(pendingRequest);
@@ -127,7 +160,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
           LOG.log(Level.FINEST, "resume and remove request with {0}", lockedTasks);
 
-          iterator.remove();
+          removePendingRequest(iterator, pendingRequest);
         }
         else {
           final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - ClockUtil.getCurrentTime().getTime();
@@ -141,10 +174,14 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
         LOG.log(Level.FINEST, "Resume and remove request with error", processEngineException);
 
-        iterator.remove();
+        removePendingRequest(iterator, pendingRequest);
       }
     }
 
+    if (isFullFetch) {
+      lastFullFetchTime = ClockUtil.getCurrentTime().getTime();
+    }
+
     final long waitTime = Math.max(0, backoffTime);
 
     if (pendingRequests.isEmpty()) {
@@ -167,13 +204,37 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
           AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
           asyncResponse.cancel();
 
-          iterator.remove();
+          removePendingRequest(iterator, pendingRequest);
         }
       }
 
     }
   }
 
+  protected boolean isFullFetchRequired() {
+    if (!isTopicWakeUp) {
+      return true;
+    }
+    // tasks may become available without notification, e.g. by setting retries or activation
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    return currentTime - lastFullFetchTime >= PENDING_REQUEST_FETCH_INTERVAL;
+  }
+
+  protected void removePendingRequest(Iterator<FetchAndLockRequest> iterator, FetchAndLockRequest pendingRequest) {
+    iterator.remove();
+
+    if (isTopicWakeUp) {
+      requestRegistry.unregister(pendingRequest);
+    }
+  }
+
+  @Override
+  public void onExternalTasksAvailable(ExternalTaskNotification notification) {
+    if (requestRegistry.wakeUp(notification)) {
+      condition.signal();
+    }
+  }
+
   @Override
   public void start() {
     if (isRunning) {
@@ -183,13 +244,19 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     isRunning = true;
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    if (isTopicWakeUp) {
+      ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.addListener(this);
+    }
+    else {
+      ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    }
   }
 
   @Override
   public void shutdown() {
     try {
       ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.removeListener(this);
     }
     finally {
       isRunning = false;
@@ -345,6 +412,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseTopicWakeUpParam(servletContext.getInitParameter(TOPIC_WAKE_UP_PARAM_NAME));
       }
     }
   }
@@ -357,6 +425,14 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseTopicWakeUpParam(String topicWakeUpParam) {
+    if (topicWakeUpParam != null) {
+      isTopicWakeUp = Boolean.valueOf(topicWakeUpParam);
+    } else {
+      isTopicWakeUp = false; // default configuration
+    }
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
     return pendingRequests;
   }
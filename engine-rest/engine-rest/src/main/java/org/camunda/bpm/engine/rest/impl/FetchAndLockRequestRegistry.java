@@ -0,0 +1,161 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
+
+/**
+ * <p>Indexes pending fetch and lock requests by process engine and topic, so that an
+ * {@link ExternalTaskNotification} only wakes up the requests which may be able to
+ * lock one of the available tasks.</p>
+ *
+ * <p>A request is woken up if it fetches the notified topic and its tenant filter
+ * matches the notified tenant. All other filters (e.g. variables, business key or
+ * process definition) are evaluated by the subsequent fetch and lock query.</p>
+ *
+ * <p>Requests are registered and unregistered by the handler thread while
+ * notifications are delivered by arbitrary threads.</p>
+ */
+public class FetchAndLockRequestRegistry {
+
+  /** process engine name -> topic name -> pending requests */
+  protected Map<String, Map<String, Set<FetchAndLockRequest>>> requestsByTopic = new ConcurrentHashMap<>();
+
+  protected Set<FetchAndLockRequest> wokenUpRequests = ConcurrentHashMap.newKeySet();
+
+  public void register(FetchAndLockRequest request) {
+    Map<String, Set<FetchAndLockRequest>> engineRequests = requestsByTopic
+        .computeIfAbsent(getEngineKey(request.getProcessEngineName()), key -> new ConcurrentHashMap<>());
+
+    for (FetchExternalTaskTopicDto topic : getTopics(request)) {
+      if (topic.getTopicName() == null) {
+        // invalid request; fails on fetch
+        continue;
+      }
+      engineRequests
+        .computeIfAbsent(topic.getTopicName(), key -> ConcurrentHashMap.newKeySet())
+        .add(request);
+    }
+  }
+
+  public void unregister(FetchAndLockRequest request) {
+    Map<String, Set<FetchAndLockRequest>> engineRequests = requestsByTopic.get(getEngineKey(request.getProcessEngineName()));
+
+    if (engineRequests != null) {
+      for (FetchExternalTaskTopicDto topic : getTopics(request)) {
+        Set<FetchAndLockRequest> topicRequests = topic.getTopicName() != null ? engineRequests.get(topic.getTopicName()) : null;
+        if (topicRequests != null) {
+          topicRequests.remove(request);
+          if (topicRequests.isEmpty()) {
+            engineRequests.remove(topic.getTopicName(), topicRequests);
+          }
+        }
+      }
+    }
+
+    wokenUpRequests.remove(request);
+  }
+
+  /**
+   * Marks all registered requests matching the notification as woken up.
+   *
+   * @return true if at least one request was woken up
+   */
+  public boolean wakeUp(ExternalTaskNotification notification) {
+    Map<String, Set<FetchAndLockRequest>> engineRequests = requestsByTopic.get(getEngineKey(notification.getProcessEngineName()));
+    if (engineRequests == null) {
+      return false;
+    }
+
+    boolean wokenUp = false;
+
+    if (notification.isForAllTopics()) {
+      for (Set<FetchAndLockRequest> topicRequests : engineRequests.values()) {
+        wokenUp |= wokenUpRequests.addAll(topicRequests);
+      }
+    }
+    else {
+      Set<FetchAndLockRequest> topicRequests = engineRequests.get(notification.getTopicName());
+      if (topicRequests != null) {
+        for (FetchAndLockRequest request : topicRequests) {
+          if (matchesTenant(request, notification)) {
+            wokenUp |= wokenUpRequests.add(request);
+          }
+        }
+      }
+    }
+
+    return wokenUp;
+  }
+
+  /**
+   * Marks the request as woken up regardless of notifications, e.g. to fetch
+   * newly registered requests once.
+   */
+  public void wakeUp(FetchAndLockRequest request) {
+    wokenUpRequests.add(request);
+  }
+
+  /**
+   * Clears the woken up flag of the request.
+   *
+   * @return true if the request was woken up since the last call
+   */
+  public boolean consumeWakeUp(FetchAndLockRequest request) {
+    return wokenUpRequests.remove(request);
+  }
+
+  protected boolean matchesTenant(FetchAndLockRequest request, ExternalTaskNotification notification) {
+    String tenantId = notification.getTenantId();
+
+    for (FetchExternalTaskTopicDto topic : getTopics(request)) {
+      if (!notification.getTopicName().equals(topic.getTopicName())) {
+        continue;
+      }
+
+      String[] tenantIdIn = topic.getTenantIdIn();
+      boolean hasTenantFilter = topic.isWithoutTenantId() || tenantIdIn != null;
+
+      if (!hasTenantFilter
+          || (topic.isWithoutTenantId() && tenantId == null)
+          || (tenantIdIn != null && tenantId != null && Arrays.asList(tenantIdIn).contains(tenantId))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  protected List<FetchExternalTaskTopicDto> getTopics(FetchAndLockRequest request) {
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    return topics != null ? topics : Collections.<FetchExternalTaskTopicDto>emptyList();
+  }
+
+  protected String getEngineKey(String processEngineName) {
+    // concurrent maps do not support null keys
+    return processEngineName != null ? processEngineName : "";
+  }
+
+}
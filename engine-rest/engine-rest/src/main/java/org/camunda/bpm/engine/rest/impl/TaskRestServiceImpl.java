@@ -40,6 +40,8 @@ import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskReportResourceImpl;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
 
@@ -53,47 +55,59 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     super(engineName, objectMapper);
   }
 
-  public Object getTasks(Request request, UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public Object getTasks(Request request, UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     Variant variant = request.selectVariant(VARIANTS);
     if (variant != null) {
       if (MediaType.APPLICATION_JSON_TYPE.equals(variant.getMediaType())) {
-        return getJsonTasks(uriInfo, firstResult, maxResults);
+        return getJsonTasks(uriInfo, firstResult, maxResults, cursor, stream);
       }
       else if (Hal.APPLICATION_HAL_JSON_TYPE.equals(variant.getMediaType())) {
-        return getHalTasks(uriInfo, firstResult, maxResults);
+        if (stream) {
+          throw new InvalidRequestException(Response.Status.BAD_REQUEST,
+              "Parameter '" + QueryStreamingUtil.STREAM_PARAM + "' is not supported for " + Hal.APPLICATION_HAL_JSON);
+        }
+        return getHalTasks(uriInfo, firstResult, maxResults, cursor);
       }
     }
     throw new InvalidRequestException(Response.Status.NOT_ACCEPTABLE, "No acceptable content-type found");
   }
 
-  public List<TaskDto> getJsonTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public Response getJsonTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
-    return queryTasks(queryDto, firstResult, maxResults);
+    return queryTasks(queryDto, firstResult, maxResults, cursor, stream);
   }
 
-  public HalTaskList getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public Response getHalTasks(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor) {
     TaskQueryDto queryDto = new TaskQueryDto(getObjectMapper(), uriInfo.getQueryParameters());
 
     ProcessEngine engine = getProcessEngine();
     TaskQuery query = queryDto.toQuery(engine);
 
     // get list of tasks
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, cursor, query);
 
     // get total count
     long count = query.count();
 
-    return HalTaskList.generate(matchingTasks, count, engine);
+    HalTaskList halTaskList = HalTaskList.generate(matchingTasks, count, engine);
+    return KeysetPaginationUtil.createResponse(halTaskList, getNextCursor(query, cursor, matchingTasks));
   }
 
   @Override
-  public List<TaskDto> queryTasks(TaskQueryDto queryDto, Integer firstResult,
-      Integer maxResults) {
+  public Response queryTasks(TaskQueryDto queryDto, Integer firstResult,
+      Integer maxResults, String cursor, boolean stream) {
     ProcessEngine engine = getProcessEngine();
     queryDto.setObjectMapper(getObjectMapper());
     TaskQuery query = queryDto.toQuery(engine);
 
-    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, query);
+    if (stream) {
+      QueryStreamingUtil.checkStreamingParameters(firstResult, maxResults, cursor);
+      // enable initialization of form key:
+      query.initializeFormKeys();
+      return QueryStreamingUtil.createStreamingResponse(getObjectMapper(), query, query::forEach, TaskDto::fromEntity);
+    }
+
+    List<Task> matchingTasks = executeTaskQuery(firstResult, maxResults, cursor, query);
 
     List<TaskDto> tasks = new ArrayList<TaskDto>();
     for (Task task : matchingTasks) {
@@ -101,16 +115,18 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
       tasks.add(returnTask);
     }
 
-    return tasks;
+    return KeysetPaginationUtil.createResponse(tasks, getNextCursor(query, cursor, matchingTasks));
   }
 
-  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, TaskQuery query) {
+  protected List<Task> executeTaskQuery(Integer firstResult, Integer maxResults, String cursor, TaskQuery query) {
 
     // enable initialization of form key:
     query.initializeFormKeys();
 
     List<Task> matchingTasks;
-    if (firstResult != null || maxResults != null) {
+    if (cursor != null) {
+      matchingTasks = query.listAfter(cursor, KeysetPaginationUtil.getMaxResults(firstResult, maxResults));
+    } else if (firstResult != null || maxResults != null) {
       matchingTasks = executePaginatedQuery(query, firstResult, maxResults);
     } else {
       matchingTasks = query.list();
@@ -118,6 +134,13 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
     return matchingTasks;
   }
 
+  protected String getNextCursor(TaskQuery query, String cursor, List<Task> matchingTasks) {
+    if (cursor == null || matchingTasks.isEmpty()) {
+      return null;
+    }
+    return query.cursorOf(matchingTasks.get(matchingTasks.size() - 1));
+  }
+
   protected List<Task> executePaginatedQuery(TaskQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
@@ -26,7 +26,10 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricActivityInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricActivityInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,18 +49,33 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
   }
 
   @Override
-  public List<HistoricActivityInstanceDto> getHistoricActivityInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public Response getHistoricActivityInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     HistoricActivityInstanceQueryDto queryHistoricActivityInstanceDto = new HistoricActivityInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
-    return queryHistoricActivityInstances(queryHistoricActivityInstanceDto, firstResult, maxResults);
+    return queryHistoricActivityInstances(queryHistoricActivityInstanceDto, firstResult, maxResults, cursor, stream);
   }
 
   @Override
-  public List<HistoricActivityInstanceDto> queryHistoricActivityInstances(HistoricActivityInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+  public Response queryHistoricActivityInstances(HistoricActivityInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     queryDto.setObjectMapper(objectMapper);
     HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
 
+    if (stream) {
+      QueryStreamingUtil.checkStreamingParameters(firstResult, maxResults, cursor);
+      return QueryStreamingUtil.createStreamingResponse(objectMapper, query, query::forEach, historicActivityInstance -> {
+        HistoricActivityInstanceDto resultHistoricActivityInstance = new HistoricActivityInstanceDto();
+        HistoricActivityInstanceDto.fromHistoricActivityInstance(resultHistoricActivityInstance, historicActivityInstance);
+        return resultHistoricActivityInstance;
+      });
+    }
+
     List<HistoricActivityInstance> matchingHistoricActivityInstances;
-    if (firstResult != null || maxResults != null) {
+    String nextCursor = null;
+    if (cursor != null) {
+      matchingHistoricActivityInstances = query.listAfter(cursor, KeysetPaginationUtil.getMaxResults(firstResult, maxResults));
+      if (!matchingHistoricActivityInstances.isEmpty()) {
+        nextCursor = query.cursorOf(matchingHistoricActivityInstances.get(matchingHistoricActivityInstances.size() - 1));
+      }
+    } else if (firstResult != null || maxResults != null) {
       matchingHistoricActivityInstances = executePaginatedQuery(query, firstResult, maxResults);
     } else {
       matchingHistoricActivityInstances = query.list();
@@ -69,7 +87,7 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
       HistoricActivityInstanceDto.fromHistoricActivityInstance(resultHistoricActivityInstance, historicActivityInstance);
       historicActivityInstanceResults.add(resultHistoricActivityInstance);
     }
-    return historicActivityInstanceResults;
+    return KeysetPaginationUtil.createResponse(historicActivityInstanceResults, nextCursor);
   }
 
   private List<HistoricActivityInstance> executePaginatedQuery(HistoricActivityInstanceQuery query, Integer firstResult, Integer maxResults) {
@@ -39,6 +39,8 @@ import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.history.HistoricProcessInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricProcessInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricProcessInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 import org.camunda.bpm.engine.rest.util.URLEncodingUtil;
 
 import javax.ws.rs.core.MediaType;
@@ -72,18 +74,29 @@ import java.util.List;
   }
 
   @Override
-  public List<HistoricProcessInstanceDto> getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults) {
+  public Response getHistoricProcessInstances(UriInfo uriInfo, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     HistoricProcessInstanceQueryDto queryHistoriProcessInstanceDto = new HistoricProcessInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
-    return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults);
+    return queryHistoricProcessInstances(queryHistoriProcessInstanceDto, firstResult, maxResults, cursor, stream);
   }
 
   @Override
-  public List<HistoricProcessInstanceDto> queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults) {
+  public Response queryHistoricProcessInstances(HistoricProcessInstanceQueryDto queryDto, Integer firstResult, Integer maxResults, String cursor, boolean stream) {
     queryDto.setObjectMapper(objectMapper);
     HistoricProcessInstanceQuery query = queryDto.toQuery(processEngine);
 
+    if (stream) {
+      QueryStreamingUtil.checkStreamingParameters(firstResult, maxResults, cursor);
+      return QueryStreamingUtil.createStreamingResponse(objectMapper, query, query::forEach, HistoricProcessInstanceDto::fromHistoricProcessInstance);
+    }
+
     List<HistoricProcessInstance> matchingHistoricProcessInstances;
-    if (firstResult != null || maxResults != null) {
+    String nextCursor = null;
+    if (cursor != null) {
+      matchingHistoricProcessInstances = query.listAfter(cursor, KeysetPaginationUtil.getMaxResults(firstResult, maxResults));
+      if (!matchingHistoricProcessInstances.isEmpty()) {
+        nextCursor = query.cursorOf(matchingHistoricProcessInstances.get(matchingHistoricProcessInstances.size() - 1));
+      }
+    } else if (firstResult != null || maxResults != null) {
       matchingHistoricProcessInstances = executePaginatedQuery(query, firstResult, maxResults);
     } else {
       matchingHistoricProcessInstances = query.list();
@@ -94,7 +107,7 @@ import java.util.List;
       HistoricProcessInstanceDto resultHistoricProcessInstanceDto = HistoricProcessInstanceDto.fromHistoricProcessInstance(historicProcessInstance);
       historicProcessInstanceDtoResults.add(resultHistoricProcessInstanceDto);
     }
-    return historicProcessInstanceDtoResults;
+    return KeysetPaginationUtil.createResponse(historicProcessInstanceDtoResults, nextCursor);
   }
 
   private List<HistoricProcessInstance> executePaginatedQuery(HistoricProcessInstanceQuery query, Integer firstResult, Integer maxResults) {
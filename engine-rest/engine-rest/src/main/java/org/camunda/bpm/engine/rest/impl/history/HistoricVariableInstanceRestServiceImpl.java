@@ -26,7 +26,9 @@ import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricVariableInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricVariableInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricVariableInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.QueryStreamingUtil;
 
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,15 +48,15 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
   }
 
   @Override
-  public List<HistoricVariableInstanceDto> getHistoricVariableInstances(UriInfo uriInfo, Integer firstResult,
-      Integer maxResults, boolean deserializeObjectValues) {
+  public Response getHistoricVariableInstances(UriInfo uriInfo, Integer firstResult,
+      Integer maxResults, boolean deserializeObjectValues, boolean stream) {
     HistoricVariableInstanceQueryDto queryDto = new HistoricVariableInstanceQueryDto(objectMapper, uriInfo.getQueryParameters());
-    return queryHistoricVariableInstances(queryDto, firstResult, maxResults, deserializeObjectValues);
+    return queryHistoricVariableInstances(queryDto, firstResult, maxResults, deserializeObjectValues, stream);
   }
 
   @Override
-  public List<HistoricVariableInstanceDto> queryHistoricVariableInstances(HistoricVariableInstanceQueryDto queryDto,
-      Integer firstResult, Integer maxResults, boolean deserializeObjectValues) {
+  public Response queryHistoricVariableInstances(HistoricVariableInstanceQueryDto queryDto,
+      Integer firstResult, Integer maxResults, boolean deserializeObjectValues, boolean stream) {
     queryDto.setObjectMapper(objectMapper);
     HistoricVariableInstanceQuery query = queryDto.toQuery(processEngine);
     query.disableBinaryFetching();
@@ -63,6 +65,11 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
       query.disableCustomObjectDeserialization();
     }
 
+    if (stream) {
+      QueryStreamingUtil.checkStreamingParameters(firstResult, maxResults, null);
+      return QueryStreamingUtil.createStreamingResponse(objectMapper, query, query::forEach, HistoricVariableInstanceDto::fromHistoricVariableInstance);
+    }
+
     List<HistoricVariableInstance> matchingHistoricVariableInstances;
     if (firstResult != null || maxResults != null) {
       matchingHistoricVariableInstances = executePaginatedQuery(query, firstResult, maxResults);
@@ -75,7 +82,7 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
       HistoricVariableInstanceDto resultHistoricVariableInstance = HistoricVariableInstanceDto.fromHistoricVariableInstance(historicVariableInstance);
       historicVariableInstanceDtoResults.add(resultHistoricVariableInstance);
     }
-    return historicVariableInstanceDtoResults;
+    return Response.ok(historicVariableInstanceDtoResults).build();
   }
 
   private List<HistoricVariableInstance> executePaginatedQuery(HistoricVariableInstanceQuery query, Integer firstResult, Integer maxResults) {
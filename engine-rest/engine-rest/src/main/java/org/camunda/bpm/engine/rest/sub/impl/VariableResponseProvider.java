@@ -25,13 +25,17 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 /**
  * @author Christopher Zell <christopher.zell@camunda.com>
  */
 public class VariableResponseProvider {
 
+  protected static final int BUFFER_SIZE = 16 * 1024;
+
   public Response getResponseForTypedVariable(TypedValue typedVariableValue, String id) {
     if (typedVariableValue instanceof BytesValue || ValueType.BYTES.equals(typedVariableValue.getType())) {
       return responseForByteVariable(typedVariableValue);
@@ -51,10 +55,30 @@ public class VariableResponseProvider {
     if (fileValue.getEncoding() != null) {
       type += "; charset=" + fileValue.getEncoding();
     }
-    Object value = fileValue.getValue() == null ? "" : fileValue.getValue();
+    InputStream inputStream = fileValue.getValue();
+    Object value = inputStream == null ? "" : streamingOutput(inputStream);
     return Response.ok(value, type).header("Content-Disposition", URLEncodingUtil.buildAttachmentValue(fileValue.getFilename())).build();
   }
 
+  /**
+   * Copies the stream to the response in chunks and closes it afterwards. Streamed
+   * file values are backed by a temporary file which is deleted when the stream is closed.
+   */
+  protected StreamingOutput streamingOutput(final InputStream inputStream) {
+    return outputStream -> {
+      try {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+          outputStream.write(buffer, 0, bytesRead);
+        }
+      }
+      finally {
+        inputStream.close();
+      }
+    };
+  }
+
   /**
    * Creates a response for a variable of type {@link ValueType#BYTES}.
    */
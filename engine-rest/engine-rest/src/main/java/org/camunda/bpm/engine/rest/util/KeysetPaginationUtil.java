@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+
+/**
+ * Support for the <code>cursor</code> parameter of list endpoints: the results
+ * following the cursor are fetched by keyset pagination and the cursor of the
+ * last result is returned in the {@link #NEXT_CURSOR_HEADER} header.
+ */
+public class KeysetPaginationUtil {
+
+  public static final String CURSOR_PARAM = "cursor";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  public static int getMaxResults(Integer firstResult, Integer maxResults) {
+    if (firstResult != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST,
+          "Parameters 'firstResult' and '" + CURSOR_PARAM + "' cannot be combined");
+    }
+    return maxResults != null ? maxResults : Integer.MAX_VALUE;
+  }
+
+  public static Response createResponse(Object entity, String nextCursor) {
+    ResponseBuilder response = Response.ok(entity);
+    if (nextCursor != null) {
+      response.header(NEXT_CURSOR_HEADER, nextCursor);
+    }
+    return response.build();
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Support for the <code>stream</code> parameter of list endpoints: instead of
+ * collecting all results in a list, the query results are fetched row by row
+ * and every result is converted to its dto and written to the response as soon
+ * as it is read.
+ */
+public class QueryStreamingUtil {
+
+  public static final String STREAM_PARAM = "stream";
+
+  public static void checkStreamingParameters(Integer firstResult, Integer maxResults, String cursor) {
+    if (firstResult != null || maxResults != null || cursor != null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST,
+          "Parameter '" + STREAM_PARAM + "' cannot be combined with 'firstResult', 'maxResults' or '"
+              + KeysetPaginationUtil.CURSOR_PARAM + "'");
+    }
+  }
+
+  /**
+   * Validates the query before the response is created, so that an invalid query is
+   * reported with an error status rather than after the response has been committed.
+   *
+   * @param query the query whose results are streamed
+   * @param forEach passes every query result to the given consumer, e.g. <code>query::forEach</code>
+   * @param toDto converts a query result to the dto that is written to the response
+   */
+  public static <T> Response createStreamingResponse(ObjectMapper objectMapper,
+                                                     Query<?, T> query,
+                                                     Consumer<Consumer<? super T>> forEach,
+                                                     Function<? super T, ?> toDto) {
+    ((AbstractQuery<?, ?>) query).validateForEach();
+
+    StreamingOutput output = outputStream -> {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // if writing a result fails, the array must stay open so that the client
+        // cannot mistake the truncated response for a complete result
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.writeStartArray();
+        forEach.accept(result -> writeResult(objectMapper, generator, toDto.apply(result)));
+        generator.writeEndArray();
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return Response.ok(output).build();
+  }
+
+  protected static void writeResult(ObjectMapper objectMapper, JsonGenerator generator, Object dto) {
+    try {
+      objectMapper.writeValue(generator, dto);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
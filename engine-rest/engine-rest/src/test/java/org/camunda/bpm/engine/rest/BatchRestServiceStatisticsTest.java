@@ -331,6 +331,7 @@ public class BatchRestServiceStatisticsTest extends AbstractRestServiceTest {
     assertEquals(MockProvider.EXAMPLE_BATCH_REMAINING_JOBS, batchStatistics.getRemainingJobs());
     assertEquals(MockProvider.EXAMPLE_BATCH_COMPLETED_JOBS, batchStatistics.getCompletedJobs());
     assertEquals(MockProvider.EXAMPLE_BATCH_FAILED_JOBS, batchStatistics.getFailedJobs());
+    assertEquals(MockProvider.EXAMPLE_BATCH_FAILED_INSTANCES, batchStatistics.getFailedInstances());
     assertTrue(batchStatistics.isSuspended());
   }
 
@@ -53,6 +53,7 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkHandlingBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -63,9 +64,11 @@ import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.HistoryServiceImpl;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskHandlingResultImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -109,6 +112,7 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String LOCK_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/lock";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String HANDLE_BULK_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/handle-bulk";
 
 
   protected ExternalTaskService externalTaskService;
@@ -1804,6 +1808,117 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
       .post(COMPLETE_EXTERNAL_TASK_URL);
   }
 
+  @Test
+  public void testHandleBulk() {
+    ExternalTaskBulkHandlingBuilder builder = mock(ExternalTaskBulkHandlingBuilder.class, Mockito.RETURNS_SELF);
+    when(externalTaskService.handleBulk(anyString())).thenReturn(builder);
+    when(builder.execute()).thenReturn(Arrays.asList(
+        ExternalTaskHandlingResultImpl.successful("firstTaskId"),
+        ExternalTaskHandlingResultImpl.failed("secondTaskId", new NotFoundException("not found")),
+        ExternalTaskHandlingResultImpl.successful("thirdTaskId")));
+
+    Map<String, Object> complete = new HashMap<>();
+    complete.put("type", "complete");
+    complete.put("externalTaskId", "firstTaskId");
+    complete.put("variables", VariablesBuilder.create().variable("var1", "val1").getVariables());
+
+    Map<String, Object> failure = new HashMap<>();
+    failure.put("type", "failure");
+    failure.put("externalTaskId", "secondTaskId");
+    failure.put("errorMessage", "anErrorMessage");
+    failure.put("errorDetails", "someDetails");
+    failure.put("retries", 3);
+    failure.put("retryTimeout", 1000L);
+
+    Map<String, Object> bpmnError = new HashMap<>();
+    bpmnError.put("type", "bpmnError");
+    bpmnError.put("externalTaskId", "thirdTaskId");
+    bpmnError.put("errorCode", "anErrorCode");
+    bpmnError.put("errorMessage", "anErrorMessage");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("operations", Arrays.asList(complete, failure, bpmnError));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("firstTaskId"))
+      .body("[0].successful", equalTo(true))
+      .body("[1].externalTaskId", equalTo("secondTaskId"))
+      .body("[1].successful", equalTo(false))
+      .body("[1].errorType", equalTo(NotFoundException.class.getSimpleName()))
+      .body("[1].errorMessage", equalTo("not found"))
+      .body("[2].externalTaskId", equalTo("thirdTaskId"))
+      .body("[2].successful", equalTo(true))
+    .when()
+      .post(HANDLE_BULK_EXTERNAL_TASKS_URL);
+
+    InOrder inOrder = inOrder(externalTaskService, builder);
+    inOrder.verify(externalTaskService).handleBulk("aWorkerId");
+    inOrder.verify(builder).complete(
+        eq("firstTaskId"),
+        argThat(EqualsVariableMap.matches()
+          .matcher("var1", EqualsUntypedValue.matcher().value("val1"))),
+        eq(null));
+    inOrder.verify(builder).handleFailure("secondTaskId", "anErrorMessage", "someDetails", 3, 1000L, null, null);
+    inOrder.verify(builder).handleBpmnError("thirdTaskId", "anErrorCode", "anErrorMessage", null);
+    inOrder.verify(builder).execute();
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  public void testHandleBulkWithUnknownOperationType() {
+    ExternalTaskBulkHandlingBuilder builder = mock(ExternalTaskBulkHandlingBuilder.class, Mockito.RETURNS_SELF);
+    when(externalTaskService.handleBulk(anyString())).thenReturn(builder);
+
+    Map<String, Object> operation = new HashMap<>();
+    operation.put("type", "unlock");
+    operation.put("externalTaskId", "anExternalTaskId");
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("operations", Arrays.asList(operation));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("Unknown operation type 'unlock'. Must be one of 'complete', 'failure' or 'bpmnError'."))
+    .when()
+      .post(HANDLE_BULK_EXTERNAL_TASKS_URL);
+
+    verify(builder, never()).execute();
+  }
+
+  @Test
+  public void testHandleBulkWithoutOperations() {
+    ExternalTaskBulkHandlingBuilder builder = mock(ExternalTaskBulkHandlingBuilder.class, Mockito.RETURNS_SELF);
+    when(externalTaskService.handleBulk(anyString())).thenReturn(builder);
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("workerId", "aWorkerId");
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("At least one operation must be specified."))
+    .when()
+      .post(HANDLE_BULK_EXTERNAL_TASKS_URL);
+
+    verify(builder, never()).execute();
+  }
+
   protected void validateExtendLockRequest(Map json, int statusCode) {
     given()
       .pathParam("id", MockProvider.EXTERNAL_TASK_ID)
@@ -23,9 +23,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.camunda.bpm.engine.rest.util.DateTimeUtils.withTimezone;
 import static org.camunda.bpm.engine.rest.util.QueryParamUtils.arrayAsCommaSeperatedList;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -36,11 +40,13 @@ import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
@@ -48,6 +54,8 @@ import javax.ws.rs.core.Response.Status;
 import org.camunda.bpm.ProcessApplicationService;
 import org.camunda.bpm.application.ProcessApplicationInfo;
 import org.camunda.bpm.container.RuntimeContainerDelegate;
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.identity.UserQuery;
 import org.camunda.bpm.engine.impl.TaskQueryImpl;
@@ -62,6 +70,7 @@ import org.camunda.bpm.engine.rest.helper.EqualsList;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.ValueGenerator;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -108,6 +117,19 @@ public class TaskRestServiceQueryTest extends AbstractRestServiceTest {
     return sampleTaskQuery;
   }
 
+  protected TaskQueryImpl setUpMockStreamingQuery(List<Task> results) {
+    TaskQueryImpl streamedQuery = mock(TaskQueryImpl.class);
+    doAnswer(invocation -> {
+      Consumer<Task> consumer = invocation.getArgument(0);
+      results.forEach(consumer);
+      return null;
+    }).when(streamedQuery).forEach(any());
+
+    when(processEngine.getTaskService().createTaskQuery()).thenReturn(streamedQuery);
+
+    return streamedQuery;
+  }
+
   @Test
   public void testEmptyQuery() {
     String queryKey = "";
@@ -931,6 +953,182 @@ public class TaskRestServiceQueryTest extends AbstractRestServiceTest {
     verify(mockQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testStreamQuery() {
+    TaskQueryImpl streamedQuery = setUpMockStreamingQuery(MockProvider.createMockTasks());
+
+    given()
+      .queryParam("stream", true)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", equalTo(1))
+        .body("[0].id", equalTo(MockProvider.EXAMPLE_TASK_ID))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    InOrder inOrder = inOrder(streamedQuery);
+    inOrder.verify(streamedQuery).validateForEach();
+    inOrder.verify(streamedQuery).forEach(any());
+    verify(streamedQuery, never()).list();
+  }
+
+  @Test
+  public void testStreamQueryExceedingMaxResultsLimit() {
+    TaskQueryImpl streamedQuery = setUpMockStreamingQuery(MockProvider.createMockTasks());
+    String message = "An unbound number of results is forbidden!";
+    doThrow(new BadUserRequestException(message)).when(streamedQuery).validateForEach();
+
+    given()
+      .queryParam("stream", true)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(BadUserRequestException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(streamedQuery, never()).forEach(any());
+  }
+
+  @Test
+  public void testStreamQueryWithPagination() {
+    given()
+      .queryParam("stream", true)
+      .queryParam("maxResults", 10)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("Parameter 'stream' cannot be combined with 'firstResult', 'maxResults' or 'cursor'"))
+      .when()
+        .get(TASK_QUERY_URL);
+  }
+
+  @Test
+  public void testCursorFirstPage() {
+    List<Task> page = MockProvider.createMockTasks();
+    when(mockQuery.listAfter("", 10)).thenReturn(page);
+    when(mockQuery.cursorOf(page.get(page.size() - 1))).thenReturn("nextCursor");
+
+    given()
+      .queryParam("cursor", "")
+      .queryParam("maxResults", 10)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, "nextCursor")
+        .body("size()", equalTo(page.size()))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(mockQuery).listAfter("", 10);
+    verify(mockQuery, never()).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testCursorNextPage() {
+    List<Task> page = MockProvider.createMockTasks();
+    when(mockQuery.listAfter("aCursor", Integer.MAX_VALUE)).thenReturn(page);
+    when(mockQuery.cursorOf(page.get(page.size() - 1))).thenReturn("nextCursor");
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, "nextCursor")
+        .body("size()", equalTo(page.size()))
+      .when()
+        .post(TASK_QUERY_URL);
+
+    verify(mockQuery).listAfter("aCursor", Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void testCursorLastPage() {
+    when(mockQuery.listAfter("aCursor", 10)).thenReturn(Collections.<Task>emptyList());
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("maxResults", 10)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, nullValue())
+        .body("size()", equalTo(0))
+      .when()
+        .get(TASK_QUERY_URL);
+  }
+
+  @Test
+  public void testInvalidCursor() {
+    String message = "Invalid cursor 'invalid'";
+    when(mockQuery.listAfter("invalid", Integer.MAX_VALUE)).thenThrow(new NotValidException(message));
+
+    given()
+      .queryParam("cursor", "invalid")
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(NotValidException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(TASK_QUERY_URL);
+  }
+
+  @Test
+  public void testCursorWithUnsupportedSorting() {
+    String message = "Keyset pagination requires the query to be ordered by CREATE_TIME_ only or not to be ordered at all";
+    when(mockQuery.listAfter("aCursor", Integer.MAX_VALUE)).thenThrow(new NotValidException(message));
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("sortBy", "priority")
+      .queryParam("sortOrder", "asc")
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(NotValidException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(mockQuery).orderByTaskPriority();
+  }
+
+  @Test
+  public void testCursorWithFirstResult() {
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("firstResult", 0)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("Parameters 'firstResult' and 'cursor' cannot be combined"))
+      .when()
+        .get(TASK_QUERY_URL);
+
+    verify(mockQuery, never()).listAfter(anyString(), anyInt());
+  }
+
   @Test
   public void testTaskVariableParameters() {
     // equals
@@ -39,6 +39,7 @@ public class MockBatchStatisticsBuilder {
   protected int remainingJobs;
   protected int completedJobs;
   protected int failedJobs;
+  protected int failedInstances;
   protected boolean suspended;
   protected Date startTime;
 
@@ -112,6 +113,11 @@ public class MockBatchStatisticsBuilder {
     return this;
   }
 
+  public MockBatchStatisticsBuilder failedInstances(int failedInstances) {
+    this.failedInstances = failedInstances;
+    return this;
+  }
+
   public MockBatchStatisticsBuilder suspended() {
     this.suspended = true;
     return this;
@@ -138,6 +144,7 @@ public class MockBatchStatisticsBuilder {
     when(batchStatistics.getRemainingJobs()).thenReturn(remainingJobs);
     when(batchStatistics.getCompletedJobs()).thenReturn(completedJobs);
     when(batchStatistics.getFailedJobs()).thenReturn(failedJobs);
+    when(batchStatistics.getFailedInstances()).thenReturn(failedInstances);
     when(batchStatistics.isSuspended()).thenReturn(suspended);
     when(batchStatistics.getStartTime()).thenReturn(startTime);
     return batchStatistics;
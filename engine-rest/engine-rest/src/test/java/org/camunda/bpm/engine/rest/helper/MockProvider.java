@@ -925,6 +925,7 @@ public abstract class MockProvider {
   public static final int EXAMPLE_BATCH_REMAINING_JOBS = 21;
   public static final int EXAMPLE_BATCH_COMPLETED_JOBS = 22;
   public static final int EXAMPLE_BATCH_FAILED_JOBS = 23;
+  public static final int EXAMPLE_BATCH_FAILED_INSTANCES = 46;
 
   // tasks
   public static final Long EXAMPLE_HISTORIC_TASK_REPORT_COUNT = 12L;
@@ -3224,7 +3225,8 @@ public abstract class MockProvider {
       .startTime(DateTimeUtil.parseDate(EXAMPLE_HISTORIC_BATCH_START_TIME))
       .remainingJobs(EXAMPLE_BATCH_REMAINING_JOBS)
       .completedJobs(EXAMPLE_BATCH_COMPLETED_JOBS)
-      .failedJobs(EXAMPLE_BATCH_FAILED_JOBS);
+      .failedJobs(EXAMPLE_BATCH_FAILED_JOBS)
+      .failedInstances(EXAMPLE_BATCH_FAILED_INSTANCES);
   }
 
   public static BatchStatistics createMockBatchStatistics() {
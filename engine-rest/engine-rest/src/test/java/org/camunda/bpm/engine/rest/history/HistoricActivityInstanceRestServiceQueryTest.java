@@ -22,8 +22,15 @@ import static io.restassured.path.json.JsonPath.from;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -34,16 +41,21 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response.Status;
 
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.calendar.DateTimeUtil;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
+import org.camunda.bpm.engine.rest.util.KeysetPaginationUtil;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.junit.Assert;
@@ -82,6 +94,19 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
     return mockedhistoricActivityInstanceQuery;
   }
 
+  protected HistoricActivityInstanceQueryImpl setUpMockStreamingQuery(List<HistoricActivityInstance> results) {
+    HistoricActivityInstanceQueryImpl streamedQuery = mock(HistoricActivityInstanceQueryImpl.class);
+    doAnswer(invocation -> {
+      Consumer<HistoricActivityInstance> consumer = invocation.getArgument(0);
+      results.forEach(consumer);
+      return null;
+    }).when(streamedQuery).forEach(any());
+
+    when(processEngine.getHistoryService().createHistoricActivityInstanceQuery()).thenReturn(streamedQuery);
+
+    return streamedQuery;
+  }
+
   @Test
   public void testEmptyQuery() {
     String queryKey = "";
@@ -318,6 +343,174 @@ public class HistoricActivityInstanceRestServiceQueryTest extends AbstractRestSe
     verify(mockedQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testStreamQuery() {
+    HistoricActivityInstanceQueryImpl streamedQuery = setUpMockStreamingQuery(MockProvider.createMockHistoricActivityInstances());
+
+    given()
+      .queryParam("stream", true)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", equalTo(1))
+        .body("[0].id", equalTo(MockProvider.EXAMPLE_HISTORIC_ACTIVITY_INSTANCE_ID))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(streamedQuery);
+    inOrder.verify(streamedQuery).validateForEach();
+    inOrder.verify(streamedQuery).forEach(any());
+    verify(streamedQuery, never()).list();
+  }
+
+  @Test
+  public void testStreamQueryExceedingMaxResultsLimit() {
+    HistoricActivityInstanceQueryImpl streamedQuery = setUpMockStreamingQuery(MockProvider.createMockHistoricActivityInstances());
+    String message = "An unbound number of results is forbidden!";
+    doThrow(new BadUserRequestException(message)).when(streamedQuery).validateForEach();
+
+    given()
+      .queryParam("stream", true)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(BadUserRequestException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(streamedQuery, never()).forEach(any());
+  }
+
+  @Test
+  public void testStreamQueryWithPagination() {
+    given()
+      .queryParam("stream", true)
+      .queryParam("maxResults", 10)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("Parameter 'stream' cannot be combined with 'firstResult', 'maxResults' or 'cursor'"))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testCursorFirstPage() {
+    List<HistoricActivityInstance> page = MockProvider.createMockHistoricActivityInstances();
+    when(mockedQuery.listAfter("", 10)).thenReturn(page);
+    when(mockedQuery.cursorOf(page.get(page.size() - 1))).thenReturn("nextCursor");
+
+    given()
+      .queryParam("cursor", "")
+      .queryParam("maxResults", 10)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, "nextCursor")
+        .body("size()", equalTo(page.size()))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter("", 10);
+    verify(mockedQuery, never()).listPage(anyInt(), anyInt());
+  }
+
+  @Test
+  public void testCursorNextPage() {
+    List<HistoricActivityInstance> page = MockProvider.createMockHistoricActivityInstances();
+    when(mockedQuery.listAfter("aCursor", Integer.MAX_VALUE)).thenReturn(page);
+    when(mockedQuery.cursorOf(page.get(page.size() - 1))).thenReturn("nextCursor");
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(EMPTY_JSON_OBJECT)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, "nextCursor")
+        .body("size()", equalTo(page.size()))
+      .when()
+        .post(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).listAfter("aCursor", Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void testCursorLastPage() {
+    when(mockedQuery.listAfter("aCursor", 10)).thenReturn(Collections.<HistoricActivityInstance>emptyList());
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("maxResults", 10)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .header(KeysetPaginationUtil.NEXT_CURSOR_HEADER, nullValue())
+        .body("size()", equalTo(0))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testInvalidCursor() {
+    String message = "Invalid cursor 'invalid'";
+    when(mockedQuery.listAfter("invalid", Integer.MAX_VALUE)).thenThrow(new NotValidException(message));
+
+    given()
+      .queryParam("cursor", "invalid")
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(NotValidException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+  }
+
+  @Test
+  public void testCursorWithUnsupportedSorting() {
+    String message = "Keyset pagination requires the query to be ordered by START_TIME_ only or not to be ordered at all";
+    when(mockedQuery.listAfter("aCursor", Integer.MAX_VALUE)).thenThrow(new NotValidException(message));
+
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("sortBy", "activityInstanceId")
+      .queryParam("sortOrder", "asc")
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(NotValidException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery).orderByHistoricActivityInstanceId();
+  }
+
+  @Test
+  public void testCursorWithFirstResult() {
+    given()
+      .queryParam("cursor", "aCursor")
+      .queryParam("firstResult", 0)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("Parameters 'firstResult' and 'cursor' cannot be combined"))
+      .when()
+        .get(HISTORIC_ACTIVITY_INSTANCE_RESOURCE_URL);
+
+    verify(mockedQuery, never()).listAfter(anyString(), anyInt());
+  }
+
   @Test
   public void testMissingFirstResultParameter() {
     int maxResults = 10;
@@ -18,8 +18,10 @@ package org.camunda.bpm.engine.rest.history;
 
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockHistoricVariableInstanceBuilder;
@@ -45,6 +47,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static io.restassured.RestAssured.expect;
 import static io.restassured.RestAssured.given;
@@ -53,6 +56,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -96,6 +102,19 @@ public class HistoricVariableInstanceRestServiceQueryTest extends AbstractRestSe
     return mockedHistoricVariableInstanceQuery;
   }
 
+  protected HistoricVariableInstanceQueryImpl setUpMockStreamingQuery(List<HistoricVariableInstance> results) {
+    HistoricVariableInstanceQueryImpl streamedQuery = mock(HistoricVariableInstanceQueryImpl.class);
+    doAnswer(invocation -> {
+      Consumer<HistoricVariableInstance> consumer = invocation.getArgument(0);
+      results.forEach(consumer);
+      return null;
+    }).when(streamedQuery).forEach(any());
+
+    when(processEngine.getHistoryService().createHistoricVariableInstanceQuery()).thenReturn(streamedQuery);
+
+    return streamedQuery;
+  }
+
   @Test
   public void testEmptyQuery() {
     String queryKey = "";
@@ -277,6 +296,61 @@ public class HistoricVariableInstanceRestServiceQueryTest extends AbstractRestSe
     verify(mockedQuery).listPage(firstResult, maxResults);
   }
 
+  @Test
+  public void testStreamQuery() {
+    HistoricVariableInstanceQueryImpl streamedQuery = setUpMockStreamingQuery(Collections.singletonList(mockInstance));
+
+    given()
+      .queryParam("stream", true)
+    .then()
+      .expect()
+        .statusCode(Status.OK.getStatusCode())
+        .body("size()", equalTo(1))
+        .body("[0].id", equalTo(mockInstance.getId()))
+      .when()
+        .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
+
+    InOrder inOrder = inOrder(streamedQuery);
+    inOrder.verify(streamedQuery).validateForEach();
+    inOrder.verify(streamedQuery).forEach(any());
+    verify(streamedQuery, never()).list();
+  }
+
+  @Test
+  public void testStreamQueryExceedingMaxResultsLimit() {
+    HistoricVariableInstanceQueryImpl streamedQuery = setUpMockStreamingQuery(Collections.singletonList(mockInstance));
+    String message = "An unbound number of results is forbidden!";
+    doThrow(new BadUserRequestException(message)).when(streamedQuery).validateForEach();
+
+    given()
+      .queryParam("stream", true)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(BadUserRequestException.class.getSimpleName()))
+        .body("message", equalTo(message))
+      .when()
+        .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
+
+    verify(streamedQuery, never()).forEach(any());
+  }
+
+  @Test
+  public void testStreamQueryWithPagination() {
+    given()
+      .queryParam("stream", true)
+      .queryParam("maxResults", 10)
+    .then()
+      .expect()
+        .statusCode(Status.BAD_REQUEST.getStatusCode())
+        .contentType(ContentType.JSON)
+        .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+        .body("message", equalTo("Parameter 'stream' cannot be combined with 'firstResult', 'maxResults' or 'cursor'"))
+      .when()
+        .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
+  }
+
   @Test
   public void testMissingFirstResultParameter() {
     int maxResults = 10;
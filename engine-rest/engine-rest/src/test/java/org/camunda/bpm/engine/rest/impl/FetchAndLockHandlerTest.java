@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -407,6 +408,136 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
+  @Test
+  public void shouldNotFetchPendingRequestAgainWithoutNotification() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+    verify(asyncResponse, never()).resume(any());
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldFetchPendingRequestOnMatchingNotification() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+    handler.acquire();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    // when
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("default", "aTopicName", null));
+    handler.acquire();
+
+    // then
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
+  @Test
+  public void shouldNotFetchPendingRequestOnNotificationForOtherTopic() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("default", "anotherTopicName", null));
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("anotherEngine", "aTopicName", null));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldNotFetchPendingRequestOnNotificationForOtherTenant() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+    when(fetchTopicBuilder.tenantIdIn(any(String[].class))).thenReturn(fetchTopicBuilder);
+
+    FetchExternalTasksExtendedDto dto = createDto(5000L);
+    dto.getTopics().get(0).setTenantIdIn(new String[] { "tenant1" });
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(dto, asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("default", "aTopicName", "tenant2"));
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("default", "aTopicName", null));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+
+    // when
+    handler.onExternalTasksAvailable(new ExternalTaskNotification("default", "aTopicName", "tenant1"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+  }
+
+  @Test
+  public void shouldFetchPendingRequestPeriodicallyWithoutNotification() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock((int) (FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL / 1000));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+    verify(handler, times(2)).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
+  }
+
+  @Test
+  public void shouldResumeExpiredRequestWithoutNotification() {
+    // given
+    handler.parseTopicWakeUpParam("true");
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock(5);
+    handler.acquire();
+
+    // then
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(0)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.impl.AbstractQuery;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class QueryStreamingUtilTest {
+
+  protected ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void shouldWriteArrayOfResults() throws IOException {
+    // given
+    List<String> results = Arrays.asList("a", "b");
+    Response response = QueryStreamingUtil.createStreamingResponse(objectMapper, mockQuery(),
+        results::forEach, String::toUpperCase);
+
+    // when
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(outputStream);
+
+    // then
+    assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[\"A\",\"B\"]");
+  }
+
+  @Test
+  public void shouldNotCloseArrayWhenStreamingFails() throws IOException {
+    // given
+    Consumer<Consumer<? super String>> failingForEach = consumer -> {
+      consumer.accept("a");
+      throw new IllegalStateException("connection lost");
+    };
+    Response response = QueryStreamingUtil.createStreamingResponse(objectMapper, mockQuery(),
+        failingForEach, String::toUpperCase);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    assertThatThrownBy(() -> ((StreamingOutput) response.getEntity()).write(outputStream))
+      .hasMessage("connection lost");
+
+    // then
+    assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[\"A\"");
+  }
+
+  @SuppressWarnings("unchecked")
+  protected AbstractQuery<?, String> mockQuery() {
+    return mock(AbstractQuery.class);
+  }
+
+}
@@ -25,6 +25,8 @@ import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkHandlingBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
@@ -186,6 +188,19 @@ public interface ExternalTaskService {
    */
   public void extendLock(String externalTaskId, String workerId, long newLockDuration);
 
+  /**
+   * <p>Completes external tasks, signals failures and BPMN errors on behalf of a worker
+   * in one transaction by using a fluent builder. Every task must be assigned to the worker.</p>
+   *
+   * <p>In contrast to calling {@link #complete(String, String)} for every task, a task that
+   * does not exist or is locked by another worker does not abort the other operations but
+   * is reported by its {@link ExternalTaskHandlingResult}.</p>
+   *
+   * @param workerId the id of the worker that handles the tasks
+   * @return a builder to define and execute the operations
+   */
+  public ExternalTaskBulkHandlingBuilder handleBulk(String workerId);
+
   /**
    * <p>Signals that an external task could not be successfully executed.
    * The task must be assigned to the given worker. The number of retries left can be specified. In addition, a timeout can be
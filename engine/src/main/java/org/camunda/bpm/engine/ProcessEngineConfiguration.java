@@ -253,6 +253,12 @@ public abstract class ProcessEngineConfiguration {
   protected boolean transactionsExternallyManaged = false;
   /** the number of seconds the jdbc driver will wait for a response from the database */
   protected Integer jdbcStatementTimeout;
+  /**
+   * the number of rows the jdbc driver fetches at once; streaming queries only keep a constant
+   * number of rows in memory if it is set (on MySQL, combine it with the <code>useCursorFetch</code>
+   * connection property)
+   */
+  protected Integer jdbcFetchSize;
   protected boolean jdbcBatchProcessing = true;
 
   protected String jpaPersistenceUnitName;
@@ -742,6 +748,17 @@ public abstract class ProcessEngineConfiguration {
     return this;
   }
 
+  /** Gets the number of rows the jdbc driver fetches from the database at once. */
+  public Integer getJdbcFetchSize() {
+    return jdbcFetchSize;
+  }
+
+  /** Sets the number of rows the jdbc driver fetches from the database at once. */
+  public ProcessEngineConfiguration setJdbcFetchSize(Integer jdbcFetchSize) {
+    this.jdbcFetchSize = jdbcFetchSize;
+    return this;
+  }
+
   public boolean isJdbcBatchProcessing() {
     return jdbcBatchProcessing;
   }
@@ -83,4 +83,21 @@ public interface BatchStatistics extends Batch {
    */
   int getFailedJobs();
 
+  /**
+   * <p>
+   *   The number of instances (e.g. process instances) of failed batch execution jobs
+   *   which were not executed successfully. If a batch execution job executes each
+   *   instance in its own transaction, the instances which the job committed before
+   *   it failed are not included.
+   * </p>
+   *
+   * <p>
+   *   The number is computed from the configurations of the failed batch execution jobs.
+   *   It is <code>0</code> for batches of custom batch job handlers.
+   * </p>
+   *
+   * @return the number of instances of failed batch execution jobs
+   */
+  int getFailedInstances();
+
 }
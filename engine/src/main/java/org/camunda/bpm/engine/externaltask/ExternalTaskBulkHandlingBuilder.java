@@ -0,0 +1,77 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.exception.NullValueException;
+
+/**
+ * <p>Collects completions, failures and BPMN errors of external tasks locked by one
+ * worker and handles all of them in a single command, i.e. in one transaction with
+ * one flush.</p>
+ *
+ * <p>Operations are handled in the order in which they were added. An operation
+ * whose task does not exist, is locked by another worker or may not be updated by the
+ * current user is skipped and reported by its {@link ExternalTaskHandlingResult}. Any
+ * other exception, e.g. thrown by a listener or delegate that is invoked while
+ * continuing the process, rolls back the whole transaction.</p>
+ */
+public interface ExternalTaskBulkHandlingBuilder {
+
+  /**
+   * Completes the external task, see {@link org.camunda.bpm.engine.ExternalTaskService#complete(String, String)}.
+   */
+  ExternalTaskBulkHandlingBuilder complete(String externalTaskId);
+
+  /**
+   * Completes the external task, see {@link org.camunda.bpm.engine.ExternalTaskService#complete(String, String, Map, Map)}.
+   */
+  ExternalTaskBulkHandlingBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * Signals a failure of the external task, see
+   * {@link org.camunda.bpm.engine.ExternalTaskService#handleFailure(String, String, String, String, int, long, Map, Map)}.
+   */
+  ExternalTaskBulkHandlingBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails,
+      int retries, long retryDuration, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * Signals a BPMN error for the external task, see
+   * {@link org.camunda.bpm.engine.ExternalTaskService#handleBpmnError(String, String, String, String, Map)}.
+   */
+  ExternalTaskBulkHandlingBuilder handleBpmnError(String externalTaskId, String errorCode, String errorMessage, Map<String, Object> variables);
+
+  /**
+   * Handles all collected operations. Every external task must be locked by the worker
+   * and the current user must possess one of the following permissions for it,
+   * otherwise the result of the operation is not successful:
+   * <ul>
+   *   <li>{@link Permissions#UPDATE} on {@link Resources#PROCESS_INSTANCE}</li>
+   *   <li>{@link Permissions#UPDATE_INSTANCE} on {@link Resources#PROCESS_DEFINITION}</li>
+   * </ul>
+   *
+   * @return one result per operation in the order in which the operations were added
+   *
+   * @throws NullValueException if the worker id or one of the external task ids is null
+   */
+  List<ExternalTaskHandlingResult> execute();
+
+}
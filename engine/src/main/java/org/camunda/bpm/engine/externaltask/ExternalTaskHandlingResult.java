@@ -0,0 +1,41 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Outcome of a single operation of an {@link ExternalTaskBulkHandlingBuilder}.
+ */
+public interface ExternalTaskHandlingResult {
+
+  /**
+   * @return the id of the handled external task
+   */
+  String getExternalTaskId();
+
+  /**
+   * @return true if the operation was applied to the external task
+   */
+  boolean isSuccessful();
+
+  /**
+   * @return the reason why the operation was skipped or <code>null</code> if it was successful
+   */
+  ProcessEngineException getException();
+
+}
@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.history;
 
+import java.util.function.Consumer;
+
 import org.camunda.bpm.engine.query.Query;
 
 
@@ -120,4 +122,12 @@ public interface HistoricVariableInstanceQuery extends Query<HistoricVariableIns
   /** Only select historic process variables with the given variable names. */
   HistoricVariableInstanceQuery variableNameIn(String... names);
 
+  /**
+   * Executes the query and passes the historic variable instances one by one to the given consumer
+   * while they are read from the database. In contrast to {@link #list()}, the
+   * results are neither collected nor cached, so the memory used does not depend
+   * on the number of results. The consumer is called within the transaction that
+   * executes the query.
+   */
+  void forEach(Consumer<? super HistoricVariableInstance> consumer);
 }
@@ -23,11 +23,14 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.exception.NotValidException;
@@ -69,6 +72,8 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
 
   protected boolean maxResultsLimitEnabled;
 
+  protected KeysetPagination keysetPagination;
+
   protected AbstractQuery() {
   }
 
@@ -150,6 +155,74 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return (List<U>) executeResult(resultType);
   }
 
+  /**
+   * Returns up to <code>maxResults</code> results following the result the given
+   * cursor was created for (see {@link #cursorOf(Object)}). The first call fixes
+   * the ordering of the query: either no ordering (by id) or the keyset property of
+   * the query (see {@link #getKeysetProperty()}) with the id as tie-breaker.
+   */
+  public List<U> listAfter(String cursor, int maxResults) {
+    if (keysetPagination == null) {
+      keysetPagination = createKeysetPagination();
+      orderingProperties = keysetPagination.getOrderingProperties();
+    }
+
+    keysetPagination.setCursor(cursor);
+    try {
+      return listPage(0, maxResults);
+    } finally {
+      keysetPagination.setCursor(null);
+    }
+  }
+
+  public String cursorOf(U result) {
+    ensureNotNull(NotValidException.class, "result", result);
+
+    KeysetPagination pagination = keysetPagination != null ? keysetPagination : createKeysetPagination();
+    return pagination.createCursor(getKeysetValue(result), getKeysetId(result));
+  }
+
+  protected KeysetPagination createKeysetPagination() {
+    QueryProperty keysetProperty = getKeysetProperty();
+    ensureNotNull(NotValidException.class, "Keyset pagination is not supported by " + getClass().getSimpleName(), "keysetProperty", keysetProperty);
+
+    if (orderingProperties.isEmpty()) {
+      return new KeysetPagination(null, Direction.ASCENDING);
+    }
+
+    if (orderingProperties.size() == 1) {
+      QueryOrderingProperty orderingProperty = orderingProperties.get(0);
+      if (orderingProperty.getRelation() == null
+          && keysetProperty.getName().equals(orderingProperty.getQueryProperty().getName())) {
+        ensureNotNull(NotValidException.class, "Invalid query: call asc() or desc() after using orderByXX()", "direction", orderingProperty.getDirection());
+        return new KeysetPagination(keysetProperty, orderingProperty.getDirection());
+      }
+    }
+
+    throw new NotValidException("Keyset pagination requires the query to be ordered by " + keysetProperty.getName()
+        + " only or not to be ordered at all");
+  }
+
+  /**
+   * @return the non-null property results can be ordered by for keyset pagination
+   *   or <code>null</code> if the query does not support keyset pagination
+   */
+  protected QueryProperty getKeysetProperty() {
+    return null;
+  }
+
+  protected Date getKeysetValue(U result) {
+    return null;
+  }
+
+  protected String getKeysetId(U result) {
+    return null;
+  }
+
+  public KeysetPagination getKeysetPagination() {
+    return keysetPagination;
+  }
+
   public Object executeResult(ResultType resultType) {
 
     if (commandExecutor != null) {
@@ -188,6 +261,56 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return evaluateExpressionsAndExecuteList(Context.getCommandContext(), null);
   }
 
+  /**
+   * Passes the results one by one to the given consumer while they are read from the
+   * database, so that the memory used does not depend on the number of results. The
+   * consumer is called inside the command (and transaction) that executes the query.
+   *
+   * @param executeStream executes the query and passes the results to the consumer
+   *   without collecting them, used by queries offering <code>forEach</code>
+   */
+  protected void executeForEach(Consumer<? super U> consumer, BiConsumer<CommandContext, Consumer<? super U>> executeStream) {
+    ensureNotNull(NotValidException.class, "consumer", consumer);
+    prepareForEach();
+
+    if (commandExecutor != null) {
+      commandExecutor.execute(commandContext -> {
+        evaluateExpressionsAndExecuteStream(commandContext, consumer, executeStream);
+        return null;
+      });
+    } else {
+      evaluateExpressionsAndExecuteStream(Context.getCommandContext(), consumer, executeStream);
+    }
+  }
+
+  /**
+   * Performs the checks of <code>forEach</code> without executing the query, e.g. the
+   * validation of the query and the max results limit. Allows callers to reject an invalid
+   * query before they start to pass on its results.
+   */
+  public void validateForEach() {
+    prepareForEach();
+
+    if (commandExecutor != null) {
+      commandExecutor.execute(commandContext -> {
+        evaluateExpressionsAndValidateStream();
+        return null;
+      });
+    } else {
+      evaluateExpressionsAndValidateStream();
+    }
+  }
+
+  protected void prepareForEach() {
+    this.firstResult = 0;
+    this.maxResults = Integer.MAX_VALUE;
+    this.resultType = ResultType.LIST;
+
+    if (commandExecutor != null && !maxResultsLimitEnabled) {
+      maxResultsLimitEnabled = Context.getCommandContext() == null;
+    }
+  }
+
   public Object execute(CommandContext commandContext) {
     if (resultType==ResultType.LIST) {
       return evaluateExpressionsAndExecuteList(commandContext, null);
@@ -219,6 +342,21 @@ public abstract class AbstractQuery<T extends Query<?,?>, U> extends ListQueryPa
     return !hasExcludingConditions() ? executeList(commandContext, page) : new ArrayList<>();
   }
 
+  protected void evaluateExpressionsAndExecuteStream(CommandContext commandContext, Consumer<? super U> consumer,
+                                                    BiConsumer<CommandContext, Consumer<? super U>> executeStream) {
+    evaluateExpressionsAndValidateStream();
+    if (!hasExcludingConditions()) {
+      executeStream.accept(commandContext, consumer);
+    }
+  }
+
+  protected void evaluateExpressionsAndValidateStream() {
+    checkMaxResultsLimit();
+    validate();
+    evaluateExpressions();
+    checkQueryOk();
+  }
+
   /**
    * Whether or not the query has excluding conditions. If the query has excluding conditions,
    * (e.g. task due date before and after are excluding), the SQL query is avoided and a default result is
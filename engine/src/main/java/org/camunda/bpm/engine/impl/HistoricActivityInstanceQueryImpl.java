@@ -20,6 +20,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
@@ -28,6 +29,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.pvm.runtime.ActivityInstanceState;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
+import org.camunda.bpm.engine.query.QueryProperty;
 
 /**
  * @author Tom Baeyens
@@ -78,6 +80,33 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
       .findHistoricActivityInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void forEach(Consumer<? super HistoricActivityInstance> consumer) {
+    executeForEach(consumer, this::executeStream);
+  }
+
+  public void executeStream(CommandContext commandContext, Consumer<? super HistoricActivityInstance> consumer) {
+    checkQueryOk();
+    commandContext
+      .getHistoricActivityInstanceManager()
+      .findHistoricActivityInstancesByQueryCriteria(this, consumer::accept);
+  }
+
+  @Override
+  protected QueryProperty getKeysetProperty() {
+    return HistoricActivityInstanceQueryProperty.START;
+  }
+
+  @Override
+  protected Date getKeysetValue(HistoricActivityInstance historicActivityInstance) {
+    return historicActivityInstance.getStartTime();
+  }
+
+  @Override
+  protected String getKeysetId(HistoricActivityInstance historicActivityInstance) {
+    return historicActivityInstance.getId();
+  }
+
   public HistoricActivityInstanceQueryImpl processInstanceId(String processInstanceId) {
     this.processInstanceId = processInstanceId;
     return this;
@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.camunda.bpm.engine.BadUserRequestException;
@@ -45,6 +46,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.query.QueryProperty;
 
 /**
  * @author Tom Baeyens
@@ -391,6 +393,34 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
       .findHistoricProcessInstancesByQueryCriteria(this, page);
   }
 
+  @Override
+  public void forEach(Consumer<? super HistoricProcessInstance> consumer) {
+    executeForEach(consumer, this::executeStream);
+  }
+
+  public void executeStream(CommandContext commandContext, Consumer<? super HistoricProcessInstance> consumer) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+    commandContext
+      .getHistoricProcessInstanceManager()
+      .findHistoricProcessInstancesByQueryCriteria(this, consumer::accept);
+  }
+
+  @Override
+  protected QueryProperty getKeysetProperty() {
+    return HistoricProcessInstanceQueryProperty.START_TIME;
+  }
+
+  @Override
+  protected Date getKeysetValue(HistoricProcessInstance historicProcessInstance) {
+    return historicProcessInstance.getStartTime();
+  }
+
+  @Override
+  protected String getKeysetId(HistoricProcessInstance historicProcessInstance) {
+    return historicProcessInstance.getId();
+  }
+
   public List<String> executeIdsList(CommandContext commandContext) {
     checkQueryOk();
     ensureVariablesInitialized();
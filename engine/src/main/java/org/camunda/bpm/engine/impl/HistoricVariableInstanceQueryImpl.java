@@ -20,14 +20,19 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
 import org.camunda.bpm.engine.impl.variable.serializer.AbstractTypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
@@ -248,21 +253,55 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
 
     if (historicVariableInstances!=null) {
       for (HistoricVariableInstance historicVariableInstance: historicVariableInstances) {
+        fetchValue((HistoricVariableInstanceEntity) historicVariableInstance);
+      }
+    }
+    return historicVariableInstances;
+  }
 
+  @Override
+  public void forEach(Consumer<? super HistoricVariableInstance> consumer) {
+    executeForEach(consumer, this::executeStream);
+  }
+
+  public void executeStream(CommandContext commandContext, Consumer<? super HistoricVariableInstance> consumer) {
+    checkQueryOk();
+    ensureVariablesInitialized();
+
+    DbEntityCache entityCache = commandContext.getDbEntityManager().getDbEntityCache();
+    commandContext
+      .getHistoricVariableInstanceManager()
+      .findHistoricVariableInstancesByQueryCriteria(this, historicVariableInstance -> {
         HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) historicVariableInstance;
-        if (shouldFetchValue(variableInstanceEntity)) {
-          try {
-            variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
+        fetchValue(variableInstanceEntity);
+        consumer.accept(variableInstanceEntity);
+
+        // the value has been consumed, do not let the entity cache grow with the result
+        evictByteArray(entityCache, variableInstanceEntity.getByteArrayValueId());
+      });
+  }
 
-          } catch(Exception t) {
-            // do not fail if one of the variables fails to load
-            LOG.exceptionWhileGettingValueForVariable(t);
-          }
-        }
+  protected void fetchValue(HistoricVariableInstanceEntity variableInstanceEntity) {
+    if (shouldFetchValue(variableInstanceEntity)) {
+      try {
+        variableInstanceEntity.getTypedValue(isCustomObjectDeserializationEnabled);
 
+      } catch(Exception t) {
+        // do not fail if one of the variables fails to load
+        LOG.exceptionWhileGettingValueForVariable(t);
+      }
+    }
+  }
+
+  protected void evictByteArray(DbEntityCache entityCache, String byteArrayId) {
+    if (byteArrayId != null) {
+      CachedDbEntity cachedByteArray = entityCache.getCachedEntity(ByteArrayEntity.class, byteArrayId);
+      if (cachedByteArray != null
+          && cachedByteArray.getEntityState() == DbEntityState.PERSISTENT
+          && !cachedByteArray.isDirty()) {
+        entityCache.remove(cachedByteArray);
       }
     }
-    return historicVariableInstances;
   }
 
   protected boolean shouldFetchValue(HistoricVariableInstanceEntity entity) {
@@ -103,6 +103,8 @@ public final class HistoryLevelSetupCommand implements Command<Void> {
       else {
         engineConfiguration.setHistoryLevel(engineConfiguration.getDefaultHistoryLevel());
       }
+
+      engineConfiguration.initHistoryLevelOverrides();
     }
   }
 
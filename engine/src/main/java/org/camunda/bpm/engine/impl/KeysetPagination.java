@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.query.QueryProperty;
+
+/**
+ * Seek (keyset) pagination of a query: instead of skipping a number of rows,
+ * the next page starts right after the row identified by a cursor. The rows
+ * are ordered by an optional non-null keyset property and by id as tie-breaker,
+ * so a cursor consists of the keyset value and the id of the last row of the
+ * previous page.
+ *
+ * <p>Cursors are opaque to clients: a URL-safe Base64 encoding of
+ * <code>&lt;keyset value in millis&gt;:&lt;id&gt;</code>.</p>
+ *
+ * @see AbstractQuery#listAfter(String, int)
+ */
+public class KeysetPagination implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final QueryProperty ID = new QueryPropertyImpl("ID_");
+
+  protected static final String CURSOR_SEPARATOR = ":";
+
+  protected QueryProperty property;
+  protected Direction direction;
+
+  protected Date cursorValue;
+  protected String cursorId;
+
+  /**
+   * @param property the keyset property the rows are ordered by before the id,
+   *   or <code>null</code> if the rows are ordered by id only
+   */
+  public KeysetPagination(QueryProperty property, Direction direction) {
+    this.property = property;
+    this.direction = direction;
+  }
+
+  public List<QueryOrderingProperty> getOrderingProperties() {
+    List<QueryOrderingProperty> orderingProperties = new ArrayList<>();
+    if (property != null) {
+      orderingProperties.add(new QueryOrderingProperty(property, direction));
+    }
+    orderingProperties.add(new QueryOrderingProperty(ID, direction));
+    return orderingProperties;
+  }
+
+  public void setCursor(String cursor) {
+    cursorValue = null;
+    cursorId = null;
+
+    if (cursor == null || cursor.isEmpty()) {
+      return;
+    }
+
+    String decoded = new String(Base64.decodeBase64(cursor), StandardCharsets.UTF_8);
+    int separatorIndex = decoded.indexOf(CURSOR_SEPARATOR);
+    if (separatorIndex < 0 || separatorIndex == decoded.length() - 1) {
+      throw new NotValidException("Invalid cursor '" + cursor + "'");
+    }
+
+    String value = decoded.substring(0, separatorIndex);
+    if (property != null) {
+      try {
+        cursorValue = new Date(Long.parseLong(value));
+      } catch (NumberFormatException e) {
+        throw new NotValidException("Invalid cursor '" + cursor + "'", e);
+      }
+    } else if (!value.isEmpty()) {
+      throw new NotValidException("Invalid cursor '" + cursor + "': it does not match the ordering of the query");
+    }
+
+    cursorId = decoded.substring(separatorIndex + 1);
+  }
+
+  public String createCursor(Date value, String id) {
+    StringBuilder cursor = new StringBuilder();
+    if (property != null) {
+      cursor.append(value.getTime());
+    }
+    cursor.append(CURSOR_SEPARATOR).append(id);
+    return Base64.encodeBase64URLSafeString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  public boolean hasCursor() {
+    return cursorId != null;
+  }
+
+  public QueryProperty getProperty() {
+    return property;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  /**
+   * @return the column of the keyset property or <code>null</code> if the rows
+   *   are ordered by id only
+   */
+  public String getColumn() {
+    return property != null ? property.getName() : null;
+  }
+
+  /**
+   * @return the operator that selects the rows following the cursor
+   */
+  public String getComparator() {
+    return Direction.DESCENDING.getName().equals(direction.getName()) ? "<" : ">";
+  }
+
+  public Date getCursorValue() {
+    return cursorValue;
+  }
+
+  public String getCursorId() {
+    return cursorId;
+  }
+
+}
@@ -50,6 +50,11 @@ public class ModificationBatchJobHandler extends AbstractBatchJobHandler<Modific
     }
   }
 
+  @Override
+  protected boolean isInstanceIsolationSupported() {
+    return true;
+  }
+
   @Override
   public void executeHandler(ModificationBatchConfiguration batchConfiguration,
                              ExecutionEntity execution,
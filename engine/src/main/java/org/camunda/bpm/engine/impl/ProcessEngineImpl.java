@@ -37,12 +37,17 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationDispatcher;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsReporter;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmup;
 import org.camunda.bpm.engine.impl.telemetry.reporter.TelemetryReporter;
 import org.camunda.bpm.engine.impl.util.CompositeCondition;
 
@@ -54,6 +59,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** topic based external task notifications used to signal long polling in rest API */
+  public static final ExternalTaskNotificationDispatcher EXT_TASK_NOTIFICATIONS = new ExternalTaskNotificationDispatcher();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -109,6 +117,10 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     executeSchemaOperations();
 
+    if (processEngineConfiguration.isDeploymentCacheWarmupEnabled()) {
+      new DeploymentCacheWarmup(commandExecutor, processEngineConfiguration.getDeploymentCacheWarmupThreads()).warmUp();
+    }
+
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
     } else {
@@ -122,6 +134,16 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.registerProcessEngine(this);
     }
 
+    ExternalTaskNotificationChannel externalTaskNotificationChannel = processEngineConfiguration.getExternalTaskNotificationChannel();
+    if (externalTaskNotificationChannel != null) {
+      externalTaskNotificationChannel.start(this);
+    }
+
+    HistoryEventOutboxWriter historyEventOutboxWriter = processEngineConfiguration.getHistoryEventOutboxWriter();
+    if (historyEventOutboxWriter != null) {
+      historyEventOutboxWriter.start();
+    }
+
     if (processEngineConfiguration.isMetricsEnabled()) {
       String reporterId;
       // only use a deprecated, custom MetricsReporterIdProvider,
@@ -141,6 +163,11 @@ public class ProcessEngineImpl implements ProcessEngine {
         dbMetricsReporter.start();
       }
     }
+
+    LatencyMetricsReporter latencyMetricsReporter = processEngineConfiguration.getLatencyMetricsReporter();
+    if (latencyMetricsReporter != null) {
+      latencyMetricsReporter.start();
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -171,16 +198,31 @@ public class ProcessEngineImpl implements ProcessEngine {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
 
+    LatencyMetricsReporter latencyMetricsReporter = processEngineConfiguration.getLatencyMetricsReporter();
+    if (latencyMetricsReporter != null) {
+      latencyMetricsReporter.stop();
+    }
+
     TelemetryReporter telemetryReporter = processEngineConfiguration.getTelemetryReporter();
     if (telemetryReporter != null) {
       telemetryReporter.stop();
     }
 
+    ExternalTaskNotificationChannel externalTaskNotificationChannel = processEngineConfiguration.getExternalTaskNotificationChannel();
+    if (externalTaskNotificationChannel != null) {
+      externalTaskNotificationChannel.stop();
+    }
+
     if ((jobExecutor != null)) {
       // unregister process engine with Job Executor
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    HistoryEventOutboxWriter historyEventOutboxWriter = processEngineConfiguration.getHistoryEventOutboxWriter();
+    if (historyEventOutboxWriter != null) {
+      historyEventOutboxWriter.stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
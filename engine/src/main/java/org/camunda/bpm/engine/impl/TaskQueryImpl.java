@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.identity.Group;
@@ -40,6 +41,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
 import org.camunda.bpm.engine.impl.util.CompareUtil;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.query.QueryProperty;
 import org.camunda.bpm.engine.task.DelegationState;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
@@ -1444,6 +1446,51 @@ public class TaskQueryImpl extends AbstractQuery<TaskQuery, Task> implements Tas
     return taskList;
   }
 
+  @Override
+  public void forEach(Consumer<? super Task> consumer) {
+    executeForEach(consumer, this::executeStream);
+  }
+
+  public void executeStream(CommandContext commandContext, Consumer<? super Task> consumer) {
+    ensureOrExpressionsEvaluated();
+    ensureVariablesInitialized();
+    checkQueryOk();
+
+    resetCachedCandidateGroups();
+
+    //check if candidateGroup and candidateGroups intersect
+    if (getCandidateGroup() != null && getCandidateGroupsInternal() != null && getCandidateGroups().isEmpty()) {
+      return;
+    }
+
+    decideAuthorizationJoinType(commandContext);
+
+    commandContext
+      .getTaskManager()
+      .findTasksByQueryCriteria(this, task -> {
+        if (initializeFormKeys) {
+          // initialize the form key of the task
+          ((TaskEntity) task).initializeFormKey();
+        }
+        consumer.accept(task);
+      });
+  }
+
+  @Override
+  protected QueryProperty getKeysetProperty() {
+    return TaskQueryProperty.CREATE_TIME;
+  }
+
+  @Override
+  protected Date getKeysetValue(Task task) {
+    return task.getCreateTime();
+  }
+
+  @Override
+  protected String getKeysetId(Task task) {
+    return task.getId();
+  }
+
   @Override
   public long executeCount(CommandContext commandContext) {
     ensureOrExpressionsEvaluated();
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.util.JsonUtil;
 public abstract class AbstractBatchConfigurationObjectConverter<T extends BatchConfiguration> extends JsonObjectConverter<T> {
 
   protected static final String BATCH_ID = "batchId";
+  protected static final String ID_CHUNKS = "idChunks";
 
   public abstract JsonObject writeConfiguration(T object);
 
@@ -32,6 +33,7 @@ public abstract class AbstractBatchConfigurationObjectConverter<T extends BatchC
   public final JsonObject toJsonObject(T object) {
     JsonObject json = writeConfiguration(object);
     JsonUtil.addField(json, BATCH_ID, object.getBatchId());
+    JsonUtil.addField(json, ID_CHUNKS, BatchIdChunksJsonConverter.INSTANCE, object.getIdChunks());
     return json;
   }
 
@@ -39,6 +41,9 @@ public abstract class AbstractBatchConfigurationObjectConverter<T extends BatchC
   public final T toObject(JsonObject jsonObject) {
     T configuration = readConfiguration(jsonObject);
     configuration.setBatchId(JsonUtil.getString(jsonObject, BATCH_ID));
+    if (jsonObject.has(ID_CHUNKS)) {
+      configuration.setIdChunks(BatchIdChunksJsonConverter.INSTANCE.toObject(JsonUtil.getObject(jsonObject, ID_CHUNKS)));
+    }
     return configuration;
   }
 }
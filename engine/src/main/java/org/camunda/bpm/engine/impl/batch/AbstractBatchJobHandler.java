@@ -16,14 +16,22 @@
  */
 package org.camunda.bpm.engine.impl.batch;
 
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
@@ -32,11 +40,22 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.repository.ResourceTypes;
 import com.google.gson.JsonElement;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Common methods for batch job handlers based on list of ids, providing serialization, configuration instantiation, etc.
@@ -45,11 +64,19 @@ import java.util.List;
  */
 public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> implements BatchJobHandler<T>, OptimisticLockingListener {
 
+  protected static final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected static final String COMPLETED_ID_RECORD_NAME = "batch-job-completed-id";
+
   public abstract JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration();
 
   @Override
   public boolean createJobs(BatchEntity batch) {
     T configuration = readConfiguration(batch.getConfigurationBytes());
+    if (configuration.getIdChunks() != null) {
+      return createJobsFromIdChunks(batch, configuration);
+    }
+
     String deploymentId = null;
 
     DeploymentMappings idMappings = configuration.getIdMappings();
@@ -87,6 +114,44 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     return deploymentAware ? idMappings.isEmpty() : ids.isEmpty();
   }
 
+  /**
+   * Creates the batch jobs for the ids at the cursor of the id chunks. Only the consumed
+   * chunks are read and the batch configuration keeps its size regardless of the number of ids.
+   */
+  protected boolean createJobsFromIdChunks(BatchEntity batch, T configuration) {
+    BatchIdChunks idChunks = configuration.getIdChunks();
+    DeploymentMappings idMappings = configuration.getIdMappings();
+    boolean deploymentAware = idMappings != null && !idMappings.isEmpty();
+
+    int numberOfItemsToProcess = Math.min(batch.getInvocationsPerBatchJob() * batch.getBatchJobsPerSeed(),
+        idChunks.getRemainingIdCount());
+
+    String deploymentId = null;
+    if (deploymentAware) {
+      DeploymentMapping mappingToProcess = idMappings.get(0);
+      deploymentId = mappingToProcess.getDeploymentId();
+      numberOfItemsToProcess = Math.min(numberOfItemsToProcess, mappingToProcess.getCount());
+    }
+
+    List<String> processIds = idChunks.takeIds(numberOfItemsToProcess);
+    int processedItems = processIds.size();
+    createJobEntities(batch, configuration, deploymentId, processIds, batch.getInvocationsPerBatchJob());
+
+    if (deploymentAware) {
+      if (idMappings.get(0).getCount() <= processedItems) {
+        // all ids of the deployment are handled
+        idMappings.remove(0);
+      } else {
+        idMappings.get(0).removeIds(processedItems);
+      }
+    }
+
+    // update batch configuration
+    batch.setConfigurationBytes(writeConfiguration(configuration));
+
+    return idChunks.isEmpty();
+  }
+
   @Override
   public final void execute(final BatchJobConfiguration configuration,
                             final ExecutionEntity execution,
@@ -113,11 +178,207 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
       batch.fireHistoricUpdateEvent();
     }
 
-    executeHandler(batchConfiguration, execution, commandContext, tenantId);
+    if (isInstanceIsolationEnabled(batchConfiguration, commandContext)) {
+      executeIsolated(batchConfiguration, byteArray, commandContext, tenantId);
+    } else {
+      executeHandler(batchConfiguration, execution, commandContext, tenantId);
+    }
 
     commandContext.getByteArrayManager().delete(byteArray);
   }
 
+  /**
+   * Whether the handler can execute each id of a batch job on its own, i.e. whether
+   * {@link #executeHandler} works on a job configuration created for a single id.
+   */
+  protected boolean isInstanceIsolationSupported() {
+    return false;
+  }
+
+  protected boolean isInstanceIsolationEnabled(T configuration, CommandContext commandContext) {
+    return isInstanceIsolationSupported()
+        && commandContext.getProcessEngineConfiguration().isBatchJobInstanceIsolationEnabled()
+        && configuration.getIds() != null
+        && configuration.getIds().size() > 1;
+  }
+
+  /**
+   * <p>Executes each id of the batch job in its own transaction. The ids are partitioned
+   * over {@link ProcessEngineConfigurationImpl#getBatchJobInstanceParallelism()} threads
+   * of the {@link ProcessEngineConfigurationImpl#getBatchJobInstanceExecutor() executor}
+   * that the batch jobs of the engine share.</p>
+   *
+   * <p>The transaction of an id records its completion, so that a re-execution of the job
+   * skips the ids that are already committed, no matter whether the job failed because of
+   * other ids or because its own transaction failed afterwards. If some ids fail, the job
+   * fails and is retried for these ids.</p>
+   */
+  protected void executeIsolated(T configuration,
+                                 ByteArrayEntity configurationByteArray,
+                                 CommandContext commandContext,
+                                 String tenantId) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    List<String> ids = configuration.getIds();
+    String configurationByteArrayId = configurationByteArray.getId();
+    byte[] configurationBytes = configurationByteArray.getBytes();
+
+    Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+
+    int numberOfThreads = Math.min(processEngineConfiguration.getBatchJobInstanceParallelism(), ids.size());
+    if (numberOfThreads == 1) {
+      executeIds(processEngineConfiguration, configuration, configurationByteArrayId, ids, tenantId, failures);
+
+    } else {
+      IdentityService identityService = processEngineConfiguration.getIdentityService();
+      Authentication authentication = identityService.getCurrentAuthentication();
+
+      List<Callable<Void>> partitions = new ArrayList<>();
+      for (List<String> partitionIds : partition(ids, numberOfThreads)) {
+        partitions.add(() -> {
+          // each thread works on its own copy of the configuration
+          T partitionConfiguration = readConfiguration(configurationBytes);
+          identityService.setAuthentication(authentication);
+          try {
+            executeIds(processEngineConfiguration, partitionConfiguration, configurationByteArrayId, partitionIds,
+                tenantId, failures);
+          } finally {
+            identityService.clearAuthentication();
+          }
+          return null;
+        });
+      }
+
+      executeInParallel(partitions);
+    }
+
+    if (!failures.isEmpty()) {
+      List<String> failedIds = new ArrayList<>();
+      for (String id : ids) {
+        if (failures.containsKey(id)) {
+          failedIds.add(id);
+        }
+      }
+
+      throw LOG.batchJobInstancesFailed(configuration.getBatchId(), failedIds, ids.size(),
+          failures.get(failedIds.get(0)));
+    }
+  }
+
+  protected void executeIds(ProcessEngineConfigurationImpl processEngineConfiguration,
+                            T configuration,
+                            String configurationByteArrayId,
+                            List<String> ids,
+                            String tenantId,
+                            Map<String, RuntimeException> failures) {
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+
+    for (String id : ids) {
+      T idConfiguration = createJobConfiguration(configuration, new ArrayList<>(Collections.singletonList(id)));
+      idConfiguration.setBatchId(configuration.getBatchId());
+
+      try {
+        commandExecutor.execute(commandContext -> {
+          String completedIdRecordId = getCompletedIdRecordId(configurationByteArrayId, id);
+          DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+          // skip ids committed by a previous execution of the job
+          if (dbEntityManager.selectById(ByteArrayEntity.class, completedIdRecordId) == null) {
+            executeHandler(idConfiguration, null, commandContext, tenantId);
+
+            ByteArrayEntity completedIdRecord = new ByteArrayEntity(COMPLETED_ID_RECORD_NAME, new byte[0],
+                ResourceTypes.RUNTIME);
+            completedIdRecord.setId(completedIdRecordId);
+            commandContext.getByteArrayManager().insertByteArray(completedIdRecord);
+          }
+          return null;
+        });
+      } catch (RuntimeException e) {
+        failures.put(id, e);
+      }
+    }
+  }
+
+  /**
+   * The id of the byte array recording that the given id of a batch job was executed
+   * by an isolated transaction. It is derived from the job configuration, so that the
+   * record can be looked up by its primary key.
+   */
+  protected String getCompletedIdRecordId(String configurationByteArrayId, String id) {
+    String name = configurationByteArrayId + ":" + id;
+    return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  protected void deleteCompletedIdRecords(ByteArrayManager byteArrayManager,
+                                          String configurationByteArrayId,
+                                          List<String> ids) {
+    List<String> completedIdRecordIds = new ArrayList<>();
+    for (String id : ids) {
+      completedIdRecordIds.add(getCompletedIdRecordId(configurationByteArrayId, id));
+    }
+    byteArrayManager.deleteByteArraysByIds(completedIdRecordIds);
+  }
+
+  /**
+   * @return the number of ids of the given batch job which were not executed successfully,
+   * i.e. all ids of the job unless it executes its ids in isolation
+   */
+  public int countPendingIds(BatchJobConfiguration configuration, CommandContext commandContext) {
+    String byteArrayId = configuration.getConfigurationByteArrayId();
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    ByteArrayEntity byteArray = dbEntityManager.selectById(ByteArrayEntity.class, byteArrayId);
+    if (byteArray == null) {
+      return 0;
+    }
+
+    T jobConfiguration = readConfiguration(byteArray.getBytes());
+    List<String> ids = jobConfiguration.getIds();
+    if (ids == null) {
+      return 0;
+    }
+
+    int pendingIds = ids.size();
+    if (isInstanceIsolationEnabled(jobConfiguration, commandContext)) {
+      for (String id : ids) {
+        if (dbEntityManager.selectById(ByteArrayEntity.class, getCompletedIdRecordId(byteArrayId, id)) != null) {
+          pendingIds--;
+        }
+      }
+    }
+    return pendingIds;
+  }
+
+  protected List<List<String>> partition(List<String> ids, int numberOfPartitions) {
+    List<List<String>> partitions = new ArrayList<>();
+    int size = ids.size();
+    for (int i = 0; i < numberOfPartitions; i++) {
+      int from = i * size / numberOfPartitions;
+      int to = (i + 1) * size / numberOfPartitions;
+      partitions.add(ids.subList(from, to));
+    }
+    return partitions;
+  }
+
+  protected void executeInParallel(List<Callable<Void>> partitions) {
+    ExecutorService executorService = Context.getProcessEngineConfiguration().getBatchJobInstanceExecutor();
+
+    try {
+      for (Future<Void> future : executorService.invokeAll(partitions)) {
+        future.get();
+      }
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new ProcessEngineException(cause);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while executing batch job", e);
+    }
+  }
+
   protected abstract void executeHandler(final T configuration,
                                          final ExecutionEntity execution,
                                          final CommandContext commandContext,
@@ -203,6 +464,17 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     }
   }
 
+  /**
+   * Deletes the id chunks of a batch whose seeding is not finished yet.
+   */
+  public void deleteIdChunks(BatchEntity batch) {
+    T configuration = readConfiguration(batch.getConfigurationBytes());
+    BatchIdChunks idChunks = configuration.getIdChunks();
+    if (idChunks != null && !idChunks.isEmpty()) {
+      idChunks.delete();
+    }
+  }
+
   @Override
   public BatchJobConfiguration newConfiguration(String canonicalString) {
     return new BatchJobConfiguration(canonicalString);
@@ -212,8 +484,22 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
   public void onDelete(BatchJobConfiguration configuration, JobEntity jobEntity) {
     String byteArrayId = configuration.getConfigurationByteArrayId();
     if (byteArrayId != null) {
-      Context.getCommandContext().getByteArrayManager()
-          .deleteByteArrayById(byteArrayId);
+      CommandContext commandContext = Context.getCommandContext();
+      ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
+
+      // completion records only exist if the engine executes the ids of jobs in isolation
+      if (isInstanceIsolationSupported()
+          && commandContext.getProcessEngineConfiguration().isBatchJobInstanceIsolationEnabled()) {
+        ByteArrayEntity byteArray = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId);
+        if (byteArray != null) {
+          T jobConfiguration = readConfiguration(byteArray.getBytes());
+          if (isInstanceIsolationEnabled(jobConfiguration, commandContext)) {
+            deleteCompletedIdRecords(byteArrayManager, byteArrayId, jobConfiguration.getIds());
+          }
+        }
+      }
+
+      byteArrayManager.deleteByteArrayById(byteArrayId);
     }
   }
 
@@ -25,6 +25,7 @@ public class BatchConfiguration {
   protected DeploymentMappings idMappings;
   protected boolean failIfNotExists;
   protected String batchId;
+  protected BatchIdChunks idChunks;
 
   public BatchConfiguration(List<String> ids) {
     this(ids, true);
@@ -82,4 +83,16 @@ public class BatchConfiguration {
     this.batchId = batchId;
   }
 
+  /**
+   * @return the chunks holding the ids which are not yet seeded, or <code>null</code>
+   * if all ids are kept in this configuration
+   */
+  public BatchIdChunks getIdChunks() {
+    return idChunks;
+  }
+
+  public void setIdChunks(BatchIdChunks idChunks) {
+    this.idChunks = idChunks;
+  }
+
 }
@@ -323,6 +323,12 @@ public class BatchEntity implements Batch, DbEntity, HasDbReferences, Nameable,
     for (JobEntity job : seedJobs) {
       job.delete();
     }
+
+    BatchJobHandler<?> batchJobHandler = getBatchJobHandler();
+    if (!seedJobs.isEmpty() && batchJobHandler instanceof AbstractBatchJobHandler) {
+      // seeding is not finished, remove the ids which have not been seeded yet
+      ((AbstractBatchJobHandler<?>) batchJobHandler).deleteIdChunks(this);
+    }
   }
 
   public JobEntity createMonitorJob(boolean setDueDate) {
@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.repository.ResourceTypes;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Cursor over the ids of a batch which are stored in chunks outside of the batch configuration.
+ * Each chunk is a byte array containing a part of the ids and a reference to the next chunk.
+ * Consuming ids only moves the cursor and deletes chunks which are fully consumed, so the
+ * seed job never has to read or rewrite the ids which it does not process.
+ */
+public class BatchIdChunks {
+
+  public static final String CHUNK_NAME = "batch-ids";
+
+  protected static final String IDS = "ids";
+  protected static final String NEXT = "next";
+
+  /** the chunk containing the next id to consume */
+  protected String firstChunkId;
+  /** number of ids of the first chunk which are already consumed */
+  protected int offset;
+  protected int remainingIdCount;
+
+  public BatchIdChunks(String firstChunkId, int offset, int remainingIdCount) {
+    this.firstChunkId = firstChunkId;
+    this.offset = offset;
+    this.remainingIdCount = remainingIdCount;
+  }
+
+  /**
+   * Stores the ids in chunks of the given size and returns a cursor pointing at the first id.
+   */
+  public static BatchIdChunks create(List<String> ids, int chunkSize) {
+    ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+
+    // insert the chunks from last to first, so that every chunk knows its successor
+    String nextChunkId = null;
+    if (!ids.isEmpty()) {
+      int lastChunkStart = ((ids.size() - 1) / chunkSize) * chunkSize;
+      for (int start = lastChunkStart; start >= 0; start -= chunkSize) {
+        List<String> chunkIds = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+
+        JsonObject json = JsonUtil.createObject();
+        JsonUtil.addListField(json, IDS, chunkIds);
+        JsonUtil.addField(json, NEXT, nextChunkId);
+
+        ByteArrayEntity chunk = new ByteArrayEntity(CHUNK_NAME, JsonUtil.asBytes(json), ResourceTypes.RUNTIME);
+        byteArrayManager.insertByteArray(chunk);
+        nextChunkId = chunk.getId();
+      }
+    }
+
+    return new BatchIdChunks(nextChunkId, 0, ids.size());
+  }
+
+  /**
+   * Consumes up to the given number of ids and moves the cursor behind them.
+   */
+  public List<String> takeIds(int count) {
+    CommandContext commandContext = Context.getCommandContext();
+    List<String> ids = new ArrayList<>(count);
+
+    while (ids.size() < count && firstChunkId != null) {
+      ByteArrayEntity chunk = findChunk(commandContext, firstChunkId);
+      JsonObject json = JsonUtil.asObject(chunk.getBytes());
+      List<String> chunkIds = JsonUtil.asStringList(JsonUtil.getArray(json, IDS));
+
+      int end = Math.min(chunkIds.size(), offset + count - ids.size());
+      ids.addAll(chunkIds.subList(offset, end));
+
+      if (end == chunkIds.size()) {
+        commandContext.getByteArrayManager().delete(chunk);
+        firstChunkId = JsonUtil.getString(json, NEXT, null);
+        offset = 0;
+      } else {
+        offset = end;
+      }
+    }
+
+    remainingIdCount -= ids.size();
+    return ids;
+  }
+
+  /**
+   * Deletes all chunks which are not yet fully consumed.
+   */
+  public void delete() {
+    CommandContext commandContext = Context.getCommandContext();
+
+    while (firstChunkId != null) {
+      ByteArrayEntity chunk = findChunk(commandContext, firstChunkId);
+      JsonObject json = JsonUtil.asObject(chunk.getBytes());
+      commandContext.getByteArrayManager().delete(chunk);
+      firstChunkId = JsonUtil.getString(json, NEXT, null);
+    }
+
+    offset = 0;
+    remainingIdCount = 0;
+  }
+
+  protected ByteArrayEntity findChunk(CommandContext commandContext, String chunkId) {
+    ByteArrayEntity chunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, chunkId);
+    ensureNotNull("Cannot find chunk of batch ids with id '" + chunkId + "'", "chunk", chunk);
+    return chunk;
+  }
+
+  public String getFirstChunkId() {
+    return firstChunkId;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  public int getRemainingIdCount() {
+    return remainingIdCount;
+  }
+
+  public boolean isEmpty() {
+    return remainingIdCount <= 0;
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch;
+
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+
+import com.google.gson.JsonObject;
+
+public class BatchIdChunksJsonConverter extends JsonObjectConverter<BatchIdChunks> {
+
+  public static final BatchIdChunksJsonConverter INSTANCE = new BatchIdChunksJsonConverter();
+
+  protected static final String FIRST_CHUNK_ID = "firstChunkId";
+  protected static final String OFFSET = "offset";
+  protected static final String REMAINING_ID_COUNT = "remainingIdCount";
+
+  @Override
+  public JsonObject toJsonObject(BatchIdChunks chunks) {
+    JsonObject json = JsonUtil.createObject();
+    JsonUtil.addField(json, FIRST_CHUNK_ID, chunks.getFirstChunkId());
+    JsonUtil.addField(json, OFFSET, chunks.getOffset());
+    JsonUtil.addField(json, REMAINING_ID_COUNT, chunks.getRemainingIdCount());
+    return json;
+  }
+
+  @Override
+  public BatchIdChunks toObject(JsonObject json) {
+    String firstChunkId = JsonUtil.getString(json, FIRST_CHUNK_ID, null);
+    int offset = JsonUtil.getInt(json, OFFSET);
+    int remainingIdCount = JsonUtil.getInt(json, REMAINING_ID_COUNT);
+    return new BatchIdChunks(firstChunkId, offset, remainingIdCount);
+  }
+
+}
@@ -22,6 +22,7 @@ public class BatchStatisticsEntity extends BatchEntity implements BatchStatistic
 
   protected int remainingJobs;
   protected int failedJobs;
+  protected int failedInstances;
 
   public int getRemainingJobs() {
     return remainingJobs + getJobsToCreate();
@@ -43,6 +44,14 @@ public class BatchStatisticsEntity extends BatchEntity implements BatchStatistic
     this.failedJobs = failedJobs;
   }
 
+  public int getFailedInstances() {
+    return failedInstances;
+  }
+
+  public void setFailedInstances(int failedInstances) {
+    this.failedInstances = failedInstances;
+  }
+
   public int getJobsToCreate() {
     return totalJobs - jobsCreated;
   }
@@ -56,6 +65,7 @@ public class BatchStatisticsEntity extends BatchEntity implements BatchStatistic
       ", jobCreated=" + jobsCreated +
       ", remainingJobs=" + remainingJobs +
       ", failedJobs=" + failedJobs +
+      ", failedInstances=" + failedInstances +
       ", batchJobsPerSeed=" + batchJobsPerSeed +
       ", invocationsPerBatchJob=" + invocationsPerBatchJob +
       ", seedJobDefinitionId='" + seedJobDefinitionId + '\'' +
@@ -25,10 +25,13 @@ import org.camunda.bpm.engine.batch.BatchStatistics;
 import org.camunda.bpm.engine.batch.BatchStatisticsQuery;
 import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.BatchQueryProperty;
+import org.camunda.bpm.engine.impl.JobQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.runtime.Job;
 
 public class BatchStatisticsQueryImpl extends AbstractQuery<BatchStatisticsQuery, BatchStatistics> implements BatchStatisticsQuery {
 
@@ -156,9 +159,45 @@ public class BatchStatisticsQueryImpl extends AbstractQuery<BatchStatisticsQuery
 
   public List<BatchStatistics> executeList(CommandContext commandContext, Page page) {
     checkQueryOk();
-    return commandContext
+    List<BatchStatistics> statistics = commandContext
       .getStatisticsManager()
       .getStatisticsGroupedByBatch(this, page);
+
+    for (BatchStatistics batchStatistics : statistics) {
+      if (batchStatistics.getFailedJobs() > 0) {
+        BatchStatisticsEntity statisticsEntity = (BatchStatisticsEntity) batchStatistics;
+        statisticsEntity.setFailedInstances(countFailedInstances(commandContext, statisticsEntity));
+      }
+    }
+
+    return statistics;
+  }
+
+  protected int countFailedInstances(CommandContext commandContext, BatchStatisticsEntity statistics) {
+    BatchJobHandler<?> batchJobHandler = commandContext.getProcessEngineConfiguration()
+      .getBatchHandlers()
+      .get(statistics.getType());
+
+    if (!(batchJobHandler instanceof AbstractBatchJobHandler)) {
+      return 0;
+    }
+
+    JobQueryImpl failedJobsQuery = new JobQueryImpl();
+    failedJobsQuery
+      .jobDefinitionId(statistics.getBatchJobDefinitionId())
+      .noRetriesLeft();
+
+    // the batch is authorized already
+    List<Job> failedJobs = commandContext.runWithoutAuthorization(() -> commandContext
+      .getJobManager()
+      .findJobsByQueryCriteria(failedJobsQuery, new Page(0, Integer.MAX_VALUE)));
+
+    int failedInstances = 0;
+    for (Job failedJob : failedJobs) {
+      BatchJobConfiguration configuration = (BatchJobConfiguration) ((JobEntity) failedJob).getJobHandlerConfiguration();
+      failedInstances += ((AbstractBatchJobHandler<?>) batchJobHandler).countPendingIds(configuration, commandContext);
+    }
+    return failedInstances;
   }
 
 }
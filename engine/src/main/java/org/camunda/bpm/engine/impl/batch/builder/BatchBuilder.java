@@ -19,14 +19,17 @@ package org.camunda.bpm.engine.impl.batch.builder;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.authorization.Permission;
 import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
 import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchIdChunks;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -136,17 +139,46 @@ public class BatchBuilder {
     batch.setTenantId(tenantId);
     batch.setStartTime(ClockUtil.getCurrentTime());
 
-    byte[] configAsBytes = jobHandler.writeConfiguration(config);
+    int jobCount = engineConfig.getBatchJobsPerSeed();
+    batch.setBatchJobsPerSeed(jobCount);
+
+    byte[] configAsBytes = writeConfiguration(jobHandler, invocationPerBatchJobCount * jobCount);
     batch.setConfigurationBytes(configAsBytes);
 
     setTotalJobs(batch, invocationPerBatchJobCount);
 
-    int jobCount = engineConfig.getBatchJobsPerSeed();
-    batch.setBatchJobsPerSeed(jobCount);
-
     return batch;
   }
 
+  @SuppressWarnings(value = "unchecked")
+  protected byte[] writeConfiguration(BatchJobHandler jobHandler, int idsPerSeedJob) {
+    List<String> ids = config.getIds();
+
+    boolean storeIdsInChunks = commandContext.getProcessEngineConfiguration().isBatchIdChunksEnabled()
+        && jobHandler instanceof AbstractBatchJobHandler
+        && ids != null
+        && idsPerSeedJob > 0
+        && ids.size() > idsPerSeedJob;
+
+    if (!storeIdsInChunks) {
+      return jobHandler.writeConfiguration(config);
+    }
+
+    // a seed job invocation reads at most two chunks
+    BatchIdChunks idChunks = BatchIdChunks.create(ids, idsPerSeedJob);
+
+    config.setIds(new ArrayList<>());
+    config.setIdChunks(idChunks);
+    try {
+      return jobHandler.writeConfiguration(config);
+
+    } finally {
+      // the ids are still needed for the total jobs and the operation log
+      config.setIds(ids);
+      config.setIdChunks(null);
+    }
+  }
+
   protected void setTotalJobs(BatchEntity batch, int invocationPerBatchJobCount) {
     if (totalJobsCount != null) {
       batch.setTotalJobs(totalJobsCount);
@@ -43,6 +43,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ParseSnapshotCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -55,6 +56,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.xml.Element;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
@@ -79,6 +81,7 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
 
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
+  protected ParseSnapshotCache parseSnapshotCache;
 
   /** <!> DON'T KEEP DEPLOYMENT-SPECIFIC STATE <!> **/
 
@@ -102,8 +105,21 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
       bpmnParse.setSchemaResource(null);
     }
 
+    boolean restoredFromSnapshot = false;
+    if (parseSnapshotCache != null && !deployment.isNew()) {
+      Element rootElement = parseSnapshotCache.load(bytes, deployment.isValidatingSchema());
+      if (rootElement != null) {
+        bpmnParse.rootElement(rootElement);
+        restoredFromSnapshot = true;
+      }
+    }
+
     bpmnParse.execute();
 
+    if (parseSnapshotCache != null && !restoredFromSnapshot) {
+      parseSnapshotCache.store(bytes, deployment.isValidatingSchema(), bpmnParse.getRootElement());
+    }
+
     if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
       properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
     }
@@ -463,4 +479,12 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     this.bpmnParser = bpmnParser;
   }
 
+  public ParseSnapshotCache getParseSnapshotCache() {
+    return parseSnapshotCache;
+  }
+
+  public void setParseSnapshotCache(ParseSnapshotCache parseSnapshotCache) {
+    this.parseSnapshotCache = parseSnapshotCache;
+  }
+
 }
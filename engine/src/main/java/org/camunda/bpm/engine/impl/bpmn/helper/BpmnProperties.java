@@ -29,6 +29,7 @@ import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.core.model.PropertyKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyListKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyMapKey;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 
@@ -78,5 +79,10 @@ public class BpmnProperties {
 
   public static final PropertyKey<Map<String, String>> EXTENSION_PROPERTIES = new PropertyKey<>("extensionProperties");
 
+  /**
+   * History level which overrides the one of the process engine for a process definition or an activity.
+   */
+  public static final PropertyKey<HistoryLevel> HISTORY_LEVEL = new PropertyKey<>("historyLevel");
+
   public static final PropertyListKey<CamundaErrorEventDefinition> CAMUNDA_ERROR_EVENT_DEFINITION = new PropertyListKey<>("camundaErrorEventDefinition");
 }
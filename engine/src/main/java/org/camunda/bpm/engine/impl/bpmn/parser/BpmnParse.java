@@ -89,6 +89,7 @@ import org.camunda.bpm.engine.impl.bpmn.listener.ClassDelegateExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.DelegateExpressionExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.ExpressionExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.ScriptExecutionListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement.CallableElementBinding;
@@ -113,6 +114,7 @@ import org.camunda.bpm.engine.impl.form.handler.DelegateStartFormHandler;
 import org.camunda.bpm.engine.impl.form.handler.DelegateTaskFormHandler;
 import org.camunda.bpm.engine.impl.form.handler.StartFormHandler;
 import org.camunda.bpm.engine.impl.form.handler.TaskFormHandler;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncAfterMessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.AsyncBeforeMessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.EventSubscriptionJobDeclaration;
@@ -204,6 +206,7 @@ public class BpmnParse extends Parse {
   public static final String PROPERTYNAME_CONSUMES_COMPENSATION = "consumesCompensation";
   public static final String PROPERTYNAME_JOB_PRIORITY = "jobPriority";
   public static final String PROPERTYNAME_TASK_PRIORITY = "taskPriority";
+  public static final String PROPERTYNAME_HISTORY_LEVEL = "historyLevel";
   public static final String PROPERTYNAME_EXTERNAL_TASK_TOPIC = "topic";
   public static final String PROPERTYNAME_CLASS = "class";
   public static final String PROPERTYNAME_EXPRESSION = "expression";
@@ -642,6 +645,8 @@ public class BpmnParse extends Parse {
       addError(new BpmnParseException(e.getMessage(), processElement, e));
     }
 
+    parseHistoryLevel(processElement, processDefinition, processDefinition.getKey());
+
     boolean isStartableInTasklist = isStartable(processElement);
     processDefinition.setStartableInTasklist(isStartableInTasklist);
 
@@ -1914,9 +1919,47 @@ public class BpmnParse extends Parse {
       activity.setProperty(PROPERTYNAME_IS_FOR_COMPENSATION, true);
     }
 
+    parseHistoryLevel(activityElement, activity, null);
+
     return activity;
   }
 
+  /**
+   * Parses the history level which overrides the one of the process engine for a process
+   * or an activity, if history level overrides are enabled. The history level is given by the
+   * <code>historyLevel</code> extension property or, for a process, by the configured
+   * overrides of the process definition key.
+   */
+  protected void parseHistoryLevel(Element element, ScopeImpl scope, String processDefinitionKey) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    if (configuration == null || !configuration.isHistoryLevelOverridesEnabled()) {
+      return;
+    }
+
+    String historyLevelName = null;
+    Map<String, String> historyLevelOverrides = configuration.getHistoryLevelOverrides();
+    if (processDefinitionKey != null && historyLevelOverrides != null) {
+      historyLevelName = historyLevelOverrides.get(processDefinitionKey);
+    }
+
+    if (historyLevelName == null) {
+      Map<String, String> properties = parseCamundaExtensionProperties(element);
+      if (properties != null) {
+        historyLevelName = properties.get(PROPERTYNAME_HISTORY_LEVEL);
+      }
+    }
+
+    if (historyLevelName != null) {
+      HistoryLevel historyLevel = configuration.findHistoryLevel(historyLevelName);
+      if (historyLevel != null) {
+        scope.getProperties().set(BpmnProperties.HISTORY_LEVEL, historyLevel);
+      }
+      else {
+        addError("Unknown history level '" + historyLevelName + "'", element);
+      }
+    }
+  }
+
   /**
    * Sets the delegates for the activity, which will be called
    * if the attribute asyncAfter or asyncBefore was changed.
@@ -114,4 +114,12 @@ public class ConfigurationLogger extends ProcessEngineLogger {
     logError("015", "Exception while reading configuration property: {}", e.getMessage());
   }
 
+  public void connectionPoolTooSmall(String propertyName, int requiredConnections, int maxActiveConnections) {
+    logWarn(
+        "016", "With '{}', the engine may need up to {} database connections at the same time, but the " +
+            "connection pool allows only {}. Threads then wait for connections and overdue connections " +
+            "may be reclaimed, which rolls back their transactions. Increase the size of the connection pool.",
+        propertyName, requiredConnections, maxActiveConnections);
+  }
+
 }
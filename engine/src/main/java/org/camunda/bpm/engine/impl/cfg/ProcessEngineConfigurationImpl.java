@@ -20,6 +20,7 @@ package org.camunda.bpm.engine.impl.cfg;
 import static org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd.MAX_THREADS_NUMBER;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -42,6 +43,8 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.naming.InitialContext;
 import javax.script.ScriptEngineManager;
@@ -102,6 +105,7 @@ import org.camunda.bpm.engine.impl.ServiceImpl;
 import org.camunda.bpm.engine.impl.TaskServiceImpl;
 import org.camunda.bpm.engine.impl.application.ProcessApplicationManager;
 import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobThreadFactory;
 import org.camunda.bpm.engine.impl.batch.BatchMonitorJobHandler;
 import org.camunda.bpm.engine.impl.batch.BatchSeedJobHandler;
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstancesJobHandler;
@@ -143,9 +147,12 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.StripedDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.IndexedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -163,6 +170,7 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDef
 import org.camunda.bpm.engine.impl.el.CommandContextFunctions;
 import org.camunda.bpm.engine.impl.el.DateTimeFunctions;
 import org.camunda.bpm.engine.impl.el.ElProviderCompatible;
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
 import org.camunda.bpm.engine.impl.errorcode.ExceptionCodeProvider;
@@ -173,6 +181,8 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
+import org.camunda.bpm.engine.impl.externaltask.LocalExternalTaskNotificationChannel;
 import org.camunda.bpm.engine.impl.form.deployer.CamundaFormDefinitionDeployer;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
@@ -194,6 +204,7 @@ import org.camunda.bpm.engine.impl.form.validator.ReadOnlyValidator;
 import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.DefaultHistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.OverridableHistoryLevel;
 import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
@@ -202,6 +213,8 @@ import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandle
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxHandler;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -248,11 +261,16 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerTaskListenerJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.BatchWindowManager;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.DefaultBatchWindowManager;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatch;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatchSizeTuner;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupThreadFactory;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsExporter;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsReporter;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
@@ -293,6 +311,7 @@ import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ParseSnapshotCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
@@ -316,6 +335,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
@@ -373,6 +393,7 @@ import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.LongValueSerlializer;
 import org.camunda.bpm.engine.impl.variable.serializer.NullValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.ShortValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.StreamedFileValueImpl;
 import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializerFactory;
@@ -508,8 +529,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CacheFactory cacheFactory;
   protected int cacheCapacity = 1000;
+
+  /**
+   * If true, the latest version of every active definition is loaded into the
+   * deployment cache when the process engine is built.
+   */
+  protected boolean deploymentCacheWarmupEnabled = false;
+  protected int deploymentCacheWarmupThreads = 4;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * Directory of the local file cache of parsed BPMN resources. If set, a BPMN resource
+   * which is parsed again, e.g. after a cache eviction or an engine restart, is restored
+   * from its snapshot instead of being read and validated again.
+   */
+  protected String parseSnapshotDirectory;
+  protected ParseSnapshotCache parseSnapshotCache;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -521,9 +557,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected Long jobExecutorPriorityRangeMin = null;
   protected Long jobExecutorPriorityRangeMax = null;
 
+  /**
+   * If true, non-exclusive jobs which are created on this node are locked for the
+   * job executor of this node on insert and handed to it directly after commit
+   * instead of being acquired from the database.
+   */
+  protected boolean jobExecutorLocalJobHandoff = false;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * Propagates the availability of new external tasks, e.g. to wake up long polling
+   * fetch and lock requests. Defaults to a {@link LocalExternalTaskNotificationChannel}.
+   */
+  protected ExternalTaskNotificationChannel externalTaskNotificationChannel;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -535,6 +584,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator hands out ids from striped blocks which
+   * are prefetched asynchronously, see {@link StripedDbIdGenerator}.
+   */
+  protected boolean idGeneratorStripingEnabled = false;
+  protected int idGeneratorStripeCount = Runtime.getRuntime().availableProcessors();
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -569,6 +625,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * default priority for batch jobs
    */
   protected long batchJobPriority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  /**
+   * If set to true, the ids of batches that need more than one seed job invocation
+   * are stored in chunks which the seed job consumes one by one, instead of being
+   * rewritten as a whole into the batch configuration on every seed job invocation.
+   * Engines of older versions cannot execute batches created with this option.
+   */
+  protected boolean batchIdChunksEnabled = false;
+  /**
+   * If set to true, process instance migration and modification batch jobs execute
+   * each of their process instances in its own transaction. A failing process instance
+   * doesn't roll back the others: the batch job is retried for the failed process instances
+   * only, committed process instances are not executed again. Disable it only when no
+   * such batch job is pending, as their retries would execute all process instances again.
+   *
+   * <p>The transaction of a process instance needs a database connection in addition to
+   * the one of the job. The connection pool must therefore allow twice the number of job
+   * executor threads, or the number of job executor threads plus
+   * {@link #batchJobInstanceParallelism} if that is greater than 1. The engine logs a
+   * warning on startup if the pool it manages is smaller.</p>
+   */
+  protected boolean batchJobInstanceIsolationEnabled = false;
+  /**
+   * Number of threads a batch job with isolated process instances spreads its process
+   * instances over. With 1, the process instances are executed by the job executor thread.
+   * The threads are shared by all batch jobs of the engine.
+   */
+  protected int batchJobInstanceParallelism = 1;
+  /**
+   * Executes the process instances of batch jobs with isolated process instances in parallel.
+   * Shared by all batch jobs of the engine and shut down when the engine is closed. Created
+   * on first use with {@link #batchJobInstanceParallelism} threads if not set.
+   */
+  protected ExecutorService batchJobInstanceExecutor;
 
   // OTHER ////////////////////////////////////////////////////////////////////
   protected List<FormEngine> customFormEngines;
@@ -589,10 +678,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected String defaultSerializationFormat = Variables.SerializationDataFormats.JAVA.getName();
   protected boolean javaSerializationFormatEnabled = false;
+  /**
+   * If true, the content of file variables is not loaded together with the variable but
+   * streamed from the database in chunks when it is accessed, see {@link StreamedFileValueImpl}.
+   */
+  protected boolean fileValueStreamingEnabled = false;
   protected String defaultCharsetName = null;
   protected Charset defaultCharset = null;
 
   protected ExpressionManager expressionManager;
+  /**
+   * Number of evaluations after which a JUEL expression is compiled, see {@link ExpressionCompiler}.
+   * Compilation is disabled if the value is zero or negative.
+   */
+  protected int expressionCompilationThreshold = 0;
   protected ElProvider dmnElProvider;
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
@@ -679,6 +778,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected List<HistoryLevel> customHistoryLevels;
 
+  /**
+   * If enabled, the history level can be reduced for single process definitions and activities,
+   * see {@link OverridableHistoryLevel}
+   */
+  protected boolean historyLevelOverridesEnabled = false;
+
+  /**
+   * names of history levels by process definition key; they take precedence over the
+   * <code>historyLevel</code> extension property of the process
+   */
+  protected Map<String, String> historyLevelOverrides;
+
   protected List<BpmnParseListener> preParseListeners;
   protected List<BpmnParseListener> postParseListeners;
 
@@ -763,10 +874,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, the default {@link DbHistoryEventHandler} is replaced by the
+   * {@link HistoryEventOutboxHandler}: history events are written to an outbox in the
+   * transaction of a command and are drained into the history tables in the background.
+   * Requires the {@link #HISTORY_CLEANUP_STRATEGY_END_TIME_BASED end time based} history cleanup strategy.
+   */
+  protected boolean historyEventOutboxEnabled = false;
+
+  /** the number of outbox entries which are drained in one transaction */
+  protected int historyEventOutboxBatchSize = 100;
+
+  /** the delay between two drains of the history event outbox */
+  protected long historyEventOutboxDrainIntervalInMillis = 1000;
+
+  protected HistoryEventOutboxWriter historyEventOutboxWriter;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If true, the event subscriptions, jobs, incidents, tasks, external tasks and variables of
+   * a process instance are fetched together with its execution tree, with one query per entity
+   * type. Has no effect if {@link #isExecutionTreePrefetchEnabled} is false.
+   */
+  protected boolean isProcessInstanceStatePrefetchEnabled = false;
+
   /**
    * If true, the incident handlers init as {@link CompositeIncidentHandler} and
    * multiple incident handlers can be added for the same Incident type.
@@ -800,6 +934,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * Allows setting whether the first level entity cache should maintain secondary indexes
+   * by entity type and entity state, see {@link IndexedDbEntityCache}.
+   * Default setting is false, enabling it improves performance of commands touching
+   * a large number of entities.
+   */
+  protected boolean isDbEntityCacheIndexingEnabled = false;
+
+  /**
+   * If true and JDBC batch processing is enabled, consecutive INSERTs into the same
+   * history table are merged into one multi-row INSERT statement on databases
+   * supporting it. Default setting is false.
+   */
+  protected boolean jdbcBatchMultiRowInsert = false;
+
+  /**
+   * Maximum number of rows inserted by a single multi-row INSERT statement.
+   */
+  protected int jdbcBatchMultiRowInsertMaxRows = 50;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -828,6 +982,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isTaskMetricsEnabled = true;
 
+  /**
+   * If true, the engine records latency histograms of command executions, flushes,
+   * job executions and job acquisitions in the {@link #latencyMetricsRegistry}.
+   */
+  protected boolean latencyMetricsEnabled = false;
+
+  protected LatencyMetricsRegistry latencyMetricsRegistry;
+
+  /**
+   * exporters which are periodically invoked with a snapshot of the latency histograms
+   */
+  protected List<LatencyMetricsExporter> latencyMetricsExporters = new ArrayList<>();
+
+  protected long latencyMetricsExportIntervalInMillis = 60 * 1000;
+
+  protected LatencyMetricsReporter latencyMetricsReporter;
+
   /**
    * the historic job log host name
    */
@@ -891,6 +1062,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableHistoricInstancePermissions = false;
 
+  /**
+   * If set to true, the decisions of authorization checks are cached for the duration of a command.
+   */
+  protected boolean authorizationCheckCacheEnabled = false;
+
+  /**
+   * Time in milliseconds for which the decisions of authorization checks are shared between commands.
+   * Requires {@link #authorizationCheckCacheEnabled}. Disabled if not positive.
+   */
+  protected long authorizationCheckCacheTimeToLive = 0;
+
+  /**
+   * Maximum number of decisions shared between commands.
+   */
+  protected int authorizationCheckCacheCapacity = 10000;
+
+  protected AuthorizationDecisionCache authorizationDecisionCache;
+
+  /**
+   * If set to true, the authorizations of the current user and its groups are loaded once per
+   * resource type and command, and authorization checks are decided in memory.
+   */
+  protected boolean authorizationGrantIndexEnabled = false;
+
   protected boolean isUseSharedSqlSessionFactory = false;
 
   //History cleanup configuration
@@ -920,6 +1115,23 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected int historyCleanupDegreeOfParallelism = 1;
 
+  /**
+   * If true, the removal-time based history cleanup deletes from the history tables
+   * in parallel, each table in its own transaction, and adapts the batch size of each
+   * table to {@link #historyCleanupTargetStatementDurationInMillis}.
+   */
+  protected boolean historyCleanupAdaptiveEnabled = false;
+  protected int historyCleanupTableParallelism = 4;
+  /**
+   * Executes the delete statements of the adaptive history cleanup in parallel. Shared
+   * by all history cleanup jobs of the engine and shut down when the engine is closed.
+   * Created on first use if not set, see {@link #getHistoryCleanupTableExecutor()}.
+   */
+  protected ExecutorService historyCleanupTableExecutor;
+  protected long historyCleanupTargetStatementDurationInMillis = 1000;
+  protected int historyCleanupMaxAdaptiveBatchSize = 5000;
+  protected HistoryCleanupBatchSizeTuner historyCleanupBatchSizeTuner;
+
   protected String historyTimeToLive;
 
   protected String batchOperationHistoryTimeToLive;
@@ -1109,6 +1321,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     invokePreInit();
     initDefaultCharset();
     initHistoryLevel();
+    initHistoryLevelOverrides();
     initHistoryEventProducer();
     initCmmnHistoryEventProducer();
     initDmnHistoryEventProducer();
@@ -1136,8 +1349,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeployers();
     initJobProvider();
     initExternalTaskPriorityProvider();
+    initExternalTaskNotificationChannel();
     initBatchHandlers();
     initJobExecutor();
+    checkBatchJobInstanceConnections();
     initTransactionFactory();
     initSqlSessionFactory();
     initIdentityProviderSessionFactory();
@@ -1157,14 +1372,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentHandlerFactory();
     initResourceAuthorizationProvider();
     initPermissionProvider();
+    initAuthorizationDecisionCache();
     initHostName();
     initMetrics();
+    initLatencyMetrics();
     initTelemetry();
     initMigration();
     initCommandCheckers();
     initDefaultUserPermissionForTask();
     initHistoryRemovalTime();
     initHistoryCleanup();
+    initHistoryEventOutbox();
     initInvocationsPerBatchJobByBatchType();
     initAdminUser();
     initAdminGroups();
@@ -1214,6 +1432,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initHistoryEventOutbox() {
+    if (historyEventOutboxEnabled) {
+      if (historyEventOutboxBatchSize < 1) {
+        throw LOG.invalidPropertyValue("historyEventOutboxBatchSize", String.valueOf(historyEventOutboxBatchSize),
+          "value for the history event outbox batch size should be greater than 0");
+      }
+      if (historyEventOutboxDrainIntervalInMillis < 1) {
+        throw LOG.invalidPropertyValue("historyEventOutboxDrainIntervalInMillis", String.valueOf(historyEventOutboxDrainIntervalInMillis),
+          "value for the history event outbox drain interval should be greater than 0");
+      }
+
+      if (historyEventOutboxWriter == null) {
+        historyEventOutboxWriter = new HistoryEventOutboxWriter(commandExecutorTxRequired,
+            historyEventOutboxBatchSize, historyEventOutboxDrainIntervalInMillis);
+      }
+
+      if (HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy)) {
+        // removal times are derived from history which may still be in the outbox
+        throw LOG.invalidPropertyValue("historyCleanupStrategy", historyCleanupStrategy,
+          "the history event outbox requires the history cleanup strategy '" + HISTORY_CLEANUP_STRATEGY_END_TIME_BASED + "'");
+      }
+    }
+  }
+
   public void initHistoryCleanup() {
     initHistoryCleanupStrategy();
 
@@ -1243,6 +1485,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           "History cleanup batch threshold cannot be negative.");
     }
 
+    if (historyCleanupAdaptiveEnabled) {
+      initHistoryCleanupBatchSizeTuner();
+    }
+
     initHistoryTimeToLive();
 
     initBatchOperationsHistoryTimeToLive();
@@ -1252,6 +1498,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initTaskMetricsTimeToLive();
   }
 
+  protected void initHistoryCleanupBatchSizeTuner() {
+    if (historyCleanupTableParallelism < 1 || historyCleanupTableParallelism > MAX_THREADS_NUMBER) {
+      throw LOG.invalidPropertyValue("historyCleanupTableParallelism", String.valueOf(historyCleanupTableParallelism),
+          String.format("value for number of threads for deleting history tables should be between 1 and %s", MAX_THREADS_NUMBER));
+    }
+
+    if (historyCleanupTargetStatementDurationInMillis < 1) {
+      throw LOG.invalidPropertyValue("historyCleanupTargetStatementDurationInMillis", String.valueOf(historyCleanupTargetStatementDurationInMillis),
+          "value for the target statement duration should be greater than 0");
+    }
+
+    if (historyCleanupMaxAdaptiveBatchSize < historyCleanupBatchSize) {
+      throw LOG.invalidPropertyValue("historyCleanupMaxAdaptiveBatchSize", String.valueOf(historyCleanupMaxAdaptiveBatchSize),
+          "value for the maximum adaptive batch size should not be lower than the history cleanup batch size");
+    }
+
+    if (historyCleanupBatchSizeTuner == null) {
+      historyCleanupBatchSizeTuner = new HistoryCleanupBatchSizeTuner(historyCleanupBatchSize,
+          historyCleanupMaxAdaptiveBatchSize, historyCleanupTargetStatementDurationInMillis);
+    }
+  }
+
   protected void initHistoryCleanupStrategy() {
     if (historyCleanupStrategy == null) {
       historyCleanupStrategy = HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED;
@@ -1507,6 +1775,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         batchHandlers.put(customBatchJobHandler.getType(), customBatchJobHandler);
       }
     }
+
+    if (batchJobInstanceParallelism < 1) {
+      throw LOG.invalidPropertyValue("batchJobInstanceParallelism", String.valueOf(batchJobInstanceParallelism),
+          "value for number of threads executing the process instances of a batch job should be greater than 0");
+    }
+  }
+
+  /**
+   * Warns if the connection pool is too small for batch jobs with isolated process
+   * instances: each job keeps its connection while the transactions of its process
+   * instances need further connections.
+   */
+  public void checkBatchJobInstanceConnections() {
+    int maxActiveConnections = getMaxActiveConnections();
+    if (batchJobInstanceIsolationEnabled && maxActiveConnections > 0 && jobExecutor instanceof DefaultJobExecutor) {
+      int jobExecutorThreads = ((DefaultJobExecutor) jobExecutor).getMaxPoolSize();
+      int processInstanceThreads = batchJobInstanceParallelism > 1 ? batchJobInstanceParallelism : jobExecutorThreads;
+
+      int requiredConnections = jobExecutorThreads + processInstanceThreads;
+      if (requiredConnections > maxActiveConnections) {
+        LOG.connectionPoolTooSmall("batchJobInstanceIsolationEnabled", requiredConnections, maxActiveConnections);
+      }
+    }
+  }
+
+  /**
+   * @return the maximum number of active connections of the data source, or -1 if the
+   * data source is not pooled by the engine
+   */
+  protected int getMaxActiveConnections() {
+    if (dataSource instanceof PooledDataSource) {
+      return ((PooledDataSource) dataSource).getPoolMaximumActiveConnections();
+    }
+    return -1;
   }
 
   // command executors ////////////////////////////////////////////////////////
@@ -1835,6 +2137,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           configuration = parser.parse();
 
           configuration.setDefaultStatementTimeout(jdbcStatementTimeout);
+          configuration.setDefaultFetchSize(jdbcFetchSize);
 
           if (isJdbcBatchProcessing()) {
             configuration.setDefaultExecutorType(ExecutorType.BATCH);
@@ -1959,6 +2262,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(PropertyManager.class));
       addSessionFactory(new GenericManagerFactory(ResourceManager.class));
       addSessionFactory(new GenericManagerFactory(ByteArrayManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryEventOutboxManager.class));
       addSessionFactory(new GenericManagerFactory(TableDataManager.class));
       addSessionFactory(new GenericManagerFactory(TaskManager.class));
       addSessionFactory(new GenericManagerFactory(TaskReportManager.class));
@@ -2007,6 +2311,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected void initPersistenceProviders() {
     ensurePrefixAndSchemaFitToegether(databaseTablePrefix, databaseSchema);
     dbSqlSessionFactory = new DbSqlSessionFactory(jdbcBatchProcessing);
+    dbSqlSessionFactory.setJdbcBatchMultiRowInsert(jdbcBatchMultiRowInsert);
+    dbSqlSessionFactory.setJdbcBatchMultiRowInsertMaxRows(jdbcBatchMultiRowInsertMaxRows);
     dbSqlSessionFactory.setDatabaseType(databaseType);
     dbSqlSessionFactory.setIdGenerator(idGenerator);
     dbSqlSessionFactory.setSqlSessionFactory(sqlSessionFactory);
@@ -2191,6 +2497,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     bpmnDeployer.setBpmnParser(bpmnParser);
 
+    if (parseSnapshotCache == null && parseSnapshotDirectory != null) {
+      parseSnapshotCache = new ParseSnapshotCache(new File(parseSnapshotDirectory));
+    }
+    bpmnDeployer.setParseSnapshotCache(parseSnapshotCache);
+
     return bpmnDeployer;
   }
 
@@ -2386,6 +2697,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initExternalTaskNotificationChannel() {
+    if (externalTaskNotificationChannel == null) {
+      externalTaskNotificationChannel = new LocalExternalTaskNotificationChannel();
+    }
+  }
+
   // history //////////////////////////////////////////////////////////////////
 
   public void initHistoryLevel() {
@@ -2422,6 +2739,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  /**
+   * Wraps the history level, so that the history level overrides of process definitions and
+   * activities are applied. In case of history level "auto", this is called again once the
+   * history level has been determined.
+   */
+  public void initHistoryLevelOverrides() {
+    if (!historyLevelOverridesEnabled || historyLevel == null || historyLevel instanceof OverridableHistoryLevel) {
+      return;
+    }
+
+    if (historyLevelOverrides != null) {
+      for (Map.Entry<String, String> override : historyLevelOverrides.entrySet()) {
+        if (findHistoryLevel(override.getValue()) == null) {
+          throw LOG.invalidPropertyValue("historyLevelOverrides", override.getKey() + "=" + override.getValue(),
+              "unknown history level");
+        }
+      }
+    }
+
+    historyLevel = new OverridableHistoryLevel(historyLevel);
+  }
+
+  /**
+   * @return the supported history level with the given name, or <code>null</code> if there is none
+   */
+  public HistoryLevel findHistoryLevel(String name) {
+    if (historyLevels != null) {
+      for (HistoryLevel historyLevel : historyLevels) {
+        if (historyLevel.getName().equalsIgnoreCase(name)) {
+          return historyLevel;
+        }
+      }
+    }
+    return null;
+  }
+
   // id generator /////////////////////////////////////////////////////////////
 
   protected void initIdGenerator() {
@@ -2443,7 +2796,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idGeneratorStripingEnabled) {
+        StripedDbIdGenerator stripedDbIdGenerator = new StripedDbIdGenerator();
+        stripedDbIdGenerator.setStripeCount(idGeneratorStripeCount);
+        dbIdGenerator = stripedDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2495,6 +2855,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initLatencyMetrics() {
+    if (latencyMetricsEnabled) {
+
+      if (latencyMetricsRegistry == null) {
+        latencyMetricsRegistry = new LatencyMetricsRegistry();
+      }
+
+      if (latencyMetricsReporter == null && latencyMetricsExporters != null && !latencyMetricsExporters.isEmpty()) {
+        if (latencyMetricsExportIntervalInMillis < 1) {
+          throw LOG.invalidPropertyValue("latencyMetricsExportIntervalInMillis", String.valueOf(latencyMetricsExportIntervalInMillis),
+            "value for the latency metrics export interval should be greater than 0");
+        }
+        latencyMetricsReporter = new LatencyMetricsReporter(latencyMetricsRegistry, latencyMetricsExporters,
+            latencyMetricsExportIntervalInMillis);
+      }
+    }
+  }
+
   protected void initHostName() {
     if (hostname == null) {
       if (hostnameProvider == null) {
@@ -2663,6 +3041,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new JuelExpressionManager(beans);
     }
 
+    if (expressionManager instanceof JuelExpressionManager) {
+      ((JuelExpressionManager) expressionManager).setCompilationThreshold(expressionCompilationThreshold);
+    }
 
     expressionManager.addFunction(CommandContextFunctions.CURRENT_USER,
         ReflectUtil.getMethod(CommandContextFunctions.class, CommandContextFunctions.CURRENT_USER));
@@ -2810,7 +3191,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
+      if (enableDefaultDbHistoryEventHandler && historyEventOutboxEnabled) {
+        CompositeHistoryEventHandler compositeHistoryEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHistoryEventHandler.add(new HistoryEventOutboxHandler());
+        historyEventHandler = compositeHistoryEventHandler;
+      } else if (enableDefaultDbHistoryEventHandler) {
         historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
@@ -2853,6 +3238,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (cacheFactory == null) {
       cacheFactory = new DefaultCacheFactory();
     }
+
+    if (deploymentCacheWarmupEnabled && deploymentCacheWarmupThreads < 1) {
+      throw LOG.invalidPropertyValue("deploymentCacheWarmupThreads", String.valueOf(deploymentCacheWarmupThreads),
+        "value for the number of deployment cache warmup threads should be greater than 0");
+    }
   }
 
   // resource authorization provider //////////////////////////////////////////
@@ -2869,6 +3259,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initAuthorizationDecisionCache() {
+    if (authorizationCheckCacheCapacity <= 0) {
+      throw LOG.invalidPropertyValue("authorizationCheckCacheCapacity", String.valueOf(authorizationCheckCacheCapacity),
+          "the value must be positive");
+    }
+
+    if (authorizationDecisionCache == null && authorizationCheckCacheEnabled && authorizationCheckCacheTimeToLive > 0) {
+      authorizationDecisionCache = new AuthorizationDecisionCache(authorizationCheckCacheTimeToLive, authorizationCheckCacheCapacity);
+    }
+  }
+
   protected void initDefaultUserPermissionForTask() {
     if (defaultUserPermissionForTask == null) {
       if (Permissions.UPDATE.getName().equals(defaultUserPermissionNameForTask)) {
@@ -3213,6 +3614,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorLocalJobHandoff() {
+    return jobExecutorLocalJobHandoff;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorLocalJobHandoff(boolean jobExecutorLocalJobHandoff) {
+    this.jobExecutorLocalJobHandoff = jobExecutorLocalJobHandoff;
+    return this;
+  }
+
   public PriorityProvider<ExternalTaskActivityBehavior> getExternalTaskPriorityProvider() {
     return externalTaskPriorityProvider;
   }
@@ -3221,6 +3631,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public ExternalTaskNotificationChannel getExternalTaskNotificationChannel() {
+    return externalTaskNotificationChannel;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotificationChannel(ExternalTaskNotificationChannel externalTaskNotificationChannel) {
+    this.externalTaskNotificationChannel = externalTaskNotificationChannel;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -3292,6 +3711,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getExpressionCompilationThreshold() {
+    return expressionCompilationThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompilationThreshold(int expressionCompilationThreshold) {
+    this.expressionCompilationThreshold = expressionCompilationThreshold;
+    return this;
+  }
+
   public ElProvider getDmnElProvider() {
     return dmnElProvider;
   }
@@ -3367,6 +3795,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheCapacity = cacheCapacity;
   }
 
+  public boolean isDeploymentCacheWarmupEnabled() {
+    return deploymentCacheWarmupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmupEnabled(boolean deploymentCacheWarmupEnabled) {
+    this.deploymentCacheWarmupEnabled = deploymentCacheWarmupEnabled;
+    return this;
+  }
+
+  public int getDeploymentCacheWarmupThreads() {
+    return deploymentCacheWarmupThreads;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmupThreads(int deploymentCacheWarmupThreads) {
+    this.deploymentCacheWarmupThreads = deploymentCacheWarmupThreads;
+    return this;
+  }
+
+  public String getParseSnapshotDirectory() {
+    return parseSnapshotDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setParseSnapshotDirectory(String parseSnapshotDirectory) {
+    this.parseSnapshotDirectory = parseSnapshotDirectory;
+    return this;
+  }
+
+  public ParseSnapshotCache getParseSnapshotCache() {
+    return parseSnapshotCache;
+  }
+
+  public ProcessEngineConfigurationImpl setParseSnapshotCache(ParseSnapshotCache parseSnapshotCache) {
+    this.parseSnapshotCache = parseSnapshotCache;
+    return this;
+  }
+
   public void setEnableFetchProcessDefinitionDescription(boolean enableFetchProcessDefinitionDescription){
     this.enableFetchProcessDefinitionDescription = enableFetchProcessDefinitionDescription;
   }
@@ -3393,6 +3857,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return enableHistoricInstancePermissions;
   }
 
+  public boolean isAuthorizationCheckCacheEnabled() {
+    return authorizationCheckCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCacheEnabled(boolean authorizationCheckCacheEnabled) {
+    this.authorizationCheckCacheEnabled = authorizationCheckCacheEnabled;
+    return this;
+  }
+
+  public long getAuthorizationCheckCacheTimeToLive() {
+    return authorizationCheckCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCacheTimeToLive(long authorizationCheckCacheTimeToLive) {
+    this.authorizationCheckCacheTimeToLive = authorizationCheckCacheTimeToLive;
+    return this;
+  }
+
+  public int getAuthorizationCheckCacheCapacity() {
+    return authorizationCheckCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationCheckCacheCapacity(int authorizationCheckCacheCapacity) {
+    this.authorizationCheckCacheCapacity = authorizationCheckCacheCapacity;
+    return this;
+  }
+
+  public AuthorizationDecisionCache getAuthorizationDecisionCache() {
+    return authorizationDecisionCache;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationDecisionCache(AuthorizationDecisionCache authorizationDecisionCache) {
+    this.authorizationDecisionCache = authorizationDecisionCache;
+    return this;
+  }
+
+  public boolean isAuthorizationGrantIndexEnabled() {
+    return authorizationGrantIndexEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAuthorizationGrantIndexEnabled(boolean authorizationGrantIndexEnabled) {
+    this.authorizationGrantIndexEnabled = authorizationGrantIndexEnabled;
+    return this;
+  }
+
   public Map<String, JobHandler> getJobHandlers() {
     return jobHandlers;
   }
@@ -3875,6 +4384,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdGeneratorStripingEnabled() {
+    return idGeneratorStripingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorStripingEnabled(boolean idGeneratorStripingEnabled) {
+    this.idGeneratorStripingEnabled = idGeneratorStripingEnabled;
+    return this;
+  }
+
+  public int getIdGeneratorStripeCount() {
+    return idGeneratorStripeCount;
+  }
+
+  public ProcessEngineConfigurationImpl setIdGeneratorStripeCount(int idGeneratorStripeCount) {
+    this.idGeneratorStripeCount = idGeneratorStripeCount;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3924,6 +4451,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableDefaultDbHistoryEventHandler = enableDefaultDbHistoryEventHandler;
   }
 
+  public boolean isHistoryEventOutboxEnabled() {
+    return historyEventOutboxEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxEnabled(boolean historyEventOutboxEnabled) {
+    this.historyEventOutboxEnabled = historyEventOutboxEnabled;
+    return this;
+  }
+
+  public int getHistoryEventOutboxBatchSize() {
+    return historyEventOutboxBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxBatchSize(int historyEventOutboxBatchSize) {
+    this.historyEventOutboxBatchSize = historyEventOutboxBatchSize;
+    return this;
+  }
+
+  public long getHistoryEventOutboxDrainIntervalInMillis() {
+    return historyEventOutboxDrainIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxDrainIntervalInMillis(long historyEventOutboxDrainIntervalInMillis) {
+    this.historyEventOutboxDrainIntervalInMillis = historyEventOutboxDrainIntervalInMillis;
+    return this;
+  }
+
+  public HistoryEventOutboxWriter getHistoryEventOutboxWriter() {
+    return historyEventOutboxWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventOutboxWriter(HistoryEventOutboxWriter historyEventOutboxWriter) {
+    this.historyEventOutboxWriter = historyEventOutboxWriter;
+    return this;
+  }
+
   public List<HistoryEventHandler> getCustomHistoryEventHandlers() {
     return customHistoryEventHandlers;
   }
@@ -4019,6 +4582,71 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.batchJobPriority = batchJobPriority;
   }
 
+  public boolean isBatchIdChunksEnabled() {
+    return batchIdChunksEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchIdChunksEnabled(boolean batchIdChunksEnabled) {
+    this.batchIdChunksEnabled = batchIdChunksEnabled;
+    return this;
+  }
+
+  public boolean isBatchJobInstanceIsolationEnabled() {
+    return batchJobInstanceIsolationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchJobInstanceIsolationEnabled(boolean batchJobInstanceIsolationEnabled) {
+    this.batchJobInstanceIsolationEnabled = batchJobInstanceIsolationEnabled;
+    return this;
+  }
+
+  public int getBatchJobInstanceParallelism() {
+    return batchJobInstanceParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchJobInstanceParallelism(int batchJobInstanceParallelism) {
+    this.batchJobInstanceParallelism = batchJobInstanceParallelism;
+    return this;
+  }
+
+  public synchronized ExecutorService getBatchJobInstanceExecutor() {
+    if (batchJobInstanceExecutor == null) {
+      batchJobInstanceExecutor = Executors.newFixedThreadPool(batchJobInstanceParallelism, new BatchJobThreadFactory());
+    }
+    return batchJobInstanceExecutor;
+  }
+
+  public synchronized ProcessEngineConfigurationImpl setBatchJobInstanceExecutor(ExecutorService batchJobInstanceExecutor) {
+    this.batchJobInstanceExecutor = batchJobInstanceExecutor;
+    return this;
+  }
+
+  /**
+   * Creates the executor on first use with {@link #historyCleanupTableParallelism} threads.
+   * Each history cleanup job keeps its connection while the delete statements run in
+   * transactions of their own, so the number of threads is limited to the connections of
+   * the pool which remain when all {@link #historyCleanupDegreeOfParallelism} jobs hold one.
+   */
+  public synchronized ExecutorService getHistoryCleanupTableExecutor() {
+    if (historyCleanupTableExecutor == null) {
+      int numberOfThreads = historyCleanupTableParallelism;
+
+      int maxActiveConnections = getMaxActiveConnections();
+      if (maxActiveConnections > 0) {
+        int availableConnections = Math.max(1, maxActiveConnections - historyCleanupDegreeOfParallelism);
+        numberOfThreads = Math.min(numberOfThreads, availableConnections);
+      }
+
+      historyCleanupTableExecutor = Executors.newFixedThreadPool(numberOfThreads, new HistoryCleanupThreadFactory());
+    }
+    return historyCleanupTableExecutor;
+  }
+
+  public synchronized ProcessEngineConfigurationImpl setHistoryCleanupTableExecutor(ExecutorService historyCleanupTableExecutor) {
+    this.historyCleanupTableExecutor = historyCleanupTableExecutor;
+    return this;
+  }
+
   public long getHistoryCleanupJobPriority() {
     return historyCleanupJobPriority;
   }
@@ -4160,6 +4788,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public boolean isProcessInstanceStatePrefetchEnabled() {
+    return isProcessInstanceStatePrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessInstanceStatePrefetchEnabled(boolean isProcessInstanceStatePrefetchEnabled) {
+    this.isProcessInstanceStatePrefetchEnabled = isProcessInstanceStatePrefetchEnabled;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -4349,6 +4986,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.javaSerializationFormatEnabled = javaSerializationFormatEnabled;
   }
 
+  public boolean isFileValueStreamingEnabled() {
+    return fileValueStreamingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setFileValueStreamingEnabled(boolean fileValueStreamingEnabled) {
+    this.fileValueStreamingEnabled = fileValueStreamingEnabled;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDefaultCharsetName(String defaultCharsetName) {
     this.defaultCharsetName = defaultCharsetName;
     return this;
@@ -4372,6 +5018,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isDbEntityCacheIndexingEnabled() {
+    return isDbEntityCacheIndexingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntityCacheIndexingEnabled(boolean isDbEntityCacheIndexingEnabled) {
+    this.isDbEntityCacheIndexingEnabled = isDbEntityCacheIndexingEnabled;
+    return this;
+  }
+
+  public boolean isJdbcBatchMultiRowInsert() {
+    return jdbcBatchMultiRowInsert;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMultiRowInsert(boolean jdbcBatchMultiRowInsert) {
+    this.jdbcBatchMultiRowInsert = jdbcBatchMultiRowInsert;
+    return this;
+  }
+
+  public int getJdbcBatchMultiRowInsertMaxRows() {
+    return jdbcBatchMultiRowInsertMaxRows;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMultiRowInsertMaxRows(int jdbcBatchMultiRowInsertMaxRows) {
+    this.jdbcBatchMultiRowInsertMaxRows = jdbcBatchMultiRowInsertMaxRows;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -4394,6 +5067,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return customHistoryLevels;
   }
 
+  public boolean isHistoryLevelOverridesEnabled() {
+    return historyLevelOverridesEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryLevelOverridesEnabled(boolean historyLevelOverridesEnabled) {
+    this.historyLevelOverridesEnabled = historyLevelOverridesEnabled;
+    return this;
+  }
+
+  public Map<String, String> getHistoryLevelOverrides() {
+    return historyLevelOverrides;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryLevelOverrides(Map<String, String> historyLevelOverrides) {
+    this.historyLevelOverrides = historyLevelOverrides;
+    return this;
+  }
+
   public boolean isInvokeCustomVariableListeners() {
     return isInvokeCustomVariableListeners;
   }
@@ -4404,6 +5095,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    synchronized (this) {
+      if (batchJobInstanceExecutor != null) {
+        batchJobInstanceExecutor.shutdownNow();
+        batchJobInstanceExecutor = null;
+      }
+      if (historyCleanupTableExecutor != null) {
+        historyCleanupTableExecutor.shutdownNow();
+        historyCleanupTableExecutor = null;
+      }
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -4439,6 +5141,54 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isLatencyMetricsEnabled() {
+    return latencyMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsEnabled(boolean latencyMetricsEnabled) {
+    this.latencyMetricsEnabled = latencyMetricsEnabled;
+    return this;
+  }
+
+  /**
+   * @return the registry of the latency histograms or <code>null</code> if latency metrics are disabled
+   */
+  public LatencyMetricsRegistry getLatencyMetricsRegistry() {
+    return latencyMetricsRegistry;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsRegistry(LatencyMetricsRegistry latencyMetricsRegistry) {
+    this.latencyMetricsRegistry = latencyMetricsRegistry;
+    return this;
+  }
+
+  public List<LatencyMetricsExporter> getLatencyMetricsExporters() {
+    return latencyMetricsExporters;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsExporters(List<LatencyMetricsExporter> latencyMetricsExporters) {
+    this.latencyMetricsExporters = latencyMetricsExporters;
+    return this;
+  }
+
+  public long getLatencyMetricsExportIntervalInMillis() {
+    return latencyMetricsExportIntervalInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsExportIntervalInMillis(long latencyMetricsExportIntervalInMillis) {
+    this.latencyMetricsExportIntervalInMillis = latencyMetricsExportIntervalInMillis;
+    return this;
+  }
+
+  public LatencyMetricsReporter getLatencyMetricsReporter() {
+    return latencyMetricsReporter;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsReporter(LatencyMetricsReporter latencyMetricsReporter) {
+    this.latencyMetricsReporter = latencyMetricsReporter;
+    return this;
+  }
+
   public boolean isDbMetricsReporterActivate() {
     return isDbMetricsReporterActivate;
   }
@@ -4962,6 +5712,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupDegreeOfParallelism = historyCleanupDegreeOfParallelism;
   }
 
+  public boolean isHistoryCleanupAdaptiveEnabled() {
+    return historyCleanupAdaptiveEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupAdaptiveEnabled(boolean historyCleanupAdaptiveEnabled) {
+    this.historyCleanupAdaptiveEnabled = historyCleanupAdaptiveEnabled;
+    return this;
+  }
+
+  public int getHistoryCleanupTableParallelism() {
+    return historyCleanupTableParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupTableParallelism(int historyCleanupTableParallelism) {
+    this.historyCleanupTableParallelism = historyCleanupTableParallelism;
+    return this;
+  }
+
+  public long getHistoryCleanupTargetStatementDurationInMillis() {
+    return historyCleanupTargetStatementDurationInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupTargetStatementDurationInMillis(long historyCleanupTargetStatementDurationInMillis) {
+    this.historyCleanupTargetStatementDurationInMillis = historyCleanupTargetStatementDurationInMillis;
+    return this;
+  }
+
+  public int getHistoryCleanupMaxAdaptiveBatchSize() {
+    return historyCleanupMaxAdaptiveBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupMaxAdaptiveBatchSize(int historyCleanupMaxAdaptiveBatchSize) {
+    this.historyCleanupMaxAdaptiveBatchSize = historyCleanupMaxAdaptiveBatchSize;
+    return this;
+  }
+
+  public HistoryCleanupBatchSizeTuner getHistoryCleanupBatchSizeTuner() {
+    return historyCleanupBatchSizeTuner;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupBatchSizeTuner(HistoryCleanupBatchSizeTuner historyCleanupBatchSizeTuner) {
+    this.historyCleanupBatchSizeTuner = historyCleanupBatchSizeTuner;
+    return this;
+  }
+
   public void setBatchOperationHistoryTimeToLive(String batchOperationHistoryTimeToLive) {
     this.batchOperationHistoryTimeToLive = batchOperationHistoryTimeToLive;
   }
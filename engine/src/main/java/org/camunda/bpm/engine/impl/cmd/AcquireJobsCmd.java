@@ -61,9 +61,7 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<AcquirableJobEntity> jobs = findAcquirableJobs(commandContext);
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
@@ -98,6 +96,12 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  protected List<AcquirableJobEntity> findAcquirableJobs(CommandContext commandContext) {
+    return commandContext
+      .getJobManager()
+      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+  }
+
   /**
    * When CockroachDB is used, this command may be retried multiple times until
    * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+
+/**
+ * <p>Acquires jobs by locking the selected rows with <code>SELECT ... FOR UPDATE SKIP LOCKED</code>.</p>
+ *
+ * <p>Rows which are currently being acquired by another job executor are skipped instead
+ * of being selected again, so concurrent acquisitions claim disjoint sets of jobs and
+ * the subsequent lock updates do not fail with an optimistic locking exception.</p>
+ *
+ * <p>On databases which do not support <code>SKIP LOCKED</code> (see
+ * {@link DbSqlSessionFactory#SKIP_LOCKED_DATABASES}) the jobs are acquired like in
+ * {@link AcquireJobsCmd}.</p>
+ */
+public class AcquireJobsSkipLockedCmd extends AcquireJobsCmd {
+
+  public AcquireJobsSkipLockedCmd(JobExecutor jobExecutor) {
+    super(jobExecutor);
+  }
+
+  public AcquireJobsSkipLockedCmd(JobExecutor jobExecutor, int numJobsToAcquire) {
+    super(jobExecutor, numJobsToAcquire);
+  }
+
+  @Override
+  protected List<AcquirableJobEntity> findAcquirableJobs(CommandContext commandContext) {
+    DbSqlSessionFactory dbSqlSessionFactory = commandContext.getProcessEngineConfiguration().getDbSqlSessionFactory();
+
+    if (dbSqlSessionFactory.isSkipLockedSupported()) {
+      return commandContext
+        .getJobManager()
+        .findNextJobsToExecuteSkipLocked(new Page(0, numJobsToAcquire));
+    }
+    else {
+      return super.findAcquirableJobs(commandContext);
+    }
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+
+/**
+ * Writes the history events of the claimed history event outbox entries to the history
+ * tables and deletes the entries in the same transaction. If the transaction fails, the
+ * entries remain in the outbox and are drained again. Returns the number of drained entries.
+ */
+public class DrainHistoryEventOutboxCmd implements Command<Integer> {
+
+  protected int batchSize;
+
+  public DrainHistoryEventOutboxCmd(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    HistoryEventOutboxManager historyEventOutboxManager = commandContext.getHistoryEventOutboxManager();
+
+    List<HistoryEventOutboxEntryEntity> outboxEntries = historyEventOutboxManager.claimOutboxEntries(batchSize);
+    historyEventOutboxManager.drainOutboxEntries(outboxEntries);
+
+    return outboxEntries.size();
+  }
+
+}
@@ -42,6 +42,20 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
 
   @Override
   public Void execute(CommandContext commandContext) {
+    ExternalTaskEntity externalTask = validateAndGetExternalTask(commandContext);
+
+    execute(externalTask);
+    
+    return null;
+  }
+
+  /**
+   * Validates the input, the worker and the authorization of the command without
+   * changing any state.
+   *
+   * @return the external task which is handled by the command
+   */
+  protected ExternalTaskEntity validateAndGetExternalTask(CommandContext commandContext) {
     validateInput();    
 
     ExternalTaskEntity externalTask = commandContext.getExternalTaskManager().findExternalTaskById(externalTaskId);
@@ -55,10 +69,8 @@ public abstract class HandleExternalTaskCmd extends ExternalTaskCmd {
     for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
       checker.checkUpdateProcessInstanceById(externalTask.getProcessInstanceId());
     }
-    
-    execute(externalTask);
-    
-    return null;
+
+    return externalTask;
   }
   
   /**
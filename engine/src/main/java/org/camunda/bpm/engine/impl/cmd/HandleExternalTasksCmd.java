@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskHandlingResultImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+/**
+ * Handles several external tasks of one worker in a single command context.
+ *
+ * <p>Each operation is validated right before it is executed. Validation only reads
+ * state, so a task that cannot be found, is locked by another worker or may not be
+ * updated by the current user is skipped and reported as failed result. Exceptions
+ * thrown while executing an operation are not caught and roll back all operations.</p>
+ */
+public class HandleExternalTasksCmd implements Command<List<ExternalTaskHandlingResult>> {
+
+  protected String workerId;
+  protected List<HandleExternalTaskCmd> operations;
+
+  public HandleExternalTasksCmd(String workerId, List<HandleExternalTaskCmd> operations) {
+    this.workerId = workerId;
+    this.operations = operations;
+  }
+
+  @Override
+  public List<ExternalTaskHandlingResult> execute(CommandContext commandContext) {
+    ensureNotNull("workerId", workerId);
+    ensureNotNull("operations", operations);
+    for (HandleExternalTaskCmd operation : operations) {
+      ensureNotNull("externalTaskId", operation.externalTaskId);
+    }
+
+    List<ExternalTaskHandlingResult> results = new ArrayList<ExternalTaskHandlingResult>();
+
+    for (HandleExternalTaskCmd operation : operations) {
+      ExternalTaskEntity externalTask;
+      try {
+        externalTask = validate(commandContext, operation);
+      }
+      catch (ProcessEngineException e) {
+        results.add(ExternalTaskHandlingResultImpl.failed(operation.externalTaskId, e));
+        continue;
+      }
+
+      operation.execute(externalTask);
+      results.add(ExternalTaskHandlingResultImpl.successful(operation.externalTaskId));
+    }
+
+    return results;
+  }
+
+  protected ExternalTaskEntity validate(CommandContext commandContext, HandleExternalTaskCmd operation) {
+    ExternalTaskEntity externalTask = operation.validateAndGetExternalTask(commandContext);
+
+    // a previous operation of this command may have removed the task, e.g. by completing it twice
+    // or by interrupting its activity
+    if (commandContext.getDbEntityManager().isDeleted(externalTask)) {
+      throw new NotFoundException("Cannot find external task with id " + operation.externalTaskId);
+    }
+
+    return externalTask;
+  }
+
+}
@@ -43,6 +43,12 @@ public abstract class AbstractEventAtomicOperation<T extends CoreExecution> impl
         : getListeners(scope, execution);
     int listenerIndex = execution.getListenerIndex();
 
+    if (listenerIndex == 0 && listeners.isEmpty()) {
+      // nothing to notify, so the event state of the execution is left untouched
+      eventNotificationsCompleted(eventNotificationsStarted(execution));
+      return;
+    }
+
     if(listenerIndex == 0) {
       execution = eventNotificationsStarted(execution);
     }
@@ -0,0 +1,219 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Caches the decisions of authorization checks across commands for a limited time.</p>
+ *
+ * <p>A decision is keyed by the user, its groups and the checked permissions (see
+ * {@link #createKey(String, List, CompositePermissionCheck)}). Decisions are invalidated per
+ * resource type whenever authorizations of that type are written by this process engine.
+ * Changes made by other process engines sharing the database become visible once the cached
+ * decisions expire.</p>
+ */
+public class AuthorizationDecisionCache {
+
+  protected long timeToLiveInMillis;
+  protected int capacity;
+
+  protected Map<String, CachedDecision> decisions = new ConcurrentHashMap<>();
+
+  /**
+   * Generations are incremented on every invalidation. A decision is only valid as long as
+   * the generations of the resource types it depends on did not change since it was computed.
+   */
+  protected Map<Integer, AtomicLong> generationsByResourceType = new ConcurrentHashMap<>();
+  protected AtomicLong generation = new AtomicLong();
+
+  public AuthorizationDecisionCache(long timeToLiveInMillis, int capacity) {
+    this.timeToLiveInMillis = timeToLiveInMillis;
+    this.capacity = capacity;
+  }
+
+  /**
+   * @return the cached decision or <code>null</code> if there is no valid decision for the key
+   */
+  public Boolean get(String key) {
+    CachedDecision decision = decisions.get(key);
+    if (decision == null) {
+      return null;
+    }
+
+    if (decision.expiresAt < ClockUtil.getCurrentTime().getTime() || !isCurrent(decision.stamp)) {
+      decisions.remove(key, decision);
+      return null;
+    }
+
+    return decision.authorized;
+  }
+
+  /**
+   * Captures the generations of the resource types a check depends on. Must be called
+   * before the decision is computed, see {@link #put(String, boolean, DecisionStamp)}.
+   */
+  public DecisionStamp stamp(CompositePermissionCheck compositePermissionCheck) {
+    Set<Integer> resourceTypes = new HashSet<>();
+    for (PermissionCheck permissionCheck : compositePermissionCheck.getAllPermissionChecks()) {
+      resourceTypes.add(permissionCheck.getResourceType());
+    }
+
+    int[] types = new int[resourceTypes.size()];
+    long[] generations = new long[resourceTypes.size()];
+    int i = 0;
+    for (Integer resourceType : resourceTypes) {
+      types[i] = resourceType;
+      generations[i] = getGeneration(resourceType).get();
+      i++;
+    }
+
+    return new DecisionStamp(generation.get(), types, generations);
+  }
+
+  /**
+   * Caches a decision unless the cache was invalidated for one of the resource types
+   * of the check since the stamp was taken.
+   */
+  public void put(String key, boolean authorized, DecisionStamp stamp) {
+    if (!isCurrent(stamp)) {
+      return;
+    }
+
+    if (decisions.size() >= capacity) {
+      decisions.clear();
+    }
+
+    decisions.put(key, new CachedDecision(authorized, ClockUtil.getCurrentTime().getTime() + timeToLiveInMillis, stamp));
+  }
+
+  public void invalidate(int resourceType) {
+    getGeneration(resourceType).incrementAndGet();
+  }
+
+  public void invalidate() {
+    generation.incrementAndGet();
+    decisions.clear();
+  }
+
+  public int size() {
+    return decisions.size();
+  }
+
+  protected AtomicLong getGeneration(int resourceType) {
+    return generationsByResourceType.computeIfAbsent(resourceType, type -> new AtomicLong());
+  }
+
+  protected boolean isCurrent(DecisionStamp stamp) {
+    if (stamp.generation != generation.get()) {
+      return false;
+    }
+    for (int i = 0; i < stamp.resourceTypes.length; i++) {
+      if (stamp.generations[i] != getGeneration(stamp.resourceTypes[i]).get()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Creates the key of a decision from the user, the set of groups and the permission checks.
+   */
+  public static String createKey(String userId, List<String> groupIds, CompositePermissionCheck compositePermissionCheck) {
+    StringBuilder key = new StringBuilder();
+    appendValue(key, userId);
+
+    if (groupIds != null) {
+      List<String> sortedGroupIds = new ArrayList<>(groupIds);
+      Collections.sort(sortedGroupIds);
+      for (String groupId : sortedGroupIds) {
+        appendValue(key, groupId);
+      }
+    }
+    key.append('|');
+
+    appendCheck(key, compositePermissionCheck);
+    return key.toString();
+  }
+
+  protected static void appendCheck(StringBuilder key, CompositePermissionCheck compositePermissionCheck) {
+    key.append(compositePermissionCheck.isDisjunctive() ? "or(" : "and(");
+
+    for (PermissionCheck atomicCheck : compositePermissionCheck.getAtomicChecks()) {
+      key.append(atomicCheck.getResourceType()).append(':');
+      appendValue(key, atomicCheck.getResourceId());
+      key.append(atomicCheck.getPerms())
+        .append(':')
+        .append(atomicCheck.getAuthorizationNotFoundReturnValue())
+        .append(';');
+    }
+
+    for (CompositePermissionCheck compositeCheck : compositePermissionCheck.getCompositeChecks()) {
+      appendCheck(key, compositeCheck);
+    }
+
+    key.append(')');
+  }
+
+  /**
+   * Prefixes values with their length, so that ids containing separators cannot
+   * produce the key of a different check.
+   */
+  protected static void appendValue(StringBuilder key, String value) {
+    if (value == null) {
+      key.append("-1#");
+    } else {
+      key.append(value.length()).append('#').append(value);
+    }
+  }
+
+  public static class DecisionStamp {
+
+    protected long generation;
+    protected int[] resourceTypes;
+    protected long[] generations;
+
+    protected DecisionStamp(long generation, int[] resourceTypes, long[] generations) {
+      this.generation = generation;
+      this.resourceTypes = resourceTypes;
+      this.generations = generations;
+    }
+  }
+
+  protected static class CachedDecision {
+
+    protected boolean authorized;
+    protected long expiresAt;
+    protected DecisionStamp stamp;
+
+    protected CachedDecision(boolean authorized, long expiresAt, DecisionStamp stamp) {
+      this.authorized = authorized;
+      this.expiresAt = expiresAt;
+      this.stamp = stamp;
+    }
+  }
+
+}
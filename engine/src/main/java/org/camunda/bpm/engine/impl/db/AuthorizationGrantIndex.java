@@ -0,0 +1,253 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GLOBAL;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_REVOKE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * <p>In-memory index of the authorizations of one user and its groups, used to decide
+ * authorization checks without executing the <code>isUserAuthorizedForResource</code>
+ * statement.</p>
+ *
+ * <p>The grants are loaded once per resource type and kept as permission bit masks per
+ * resource id. The evaluation mirrors the statement: user authorizations precede group
+ * authorizations which precede global authorizations, and authorizations for a specific
+ * resource id precede authorizations for {@link org.camunda.bpm.engine.authorization.Authorization#ANY}.</p>
+ */
+public class AuthorizationGrantIndex {
+
+  protected static final Long GRANTED = 1L;
+  protected static final Long REVOKED = 0L;
+
+  protected String userId;
+  protected List<String> groupIds;
+  protected boolean revokeAuthorizationCheckEnabled;
+
+  /** loads the grants of the user and its groups and the global grants for a resource type */
+  protected IntFunction<List<PermissionGrant>> grantLoader;
+
+  protected Map<Integer, ResourceTypeGrants> grantsByResourceType = new HashMap<>();
+
+  public AuthorizationGrantIndex(String userId,
+                                 List<String> groupIds,
+                                 boolean revokeAuthorizationCheckEnabled,
+                                 IntFunction<List<PermissionGrant>> grantLoader) {
+    this.userId = userId;
+    this.groupIds = groupIds;
+    this.revokeAuthorizationCheckEnabled = revokeAuthorizationCheckEnabled;
+    this.grantLoader = grantLoader;
+  }
+
+  public boolean isAuthorized(CompositePermissionCheck compositePermissionCheck) {
+    return GRANTED.equals(evaluate(compositePermissionCheck));
+  }
+
+  /**
+   * @return the value the authorization check statement would select for the given check
+   */
+  protected Long evaluate(CompositePermissionCheck compositePermissionCheck) {
+    List<PermissionCheck> atomicChecks = compositePermissionCheck.getAtomicChecks();
+    if (atomicChecks != null && !atomicChecks.isEmpty()) {
+      if (atomicChecks.size() == 1) {
+        return evaluate(atomicChecks.get(0));
+      }
+
+      List<Long> results = new ArrayList<>(atomicChecks.size());
+      for (PermissionCheck atomicCheck : atomicChecks) {
+        results.add(evaluate(atomicCheck));
+      }
+      return combine(results, compositePermissionCheck.isDisjunctive(), true);
+    }
+
+    List<CompositePermissionCheck> compositeChecks = compositePermissionCheck.getCompositeChecks();
+    if (compositeChecks != null && compositeChecks.size() > 1) {
+      List<Long> results = new ArrayList<>(compositeChecks.size());
+      for (CompositePermissionCheck compositeCheck : compositeChecks) {
+        results.add(evaluate(compositeCheck));
+      }
+      return combine(results, compositePermissionCheck.isDisjunctive(), false);
+    }
+
+    return null;
+  }
+
+  /**
+   * Disjunctive checks select the first result which is not null, conjunctive checks
+   * combine all results bitwise.
+   */
+  protected Long combine(List<Long> results, boolean disjunctive, boolean nullAsRevoked) {
+    if (disjunctive) {
+      for (Long result : results) {
+        if (result != null) {
+          return result;
+        }
+      }
+      return REVOKED;
+
+    } else {
+      Long combined = null;
+      for (Long result : results) {
+        if (result == null) {
+          if (!nullAsRevoked) {
+            return null;
+          }
+          result = REVOKED;
+        }
+        combined = combined == null ? result : combined & result;
+      }
+      return combined;
+    }
+  }
+
+  protected Long evaluate(PermissionCheck permissionCheck) {
+    ResourceTypeGrants grants = getGrants(permissionCheck.getResourceType());
+
+    String resourceId = permissionCheck.getResourceId();
+    boolean isSpecificResource = resourceId != null && !ANY.equals(resourceId);
+    int perms = permissionCheck.getPerms();
+
+    Long result = grants.userGrants.evaluate(resourceId, isSpecificResource, perms, revokeAuthorizationCheckEnabled);
+    if (result == null && groupIds != null && !groupIds.isEmpty()) {
+      result = grants.groupGrants.evaluate(resourceId, isSpecificResource, perms, revokeAuthorizationCheckEnabled);
+    }
+    if (result == null) {
+      result = grants.globalGrants.evaluate(resourceId, isSpecificResource, perms, revokeAuthorizationCheckEnabled);
+    }
+    if (result == null) {
+      result = permissionCheck.getAuthorizationNotFoundReturnValue();
+    }
+
+    return result;
+  }
+
+  protected ResourceTypeGrants getGrants(int resourceType) {
+    ResourceTypeGrants grants = grantsByResourceType.get(resourceType);
+    if (grants == null) {
+      grants = new ResourceTypeGrants();
+      for (PermissionGrant grant : grantLoader.apply(resourceType)) {
+        grants.add(grant, userId, groupIds);
+      }
+      grantsByResourceType.put(resourceType, grants);
+    }
+    return grants;
+  }
+
+  protected static class ResourceTypeGrants {
+
+    protected GrantLevel userGrants = new GrantLevel();
+    protected GrantLevel groupGrants = new GrantLevel();
+    protected GrantLevel globalGrants = new GrantLevel();
+
+    protected void add(PermissionGrant grant, String userId, List<String> groupIds) {
+      int type = grant.getAuthorizationType();
+
+      if (type == AUTH_TYPE_GLOBAL) {
+        if (ANY.equals(grant.getUserId())) {
+          // global authorizations are both checked as grant and as revoke
+          globalGrants.addGrant(grant);
+          globalGrants.addRevoke(grant);
+        }
+
+      } else {
+        GrantLevel level = null;
+        if (userId != null && userId.equals(grant.getUserId())) {
+          level = userGrants;
+        } else if (grant.getGroupId() != null && groupIds != null && groupIds.contains(grant.getGroupId())) {
+          level = groupGrants;
+        }
+
+        if (level != null) {
+          if (type == AUTH_TYPE_GRANT) {
+            level.addGrant(grant);
+          } else if (type == AUTH_TYPE_REVOKE) {
+            level.addRevoke(grant);
+          }
+        }
+      }
+    }
+  }
+
+  protected static class GrantLevel {
+
+    protected Map<String, List<Integer>> grantedPermissions = new HashMap<>();
+    protected Map<String, List<Integer>> revokedPermissions = new HashMap<>();
+
+    protected void addGrant(PermissionGrant grant) {
+      grantedPermissions.computeIfAbsent(grant.getResourceId(), id -> new ArrayList<>()).add(grant.getPermissions());
+    }
+
+    protected void addRevoke(PermissionGrant grant) {
+      revokedPermissions.computeIfAbsent(grant.getResourceId(), id -> new ArrayList<>()).add(grant.getPermissions());
+    }
+
+    protected Long evaluate(String resourceId, boolean isSpecificResource, int perms, boolean revokeCheckEnabled) {
+      if (isSpecificResource) {
+        if (isGranted(resourceId, perms)) {
+          return GRANTED;
+        }
+        if (revokeCheckEnabled && isRevoked(resourceId, perms)) {
+          return REVOKED;
+        }
+      }
+
+      if (isGranted(ANY, perms)) {
+        return GRANTED;
+      }
+      if (revokeCheckEnabled && isRevoked(ANY, perms)) {
+        return REVOKED;
+      }
+
+      return null;
+    }
+
+    /** a single authorization must contain all requested permissions */
+    protected boolean isGranted(String resourceId, int perms) {
+      List<Integer> masks = grantedPermissions.get(resourceId);
+      if (masks != null) {
+        for (int mask : masks) {
+          if ((mask & perms) == perms) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    /** revoked permissions are cleared in the bit mask of a revoke authorization */
+    protected boolean isRevoked(String resourceId, int perms) {
+      List<Integer> masks = revokedPermissions.get(resourceId);
+      if (masks != null) {
+        for (int mask : masks) {
+          if ((mask & perms) != perms) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+}
@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.errorcode.BuiltinExceptionCode;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -864,6 +865,48 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
 
   // exception code 110 is already taken. See requiredCamundaAdminOrPermissionException() for details.
 
+  public ProcessEngineException serializeHistoryEventOutboxEntryException(HistoryEvent historyEvent, Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "111",
+        "Cannot write history event '{}' to the history event outbox: {}", historyEvent, cause.getMessage()), cause);
+  }
+
+  public ProcessEngineException deserializeHistoryEventOutboxEntryException(String outboxEntryId, Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "112",
+        "Cannot read history events of history event outbox entry '{}': {}", outboxEntryId, cause.getMessage()), cause);
+  }
+
+  public void couldNotDrainHistoryEventOutbox(Exception e) {
+    logWarn(
+        "113", "Could not drain the history event outbox. Remaining entries are written with the next attempt", e);
+  }
+
+  public void couldNotReadParseSnapshot(String snapshotFile, Exception e) {
+    logWarn(
+        "115", "Could not read parse snapshot '{}'. The resource is parsed instead", snapshotFile, e);
+  }
+
+  public void couldNotWriteParseSnapshot(String snapshotFile, Exception e) {
+    logWarn(
+        "116", "Could not write parse snapshot '{}'", snapshotFile, e);
+  }
+
+  public void deploymentCacheWarmedUp(int loadedDefinitions, int definitions, long durationInMillis) {
+    logInfo(
+        "117", "Loaded {} of {} definitions into the deployment cache in {} ms", loadedDefinitions, definitions, durationInMillis);
+  }
+
+  public void couldNotWarmUpDefinition(String definitionId, Throwable e) {
+    logWarn(
+        "118", "Could not load definition '{}' into the deployment cache: {}", definitionId, e.getMessage(), e);
+  }
+
+  public ProcessEngineException couldNotReadByteArray(String byteArrayId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "119", "Could not read the bytes of byte array '{}'", byteArrayId), cause);
+  }
+
   public static List<SQLException> findRelatedSqlExceptions(Throwable exception) {
     List<SQLException> sqlExceptionList = new ArrayList<>();
     Throwable cause = exception;
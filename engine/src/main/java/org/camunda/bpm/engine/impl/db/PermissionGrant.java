@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * <p>A row of the authorization table as it is needed to decide authorization
+ * checks in memory, see {@link AuthorizationGrantIndex}.</p>
+ *
+ * <p>This is intentionally not an entity, so that loading the grants does not
+ * put authorizations into the entity cache of the command.</p>
+ */
+public class PermissionGrant {
+
+  protected int authorizationType;
+  protected String userId;
+  protected String groupId;
+  protected String resourceId;
+  protected int permissions;
+
+  public int getAuthorizationType() {
+    return authorizationType;
+  }
+
+  public void setAuthorizationType(int authorizationType) {
+    this.authorizationType = authorizationType;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public void setUserId(String userId) {
+    this.userId = userId;
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+  public void setGroupId(String groupId) {
+    this.groupId = groupId;
+  }
+
+  public String getResourceId() {
+    return resourceId;
+  }
+
+  public void setResourceId(String resourceId) {
+    this.resourceId = resourceId;
+  }
+
+  public int getPermissions() {
+    return permissions;
+  }
+
+  public void setPermissions(int permissions) {
+    this.permissions = permissions;
+  }
+
+}
@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.db;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation.State;
@@ -58,6 +59,14 @@ public interface PersistenceSession extends Session {
 
   List<?> selectList(String statement, Object parameter);
 
+  /**
+   * Passes the results of the statement one by one to the consumer while they are
+   * read from the result set instead of collecting them in a list. Exceptions thrown
+   * by the consumer abort the select and are rethrown as is. Results of statements
+   * executed by the consumer are not retained by the session after the consumer returns.
+   */
+  void selectStream(String statement, Object parameter, Consumer<Object> consumer);
+
   <T extends DbEntity> T selectById(Class<T> type, String id);
 
   Object selectOne(String statement, Object parameter);
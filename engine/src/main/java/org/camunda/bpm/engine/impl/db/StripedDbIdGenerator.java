@@ -0,0 +1,233 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids from a number of independent
+ * stripes instead of a single synchronized block.</p>
+ *
+ * <p>Each stripe owns a block of ids which is consumed through an atomic counter,
+ * so threads mapped to different stripes never contend and threads sharing a
+ * stripe only contend on a CAS. As soon as the remaining ids of a stripe drop
+ * below {@link #getPrefetchThreshold()}, the next block is fetched asynchronously
+ * so that the stripe can switch to it without a database round trip.</p>
+ *
+ * <p>Ids are unique but, unlike with the {@link DbIdGenerator}, not handed out in
+ * ascending order across threads.</p>
+ */
+public class StripedDbIdGenerator extends DbIdGenerator {
+
+  protected static final ExecutorService DEFAULT_PREFETCH_EXECUTOR = createDefaultPrefetchExecutor();
+
+  protected int stripeCount = Runtime.getRuntime().availableProcessors();
+  protected int prefetchThreshold = -1;
+  protected ExecutorService prefetchExecutor = DEFAULT_PREFETCH_EXECUTOR;
+
+  protected volatile IdStripe[] stripes;
+
+  @Override
+  public String getNextId() {
+    IdStripe stripe = getStripe();
+
+    while (true) {
+      IdRange range = stripe.current;
+      long id = range.next.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (range.lastId - id == getEffectivePrefetchThreshold()) {
+          stripe.prefetch();
+        }
+        return Long.toString(id);
+      }
+
+      stripe.switchRange(range);
+    }
+  }
+
+  protected IdBlock fetchBlock() {
+    return commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+  }
+
+  protected IdStripe getStripe() {
+    IdStripe[] currentStripes = stripes;
+    if (currentStripes == null) {
+      currentStripes = initStripes();
+    }
+    int index = (int) (Thread.currentThread().getId() % currentStripes.length);
+    return currentStripes[index];
+  }
+
+  protected synchronized IdStripe[] initStripes() {
+    if (stripes == null) {
+      IdStripe[] newStripes = new IdStripe[Math.max(1, stripeCount)];
+      for (int i = 0; i < newStripes.length; i++) {
+        newStripes[i] = new IdStripe();
+      }
+      stripes = newStripes;
+    }
+    return stripes;
+  }
+
+  protected int getEffectivePrefetchThreshold() {
+    if (prefetchThreshold >= 0) {
+      return prefetchThreshold;
+    }
+    else {
+      // default to a tenth of the block size
+      return idBlockSize / 10;
+    }
+  }
+
+  /**
+   * Discards all stripes including blocks which are currently prefetched.
+   * Ids of discarded blocks are not reused.
+   */
+  @Override
+  public synchronized void reset() {
+    super.reset();
+    stripes = null;
+  }
+
+  public int getStripeCount() {
+    return stripeCount;
+  }
+
+  public void setStripeCount(int stripeCount) {
+    this.stripeCount = stripeCount;
+  }
+
+  public int getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  /**
+   * @param prefetchThreshold the number of remaining ids in a stripe's block at which
+   *   the next block is fetched asynchronously. A negative value (default) uses a
+   *   tenth of the id block size.
+   */
+  public void setPrefetchThreshold(int prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  public ExecutorService getPrefetchExecutor() {
+    return prefetchExecutor;
+  }
+
+  public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  protected static ExecutorService createDefaultPrefetchExecutor() {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), new PrefetchThreadFactory());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * A block of ids consumed through an atomic counter.
+   */
+  protected static class IdRange {
+
+    protected final AtomicLong next;
+    protected final long lastId;
+
+    public IdRange(long nextId, long lastId) {
+      this.next = new AtomicLong(nextId);
+      this.lastId = lastId;
+    }
+  }
+
+  protected class IdStripe {
+
+    protected volatile IdRange current = new IdRange(0, -1);
+    protected Future<IdBlock> prefetchedBlock;
+
+    protected synchronized void prefetch() {
+      if (prefetchedBlock == null) {
+        prefetchedBlock = prefetchExecutor.submit(new Callable<IdBlock>() {
+          public IdBlock call() throws Exception {
+            return fetchBlock();
+          }
+        });
+      }
+    }
+
+    /**
+     * Replaces the exhausted range unless another thread has already done so.
+     * Only blocks if the prefetched block is not yet available (or was never
+     * requested, e.g. for very small block sizes).
+     */
+    protected synchronized void switchRange(IdRange exhausted) {
+      if (current != exhausted) {
+        return;
+      }
+
+      IdBlock block;
+      if (prefetchedBlock != null) {
+        Future<IdBlock> future = prefetchedBlock;
+        prefetchedBlock = null;
+        block = awaitBlock(future);
+      }
+      else {
+        block = fetchBlock();
+      }
+
+      current = new IdRange(block.getNextId(), block.getLastId());
+    }
+
+    protected IdBlock awaitBlock(Future<IdBlock> future) {
+      try {
+        return future.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("Interrupted while waiting for prefetched id block", e);
+      }
+      catch (ExecutionException e) {
+        // prefetching failed; fetch synchronously so that the failure surfaces in the caller
+        return fetchBlock();
+      }
+    }
+  }
+
+  protected static class PrefetchThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger();
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "camunda-id-prefetch-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
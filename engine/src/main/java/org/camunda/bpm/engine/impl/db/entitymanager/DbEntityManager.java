@@ -31,6 +31,7 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -64,7 +65,9 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.IndexedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -76,6 +79,8 @@ import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
@@ -129,14 +134,14 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
       dbEntityCache = jobExecutorContext.getEntityCache();
       if(dbEntityCache == null) {
-        dbEntityCache = new DbEntityCache(processEngineConfiguration.getDbEntityCacheKeyMapping());
+        dbEntityCache = createEntityCache(processEngineConfiguration);
         jobExecutorContext.setEntityCache(dbEntityCache);
       }
 
     } else {
 
       if (processEngineConfiguration != null) {
-        dbEntityCache = new DbEntityCache(processEngineConfiguration.getDbEntityCacheKeyMapping());
+        dbEntityCache = createEntityCache(processEngineConfiguration);
       } else {
         dbEntityCache = new DbEntityCache();
       }
@@ -144,6 +149,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected DbEntityCache createEntityCache(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    DbEntityCacheKeyMapping cacheKeyMapping = processEngineConfiguration.getDbEntityCacheKeyMapping();
+    if (processEngineConfiguration.isDbEntityCacheIndexingEnabled()) {
+      return new IndexedDbEntityCache(cacheKeyMapping);
+    } else {
+      return new DbEntityCache(cacheKeyMapping);
+    }
+  }
+
   // selects /////////////////////////////////////////////////
 
   public List selectList(String statement) {
@@ -183,6 +197,30 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return filterLoadedObjects(loadedObjects);
   }
 
+  /**
+   * Passes the results of the statement one by one to the consumer while they are read
+   * from the database. Unlike {@link #selectList(String, Object)}, loaded entities are not
+   * put into the entity cache, so the memory used does not depend on the number of results.
+   * Entities that are already cached are passed instead of the loaded ones.
+   */
+  public void selectStream(String statement, Object parameter, Consumer<Object> consumer) {
+    persistenceSession.selectStream(statement, parameter, result -> {
+      if (result instanceof DbEntity) {
+        DbEntity loadedObject = (DbEntity) result;
+        DbEntity cachedObject = dbEntityCache.get(loadedObject.getClass(), loadedObject.getId());
+        if (cachedObject != null) {
+          consumer.accept(cachedObject);
+          return;
+        }
+
+        if (loadedObject instanceof DbEntityLifecycleAware) {
+          ((DbEntityLifecycleAware) loadedObject).postLoad();
+        }
+      }
+      consumer.accept(result);
+    });
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -287,12 +325,28 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   public void flush() {
+    long startTime = System.nanoTime();
 
-    // flush the entity cache which inserts operations to the db operation manager
-    flushEntityCache();
+    try {
+      // flush the entity cache which inserts operations to the db operation manager
+      flushEntityCache();
 
-    // flush the db operation manager
-    flushDbOperationManager();
+      // flush the db operation manager
+      flushDbOperationManager();
+
+    } finally {
+      recordFlushLatency(startTime);
+    }
+  }
+
+  protected void recordFlushLatency(long startTime) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      LatencyMetricsRegistry latencyMetricsRegistry = processEngineConfiguration.getLatencyMetricsRegistry();
+      if (latencyMetricsRegistry != null) {
+        latencyMetricsRegistry.record(LatencyMetrics.DB_FLUSH, null, System.nanoTime() - startTime);
+      }
+    }
   }
 
   public void setIgnoreForeignKeysForNextFlush(boolean ignoreForeignKeysForNextFlush) {
@@ -469,15 +523,42 @@ public class DbEntityManager implements Session, EntityLoadListener {
    * Depending on the entity state, the required {@link DbOperation} is performed and the cache is updated.
    */
   protected void flushEntityCache() {
-    List<CachedDbEntity> cachedEntities = dbEntityCache.getCachedEntities();
-    for (CachedDbEntity cachedDbEntity : cachedEntities) {
-      flushCachedEntity(cachedDbEntity);
+    if (dbEntityCache instanceof IndexedDbEntityCache) {
+      flushIndexedEntityCache((IndexedDbEntityCache) dbEntityCache);
+
+    } else {
+      List<CachedDbEntity> cachedEntities = dbEntityCache.getCachedEntities();
+      for (CachedDbEntity cachedDbEntity : cachedEntities) {
+        flushCachedEntity(cachedDbEntity);
+      }
     }
 
     // log cache state after flush
     LOG.flushedCacheState(dbEntityCache.getCachedEntities());
   }
 
+  /**
+   * Flushes an {@link IndexedDbEntityCache} by visiting the entities of each state separately:
+   * transient, merged and deleted entities are taken from the state index without looking at
+   * the remaining cache, only entities which were persistent before the flush are dirty checked.
+   */
+  protected void flushIndexedEntityCache(IndexedDbEntityCache indexedCache) {
+    // snapshot before the flush changes states, entities inserted or merged now need no dirty check
+    List<CachedDbEntity> persistentEntities = indexedCache.getCachedEntitiesByState(PERSISTENT);
+
+    for (DbEntityState state : DbEntityState.values()) {
+      if (state != PERSISTENT && indexedCache.countCachedEntitiesByState(state) > 0) {
+        for (CachedDbEntity cachedDbEntity : indexedCache.getCachedEntitiesByState(state)) {
+          flushCachedEntity(cachedDbEntity);
+        }
+      }
+    }
+
+    for (CachedDbEntity cachedDbEntity : persistentEntities) {
+      flushCachedEntity(cachedDbEntity);
+    }
+  }
+
   protected void flushCachedEntity(CachedDbEntity cachedDbEntity) {
 
     if(cachedDbEntity.getEntityState() == TRANSIENT) {
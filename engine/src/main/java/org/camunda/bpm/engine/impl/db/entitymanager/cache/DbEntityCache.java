@@ -151,7 +151,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putTransient(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(TRANSIENT);
     putInternal(cachedDbEntity);
@@ -163,7 +163,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putPersistent(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(PERSISTENT);
     cachedDbEntity.determineEntityReferences();
@@ -178,7 +178,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putMerged(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(MERGED);
     cachedDbEntity.determineEntityReferences();
@@ -187,6 +187,14 @@ public class DbEntityCache {
     putInternal(cachedDbEntity);
   }
 
+  /**
+   * Creates a new, empty {@link CachedDbEntity}. Subclasses may return specialized
+   * instances, e.g. to be notified about state transitions.
+   */
+  protected CachedDbEntity createCachedDbEntity() {
+    return new CachedDbEntity();
+  }
+
   protected void putInternal(CachedDbEntity entityToAdd) {
     Class<? extends DbEntity> type = entityToAdd.getEntity().getClass();
     Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
@@ -201,7 +209,7 @@ public class DbEntityCache {
     CachedDbEntity existingCachedEntity = map.get(entityToAdd.getEntity().getId());
     if(existingCachedEntity == null) {
       // no such entity exists -> put it into the cache
-      map.put(entityToAdd.getEntity().getId(), entityToAdd);
+      putEntry(map, entityToAdd);
 
     } else {
       // the same entity is already cached
@@ -221,7 +229,7 @@ public class DbEntityCache {
       case PERSISTENT:
         if(existingCachedEntity.getEntityState() == PERSISTENT) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putEntry(map, entityToAdd);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -238,7 +246,7 @@ public class DbEntityCache {
         if(existingCachedEntity.getEntityState() == PERSISTENT
             || existingCachedEntity.getEntityState() == MERGED) {
           // use new entity state, replacing the existing one.
-          map.put(entityToAdd.getEntity().getId(), entityToAdd);
+          putEntry(map, entityToAdd);
           break;
         }
         if(existingCachedEntity.getEntityState() == DELETED_PERSISTENT
@@ -253,24 +261,40 @@ public class DbEntityCache {
 
       default:
         // deletes are always added
-        map.put(entityToAdd.getEntity().getId(), entityToAdd);
+        putEntry(map, entityToAdd);
         break;
       }
     }
   }
 
+  /**
+   * Adds the entity to the map of its cache key, replacing an existing entry with the same id.
+   */
+  protected void putEntry(Map<String, CachedDbEntity> map, CachedDbEntity entityToAdd) {
+    map.put(entityToAdd.getEntity().getId(), entityToAdd);
+  }
+
   /**
    * Remove an entity from the cache
    * @param e the entity to remove
    * @return
    */
   public boolean remove(DbEntity e) {
+    return removeEntry(e) != null;
+  }
+
+  /**
+   * Removes the cached entity for the given entity from the cache.
+   *
+   * @return the removed entry or null if the entity was not cached
+   */
+  protected CachedDbEntity removeEntry(DbEntity e) {
     Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(e.getClass());
     Map<String, CachedDbEntity> typeMap = cachedEntites.get(cacheKey);
     if(typeMap != null) {
-      return typeMap.remove(e.getId()) != null;
+      return typeMap.remove(e.getId());
     } else {
-      return false;
+      return null;
     }
   }
 
@@ -372,7 +396,7 @@ public class DbEntityCache {
       }
     } else {
       // put a deleted merged into the cache
-      CachedDbEntity cachedDbEntity = new CachedDbEntity();
+      CachedDbEntity cachedDbEntity = createCachedDbEntity();
       cachedDbEntity.setEntity(dbEntity);
       cachedDbEntity.setEntityState(DELETED_MERGED);
       putInternal(cachedDbEntity);
@@ -0,0 +1,224 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * <p>{@link DbEntityCache} maintaining secondary indexes for command contexts which
+ * touch a large number of entities (batch migration, bulk deletion, large multi instance).</p>
+ *
+ * <p>In addition to the entities organized by cache key, this cache keeps
+ * <ul>
+ *   <li>an index by concrete entity type, so that {@link #getEntitiesByType(Class)}
+ *   only visits entities of matching types instead of filtering all entities
+ *   stored under the cache key</li>
+ *   <li>an index by {@link DbEntityState} which is updated on every state transition,
+ *   so that {@link #getCachedEntities()} and {@link #getCachedEntitiesByState(DbEntityState)}
+ *   do not have to visit and classify all cached entities again at flush time</li>
+ * </ul>
+ * Both indexes reference the same {@link CachedDbEntity} instances as the primary
+ * storage, so each cached entity costs a constant number of additional map entries.</p>
+ */
+public class IndexedDbEntityCache extends DbEntityCache {
+
+  /**
+   * Concrete entity type -> cached entities of exactly this type.
+   */
+  protected Map<Class<?>, Set<CachedDbEntity>> entitiesByConcreteType = new HashMap<Class<?>, Set<CachedDbEntity>>();
+
+  /**
+   * Requested type -> concrete entity types which are assignable to the requested type and
+   * share its cache key. Cleared whenever a new concrete type is added to the cache.
+   */
+  protected Map<Class<?>, List<Class<?>>> assignableConcreteTypes = new HashMap<Class<?>, List<Class<?>>>();
+
+  protected Map<DbEntityState, Set<CachedDbEntity>> entitiesByState = new EnumMap<DbEntityState, Set<CachedDbEntity>>(DbEntityState.class);
+
+  protected int size = 0;
+
+  public IndexedDbEntityCache() {
+    super();
+    initStateIndex();
+  }
+
+  public IndexedDbEntityCache(DbEntityCacheKeyMapping cacheKeyMapping) {
+    super(cacheKeyMapping);
+    initStateIndex();
+  }
+
+  protected void initStateIndex() {
+    for (DbEntityState state : DbEntityState.values()) {
+      entitiesByState.put(state, new LinkedHashSet<CachedDbEntity>());
+    }
+  }
+
+  @Override
+  protected CachedDbEntity createCachedDbEntity() {
+    return new IndexedCachedDbEntity(this);
+  }
+
+  @Override
+  protected void putEntry(Map<String, CachedDbEntity> map, CachedDbEntity entityToAdd) {
+    CachedDbEntity replacedEntity = map.put(entityToAdd.getEntity().getId(), entityToAdd);
+    if (replacedEntity != null) {
+      unindex(replacedEntity);
+    }
+    index(entityToAdd);
+  }
+
+  @Override
+  protected CachedDbEntity removeEntry(DbEntity e) {
+    CachedDbEntity removedEntity = super.removeEntry(e);
+    if (removedEntity != null) {
+      unindex(removedEntity);
+    }
+    return removedEntity;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> List<T> getEntitiesByType(Class<T> type) {
+    List<Class<?>> concreteTypes = getAssignableConcreteTypes(type);
+    if (concreteTypes.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    List<T> result = new ArrayList<T>();
+    for (Class<?> concreteType : concreteTypes) {
+      for (CachedDbEntity cachedEntity : entitiesByConcreteType.get(concreteType)) {
+        result.add((T) cachedEntity.getEntity());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns all cached entities grouped by state, in the order in which they
+   * reached their current state.
+   */
+  @Override
+  public List<CachedDbEntity> getCachedEntities() {
+    List<CachedDbEntity> result = new ArrayList<CachedDbEntity>(size);
+    for (Set<CachedDbEntity> entities : entitiesByState.values()) {
+      result.addAll(entities);
+    }
+    return result;
+  }
+
+  /**
+   * @return all cached entities which are currently in the given state
+   */
+  public List<CachedDbEntity> getCachedEntitiesByState(DbEntityState state) {
+    return new ArrayList<CachedDbEntity>(entitiesByState.get(state));
+  }
+
+  /**
+   * @return the number of cached entities which are currently in the given state
+   */
+  public int countCachedEntitiesByState(DbEntityState state) {
+    return entitiesByState.get(state).size();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  protected List<Class<?>> getAssignableConcreteTypes(Class<?> type) {
+    List<Class<?>> concreteTypes = assignableConcreteTypes.get(type);
+    if (concreteTypes == null) {
+      concreteTypes = new ArrayList<Class<?>>();
+      Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
+      for (Class<?> concreteType : entitiesByConcreteType.keySet()) {
+        if (type.isAssignableFrom(concreteType) && cacheKeyMapping.getEntityCacheKey(concreteType) == cacheKey) {
+          concreteTypes.add(concreteType);
+        }
+      }
+      assignableConcreteTypes.put(type, concreteTypes);
+    }
+    return concreteTypes;
+  }
+
+  protected void index(CachedDbEntity cachedEntity) {
+    Class<?> concreteType = cachedEntity.getEntityType();
+    Set<CachedDbEntity> entitiesOfType = entitiesByConcreteType.get(concreteType);
+    if (entitiesOfType == null) {
+      entitiesOfType = new LinkedHashSet<CachedDbEntity>();
+      entitiesByConcreteType.put(concreteType, entitiesOfType);
+      // a new type may be assignable to previously requested types
+      assignableConcreteTypes.clear();
+    }
+    entitiesOfType.add(cachedEntity);
+    entitiesByState.get(cachedEntity.getEntityState()).add(cachedEntity);
+
+    if (cachedEntity instanceof IndexedCachedDbEntity) {
+      ((IndexedCachedDbEntity) cachedEntity).indexed = true;
+    }
+    size++;
+  }
+
+  protected void unindex(CachedDbEntity cachedEntity) {
+    Set<CachedDbEntity> entitiesOfType = entitiesByConcreteType.get(cachedEntity.getEntityType());
+    if (entitiesOfType != null) {
+      entitiesOfType.remove(cachedEntity);
+    }
+    entitiesByState.get(cachedEntity.getEntityState()).remove(cachedEntity);
+
+    if (cachedEntity instanceof IndexedCachedDbEntity) {
+      ((IndexedCachedDbEntity) cachedEntity).indexed = false;
+    }
+    size--;
+  }
+
+  protected void stateChanged(CachedDbEntity cachedEntity, DbEntityState previousState) {
+    entitiesByState.get(previousState).remove(cachedEntity);
+    entitiesByState.get(cachedEntity.getEntityState()).add(cachedEntity);
+  }
+
+  /**
+   * {@link CachedDbEntity} notifying the owning cache about state transitions,
+   * including those performed by the {@link org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager} during flush.
+   */
+  protected static class IndexedCachedDbEntity extends CachedDbEntity {
+
+    protected IndexedDbEntityCache cache;
+    protected boolean indexed = false;
+
+    public IndexedCachedDbEntity(IndexedDbEntityCache cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public void setEntityState(DbEntityState entityState) {
+      DbEntityState previousState = this.entityState;
+      super.setEntityState(entityState);
+      if (indexed && previousState != entityState) {
+        cache.stateChanged(this, previousState);
+      }
+    }
+  }
+
+}
@@ -128,6 +128,23 @@ public class DbOperationManager {
     return bulkOperationsInsertionOrder.add(newOperation);
   }
 
+  /**
+   * Removes a bulk operation which was added before, e.g. because it is executed
+   * in a separate transaction instead.
+   *
+   * @return true if the operation was found
+   */
+  public boolean removeOperation(DbBulkOperation operation) {
+    boolean removed = bulkOperationsInsertionOrder.remove(operation);
+
+    SortedSet<DbBulkOperation> bulksByType = bulkOperations.get(operation.getEntityType());
+    if (bulksByType != null) {
+      removed |= bulksByType.remove(operation);
+    }
+
+    return removed;
+  }
+
   public List<DbOperation> calculateFlush() {
     List<DbOperation> flush = new ArrayList<DbOperation>();
     // first INSERTs
@@ -35,7 +35,6 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
-import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 
@@ -54,17 +53,16 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
-    for (DbOperation operation : operations) {
-
-      try {
-        // stage operation
-        executeDbOperation(operation);
+    // each entry contains the operations applied by one JDBC statement
+    List<List<DbOperation>> statements;
+    try {
+      // stage operations
+      statements = stageDbOperations(operations);
 
-      } catch (Exception ex) {
-        // exception is wrapped later
-        throw ex;
+    } catch (Exception ex) {
+      // exception is wrapped later
+      throw ex;
 
-      }
     }
 
     List<BatchResult> batchResults;
@@ -72,30 +70,101 @@ public class BatchDbSqlSession extends DbSqlSession {
       // applies all operations
       batchResults = flushBatchOperations();
     } catch (PersistenceException e) {
-      return postProcessBatchFailure(operations, e);
+      return postProcessBatchFailure(statements, e);
     }
 
-    return postProcessBatchSuccess(operations, batchResults);
+    return postProcessBatchSuccess(operations, statements, batchResults);
   }
 
-  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
-    Iterator<DbOperation> operationsIt = operations.iterator();
+  /**
+   * Stages the operations in the current JDBC batch. If multi-row inserts are enabled,
+   * consecutive INSERTs using the same statement are merged into a single
+   * <code>INSERT ... VALUES (...),(...)</code> statement.
+   *
+   * @return the staged operations, grouped by the JDBC statement which applies them
+   */
+  protected List<List<DbOperation>> stageDbOperations(List<DbOperation> operations) {
+    List<List<DbOperation>> statements = new ArrayList<>();
+    int maxRows = dbSqlSessionFactory.getJdbcBatchMultiRowInsertMaxRows();
+
+    int i = 0;
+    while (i < operations.size()) {
+      DbOperation operation = operations.get(i);
+      String multiRowInsertStatement = getMultiRowInsertStatement(operation);
+
+      List<DbOperation> statementOperations = new ArrayList<>();
+      statementOperations.add(operation);
+      i++;
+
+      if (multiRowInsertStatement != null) {
+        String insertStatement = getInsertStatement(operation);
+        while (i < operations.size()
+            && statementOperations.size() < maxRows
+            && insertStatement.equals(getInsertStatement(operations.get(i)))) {
+          statementOperations.add(operations.get(i));
+          i++;
+        }
+      }
+
+      if (statementOperations.size() > 1) {
+        insertEntities(multiRowInsertStatement, statementOperations);
+      } else {
+        executeDbOperation(operation);
+      }
+
+      statements.add(statementOperations);
+    }
+
+    return statements;
+  }
+
+  protected String getMultiRowInsertStatement(DbOperation operation) {
+    String insertStatement = getInsertStatement(operation);
+    if (insertStatement != null) {
+      return dbSqlSessionFactory.getMultiRowInsertStatement(insertStatement);
+    } else {
+      return null;
+    }
+  }
+
+  protected String getInsertStatement(DbOperation operation) {
+    if (operation.getOperationType() == DbOperationType.INSERT && operation instanceof DbEntityOperation) {
+      return dbSqlSessionFactory.getInsertStatement(((DbEntityOperation) operation).getEntity());
+    } else {
+      return null;
+    }
+  }
+
+  protected void insertEntities(String multiRowInsertStatement, List<DbOperation> operations) {
+    List<DbEntity> entities = new ArrayList<>(operations.size());
+    for (DbOperation operation : operations) {
+      entities.add(((DbEntityOperation) operation).getEntity());
+    }
+
+    String mappedStatement = dbSqlSessionFactory.mapStatement(multiRowInsertStatement);
+    executeInsertEntity(mappedStatement, entities);
+  }
+
+  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations,
+                                                List<List<DbOperation>> statements,
+                                                List<BatchResult> batchResults) {
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
     for (BatchResult successfulBatch : batchResults) {
       // even if all batches are successful, there can be concurrent modification failures
       // (e.g. 0 rows updated)
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     // there should be no more operations remaining
-    if (operationsIt.hasNext()) {
+    if (statementsIt.hasNext()) {
       throw LOG.wrongBatchResultsSizeException(operations);
     }
 
     return FlushResult.withFailures(failedOperations);
   }
 
-  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, PersistenceException exception) {
+  protected FlushResult postProcessBatchFailure(List<List<DbOperation>> statements, PersistenceException exception) {
     BatchExecutorException batchExecutorException =
         ExceptionUtil.findBatchExecutorException(exception);
 
@@ -107,17 +176,20 @@ public class BatchDbSqlSession extends DbSqlSession {
     List<BatchResult> successfulBatches = batchExecutorException.getSuccessfulBatchResults();
     BatchUpdateException cause = batchExecutorException.getBatchUpdateException();
 
-    Iterator<DbOperation> operationsIt = operations.iterator();
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
 
     for (BatchResult successfulBatch : successfulBatches) {
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     int[] failedBatchUpdateCounts = cause.getUpdateCounts();
-    postProcessJdbcBatchResult(operationsIt, failedBatchUpdateCounts, exception, failedOperations);
+    postProcessJdbcBatchResult(statementsIt, failedBatchUpdateCounts, exception, failedOperations);
 
-    List<DbOperation> remainingOperations = CollectionUtil.collectInList(operationsIt);
+    List<DbOperation> remainingOperations = new ArrayList<>();
+    while (statementsIt.hasNext()) {
+      remainingOperations.addAll(statementsIt.next());
+    }
     return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
   }
 
@@ -141,7 +213,7 @@ public class BatchDbSqlSession extends DbSqlSession {
    * @return all failed operations
    */
   protected void postProcessJdbcBatchResult(
-      Iterator<DbOperation> operationsIt,
+      Iterator<List<DbOperation>> statementsIt,
       int[] statementResults,
       PersistenceException failure,
       List<DbOperation> failedOperations) {
@@ -149,54 +221,61 @@ public class BatchDbSqlSession extends DbSqlSession {
 
     for (int statementResult : statementResults) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
-
-      DbOperation operation = operationsIt.next();
-
-      if (statementResult == Statement.SUCCESS_NO_INFO) {
-
-        if (requiresAffectedRows(operation.getOperationType())) {
-          throw LOG.batchingNotSupported(operation);
-        } else {
+          statementsIt.hasNext());
+
+      List<DbOperation> statementOperations = statementsIt.next();
+
+      for (DbOperation operation : statementOperations) {
+
+        if (statementResult == Statement.SUCCESS_NO_INFO) {
+
+          if (requiresAffectedRows(operation.getOperationType())) {
+            throw LOG.batchingNotSupported(operation);
+          } else {
+            postProcessOperationPerformed(operation, 1, null);
+          }
+
+        } else if (statementResult == Statement.EXECUTE_FAILED) {
+
+          /*
+           * All operations are marked with the root failure exception; this is not quite
+           * correct and leads to the situation that we treat all failed operations in the
+           * same way, whereas they might fail for different reasons.
+           *
+           * More precise would be to use BatchUpdateException#getNextException.
+           * E.g. if we have three failed statements in a batch, #getNextException can be used to
+           * access each operation's individual failure. However, this behavior is not
+           * guaranteed by the java.sql javadocs (it doesn't specify that the number
+           * and order of next exceptions matches the number of failures, unlike for row counts),
+           * so we decided to not rely on it.
+           */
+          postProcessOperationPerformed(operation, 0, failure);
+          failureHandled = true;
+        } else if (statementOperations.size() > 1) {
+          // multi-row insert; the statement result is the number of inserted rows
           postProcessOperationPerformed(operation, 1, null);
+        } else { // it is the number of affected rows
+          postProcessOperationPerformed(operation, statementResult, null);
         }
 
-      } else if (statementResult == Statement.EXECUTE_FAILED) {
-
-        /*
-         * All operations are marked with the root failure exception; this is not quite
-         * correct and leads to the situation that we treat all failed operations in the
-         * same way, whereas they might fail for different reasons.
-         *
-         * More precise would be to use BatchUpdateException#getNextException.
-         * E.g. if we have three failed statements in a batch, #getNextException can be used to
-         * access each operation's individual failure. However, this behavior is not
-         * guaranteed by the java.sql javadocs (it doesn't specify that the number
-         * and order of next exceptions matches the number of failures, unlike for row counts),
-         * so we decided to not rely on it.
-         */
-        postProcessOperationPerformed(operation, 0, failure);
-        failureHandled = true;
-      } else { // it is the number of affected rows
-        postProcessOperationPerformed(operation, statementResult, null);
-      }
-
-      if (operation.isFailed()) {
-        failedOperations.add(operation); // the operation is added to the list only if it's marked as failed
+        if (operation.isFailed()) {
+          failedOperations.add(operation); // the operation is added to the list only if it's marked as failed
+        }
       }
     }
 
     /*
-     * case 2: The next operation is the one that failed
+     * case 2: The next statement is the one that failed
      */
     if (failure != null && !failureHandled) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
+          statementsIt.hasNext());
 
-      DbOperation failedOperation = operationsIt.next();
-      postProcessOperationPerformed(failedOperation, 0, failure);
-      if (failedOperation.isFailed()) {
-        failedOperations.add(failedOperation); // the operation is added to the list only if it's marked as failed
+      for (DbOperation failedOperation : statementsIt.next()) {
+        postProcessOperationPerformed(failedOperation, 0, failure);
+        if (failedOperation.isFailed()) {
+          failedOperations.add(failedOperation); // the operation is added to the list only if it's marked as failed
+        }
       }
     }
   }
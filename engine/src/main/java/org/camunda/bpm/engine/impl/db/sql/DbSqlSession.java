@@ -35,12 +35,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.camunda.bpm.engine.ProcessEngine;
@@ -112,6 +115,26 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     return ExceptionUtil.doWithExceptionWrapper(() -> sqlSession.selectList(statement, parameter));
   }
 
+  public void selectStream(String statement, Object parameter, Consumer<Object> consumer) {
+    String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
+    ConsumerResultHandler resultHandler = new ConsumerResultHandler(result -> {
+      consumer.accept(result);
+      // MyBatis keeps the results of all selects of the session in its local cache,
+      // including the ones the consumer issued for this row (e.g. byte arrays)
+      sqlSession.clearCache();
+    });
+
+    ExceptionUtil.doWithExceptionWrapper(() -> {
+      sqlSession.select(mappedStatement, parameter, resultHandler);
+      return null;
+    });
+
+    // do not wrap the consumer's exception into a persistence exception
+    if (resultHandler.getConsumerException() != null) {
+      throw resultHandler.getConsumerException();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public <T extends DbEntity> T selectById(Class<T> type, String id) {
     String selectStatement = dbSqlSessionFactory.getSelectStatement(type);
@@ -910,4 +933,28 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     return dbSqlSessionFactory;
   }
 
+  protected static class ConsumerResultHandler implements ResultHandler<Object> {
+
+    protected Consumer<Object> consumer;
+    protected RuntimeException consumerException;
+
+    public ConsumerResultHandler(Consumer<Object> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void handleResult(ResultContext<?> resultContext) {
+      try {
+        consumer.accept(resultContext.getResultObject());
+      } catch (RuntimeException e) {
+        consumerException = e;
+        resultContext.stop();
+      }
+    }
+
+    public RuntimeException getConsumerException() {
+      return consumerException;
+    }
+  }
+
 }
@@ -45,6 +45,23 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final String CRDB = "cockroachdb";
   public static final String[] SUPPORTED_DATABASES = {MSSQL, DB2, ORACLE, H2, MYSQL, POSTGRES, MARIADB, CRDB};
 
+  /**
+   * Databases supporting <code>INSERT ... VALUES (...),(...)</code>
+   */
+  public static final String[] MULTI_ROW_INSERT_DATABASES = {H2, MYSQL, POSTGRES, MARIADB, CRDB};
+
+  /**
+   * Databases supporting <code>SELECT ... FOR UPDATE SKIP LOCKED</code>. MySQL requires
+   * version 8.0.1 or later and MariaDB version 10.6 or later.
+   */
+  public static final String[] SKIP_LOCKED_DATABASES = {H2, ORACLE, MYSQL, POSTGRES, MARIADB};
+
+  /**
+   * Maps insert statements to their multi-row variant. The multi-row statement takes
+   * a list of entities as parameter.
+   */
+  protected static final Map<String, String> multiRowInsertStatements = new HashMap<>();
+
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<>();
 
   public static final Map<String, String> databaseSpecificLimitBeforeStatements = new HashMap<>();
@@ -110,6 +127,9 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final int MAXIMUM_NUMBER_PARAMS = 2000;
 
   static {
+    multiRowInsertStatements.put("insertHistoricActivityInstanceEvent", "insertHistoricActivityInstanceEvents");
+    multiRowInsertStatements.put("insertHistoricVariableInstance", "insertHistoricVariableInstances");
+    multiRowInsertStatements.put("insertHistoricVariableUpdateEvent", "insertHistoricVariableUpdateEvents");
 
     String defaultOrderBy = "order by ${internalOrderBy}";
 
@@ -334,6 +354,8 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(postgresLikeDatabase, "updateByteArray", "updateByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArray", "selectByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArrays", "selectByteArrays_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "insertHistoryEventOutboxEntry", "insertHistoryEventOutboxEntry_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryEventOutboxEntriesByScopeIds", "selectHistoryEventOutboxEntriesByScopeIds_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceName", "selectResourceByDeploymentIdAndResourceName_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceNames", "selectResourceByDeploymentIdAndResourceNames_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceId", "selectResourceByDeploymentIdAndResourceId_postgres");
@@ -443,6 +465,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificAuth1JoinSeparator.put(ORACLE, defaultAuthOnSeparator);
 
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
+    addDatabaseSpecificStatement(ORACLE, "selectNextJobsToExecuteSkipLocked", "selectNextJobsToExecuteSkipLocked_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
@@ -642,6 +665,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(MSSQL, "lockStartupLockProperty", "lockStartupLockProperty_mssql");
     addDatabaseSpecificStatement(MSSQL, "lockTelemetryLockProperty", "lockTelemetryLockProperty_mssql");
     addDatabaseSpecificStatement(MSSQL, "lockInstallationIdLockProperty", "lockInstallationIdLockProperty_mssql");
+    addDatabaseSpecificStatement(MSSQL, "lockHistoryEventOutboxLockProperty", "lockHistoryEventOutboxLockProperty_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByNameAndExecution", "selectEventSubscriptionsByNameAndExecution_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectEventSubscriptionsByExecutionAndType", "selectEventSubscriptionsByExecutionAndType_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectHistoricDecisionInstancesByNativeQuery", "selectHistoricDecisionInstancesByNativeQuery_mssql_or_db2");
@@ -738,6 +762,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean dmnEnabled = true;
 
   protected boolean jdbcBatchProcessing;
+  protected boolean jdbcBatchMultiRowInsert = false;
+  protected int jdbcBatchMultiRowInsertMaxRows = 50;
 
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
@@ -775,6 +801,30 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(persistentObjectClass, selectStatements, "select");
   }
 
+  /**
+   * @return the statement inserting multiple rows for the given insert statement or null
+   * if multi-row inserts are disabled or not supported for the statement or the database
+   */
+  public String getMultiRowInsertStatement(String insertStatement) {
+    if (jdbcBatchProcessing && jdbcBatchMultiRowInsert && isMultiRowInsertSupported()) {
+      return multiRowInsertStatements.get(insertStatement);
+    } else {
+      return null;
+    }
+  }
+
+  protected boolean isMultiRowInsertSupported() {
+    return Arrays.asList(MULTI_ROW_INSERT_DATABASES).contains(databaseType);
+  }
+
+  /**
+   * @return true if rows can be locked with <code>SELECT ... FOR UPDATE SKIP LOCKED</code>
+   * on the configured database
+   */
+  public boolean isSkipLockedSupported() {
+    return Arrays.asList(SKIP_LOCKED_DATABASES).contains(databaseType);
+  }
+
   private String getStatement(Class<?> persistentObjectClass, Map<Class<?>,String> cachedStatements, String prefix) {
     String statement = cachedStatements.get(persistentObjectClass);
     if (statement!=null) {
@@ -933,5 +983,21 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public boolean isJdbcBatchMultiRowInsert() {
+    return jdbcBatchMultiRowInsert;
+  }
+
+  public void setJdbcBatchMultiRowInsert(boolean jdbcBatchMultiRowInsert) {
+    this.jdbcBatchMultiRowInsert = jdbcBatchMultiRowInsert;
+  }
+
+  public int getJdbcBatchMultiRowInsertMaxRows() {
+    return jdbcBatchMultiRowInsertMaxRows;
+  }
+
+  public void setJdbcBatchMultiRowInsertMaxRows(int jdbcBatchMultiRowInsertMaxRows) {
+    this.jdbcBatchMultiRowInsertMaxRows = jdbcBatchMultiRowInsertMaxRows;
+  }
+
 
 }
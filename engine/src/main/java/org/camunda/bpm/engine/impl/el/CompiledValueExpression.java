@@ -0,0 +1,116 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import org.camunda.bpm.engine.impl.el.ExpressionCompiler.CompiledNode;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.javax.el.ValueReference;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
+
+/**
+ * {@link ValueExpression} which evaluates the compiled form of a
+ * {@link TreeValueExpression}. All other operations are delegated to
+ * the interpreted expression.
+ *
+ * @see ExpressionCompiler
+ */
+public class CompiledValueExpression extends ValueExpression {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final TreeValueExpression interpretedExpression;
+  protected final transient CompiledNode root;
+  protected final transient Bindings bindings;
+
+  public CompiledValueExpression(TreeValueExpression interpretedExpression, CompiledNode root, Bindings bindings) {
+    this.interpretedExpression = interpretedExpression;
+    this.root = root;
+    this.bindings = bindings;
+  }
+
+  @Override
+  public Object getValue(ELContext context) {
+    Object value = root.eval(context);
+
+    Class<?> expectedType = interpretedExpression.getExpectedType();
+    if (expectedType != null) {
+      value = bindings.convert(value, expectedType);
+    }
+
+    return value;
+  }
+
+  @Override
+  public Class<?> getExpectedType() {
+    return interpretedExpression.getExpectedType();
+  }
+
+  @Override
+  public Class<?> getType(ELContext context) {
+    return interpretedExpression.getType(context);
+  }
+
+  @Override
+  public boolean isReadOnly(ELContext context) {
+    return interpretedExpression.isReadOnly(context);
+  }
+
+  @Override
+  public void setValue(ELContext context, Object value) {
+    interpretedExpression.setValue(context, value);
+  }
+
+  @Override
+  public ValueReference getValueReference(ELContext context) {
+    return interpretedExpression.getValueReference(context);
+  }
+
+  @Override
+  public String getExpressionString() {
+    return interpretedExpression.getExpressionString();
+  }
+
+  @Override
+  public boolean isLiteralText() {
+    return interpretedExpression.isLiteralText();
+  }
+
+  public TreeValueExpression getInterpretedExpression() {
+    return interpretedExpression;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof CompiledValueExpression) {
+      return interpretedExpression.equals(((CompiledValueExpression) obj).interpretedExpression);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return interpretedExpression.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledValueExpression(" + getExpressionString() + ")";
+  }
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.PropertyNotFoundException;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.AstBinary;
+import org.camunda.bpm.engine.impl.juel.AstChoice;
+import org.camunda.bpm.engine.impl.juel.AstComposite;
+import org.camunda.bpm.engine.impl.juel.AstDot;
+import org.camunda.bpm.engine.impl.juel.AstEval;
+import org.camunda.bpm.engine.impl.juel.AstIdentifier;
+import org.camunda.bpm.engine.impl.juel.AstLiteral;
+import org.camunda.bpm.engine.impl.juel.AstNested;
+import org.camunda.bpm.engine.impl.juel.AstNode;
+import org.camunda.bpm.engine.impl.juel.AstText;
+import org.camunda.bpm.engine.impl.juel.AstUnary;
+import org.camunda.bpm.engine.impl.juel.Bindings;
+import org.camunda.bpm.engine.impl.juel.BooleanOperations;
+import org.camunda.bpm.engine.impl.juel.ExpressionNode;
+import org.camunda.bpm.engine.impl.juel.LocalMessages;
+import org.camunda.bpm.engine.impl.juel.NumberOperations;
+import org.camunda.bpm.engine.impl.juel.TreeValueExpression;
+import org.camunda.bpm.engine.impl.juel.TypeConverter;
+
+/**
+ * <p>Compiles the parse tree of a {@link TreeValueExpression} into a tree of
+ * {@link CompiledNode}s which are evaluated without the per node dispatch of the
+ * interpreter.</p>
+ *
+ * <p>Identifiers are looked up directly in the {@link VariableScope} of the
+ * {@link ELContext}. This is equivalent to the interpreter as long as the
+ * {@link VariableScopeElResolver} is the first resolver of the resolver chain, which
+ * is the case for all expression managers shipped with the engine. Identifiers
+ * which are not a variable, as well as identifiers reserved by the
+ * {@link VariableScopeElResolver}, are resolved with the resolver chain of the
+ * context.</p>
+ *
+ * <p>Literals, operators, choices, composite texts and property access with the
+ * <code>.</code> operator are compiled. All other nodes, e.g. method invocations and
+ * functions, are evaluated by the interpreter.</p>
+ */
+public class ExpressionCompiler {
+
+  protected static final Set<String> RESERVED_IDENTIFIERS = new HashSet<>(Arrays.asList(
+      VariableScopeElResolver.EXECUTION_KEY,
+      VariableScopeElResolver.CASE_EXECUTION_KEY,
+      VariableScopeElResolver.TASK_KEY,
+      VariableScopeElResolver.EXTERNAL_TASK_KEY,
+      VariableScopeElResolver.LOGGED_IN_USER_KEY));
+
+  protected static final Map<AstBinary.Operator, BinaryOperation> BINARY_OPERATIONS = new HashMap<>();
+  protected static final Map<AstUnary.Operator, UnaryOperation> UNARY_OPERATIONS = new HashMap<>();
+
+  static {
+    BINARY_OPERATIONS.put(AstBinary.ADD, NumberOperations::add);
+    BINARY_OPERATIONS.put(AstBinary.SUB, NumberOperations::sub);
+    BINARY_OPERATIONS.put(AstBinary.MUL, NumberOperations::mul);
+    BINARY_OPERATIONS.put(AstBinary.DIV, NumberOperations::div);
+    BINARY_OPERATIONS.put(AstBinary.MOD, NumberOperations::mod);
+    BINARY_OPERATIONS.put(AstBinary.EQ, BooleanOperations::eq);
+    BINARY_OPERATIONS.put(AstBinary.NE, BooleanOperations::ne);
+    BINARY_OPERATIONS.put(AstBinary.LT, BooleanOperations::lt);
+    BINARY_OPERATIONS.put(AstBinary.LE, BooleanOperations::le);
+    BINARY_OPERATIONS.put(AstBinary.GT, BooleanOperations::gt);
+    BINARY_OPERATIONS.put(AstBinary.GE, BooleanOperations::ge);
+
+    UNARY_OPERATIONS.put(AstUnary.EMPTY, BooleanOperations::empty);
+    UNARY_OPERATIONS.put(AstUnary.NEG, NumberOperations::neg);
+    UNARY_OPERATIONS.put(AstUnary.NOT, (converter, value) -> !converter.convert(value, Boolean.class));
+  }
+
+  /**
+   * @return the compiled expression or the given expression itself if it cannot be compiled
+   */
+  public ValueExpression compile(ValueExpression valueExpression) {
+    if (valueExpression instanceof TreeValueExpression && !valueExpression.isLiteralText()) {
+      TreeValueExpression treeValueExpression = (TreeValueExpression) valueExpression;
+      ExpressionNode root = treeValueExpression.getRoot();
+
+      if (root instanceof AstNode) {
+        Bindings bindings = treeValueExpression.getBindings();
+        CompiledNode compiledRoot = compile((AstNode) root, bindings);
+        return new CompiledValueExpression(treeValueExpression, compiledRoot, bindings);
+      }
+    }
+
+    return valueExpression;
+  }
+
+  protected CompiledNode compile(AstNode node, Bindings bindings) {
+    if (node instanceof AstEval || node instanceof AstNested) {
+      return compile(getChild(node, 0), bindings);
+
+    } else if (node instanceof AstLiteral || node instanceof AstText) {
+      return new ConstantNode(node.eval(bindings, null));
+
+    } else if (node instanceof AstIdentifier) {
+      AstIdentifier identifier = (AstIdentifier) node;
+      if (bindings.isVariableBound(identifier.getIndex()) || RESERVED_IDENTIFIERS.contains(identifier.getName())) {
+        return new InterpretedNode(node, bindings);
+      }
+      return new VariableNode(identifier, bindings);
+
+    } else if (node instanceof AstDot) {
+      CompiledNode prefix = compile(getChild(node, 0), bindings);
+      return new PropertyNode(prefix, ((AstDot) node).getPropertyName());
+
+    } else if (node instanceof AstBinary) {
+      return compileBinary((AstBinary) node, bindings);
+
+    } else if (node instanceof AstUnary) {
+      UnaryOperation operation = UNARY_OPERATIONS.get(((AstUnary) node).getOperator());
+      if (operation != null) {
+        return new UnaryNode(operation, compile(getChild(node, 0), bindings), bindings);
+      }
+
+    } else if (node instanceof AstChoice) {
+      return new ChoiceNode(
+          compile(getChild(node, 0), bindings),
+          compile(getChild(node, 1), bindings),
+          compile(getChild(node, 2), bindings),
+          bindings);
+
+    } else if (node instanceof AstComposite) {
+      CompiledNode[] parts = new CompiledNode[node.getCardinality()];
+      for (int i = 0; i < parts.length; i++) {
+        parts[i] = compile(getChild(node, i), bindings);
+      }
+      return new CompositeNode(parts, bindings);
+    }
+
+    return new InterpretedNode(node, bindings);
+  }
+
+  protected CompiledNode compileBinary(AstBinary node, Bindings bindings) {
+    AstBinary.Operator operator = node.getOperator();
+
+    if (operator == AstBinary.AND || operator == AstBinary.OR) {
+      CompiledNode left = compile(getChild(node, 0), bindings);
+      CompiledNode right = compile(getChild(node, 1), bindings);
+      return new ShortCircuitNode(operator == AstBinary.AND, left, right, bindings);
+    }
+
+    BinaryOperation operation = BINARY_OPERATIONS.get(operator);
+    if (operation != null) {
+      CompiledNode left = compile(getChild(node, 0), bindings);
+      CompiledNode right = compile(getChild(node, 1), bindings);
+      return new BinaryNode(operation, left, right, bindings);
+    }
+
+    return new InterpretedNode(node, bindings);
+  }
+
+  protected AstNode getChild(AstNode node, int index) {
+    return (AstNode) node.getChild(index);
+  }
+
+  /**
+   * A compiled node of an expression tree.
+   */
+  public interface CompiledNode {
+    Object eval(ELContext context);
+  }
+
+  public interface BinaryOperation {
+    Object apply(TypeConverter converter, Object left, Object right);
+  }
+
+  public interface UnaryOperation {
+    Object apply(TypeConverter converter, Object value);
+  }
+
+  public static class ConstantNode implements CompiledNode {
+
+    protected final Object value;
+
+    public ConstantNode(Object value) {
+      this.value = value;
+    }
+
+    public Object eval(ELContext context) {
+      return value;
+    }
+  }
+
+  public static class InterpretedNode implements CompiledNode {
+
+    protected final AstNode node;
+    protected final Bindings bindings;
+
+    public InterpretedNode(AstNode node, Bindings bindings) {
+      this.node = node;
+      this.bindings = bindings;
+    }
+
+    public Object eval(ELContext context) {
+      return node.eval(bindings, context);
+    }
+  }
+
+  public static class VariableNode implements CompiledNode {
+
+    protected final AstIdentifier identifier;
+    protected final String name;
+    protected final Bindings bindings;
+
+    public VariableNode(AstIdentifier identifier, Bindings bindings) {
+      this.identifier = identifier;
+      this.name = identifier.getName();
+      this.bindings = bindings;
+    }
+
+    public Object eval(ELContext context) {
+      VariableScope variableScope = (VariableScope) context.getContext(VariableScope.class);
+      if (variableScope != null && variableScope.hasVariable(name)) {
+        context.setPropertyResolved(true);
+        return variableScope.getVariable(name);
+      }
+
+      // not a variable, e.g. a bean: resolve it with the resolver chain
+      return identifier.eval(bindings, context);
+    }
+  }
+
+  public static class PropertyNode implements CompiledNode {
+
+    protected final CompiledNode prefix;
+    protected final String property;
+
+    public PropertyNode(CompiledNode prefix, String property) {
+      this.prefix = prefix;
+      this.property = property;
+    }
+
+    public Object eval(ELContext context) {
+      Object base = prefix.eval(context);
+      if (base == null) {
+        return null;
+      }
+
+      context.setPropertyResolved(false);
+      Object result = context.getELResolver().getValue(context, base, property);
+      if (!context.isPropertyResolved()) {
+        throw new PropertyNotFoundException(LocalMessages.get("error.property.property.notfound", property, base));
+      }
+      return result;
+    }
+  }
+
+  public static class BinaryNode implements CompiledNode {
+
+    protected final BinaryOperation operation;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+    protected final TypeConverter converter;
+
+    public BinaryNode(BinaryOperation operation, CompiledNode left, CompiledNode right, TypeConverter converter) {
+      this.operation = operation;
+      this.left = left;
+      this.right = right;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      return operation.apply(converter, left.eval(context), right.eval(context));
+    }
+  }
+
+  public static class ShortCircuitNode implements CompiledNode {
+
+    protected final boolean isAnd;
+    protected final CompiledNode left;
+    protected final CompiledNode right;
+    protected final TypeConverter converter;
+
+    public ShortCircuitNode(boolean isAnd, CompiledNode left, CompiledNode right, TypeConverter converter) {
+      this.isAnd = isAnd;
+      this.left = left;
+      this.right = right;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      Boolean leftValue = converter.convert(left.eval(context), Boolean.class);
+
+      if (isAnd) {
+        return Boolean.TRUE.equals(leftValue) ? converter.convert(right.eval(context), Boolean.class) : Boolean.FALSE;
+      } else {
+        return Boolean.TRUE.equals(leftValue) ? Boolean.TRUE : converter.convert(right.eval(context), Boolean.class);
+      }
+    }
+  }
+
+  public static class UnaryNode implements CompiledNode {
+
+    protected final UnaryOperation operation;
+    protected final CompiledNode child;
+    protected final TypeConverter converter;
+
+    public UnaryNode(UnaryOperation operation, CompiledNode child, TypeConverter converter) {
+      this.operation = operation;
+      this.child = child;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      return operation.apply(converter, child.eval(context));
+    }
+  }
+
+  public static class ChoiceNode implements CompiledNode {
+
+    protected final CompiledNode question;
+    protected final CompiledNode yes;
+    protected final CompiledNode no;
+    protected final TypeConverter converter;
+
+    public ChoiceNode(CompiledNode question, CompiledNode yes, CompiledNode no, TypeConverter converter) {
+      this.question = question;
+      this.yes = yes;
+      this.no = no;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      Boolean value = converter.convert(question.eval(context), Boolean.class);
+      return value.booleanValue() ? yes.eval(context) : no.eval(context);
+    }
+  }
+
+  public static class CompositeNode implements CompiledNode {
+
+    protected final CompiledNode[] parts;
+    protected final TypeConverter converter;
+
+    public CompositeNode(CompiledNode[] parts, TypeConverter converter) {
+      this.parts = parts;
+      this.converter = converter;
+    }
+
+    public Object eval(ELContext context) {
+      StringBuilder builder = new StringBuilder(16);
+      for (CompiledNode part : parts) {
+        builder.append(converter.convert(part.eval(context), String.class));
+      }
+      return builder.toString();
+    }
+  }
+
+}
@@ -40,6 +40,8 @@ public class JuelExpression implements Expression {
   protected String expressionText;
   protected ValueExpression valueExpression;
   protected JuelExpressionManager expressionManager;
+  protected volatile ValueExpression compiledValueExpression;
+  protected int evaluationCount;
 
   public JuelExpression(ValueExpression valueExpression, JuelExpressionManager expressionManager, String expressionText) {
     this.valueExpression = valueExpression;
@@ -54,7 +56,7 @@ public class JuelExpression implements Expression {
   public Object getValue(VariableScope variableScope, BaseDelegateExecution contextExecution) {
     ELContext elContext = expressionManager.getElContext(variableScope);
     try {
-      ExpressionGetInvocation invocation = new ExpressionGetInvocation(valueExpression, elContext, contextExecution);
+      ExpressionGetInvocation invocation = new ExpressionGetInvocation(getValueExpressionForEvaluation(), elContext, contextExecution);
       Context.getProcessEngineConfiguration()
         .getDelegateInterceptor()
         .handleInvocation(invocation);
@@ -70,6 +72,27 @@ public class JuelExpression implements Expression {
     }
   }
 
+  /**
+   * @return the compiled value expression once this expression was evaluated more often
+   * than the compilation threshold of the expression manager, the interpreted one otherwise
+   */
+  protected ValueExpression getValueExpressionForEvaluation() {
+    ValueExpression compiledValueExpression = this.compiledValueExpression;
+    if (compiledValueExpression != null) {
+      return compiledValueExpression;
+    }
+
+    int compilationThreshold = expressionManager.getCompilationThreshold();
+    // the counter is not synchronized, concurrent evaluations may only delay the compilation
+    if (compilationThreshold > 0 && ++evaluationCount >= compilationThreshold) {
+      compiledValueExpression = expressionManager.compile(valueExpression);
+      this.compiledValueExpression = compiledValueExpression;
+      return compiledValueExpression;
+    }
+
+    return valueExpression;
+  }
+
   public void setValue(Object value, VariableScope variableScope) {
     setValue(value, variableScope, null);
   }
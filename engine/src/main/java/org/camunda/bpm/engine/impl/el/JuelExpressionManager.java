@@ -56,6 +56,8 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
   // Default implementation (does nothing)
   protected ELContext parsingElContext;
   protected volatile ElProvider elProvider;
+  protected ExpressionCompiler expressionCompiler = new ExpressionCompiler();
+  protected int compilationThreshold = 0;
 
   public JuelExpressionManager() {
     this(null);
@@ -87,6 +89,33 @@ public class JuelExpressionManager implements ExpressionManager, ElProviderCompa
     return expressionFactory.createValueExpression(parsingElContext, expression, Object.class);
   }
 
+  /**
+   * @return the compiled form of the given expression, see {@link ExpressionCompiler}
+   */
+  public ValueExpression compile(ValueExpression valueExpression) {
+    return expressionCompiler.compile(valueExpression);
+  }
+
+  public int getCompilationThreshold() {
+    return compilationThreshold;
+  }
+
+  /**
+   * Expressions are compiled once they were evaluated this number of times.
+   * Compilation is disabled if the threshold is zero or negative.
+   */
+  public void setCompilationThreshold(int compilationThreshold) {
+    this.compilationThreshold = compilationThreshold;
+  }
+
+  public ExpressionCompiler getExpressionCompiler() {
+    return expressionCompiler;
+  }
+
+  public void setExpressionCompiler(ExpressionCompiler expressionCompiler) {
+    this.expressionCompiler = expressionCompiler;
+  }
+
   public void setExpressionFactory(ExpressionFactory expressionFactory) {
     this.expressionFactory = expressionFactory;
   }
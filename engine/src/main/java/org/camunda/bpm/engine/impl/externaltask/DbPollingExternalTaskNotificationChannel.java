@@ -0,0 +1,115 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetAvailableExternalTaskTopicsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>{@link ExternalTaskNotificationChannel} for clustered process engines which
+ * shares external task availability through the <code>ACT_RU_EXT_TASK</code> table.</p>
+ *
+ * <p>Notifications of the local node are delivered immediately. In addition, the
+ * channel periodically counts the fetchable tasks per topic and tenant and publishes
+ * a notification for every topic and tenant whose count increased since the previous
+ * poll, so that tasks created or unlocked on other nodes are noticed after at most
+ * {@link #getPollingInterval()} milliseconds. Polling is skipped while no listener
+ * is registered.</p>
+ */
+public class DbPollingExternalTaskNotificationChannel extends LocalExternalTaskNotificationChannel {
+
+  protected static final ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected long pollingInterval = 1000L;
+
+  protected String processEngineName;
+  protected CommandExecutor commandExecutor;
+  protected Timer timer;
+
+  /** topic and tenant -> number of fetchable tasks at the previous poll */
+  protected Map<ExternalTaskNotification, Long> availableTaskCounts = new HashMap<ExternalTaskNotification, Long>();
+
+  @Override
+  public synchronized void start(ProcessEngineImpl processEngine) {
+    processEngineName = processEngine.getName();
+    commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    timer = new Timer("Camunda External Task Notification Poller", true);
+    timer.schedule(new TimerTask() {
+      @Override
+      public void run() {
+        poll();
+      }
+    }, pollingInterval, pollingInterval);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+    }
+  }
+
+  protected void poll() {
+    if (!ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.hasListeners()) {
+      // nobody is waiting; the first poll with listeners reports all available topics
+      availableTaskCounts.clear();
+      return;
+    }
+
+    try {
+      List<AvailableExternalTaskTopic> availableTopics = commandExecutor.execute(new GetAvailableExternalTaskTopicsCmd());
+
+      Map<ExternalTaskNotification, Long> taskCounts = new HashMap<ExternalTaskNotification, Long>();
+      for (AvailableExternalTaskTopic availableTopic : availableTopics) {
+        ExternalTaskNotification notification = new ExternalTaskNotification(processEngineName,
+            availableTopic.getTopicName(), availableTopic.getTenantId());
+        taskCounts.put(notification, availableTopic.getTaskCount());
+
+        Long previousCount = availableTaskCounts.get(notification);
+        if (previousCount == null || previousCount < availableTopic.getTaskCount()) {
+          ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.dispatch(notification);
+        }
+      }
+      availableTaskCounts = taskCounts;
+    }
+    catch (Exception e) {
+      LOG.exceptionWhilePollingExternalTaskNotifications(e);
+    }
+  }
+
+  public long getPollingInterval() {
+    return pollingInterval;
+  }
+
+  /**
+   * @param pollingInterval the time in milliseconds between two polls of the external task table
+   */
+  public void setPollingInterval(long pollingInterval) {
+    this.pollingInterval = pollingInterval;
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkHandlingBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskBpmnErrorCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskFailureCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTasksCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class ExternalTaskBulkHandlingBuilderImpl implements ExternalTaskBulkHandlingBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected String workerId;
+  protected List<HandleExternalTaskCmd> operations;
+
+  public ExternalTaskBulkHandlingBuilderImpl(CommandExecutor commandExecutor, String workerId) {
+    this.commandExecutor = commandExecutor;
+    this.workerId = workerId;
+    this.operations = new ArrayList<HandleExternalTaskCmd>();
+  }
+
+  public ExternalTaskBulkHandlingBuilder complete(String externalTaskId) {
+    return complete(externalTaskId, null, null);
+  }
+
+  public ExternalTaskBulkHandlingBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    operations.add(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
+    return this;
+  }
+
+  public ExternalTaskBulkHandlingBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails,
+      int retries, long retryDuration, Map<String, Object> variables, Map<String, Object> localVariables) {
+    operations.add(new HandleExternalTaskFailureCmd(externalTaskId, workerId, errorMessage, errorDetails,
+        retries, retryDuration, variables, localVariables));
+    return this;
+  }
+
+  public ExternalTaskBulkHandlingBuilder handleBpmnError(String externalTaskId, String errorCode, String errorMessage, Map<String, Object> variables) {
+    operations.add(new HandleExternalTaskBpmnErrorCmd(externalTaskId, workerId, errorCode, errorMessage, variables));
+    return this;
+  }
+
+  public List<ExternalTaskHandlingResult> execute() {
+    return commandExecutor.execute(new HandleExternalTasksCmd(workerId, operations));
+  }
+
+}
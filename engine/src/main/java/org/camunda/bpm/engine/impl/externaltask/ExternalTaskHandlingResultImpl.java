@@ -0,0 +1,58 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
+
+public class ExternalTaskHandlingResultImpl implements ExternalTaskHandlingResult {
+
+  protected String externalTaskId;
+  protected ProcessEngineException exception;
+
+  public ExternalTaskHandlingResultImpl(String externalTaskId, ProcessEngineException exception) {
+    this.externalTaskId = externalTaskId;
+    this.exception = exception;
+  }
+
+  public static ExternalTaskHandlingResult successful(String externalTaskId) {
+    return new ExternalTaskHandlingResultImpl(externalTaskId, null);
+  }
+
+  public static ExternalTaskHandlingResult failed(String externalTaskId, ProcessEngineException exception) {
+    return new ExternalTaskHandlingResultImpl(externalTaskId, exception);
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public boolean isSuccessful() {
+    return exception == null;
+  }
+
+  public ProcessEngineException getException() {
+    return exception;
+  }
+
+  @Override
+  public String toString() {
+    return "ExternalTaskHandlingResultImpl [externalTaskId=" + externalTaskId
+        + ", exception=" + exception + "]";
+  }
+
+}
@@ -53,4 +53,13 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
     logDebug("002", "Evaluation of error event definition's expression {} on external task {} failed and will be considered as 'false'. "
         + "Received exception: {}", errorEventDefinition.getExpression(), taskId, exception.getMessage());
   }
+
+  /**
+   * Logs that polling the external task table for notifications failed. Polling continues with the next interval.
+   *
+   * @param exception the exception that was caught
+   */
+  public void exceptionWhilePollingExternalTaskNotifications(Exception exception) {
+    logWarn("003", "Exception while polling for available external tasks: {}", exception.getMessage(), exception);
+  }
 }
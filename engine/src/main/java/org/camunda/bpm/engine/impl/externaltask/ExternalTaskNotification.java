@@ -0,0 +1,102 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+/**
+ * Signals that external tasks of a topic became available for fetching in a process engine,
+ * e.g. because they were created or unlocked.
+ *
+ * <p>A notification without topic name does not carry any information about the
+ * available tasks and matches all topics and tenants of the process engine.</p>
+ */
+public class ExternalTaskNotification {
+
+  protected final String processEngineName;
+  protected final String topicName;
+  protected final String tenantId;
+
+  public ExternalTaskNotification(String processEngineName, String topicName, String tenantId) {
+    this.processEngineName = processEngineName;
+    this.topicName = topicName;
+    this.tenantId = tenantId;
+  }
+
+  /**
+   * @return a notification matching all topics and tenants of the given process engine
+   */
+  public static ExternalTaskNotification forAllTopics(String processEngineName) {
+    return new ExternalTaskNotification(processEngineName, null, null);
+  }
+
+  public String getProcessEngineName() {
+    return processEngineName;
+  }
+
+  /**
+   * @return the topic of the available tasks or <code>null</code> if the notification matches all topics
+   */
+  public String getTopicName() {
+    return topicName;
+  }
+
+  /**
+   * @return the tenant of the available tasks or <code>null</code> if the tasks do not belong to a tenant
+   */
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public boolean isForAllTopics() {
+    return topicName == null;
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = 1;
+    result = prime * result + ((processEngineName == null) ? 0 : processEngineName.hashCode());
+    result = prime * result + ((topicName == null) ? 0 : topicName.hashCode());
+    result = prime * result + ((tenantId == null) ? 0 : tenantId.hashCode());
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    ExternalTaskNotification other = (ExternalTaskNotification) obj;
+    return equalsNullSafe(processEngineName, other.processEngineName)
+        && equalsNullSafe(topicName, other.topicName)
+        && equalsNullSafe(tenantId, other.tenantId);
+  }
+
+  protected static boolean equalsNullSafe(String value, String otherValue) {
+    return value == null ? otherValue == null : value.equals(otherValue);
+  }
+
+  @Override
+  public String toString() {
+    return "ExternalTaskNotification [processEngineName=" + processEngineName
+        + ", topicName=" + topicName
+        + ", tenantId=" + tenantId + "]";
+  }
+
+}
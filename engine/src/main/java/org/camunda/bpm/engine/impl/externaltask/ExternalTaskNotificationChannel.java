@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collection;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * <p>SPI for propagating {@link ExternalTaskNotification}s. The process engine
+ * publishes a notification for every topic on which external tasks became available
+ * once the creating transaction is committed.</p>
+ *
+ * <p>Implementations are responsible for delivering notifications to the
+ * {@link ProcessEngineImpl#EXT_TASK_NOTIFICATIONS} dispatcher of this node and, if
+ * the engine runs in a cluster, for making tasks created on other nodes known to it.</p>
+ *
+ * @see LocalExternalTaskNotificationChannel
+ * @see DbPollingExternalTaskNotificationChannel
+ */
+public interface ExternalTaskNotificationChannel {
+
+  /**
+   * Invoked once the process engine is built.
+   */
+  void start(ProcessEngineImpl processEngine);
+
+  /**
+   * Invoked once the process engine is closed.
+   */
+  void stop();
+
+  /**
+   * Publishes notifications about external tasks which became available on this node.
+   */
+  void publish(Collection<ExternalTaskNotification> notifications);
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers {@link ExternalTaskNotification}s to all registered listeners of
+ * this JVM, see {@link org.camunda.bpm.engine.impl.ProcessEngineImpl#EXT_TASK_NOTIFICATIONS}.
+ */
+public class ExternalTaskNotificationDispatcher {
+
+  protected CopyOnWriteArrayList<ExternalTaskNotificationListener> listeners = new CopyOnWriteArrayList<ExternalTaskNotificationListener>();
+
+  public void addListener(ExternalTaskNotificationListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ExternalTaskNotificationListener listener) {
+    listeners.remove(listener);
+  }
+
+  public boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+
+  public void dispatch(ExternalTaskNotification notification) {
+    for (ExternalTaskNotificationListener listener : listeners) {
+      listener.onExternalTasksAvailable(notification);
+    }
+  }
+
+  public void dispatch(Collection<ExternalTaskNotification> notifications) {
+    for (ExternalTaskNotification notification : notifications) {
+      dispatch(notification);
+    }
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Collection;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+
+/**
+ * {@link ExternalTaskNotificationChannel} which only delivers notifications
+ * to listeners of the node on which the external tasks became available.
+ */
+public class LocalExternalTaskNotificationChannel implements ExternalTaskNotificationChannel {
+
+  @Override
+  public void start(ProcessEngineImpl processEngine) {
+    // nothing to do
+  }
+
+  @Override
+  public void stop() {
+    // nothing to do
+  }
+
+  @Override
+  public void publish(Collection<ExternalTaskNotification> notifications) {
+    ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.dispatch(notifications);
+  }
+
+}
@@ -36,6 +36,8 @@ public abstract class AbstractHistoryLevel implements HistoryLevel {
       return true;
     if (obj == null)
       return false;
+    if (obj instanceof OverridableHistoryLevel)
+      return equals(((OverridableHistoryLevel) obj).getDelegate());
     if (getClass() != obj.getClass())
       return false;
     AbstractHistoryLevel other = (AbstractHistoryLevel) obj;
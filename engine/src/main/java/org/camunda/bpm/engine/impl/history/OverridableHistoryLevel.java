@@ -0,0 +1,206 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history;
+
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.ACTIVITY_INSTANCE_END;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.ACTIVITY_INSTANCE_MIGRATE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.ACTIVITY_INSTANCE_START;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.TASK_INSTANCE_COMPLETE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.TASK_INSTANCE_CREATE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.TASK_INSTANCE_DELETE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.TASK_INSTANCE_MIGRATE;
+import static org.camunda.bpm.engine.impl.history.event.HistoryEventTypes.TASK_INSTANCE_UPDATE;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
+import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
+
+/**
+ * <p>Applies the history levels which are declared for a process definition or an activity
+ * on top of the history level of the process engine. The overrides are resolved when the
+ * process definition is parsed and stored as {@link BpmnProperties#HISTORY_LEVEL}.</p>
+ *
+ * <p>An override can only reduce the history which is produced: an event is produced if the
+ * history level of the process engine and all overrides which apply to it produce it. The
+ * override of the process definition applies to all events of the process definition. The
+ * override of an activity additionally applies to the activity instance and task events of
+ * this activity, so that an activity can reduce the history of its process definition further
+ * but never produce events which the process definition excludes.</p>
+ *
+ * <p>The id and the name are the ones of the history level of the process engine, so that
+ * the history level stored in the database doesn't change.</p>
+ */
+public class OverridableHistoryLevel extends AbstractHistoryLevel {
+
+  protected HistoryLevel delegate;
+
+  public OverridableHistoryLevel(HistoryLevel delegate) {
+    this.delegate = delegate;
+  }
+
+  public int getId() {
+    return delegate.getId();
+  }
+
+  public String getName() {
+    return delegate.getName();
+  }
+
+  public boolean isHistoryEventProduced(HistoryEventType eventType, Object entity) {
+    if (!delegate.isHistoryEventProduced(eventType, entity)) {
+      return false;
+    }
+
+    if (entity == null) {
+      return true;
+    }
+
+    ActivityImpl activity = isActivityEvent(eventType) ? getActivity(entity) : null;
+
+    ProcessDefinitionImpl processDefinition = activity != null ? activity.getProcessDefinition() : getProcessDefinition(entity);
+    HistoryLevel processOverride = getOverride(processDefinition);
+    if (processOverride != null && !processOverride.isHistoryEventProduced(eventType, entity)) {
+      return false;
+    }
+
+    HistoryLevel activityOverride = activity != null ? activity.getProperties().get(BpmnProperties.HISTORY_LEVEL) : null;
+    return activityOverride == null || activityOverride.isHistoryEventProduced(eventType, entity);
+  }
+
+  public HistoryLevel getDelegate() {
+    return delegate;
+  }
+
+  protected boolean isActivityEvent(HistoryEventType eventType) {
+    return ACTIVITY_INSTANCE_START == eventType
+        || ACTIVITY_INSTANCE_UPDATE == eventType
+        || ACTIVITY_INSTANCE_MIGRATE == eventType
+        || ACTIVITY_INSTANCE_END == eventType
+
+        || TASK_INSTANCE_CREATE == eventType
+        || TASK_INSTANCE_UPDATE == eventType
+        || TASK_INSTANCE_MIGRATE == eventType
+        || TASK_INSTANCE_COMPLETE == eventType
+        || TASK_INSTANCE_DELETE == eventType;
+  }
+
+  protected ActivityImpl getActivity(Object entity) {
+    if (entity instanceof ActivityImpl) {
+      return (ActivityImpl) entity;
+    }
+    else if (entity instanceof PvmExecutionImpl) {
+      return ((PvmExecutionImpl) entity).getActivity();
+    }
+    else if (entity instanceof TaskEntity) {
+      TaskEntity task = (TaskEntity) entity;
+      ProcessDefinitionImpl processDefinition = getProcessDefinition(task);
+      if (processDefinition != null && task.getTaskDefinitionKey() != null) {
+        return processDefinition.findActivity(task.getTaskDefinitionKey());
+      }
+    }
+    return null;
+  }
+
+  protected HistoryLevel getOverride(ProcessDefinitionImpl processDefinition) {
+    if (processDefinition == null) {
+      return null;
+    }
+    return processDefinition.getProperties().get(BpmnProperties.HISTORY_LEVEL);
+  }
+
+  protected ProcessDefinitionImpl getProcessDefinition(Object entity) {
+    if (entity instanceof ProcessDefinitionImpl) {
+      return (ProcessDefinitionImpl) entity;
+    }
+    else if (entity instanceof ActivityImpl) {
+      return ((ActivityImpl) entity).getProcessDefinition();
+    }
+    else if (entity instanceof PvmExecutionImpl) {
+      return ((PvmExecutionImpl) entity).getProcessDefinition();
+    }
+    else {
+      return findProcessDefinition(getProcessDefinitionId(entity));
+    }
+  }
+
+  protected String getProcessDefinitionId(Object entity) {
+    if (entity instanceof TaskEntity) {
+      return ((TaskEntity) entity).getProcessDefinitionId();
+    }
+    else if (entity instanceof VariableInstanceEntity) {
+      return ((VariableInstanceEntity) entity).getProcessDefinitionId();
+    }
+    else if (entity instanceof IncidentEntity) {
+      return ((IncidentEntity) entity).getProcessDefinitionId();
+    }
+    else if (entity instanceof JobEntity) {
+      return ((JobEntity) entity).getProcessDefinitionId();
+    }
+    else if (entity instanceof ExternalTaskEntity) {
+      return ((ExternalTaskEntity) entity).getProcessDefinitionId();
+    }
+    else if (entity instanceof IdentityLinkEntity) {
+      TaskEntity task = ((IdentityLinkEntity) entity).getTask();
+      return task != null ? task.getProcessDefinitionId() : null;
+    }
+    else if (entity instanceof HistoryEvent) {
+      return ((HistoryEvent) entity).getProcessDefinitionId();
+    }
+    return null;
+  }
+
+  protected ProcessDefinitionImpl findProcessDefinition(String processDefinitionId) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (processDefinitionId == null || commandContext == null) {
+      return null;
+    }
+    return commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedProcessDefinitionById(processDefinitionId);
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof OverridableHistoryLevel) {
+      obj = ((OverridableHistoryLevel) obj).getDelegate();
+    }
+    return delegate.equals(obj);
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+}
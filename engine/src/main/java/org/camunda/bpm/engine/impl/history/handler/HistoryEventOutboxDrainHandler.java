@@ -0,0 +1,68 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>Writes drained history events of the history event outbox to the history tables.</p>
+ *
+ * <p>Events read from the outbox are separate objects, even if the command that produced
+ * them changed one cached event object several times. An event therefore supersedes an
+ * event for the same entity written earlier in the same drain: both carry the complete
+ * state of the entity and the later one is the current state.</p>
+ */
+public class HistoryEventOutboxDrainHandler extends DbHistoryEventHandler {
+
+  @Override
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    if (!isInitialEvent(historyEvent)) {
+      DbEntityManager dbEntityManager = getDbEntityManager();
+      HistoryEvent cachedEvent = dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+
+      if (cachedEvent != null && cachedEvent != historyEvent) {
+        supersede(cachedEvent, historyEvent);
+        return;
+      }
+    }
+
+    super.insertOrUpdate(historyEvent);
+  }
+
+  protected void supersede(HistoryEvent cachedEvent, HistoryEvent historyEvent) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+    DbEntityCache dbEntityCache = dbEntityManager.getDbEntityCache();
+
+    if (historyEvent instanceof HistoricScopeInstanceEvent) {
+      HistoricScopeInstanceEvent cachedScopeEvent = (HistoricScopeInstanceEvent) cachedEvent;
+      ((HistoricScopeInstanceEvent) historyEvent).setStartTime(cachedScopeEvent.getStartTime());
+    }
+
+    boolean isInserted = dbEntityCache.isTransient(cachedEvent);
+    dbEntityCache.remove(cachedEvent);
+
+    if (isInserted) {
+      dbEntityManager.insert(historyEvent);
+    } else {
+      dbEntityManager.merge(historyEvent);
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
+
+/**
+ * <p>History event handler that writes history events to the history event outbox
+ * instead of the history tables. The events of a command are stored as one outbox
+ * entry per process instance in the transaction of the command and are written to the history
+ * tables later by the {@link org.camunda.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter}.</p>
+ *
+ * <p>Decision evaluation events are written to the history tables right away: they
+ * only insert new rows and are not needed in the outbox to keep the order of events.</p>
+ */
+public class HistoryEventOutboxHandler implements HistoryEventHandler {
+
+  protected HistoryEventHandler dbHistoryEventHandler = new DbHistoryEventHandler();
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    if (historyEvent instanceof HistoricDecisionEvaluationEvent) {
+      dbHistoryEventHandler.handleEvent(historyEvent);
+    } else {
+      getHistoryEventOutboxManager().addHistoryEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  protected HistoryEventOutboxManager getHistoryEventOutboxManager() {
+    return Context.getCommandContext().getHistoryEventOutboxManager();
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.DrainHistoryEventOutboxCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * Drains the history event outbox batch by batch until it is empty.
+ */
+public class HistoryEventOutboxDrainTask extends TimerTask {
+
+  private final static EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected int batchSize;
+
+  public HistoryEventOutboxDrainTask(CommandExecutor commandExecutor, int batchSize) {
+    this.commandExecutor = commandExecutor;
+    this.batchSize = batchSize;
+  }
+
+  public synchronized void run() {
+    try {
+      drain();
+    }
+    catch(Exception e) {
+      try {
+        LOG.couldNotDrainHistoryEventOutbox(e);
+      }
+      catch (Exception ex) {
+        // ignore if log can't be written
+      }
+    }
+  }
+
+  protected void drain() {
+    int drainedEntries;
+    do {
+      drainedEntries = commandExecutor.execute(new DrainHistoryEventOutboxCmd(batchSize));
+    } while (drainedEntries > 0);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import java.util.Timer;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>Drains the history event outbox into the history tables in the background.</p>
+ *
+ * <p>History written through the outbox becomes visible to the {@link org.camunda.bpm.engine.HistoryService}
+ * with a delay. When the writer keeps up with the load, the delay is bounded by the drain
+ * interval plus the time to drain the outbox. Outbox entries are drained in batches of
+ * <code>batchSize</code> entries; each batch is written in its own transaction. The batches
+ * of all cluster nodes are drained one after another, see
+ * {@link org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager#claimOutboxEntries(int)}.</p>
+ */
+public class HistoryEventOutboxWriter {
+
+  protected CommandExecutor commandExecutor;
+
+  protected int batchSize;
+  protected long drainIntervalInMillis;
+
+  protected HistoryEventOutboxDrainTask drainTask;
+  private Timer timer;
+
+  public HistoryEventOutboxWriter(CommandExecutor commandExecutor, int batchSize, long drainIntervalInMillis) {
+    this.commandExecutor = commandExecutor;
+    this.batchSize = batchSize;
+    this.drainIntervalInMillis = drainIntervalInMillis;
+    initDrainTask();
+  }
+
+  protected void initDrainTask() {
+    drainTask = new HistoryEventOutboxDrainTask(commandExecutor, batchSize);
+  }
+
+  public void start() {
+    timer = new Timer("Camunda History Event Outbox Writer", true);
+
+    // fixed delay: a long running drain is not followed by drains to catch up
+    timer.schedule(drainTask, drainIntervalInMillis, drainIntervalInMillis);
+  }
+
+  public void stop() {
+    if (timer != null) {
+      // cancel the timer
+      timer.cancel();
+      timer = null;
+      // write the remaining history events
+      drainNow();
+    }
+  }
+
+  public void drainNow() {
+    if (drainTask != null) {
+      drainTask.run();
+    }
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getDrainIntervalInMillis() {
+    return drainIntervalInMillis;
+  }
+
+  public HistoryEventOutboxDrainTask getDrainTask() {
+    return drainTask;
+  }
+
+  public void setDrainTask(HistoryEventOutboxDrainTask drainTask) {
+    this.drainTask = drainTask;
+  }
+
+}
@@ -25,6 +25,8 @@ import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.mapping.IoMapping;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.OverridableHistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventType;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
@@ -88,7 +90,7 @@ public class HistoryParseListener implements BpmnParseListener {
 
   public void parseProcess(Element processElement, ProcessDefinitionEntity processDefinition) {
     ensureHistoryLevelInitialized();
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.PROCESS_INSTANCE_END, processDefinition)) {
       processDefinition.addBuiltInListener(PvmEvent.EVENTNAME_END, PROCESS_INSTANCE_END_LISTENER);
     }
   }
@@ -125,7 +127,7 @@ public class HistoryParseListener implements BpmnParseListener {
     ensureHistoryLevelInitialized();
     addActivityHandlers(activity);
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, activity)) {
       TaskDefinition taskDefinition = ((UserTaskActivityBehavior) activity.getActivityBehavior()).getTaskDefinition();
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_ASSIGNMENT, USER_TASK_ASSIGNMENT_HANDLER);
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_CREATE, USER_TASK_ID_HANDLER);
@@ -241,14 +243,23 @@ public class HistoryParseListener implements BpmnParseListener {
 
   protected void addActivityHandlers(ActivityImpl activity) {
     ensureHistoryLevelInitialized();
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, activity)) {
       activity.addBuiltInListener(PvmEvent.EVENTNAME_START, ACTIVITY_INSTANCE_START_LISTENER, 0);
     }
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, null)) {
+    if (isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_END, activity)) {
       activity.addBuiltInListener(PvmEvent.EVENTNAME_END, ACTIVITY_INSTANCE_END_LISTENER);
     }
   }
 
+  /**
+   * Passes the parsed element to the history level only if it applies history level overrides;
+   * other history levels decide whether an event is produced "in general".
+   */
+  protected boolean isHistoryEventProduced(HistoryEventType eventType, ScopeImpl scope) {
+    Object entity = historyLevel instanceof OverridableHistoryLevel ? scope : null;
+    return historyLevel.isHistoryEventProduced(eventType, entity);
+  }
+
   protected void ensureHistoryLevelInitialized() {
     if (historyLevel == null) {
       historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
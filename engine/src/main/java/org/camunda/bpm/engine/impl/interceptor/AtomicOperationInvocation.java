@@ -52,6 +52,16 @@ public class AtomicOperationInvocation {
     this.operation = operation;
     this.execution = execution;
     this.performAsync = performAsync;
+    this.applicationContextName = null;
+    this.activityId = null;
+    this.activityName = null;
+  }
+
+  /**
+   * Releases the references of an executed invocation, so that it can be reused.
+   */
+  protected void recycle() {
+    init(null, null, false);
   }
 
   public void execute(BpmnStackTrace stackTrace, ProcessDataContext processDataContext) {
@@ -18,12 +18,14 @@ package org.camunda.bpm.engine.impl.interceptor;
 
 import java.io.StringWriter;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 
 /**
  *
@@ -34,10 +36,16 @@ public class BpmnStackTrace {
 
   private final static ContextLogger LOG = ProcessEngineLogger.CONTEXT_LOGGER;
 
-  protected List<AtomicOperationInvocation> perfromedInvocations = new ArrayList<AtomicOperationInvocation>();
+  // the performed invocations, in columns, so that the invocation objects can be reused
+  protected List<String> activityIds = new ArrayList<String>();
+  protected List<String> activityNames = new ArrayList<String>();
+  protected List<AtomicOperation> operations = new ArrayList<AtomicOperation>();
+  protected List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+  protected List<String> applicationContextNames = new ArrayList<String>();
+  protected BitSet performAsync = new BitSet();
 
   public void printStackTrace(boolean verbose) {
-    if(perfromedInvocations.isEmpty()) {
+    if(operations.isEmpty()) {
       return;
     }
 
@@ -53,13 +61,13 @@ public class BpmnStackTrace {
 
     LOG.bpmnStackTrace(writer.toString());
 
-    perfromedInvocations.clear();
+    clear();
   }
 
   protected void logNonVerbose(StringWriter writer) {
 
     // log the failed operation verbosely
-    writeInvocation(perfromedInvocations.get(perfromedInvocations.size() - 1), writer);
+    writeInvocation(operations.size() - 1, writer);
 
     // log human consumable trace of activity ids and names
     List<Map<String, String>> activityTrace = collectActivityTrace();
@@ -68,9 +76,8 @@ public class BpmnStackTrace {
 
   protected void logVerbose(StringWriter writer) {
     // log process engine developer consumable trace
-    Collections.reverse(perfromedInvocations);
-    for (AtomicOperationInvocation invocation : perfromedInvocations) {
-      writeInvocation(invocation, writer);
+    for (int i = operations.size() - 1; i >= 0; i--) {
+      writeInvocation(i, writer);
     }
   }
 
@@ -98,8 +105,8 @@ public class BpmnStackTrace {
 
   protected List<Map<String, String>> collectActivityTrace() {
     List<Map<String, String>> activityTrace = new ArrayList<Map<String, String>>();
-    for (AtomicOperationInvocation atomicOperationInvocation : perfromedInvocations) {
-      String activityId = atomicOperationInvocation.getActivityId();
+    for (int i = 0; i < activityIds.size(); i++) {
+      String activityId = activityIds.get(i);
       if(activityId == null) {
         continue;
       }
@@ -107,7 +114,7 @@ public class BpmnStackTrace {
       Map<String, String> activity = new HashMap<String, String>();
       activity.put("activityId", activityId);
 
-      String activityName = atomicOperationInvocation.getActivityName();
+      String activityName = activityNames.get(i);
       if (activityName != null) {
         activity.put("activityName", activityName);
       }
@@ -121,24 +128,41 @@ public class BpmnStackTrace {
   }
 
   public void add(AtomicOperationInvocation atomicOperationInvocation) {
-    perfromedInvocations.add(atomicOperationInvocation);
+    if (atomicOperationInvocation.isPerformAsync()) {
+      performAsync.set(operations.size());
+    }
+    activityIds.add(atomicOperationInvocation.getActivityId());
+    activityNames.add(atomicOperationInvocation.getActivityName());
+    operations.add(atomicOperationInvocation.getOperation());
+    executions.add(atomicOperationInvocation.getExecution());
+    applicationContextNames.add(atomicOperationInvocation.getApplicationContextName());
+  }
+
+  protected void clear() {
+    activityIds.clear();
+    activityNames.clear();
+    operations.clear();
+    executions.clear();
+    applicationContextNames.clear();
+    performAsync.clear();
   }
 
-  protected void writeInvocation(AtomicOperationInvocation invocation, StringWriter writer) {
+  protected void writeInvocation(int index, StringWriter writer) {
     writer.write("\t");
-    writer.write(invocation.getActivityId());
+    writer.write(activityIds.get(index));
     writer.write(" (");
-    writer.write(invocation.getOperation().getCanonicalName());
+    writer.write(operations.get(index).getCanonicalName());
     writer.write(", ");
-    writer.write(invocation.getExecution().toString());
+    writer.write(executions.get(index).toString());
 
-    if(invocation.isPerformAsync()) {
+    if(performAsync.get(index)) {
       writer.write(", ASYNC");
     }
 
-    if(invocation.getApplicationContextName() != null) {
+    String applicationContextName = applicationContextNames.get(index);
+    if(applicationContextName != null) {
       writer.write(", pa=");
-      writer.write(invocation.getApplicationContextName());
+      writer.write(applicationContextName);
     }
 
     writer.write(")\n");
@@ -22,6 +22,8 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessEngineContextImpl;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -93,6 +95,8 @@ public class CommandContextInterceptor extends CommandInterceptor {
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command, processEngineConfiguration);
     Context.setCommandInvocationContext(commandInvocationContext);
 
+    long startTime = System.nanoTime();
+
     try {
       if(openNew) {
         LOG.debugOpeningNewCommandContext();
@@ -121,6 +125,10 @@ public class CommandContextInterceptor extends CommandInterceptor {
           commandInvocationContext.rethrow();
         }
       } finally {
+        if (openNew) {
+          recordLatency(command, startTime);
+        }
+
         Context.removeCommandInvocationContext();
         Context.removeCommandContext();
         Context.removeProcessEngineConfiguration();
@@ -133,6 +141,13 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  protected void recordLatency(Command<?> command, long startTime) {
+    LatencyMetricsRegistry latencyMetricsRegistry = processEngineConfiguration.getLatencyMetricsRegistry();
+    if (latencyMetricsRegistry != null) {
+      latencyMetricsRegistry.record(LatencyMetrics.COMMAND_EXECUTION, command.getClass(), System.nanoTime() - startTime);
+    }
+  }
+
   protected boolean isFromSameEngine(CommandContext existingCommandContext) {
     return processEngineConfiguration == existingCommandContext.getProcessEngineConfiguration();
   }
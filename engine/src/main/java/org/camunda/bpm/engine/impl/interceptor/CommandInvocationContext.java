@@ -16,8 +16,8 @@
  */
 package org.camunda.bpm.engine.impl.interceptor;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 
 import org.camunda.bpm.application.InvocationContext;
@@ -42,10 +42,18 @@ public class CommandInvocationContext {
 
   private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
 
+  /**
+   * Maximum number of executed invocations which are kept for reuse. Invocations
+   * are nested as deep as listeners and activities call each other synchronously,
+   * which rarely exceeds this.
+   */
+  protected static final int MAX_RECYCLED_INVOCATIONS = 16;
+
   protected Throwable throwable;
   protected Command< ? > command;
   protected boolean isExecuting = false;
-  protected List<AtomicOperationInvocation> queuedInvocations = new ArrayList<AtomicOperationInvocation>();
+  protected Deque<AtomicOperationInvocation> queuedInvocations = new ArrayDeque<AtomicOperationInvocation>();
+  protected Deque<AtomicOperationInvocation> recycledInvocations = new ArrayDeque<AtomicOperationInvocation>();
   protected BpmnStackTrace bpmnStackTrace = new BpmnStackTrace();
   protected ProcessDataContext processDataContext;
 
@@ -80,13 +88,37 @@ public class CommandInvocationContext {
   }
 
   public void performOperation(final AtomicOperation executionOperation, final ExecutionEntity execution, final boolean performAsync) {
-    AtomicOperationInvocation invocation = new AtomicOperationInvocation(executionOperation, execution, performAsync);
-    queuedInvocations.add(0, invocation);
-    performNext();
+    AtomicOperationInvocation invocation = obtainInvocation(executionOperation, execution, performAsync);
+
+    if (!executionOperation.isAsyncCapable()) {
+      // performed right away, no need to go through the queue
+      performSync(invocation);
+    }
+    else {
+      queuedInvocations.addFirst(invocation);
+      performNext();
+    }
+  }
+
+  protected void performSync(final AtomicOperationInvocation invocation) {
+    ProcessApplicationReference targetProcessApplication = getTargetProcessApplication(invocation.execution);
+    if(requiresContextSwitch(targetProcessApplication)) {
+
+      Context.executeWithinProcessApplication(new Callable<Void>() {
+        public Void call() throws Exception {
+          performSync(invocation);
+          return null;
+        }
+
+      }, targetProcessApplication, new InvocationContext(invocation.execution));
+    }
+    else {
+      invoke(invocation);
+    }
   }
 
   protected void performNext() {
-    AtomicOperationInvocation nextInvocation = queuedInvocations.get(0);
+    AtomicOperationInvocation nextInvocation = queuedInvocations.peekFirst();
 
     if(nextInvocation.operation.isAsyncCapable() && isExecuting) {
       // will be picked up by while loop below
@@ -105,27 +137,20 @@ public class CommandInvocationContext {
       }, targetProcessApplication, new InvocationContext(nextInvocation.execution));
     }
     else {
-      if(!nextInvocation.operation.isAsyncCapable()) {
-        // if operation is not async capable, perform right away.
-        invokeNext();
-      }
-      else {
-        try  {
-          isExecuting = true;
-          while (! queuedInvocations.isEmpty()) {
-            // assumption: all operations are executed within the same process application...
-            invokeNext();
-          }
-        }
-        finally {
-          isExecuting = false;
+      try  {
+        isExecuting = true;
+        while (! queuedInvocations.isEmpty()) {
+          // assumption: all operations are executed within the same process application...
+          invoke(queuedInvocations.removeFirst());
         }
       }
+      finally {
+        isExecuting = false;
+      }
     }
   }
 
-  protected void invokeNext() {
-    AtomicOperationInvocation invocation = queuedInvocations.remove(0);
+  protected void invoke(AtomicOperationInvocation invocation) {
     try {
       invocation.execute(bpmnStackTrace, processDataContext);
     } catch(RuntimeException e) {
@@ -134,6 +159,24 @@ public class CommandInvocationContext {
       // rethrow
       throw e;
     }
+
+    recycleInvocation(invocation);
+  }
+
+  protected AtomicOperationInvocation obtainInvocation(AtomicOperation operation, ExecutionEntity execution, boolean performAsync) {
+    AtomicOperationInvocation invocation = recycledInvocations.pollFirst();
+    if (invocation == null) {
+      return new AtomicOperationInvocation(operation, execution, performAsync);
+    }
+    invocation.init(operation, execution, performAsync);
+    return invocation;
+  }
+
+  protected void recycleInvocation(AtomicOperationInvocation invocation) {
+    if (recycledInvocations.size() < MAX_RECYCLED_INVOCATIONS) {
+      invocation.recycle();
+      recycledInvocations.addFirst(invocation);
+    }
   }
 
   protected boolean requiresContextSwitch(ProcessApplicationReference processApplicationReference) {
@@ -173,8 +173,13 @@ public class ProcessDataContext {
   }
 
   protected boolean hasNoMdcValues() {
-    return mdcDataStacks.values().stream()
-        .allMatch(ProcessDataStack::isEmpty);
+    // called for every atomic operation, so no stream here
+    for (ProcessDataStack stack : mdcDataStacks.values()) {
+      if (!stack.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
   }
 
 
@@ -25,6 +25,9 @@ import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
 import java.util.List;
@@ -67,6 +70,7 @@ public class ExecuteJobsRunnable implements Runnable {
         String nextJobId = currentProcessorJobQueue.remove(0);
         if (jobExecutor.isActive()) {
           JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
+          long startTime = System.nanoTime();
           try {
             executeJob(nextJobId, commandExecutor, jobFailureCollector);
           } catch(Throwable t) {
@@ -74,6 +78,8 @@ public class ExecuteJobsRunnable implements Runnable {
               ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
             }
           } finally {
+            recordLatency(engineConfiguration, jobFailureCollector, startTime);
+
             /*
              * clear MDC of potential leftovers from command execution
              * that have not been cleared in Context#removeCommandInvocationContext()
@@ -110,6 +116,16 @@ public class ExecuteJobsRunnable implements Runnable {
     ExecuteJobHelper.executeJob(nextJobId, commandExecutor, jobFailureCollector, new ExecuteJobsCmd(nextJobId, jobFailureCollector), processEngine.getProcessEngineConfiguration());
   }
 
+  protected void recordLatency(ProcessEngineConfigurationImpl engineConfiguration, JobFailureCollector jobFailureCollector, long startTime) {
+    LatencyMetricsRegistry latencyMetricsRegistry = engineConfiguration.getLatencyMetricsRegistry();
+    if (latencyMetricsRegistry != null) {
+      // the job is not set if it could not be found
+      JobEntity job = jobFailureCollector.getJob();
+      String jobHandlerType = job != null ? job.getJobHandlerType() : null;
+      latencyMetricsRegistry.record(LatencyMetrics.JOB_EXECUTION, jobHandlerType, System.nanoTime() - startTime);
+    }
+  }
+
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
     commandExecutor.execute(new UnlockJobCmd(nextJobId));
   }
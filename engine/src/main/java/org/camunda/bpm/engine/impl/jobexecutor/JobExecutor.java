@@ -56,6 +56,13 @@ public abstract class JobExecutor {
 
   protected int maxJobsPerAcquisition = 3;
 
+  /**
+   * Claims jobs with <code>SELECT ... FOR UPDATE SKIP LOCKED</code> so that concurrent
+   * acquisitions do not compete for the same jobs. Only applies if no custom
+   * {@link AcquireJobsCommandFactory} is set.
+   */
+  protected boolean acquireJobsWithSkipLocked = false;
+
   // waiting when job acquisition is idle
   protected int waitTimeInMillis = 5 * 1000;
   protected float waitIncreaseFactor = 2;
@@ -97,7 +104,12 @@ public abstract class JobExecutor {
 
   protected void ensureInitialization() {
   if (acquireJobsCmdFactory == null) {
-    acquireJobsCmdFactory =  new DefaultAcquireJobsCommandFactory(this);
+    if (acquireJobsWithSkipLocked) {
+      acquireJobsCmdFactory = new SkipLockedAcquireJobsCommandFactory(this);
+    }
+    else {
+      acquireJobsCmdFactory =  new DefaultAcquireJobsCommandFactory(this);
+    }
   }
     acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this);
   }
@@ -135,6 +147,26 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * @return true if {@link #tryExecuteJobs(List, ProcessEngineImpl)} can hand jobs
+   *   to this job executor from outside of the acquisition thread
+   */
+  public boolean isLocalJobHandoffSupported() {
+    return false;
+  }
+
+  /**
+   * Executes jobs which were not acquired by this job executor but were locked for it
+   * when they were created. May be invoked by any thread. Unlike
+   * {@link #executeJobs(List, ProcessEngineImpl)}, rejected jobs are not passed to
+   * the {@link RejectedJobsHandler} but reported to the caller.
+   *
+   * @return false if the jobs were not accepted for execution
+   */
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    return false;
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -280,6 +312,14 @@ public abstract class JobExecutor {
     this.waitIncreaseFactor = waitIncreaseFactor;
   }
 
+  public boolean isAcquireJobsWithSkipLocked() {
+    return acquireJobsWithSkipLocked;
+  }
+
+  public void setAcquireJobsWithSkipLocked(boolean acquireJobsWithSkipLocked) {
+    this.acquireJobsWithSkipLocked = acquireJobsWithSkipLocked;
+  }
+
   public long getMaxWait() {
     return maxWait;
   }
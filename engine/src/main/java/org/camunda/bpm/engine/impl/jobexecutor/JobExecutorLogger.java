@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -221,4 +222,26 @@ public class JobExecutorLogger extends ProcessEngineLogger {
     return new ProcessEngineException(exceptionMessage("031", "Invalid configuration for job executor priority range. Reason: {}", reason));
   }
 
+  public void debugHandingOverLocalJob(String jobId) {
+    logDebug("032", "Handing over job to the local job executor. Job Id='{}'", jobId);
+  }
+
+  public void debugLocalJobHandoffRejected(String jobId) {
+    logDebug("033", "Local job executor rejected job, unlocking it for acquisition. Job Id='{}'", jobId);
+  }
+
+  public void warnUnlockingRejectedLocalJob(String jobId, Throwable cause) {
+    logWarn("034", "Could not unlock job rejected by the local job executor. The job will be acquired once its lock expires. Job Id='{}'", jobId, cause);
+  }
+
+  public ProcessEngineException virtualThreadsNotSupported(Exception cause) {
+    return new ProcessEngineException(exceptionMessage("035", "Virtual threads are not supported by the current JVM. Java 21 or later is required."), cause);
+  }
+
+  public ProcessEngineException batchJobInstancesFailed(String batchId, List<String> failedIds, int numberOfIds, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "036", "{} of {} ids of a job of batch '{}' failed, the job is retried for these ids: {}. First failure: {}",
+        failedIds.size(), numberOfIds, batchId, failedIds, cause.getMessage()), cause);
+  }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Hands a job which was locked for the local job executor on insert over to the job
+ * executor once the creating transaction is committed, so the job is executed without
+ * being acquired. If the job executor does not accept the job, the job is unlocked and
+ * left to the regular job acquisition.
+ */
+public class LocalJobAddedNotification implements TransactionListener {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected final String jobId;
+  protected final JobExecutor jobExecutor;
+
+  public LocalJobAddedNotification(String jobId, JobExecutor jobExecutor) {
+    this.jobId = jobId;
+    this.jobExecutor = jobExecutor;
+  }
+
+  public void execute(CommandContext commandContext) {
+    LOG.debugHandingOverLocalJob(jobId);
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    ProcessEngineImpl processEngine = processEngineConfiguration.getProcessEngine();
+
+    List<String> jobIds = new ArrayList<String>();
+    jobIds.add(jobId);
+
+    if (!jobExecutor.tryExecuteJobs(jobIds, processEngine)) {
+      LOG.debugLocalJobHandoffRejected(jobId);
+      unlockJob(processEngineConfiguration);
+      jobExecutor.jobWasAdded();
+    }
+  }
+
+  protected void unlockJob(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new UnlockJobCmd(jobId));
+    }
+    catch (ProcessEngineException e) {
+      // e.g. the job was already deleted or unlocked concurrently
+      LOG.warnUnlockingRejectedLocalJob(jobId, e);
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * {@link JobAcquisitionStrategy} limiting the number of jobs to acquire to the execution
+ * permits which are available in a {@link VirtualThreadJobExecutor}. Wait times and
+ * acquisition sizes are otherwise determined by the wrapped strategy.
+ */
+public class PermitLimitedJobAcquisitionStrategy implements JobAcquisitionStrategy {
+
+  public static long DEFAULT_PERMITS_EXHAUSTED_WAIT_TIME = BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME;
+
+  protected JobAcquisitionStrategy delegate;
+  protected VirtualThreadJobExecutor jobExecutor;
+
+  protected boolean permitsExhausted = false;
+  protected long permitsExhaustedWaitTime = DEFAULT_PERMITS_EXHAUSTED_WAIT_TIME;
+
+  public PermitLimitedJobAcquisitionStrategy(JobAcquisitionStrategy delegate, VirtualThreadJobExecutor jobExecutor) {
+    this.delegate = delegate;
+    this.jobExecutor = jobExecutor;
+  }
+
+  @Override
+  public void reconfigure(JobAcquisitionContext context) {
+    delegate.reconfigure(context);
+
+    permitsExhausted = jobExecutor.getAvailablePermits() <= 0;
+    if (permitsExhausted) {
+      jobExecutor.acquisitionWaitingForPermits();
+    }
+  }
+
+  @Override
+  public long getWaitTime() {
+    long waitTime = delegate.getWaitTime();
+    if (permitsExhausted) {
+      // the acquisition is woken up as soon as a permit is released
+      return Math.max(waitTime, permitsExhaustedWaitTime);
+    }
+    else {
+      return waitTime;
+    }
+  }
+
+  @Override
+  public int getNumJobsToAcquire(String processEngine) {
+    return Math.min(delegate.getNumJobsToAcquire(processEngine), jobExecutor.getAvailablePermits());
+  }
+
+}
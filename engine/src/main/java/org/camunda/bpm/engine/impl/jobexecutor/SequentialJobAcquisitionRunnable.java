@@ -22,7 +22,10 @@ import java.util.List;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
 
 
@@ -152,8 +155,8 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       JobAcquisitionContext context,
       JobAcquisitionStrategy acquisitionStrategy,
       ProcessEngineImpl currentProcessEngine) {
-    CommandExecutor commandExecutor = currentProcessEngine.getProcessEngineConfiguration()
-        .getCommandExecutorTxRequired();
+    ProcessEngineConfigurationImpl processEngineConfiguration = currentProcessEngine.getProcessEngineConfiguration();
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
 
     int numJobsToAcquire = acquisitionStrategy.getNumJobsToAcquire(currentProcessEngine.getName());
 
@@ -161,7 +164,12 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
-      acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      long startTime = System.nanoTime();
+      try {
+        acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      } finally {
+        recordLatency(processEngineConfiguration, currentProcessEngine.getName(), startTime);
+      }
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -177,4 +185,11 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     return acquiredJobs;
   }
 
+  protected void recordLatency(ProcessEngineConfigurationImpl processEngineConfiguration, String processEngineName, long startTime) {
+    LatencyMetricsRegistry latencyMetricsRegistry = processEngineConfiguration.getLatencyMetricsRegistry();
+    if (latencyMetricsRegistry != null) {
+      latencyMetricsRegistry.record(LatencyMetrics.JOB_ACQUISITION, processEngineName, System.nanoTime() - startTime);
+    }
+  }
+
 }
@@ -50,6 +50,27 @@ public class ThreadPoolJobExecutor extends JobExecutor {
     }
   }
 
+  @Override
+  public boolean isLocalJobHandoffSupported() {
+    return true;
+  }
+
+  @Override
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (threadPoolExecutor == null || !isActive) {
+      return false;
+    }
+
+    try {
+      threadPoolExecutor.execute(getExecuteJobsRunnable(jobIds, processEngine));
+      return true;
+
+    } catch (RejectedExecutionException e) {
+      logRejectedExecution(processEngine, jobIds.size());
+      return false;
+    }
+  }
+
   // getters / setters
 
   public ThreadPoolExecutor getThreadPoolExecutor() {
@@ -0,0 +1,226 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} executing every batch of jobs on its own virtual thread
+ * (requires Java 21 or later).</p>
+ *
+ * <p>Jobs which block on I/O do not occupy a platform thread, so the number of
+ * concurrently executed jobs is not bound by a thread pool size but by
+ * {@link #getMaxConcurrentJobs()}. Since every executing job holds a database
+ * connection, this limit should not exceed the size of the connection pool.</p>
+ *
+ * <p>The job acquisition never acquires more jobs than there are free execution
+ * permits and is woken up as soon as permits become available again.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected int maxConcurrentJobs = 10;
+  protected String threadNamePrefix = "camunda-job-executor-";
+
+  protected ExecutorService executorService;
+  protected Semaphore permits;
+  protected final AtomicBoolean acquisitionWaitingForPermits = new AtomicBoolean(false);
+
+  /**
+   * @return true if the current JVM supports virtual threads
+   */
+  public static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    }
+    catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  @Override
+  protected void ensureInitialization() {
+    super.ensureInitialization();
+    acquireJobsRunnable = new SequentialJobAcquisitionRunnable(this) {
+      @Override
+      protected JobAcquisitionStrategy initializeAcquisitionStrategy() {
+        return new PermitLimitedJobAcquisitionStrategy(super.initializeAcquisitionStrategy(), VirtualThreadJobExecutor.this);
+      }
+    };
+  }
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      executorService = createVirtualThreadExecutor();
+    }
+    permits = new Semaphore(maxConcurrentJobs);
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if (!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!submitJobs(jobIds, processEngine)) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+    }
+  }
+
+  @Override
+  public boolean isLocalJobHandoffSupported() {
+    return true;
+  }
+
+  @Override
+  public boolean tryExecuteJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (executorService == null || !isActive) {
+      return false;
+    }
+
+    if (!submitJobs(jobIds, processEngine)) {
+      logRejectedExecution(processEngine, jobIds.size());
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return false if no permit is available or the executor service rejected the jobs
+   */
+  protected boolean submitJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!permits.tryAcquire()) {
+      return false;
+    }
+
+    final Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      executorService.execute(new Runnable() {
+        public void run() {
+          try {
+            executeJobsRunnable.run();
+          }
+          finally {
+            releasePermit();
+          }
+        }
+      });
+      return true;
+
+    } catch (RejectedExecutionException e) {
+      releasePermit();
+      return false;
+    }
+  }
+
+  protected void releasePermit() {
+    permits.release();
+
+    if (acquisitionWaitingForPermits.compareAndSet(true, false)) {
+      AcquireJobsRunnable acquisition = acquireJobsRunnable;
+      if (acquisition != null) {
+        acquisition.jobWasAdded();
+      }
+    }
+  }
+
+  /**
+   * @return the number of job batches which can currently be submitted for execution
+   */
+  public int getAvailablePermits() {
+    Semaphore currentPermits = permits;
+    return currentPermits != null ? currentPermits.availablePermits() : maxConcurrentJobs;
+  }
+
+  /**
+   * Signals that the acquisition is waiting until job executions complete.
+   */
+  protected void acquisitionWaitingForPermits() {
+    acquisitionWaitingForPermits.set(true);
+    if (getAvailablePermits() > 0 && acquisitionWaitingForPermits.compareAndSet(true, false)) {
+      // a permit was released concurrently, do not wait for the next release
+      acquireJobsRunnable.jobWasAdded();
+    }
+  }
+
+  protected ExecutorService createVirtualThreadExecutor() {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        .invoke(null, threadFactory);
+    }
+    catch (ReflectiveOperationException e) {
+      throw LOG.virtualThreadsNotSupported(e);
+    }
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  /**
+   * @param maxConcurrentJobs the maximum number of job batches executed at the same time.
+   *   Should be sized to the capacity of the database connection pool.
+   */
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public String getThreadNamePrefix() {
+    return threadNamePrefix;
+  }
+
+  public void setThreadNamePrefix(String threadNamePrefix) {
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+}
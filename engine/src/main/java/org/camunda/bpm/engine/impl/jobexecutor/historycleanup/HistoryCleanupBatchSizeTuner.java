@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Adapts the batch size of the history cleanup per table, so that a delete statement
+ * takes about the target duration:</p>
+ *
+ * <ul>
+ *   <li>After each statement, the batch size of the table is scaled by the ratio of the
+ *   target duration and the measured duration, by at most a factor of two in each
+ *   direction.</li>
+ *   <li>The batch size only grows if the statement deleted a full batch; a statement which
+ *   drained the table doesn't tell whether a larger batch would stay within the target.</li>
+ * </ul>
+ *
+ * <p>The batch sizes are kept in memory and start at the configured history cleanup
+ * batch size after an engine restart.</p>
+ */
+public class HistoryCleanupBatchSizeTuner {
+
+  protected static final double MAX_GROWTH_FACTOR = 2.0;
+  protected static final double MAX_SHRINK_FACTOR = 0.5;
+
+  protected int initialBatchSize;
+  protected int maxBatchSize;
+  protected long targetDurationInNanos;
+
+  protected ConcurrentMap<String, TableState> tables = new ConcurrentHashMap<>();
+
+  public HistoryCleanupBatchSizeTuner(int initialBatchSize, int maxBatchSize, long targetDurationInMillis) {
+    this.initialBatchSize = initialBatchSize;
+    this.maxBatchSize = maxBatchSize;
+    this.targetDurationInNanos = targetDurationInMillis * 1_000_000;
+  }
+
+  public int getBatchSize(String table) {
+    TableState state = tables.get(table);
+    if (state == null) {
+      return initialBatchSize;
+    }
+    synchronized (state) {
+      return state.batchSize;
+    }
+  }
+
+  /**
+   * Records a delete statement and adapts the batch size of the table.
+   */
+  public void record(String table, int batchSize, int deletedRows, long durationInNanos) {
+    TableState state = tables.computeIfAbsent(table, key -> new TableState(initialBatchSize));
+
+    synchronized (state) {
+      state.statements++;
+      state.deletedRows += deletedRows;
+      state.durationInNanos += durationInNanos;
+
+      double factor = durationInNanos > 0 ? (double) targetDurationInNanos / durationInNanos : MAX_GROWTH_FACTOR;
+      factor = Math.max(MAX_SHRINK_FACTOR, Math.min(MAX_GROWTH_FACTOR, factor));
+
+      if (factor > 1 && deletedRows < batchSize) {
+        factor = 1;
+      }
+
+      long newBatchSize = Math.round(batchSize * factor);
+      state.batchSize = (int) Math.max(1, Math.min(maxBatchSize, newBatchSize));
+    }
+  }
+
+  /**
+   * @return the statistics of all tables the cleanup deleted from, by table name
+   */
+  public Map<String, HistoryCleanupTableStatistics> getStatistics() {
+    Map<String, HistoryCleanupTableStatistics> statistics = new TreeMap<>();
+    for (Map.Entry<String, TableState> entry : tables.entrySet()) {
+      TableState state = entry.getValue();
+      synchronized (state) {
+        statistics.put(entry.getKey(), new HistoryCleanupTableStatistics(entry.getKey(), state.batchSize,
+            state.statements, state.deletedRows, state.durationInNanos));
+      }
+    }
+    return statistics;
+  }
+
+  public void reset() {
+    tables.clear();
+  }
+
+  public int getInitialBatchSize() {
+    return initialBatchSize;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public long getTargetDurationInMillis() {
+    return targetDurationInNanos / 1_000_000;
+  }
+
+  protected static class TableState {
+
+    protected int batchSize;
+    protected long statements;
+    protected long deletedRows;
+    protected long durationInNanos;
+
+    public TableState(int batchSize) {
+      this.batchSize = batchSize;
+    }
+  }
+
+}
@@ -53,7 +53,11 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
     HistoryCleanupHandler cleanupHandler = null;
 
     if (isHistoryCleanupStrategyRemovalTimeBased(commandContext)) {
-      cleanupHandler = new HistoryCleanupRemovalTime();
+      if (commandContext.getProcessEngineConfiguration().isHistoryCleanupAdaptiveEnabled()) {
+        cleanupHandler = new HistoryCleanupRemovalTimeAdaptive();
+      } else {
+        cleanupHandler = new HistoryCleanupRemovalTime();
+      }
     } else {
       cleanupHandler = new HistoryCleanupBatch();
     }
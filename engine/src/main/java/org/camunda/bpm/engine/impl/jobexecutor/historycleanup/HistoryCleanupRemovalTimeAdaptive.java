@@ -0,0 +1,182 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
+
+/**
+ * <p>Removal-time based history cleanup which deletes from the history tables in
+ * parallel instead of in the transaction of the cleanup job:</p>
+ *
+ * <ul>
+ *   <li>Each delete statement is executed and committed in its own transaction, so a
+ *   slow table doesn't hold the locks on all other tables.</li>
+ *   <li>The batch size of each table is adapted by the {@link HistoryCleanupBatchSizeTuner},
+ *   so that a statement takes about the configured target duration.</li>
+ * </ul>
+ *
+ * <p>The history tables don't reference each other, so the statements don't need to
+ * be executed in order.</p>
+ */
+public class HistoryCleanupRemovalTimeAdaptive extends HistoryCleanupRemovalTime {
+
+  protected Map<DbOperation, Integer> batchSizes = new IdentityHashMap<>();
+
+  @Override
+  public void performCleanup() {
+    super.performCleanup();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    DbOperationManager dbOperationManager = Context.getCommandContext()
+        .getDbEntityManager()
+        .getDbOperationManager();
+
+    List<Callable<Void>> deletes = new ArrayList<>();
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      DbBulkOperation bulkOperation = (DbBulkOperation) deleteOperation;
+      dbOperationManager.removeOperation(bulkOperation);
+
+      String table = getTableName(bulkOperation.getEntityType());
+      int batchSize = processEngineConfiguration.getHistoryCleanupBatchSizeTuner().getBatchSize(table);
+      batchSizes.put(bulkOperation, batchSize);
+
+      deletes.add(() -> {
+        executeDelete(processEngineConfiguration, bulkOperation, table, batchSize);
+        return null;
+      });
+    }
+
+    executeInParallel(deletes, processEngineConfiguration.getHistoryCleanupTableExecutor());
+  }
+
+  protected void executeDelete(ProcessEngineConfigurationImpl processEngineConfiguration,
+                               DbBulkOperation bulkOperation,
+                               String table,
+                               int batchSize) {
+    Class<? extends DbEntity> entityType = bulkOperation.getEntityType();
+    String statement = bulkOperation.getStatement();
+    Object parameter = withBatchSize(bulkOperation.getParameter(), batchSize);
+
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequiresNew();
+
+    long start = System.nanoTime();
+    DbBulkOperation executedOperation = commandExecutor.execute(commandContext -> commandContext
+        .getDbEntityManager()
+        .deletePreserveOrder(entityType, statement, parameter));
+    long duration = System.nanoTime() - start;
+
+    int rowsAffected = executedOperation.getRowsAffected();
+    bulkOperation.setRowsAffected(rowsAffected);
+
+    processEngineConfiguration.getHistoryCleanupBatchSizeTuner().record(table, batchSize, rowsAffected, duration);
+
+    LatencyMetricsRegistry latencyMetricsRegistry = processEngineConfiguration.getLatencyMetricsRegistry();
+    if (latencyMetricsRegistry != null) {
+      latencyMetricsRegistry.record(LatencyMetrics.HISTORY_CLEANUP_DELETE, table, duration);
+    }
+  }
+
+  /**
+   * The parameter maps are shared between the statements of some tables,
+   * so the batch size is applied to a copy.
+   */
+  @SuppressWarnings("unchecked")
+  protected Object withBatchSize(Object parameter, int batchSize) {
+    if (!(parameter instanceof ListQueryParameterObject)) {
+      return parameter;
+    }
+
+    ListQueryParameterObject listQueryParameter = (ListQueryParameterObject) parameter;
+    Object parameterValue = listQueryParameter.getParameter();
+
+    if (parameterValue instanceof Map) {
+      Map<String, Object> parameters = new HashMap<>((Map<String, Object>) parameterValue);
+      if (parameters.containsKey("batchSize")) {
+        parameters.put("batchSize", batchSize);
+      }
+      parameterValue = parameters;
+    }
+
+    return new ListQueryParameterObject(parameterValue, listQueryParameter.getFirstResult(), batchSize);
+  }
+
+  protected void executeInParallel(List<Callable<Void>> deletes, ExecutorService executorService) {
+    RuntimeException failure = null;
+    try {
+      for (Future<Void> future : executorService.invokeAll(deletes)) {
+        try {
+          future.get();
+        }
+        catch (ExecutionException e) {
+          if (failure == null) {
+            Throwable cause = e.getCause();
+            failure = cause instanceof RuntimeException
+                ? (RuntimeException) cause
+                : new ProcessEngineException(cause);
+          }
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = new ProcessEngineException("Interrupted while deleting history", e);
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  protected boolean shouldRescheduleNow() {
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      Integer batchSize = batchSizes.get(deleteOperation);
+      if (batchSize != null && deleteOperation.getRowsAffected() >= batchSize) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  protected String getTableName(Class<? extends DbEntity> entityType) {
+    String tableName = TableDataManager.persistentObjectToTableNameMap.get(entityType);
+    return tableName != null ? tableName : entityType.getSimpleName();
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
+
+/**
+ * Statistics of the adaptive history cleanup for one table, cumulative since the
+ * process engine was started.
+ */
+public class HistoryCleanupTableStatistics {
+
+  protected String table;
+  protected int batchSize;
+  protected long statements;
+  protected long deletedRows;
+  protected long durationInNanos;
+
+  public HistoryCleanupTableStatistics(String table, int batchSize, long statements, long deletedRows, long durationInNanos) {
+    this.table = table;
+    this.batchSize = batchSize;
+    this.statements = statements;
+    this.deletedRows = deletedRows;
+    this.durationInNanos = durationInNanos;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  /**
+   * @return the batch size used for the next delete statement
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getStatements() {
+    return statements;
+  }
+
+  public long getDeletedRows() {
+    return deletedRows;
+  }
+
+  public long getDurationInMillis() {
+    return durationInNanos / 1_000_000;
+  }
+
+  /**
+   * @return the number of rows deleted per second of statement execution
+   */
+  public double getRowsPerSecond() {
+    if (durationInNanos == 0) {
+      return 0;
+    }
+    return deletedRows * 1_000_000_000.0 / durationInNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "HistoryCleanupTableStatistics["
+        + "table=" + table
+        + ", batchSize=" + batchSize
+        + ", statements=" + statements
+        + ", deletedRows=" + deletedRows
+        + ", durationInMillis=" + getDurationInMillis()
+        + "]";
+  }
+
+}
@@ -32,6 +32,10 @@ public class AstDot extends AstProperty {
 		return property;
 	}
 
+	public String getPropertyName() {
+		return property;
+	}
+
 	@Override
 	public String toString() {
 		return ". " + property;
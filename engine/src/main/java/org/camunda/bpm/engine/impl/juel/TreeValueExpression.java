@@ -204,6 +204,21 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 		return "TreeValueExpression(" + expr + ")";
 	}
 
+	/**
+	 * @return the root node of the parse tree
+	 */
+	public ExpressionNode getRoot() {
+		return node;
+	}
+
+	/**
+	 * @return the function and variable bindings of this expression, which also
+	 * perform the type conversions
+	 */
+	public Bindings getBindings() {
+		return bindings;
+	}
+
 	/**
 	 * Print the parse tree.
 	 * @param writer
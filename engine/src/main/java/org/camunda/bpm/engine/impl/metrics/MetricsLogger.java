@@ -32,4 +32,9 @@ public class MetricsLogger extends ProcessEngineLogger {
         "001", "Could not collect and log metrics", e);
   }
 
+  public void couldNotExportLatencyMetrics(String exporter, Exception e) {
+    logWarn(
+        "002", "Could not export latency metrics with exporter '{}'", exporter, e);
+  }
+
 }
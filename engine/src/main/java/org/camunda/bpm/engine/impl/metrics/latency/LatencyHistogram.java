@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A latency histogram with fixed buckets. Each bucket is a striped
+ * {@link LongAdder}, so concurrent threads recording a latency do not contend on
+ * a single counter and recording does not allocate.</p>
+ *
+ * <p>Buckets are cumulative only in the {@link #snapshot() snapshot}; recording
+ * increments exactly one bucket.</p>
+ */
+public class LatencyHistogram {
+
+  protected final String name;
+  protected final String label;
+
+  /** inclusive upper bounds of the buckets in nanoseconds, in ascending order */
+  protected final long[] bucketBounds;
+
+  /** one counter per bound plus one for latencies above the highest bound */
+  protected final LongAdder[] bucketCounts;
+
+  protected final LongAdder sum = new LongAdder();
+
+  public LatencyHistogram(String name, String label, long[] bucketBounds) {
+    this.name = name;
+    this.label = label;
+    this.bucketBounds = bucketBounds;
+
+    bucketCounts = new LongAdder[bucketBounds.length + 1];
+    for (int i = 0; i < bucketCounts.length; i++) {
+      bucketCounts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * @param latencyInNanos the latency to record, as measured with {@link System#nanoTime()}
+   */
+  public void record(long latencyInNanos) {
+    bucketCounts[bucketIndex(latencyInNanos)].increment();
+    sum.add(latencyInNanos);
+  }
+
+  protected int bucketIndex(long latencyInNanos) {
+    int index = Arrays.binarySearch(bucketBounds, latencyInNanos);
+    // not found: binarySearch returns (-(insertion point) - 1)
+    return index >= 0 ? index : -index - 1;
+  }
+
+  public LatencyHistogramSnapshot snapshot() {
+    long[] cumulativeCounts = new long[bucketCounts.length];
+    long cumulativeCount = 0;
+    for (int i = 0; i < bucketCounts.length; i++) {
+      cumulativeCount += bucketCounts[i].sum();
+      cumulativeCounts[i] = cumulativeCount;
+    }
+
+    // the total count is the count of the last, unbounded bucket
+    return new LatencyHistogramSnapshot(name, label, bucketBounds, cumulativeCounts, cumulativeCount, sum.sum());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucketCount : bucketCounts) {
+      count += bucketCount.sum();
+    }
+    return count;
+  }
+
+}
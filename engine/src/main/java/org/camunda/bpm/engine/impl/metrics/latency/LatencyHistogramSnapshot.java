@@ -0,0 +1,93 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+/**
+ * An immutable view of a {@link LatencyHistogram} at one point in time.
+ * Bucket counts are cumulative, i.e. the count of a bucket includes all
+ * latencies less than or equal to its bound.
+ */
+public class LatencyHistogramSnapshot {
+
+  protected final String name;
+  protected final String label;
+  protected final long[] bucketBounds;
+  protected final long[] cumulativeBucketCounts;
+  protected final long count;
+  protected final long sum;
+
+  public LatencyHistogramSnapshot(String name, String label, long[] bucketBounds, long[] cumulativeBucketCounts, long count, long sum) {
+    this.name = name;
+    this.label = label;
+    this.bucketBounds = bucketBounds;
+    this.cumulativeBucketCounts = cumulativeBucketCounts;
+    this.count = count;
+    this.sum = sum;
+  }
+
+  /**
+   * @return the name of the metric, see {@link LatencyMetrics}
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return what the latencies were recorded for, e.g. the command class or the job handler type;
+   * <code>null</code> if the metric has a single histogram
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * @return the inclusive upper bounds of the buckets in nanoseconds
+   */
+  public long[] getBucketBounds() {
+    return bucketBounds.clone();
+  }
+
+  /**
+   * @return the cumulative count per bucket; the array has one element more
+   * than the bounds for the latencies above the highest bound
+   */
+  public long[] getCumulativeBucketCounts() {
+    return cumulativeBucketCounts.clone();
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the sum of all recorded latencies in nanoseconds
+   */
+  public long getSum() {
+    return sum;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[name=" + name
+        + ", label=" + label
+        + ", count=" + count
+        + ", sum=" + sum
+        + "]";
+  }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+/**
+ * Names of the latency metrics recorded by the process engine.
+ */
+public class LatencyMetrics {
+
+  /**
+   * Execution time of a command including flush and commit, labeled with the command class.
+   * Only commands which open a new command context are recorded; nested commands are part
+   * of the latency of the outer command.
+   */
+  public static final String COMMAND_EXECUTION = "command-execution";
+
+  /**
+   * Time to flush the entity cache and the database operations of a command context.
+   */
+  public static final String DB_FLUSH = "db-flush";
+
+  /**
+   * Execution time of a job by the job executor, labeled with the job handler type.
+   */
+  public static final String JOB_EXECUTION = "job-execution";
+
+  /**
+   * Time of one job acquisition of the job executor, labeled with the process engine name.
+   */
+  public static final String JOB_ACQUISITION = "job-acquisition";
+
+  /**
+   * Time of one delete statement of the adaptive history cleanup including its commit,
+   * labeled with the table name.
+   */
+  public static final String HISTORY_CLEANUP_DELETE = "history-cleanup-delete";
+
+  /**
+   * @return the name of the label of the given metric in the text exposition format
+   */
+  public static String getLabelName(String metricName) {
+    switch (metricName) {
+      case COMMAND_EXECUTION:
+        return "command";
+      case JOB_EXECUTION:
+        return "job_handler_type";
+      case JOB_ACQUISITION:
+        return "process_engine";
+      case HISTORY_CLEANUP_DELETE:
+        return "table";
+      default:
+        return "label";
+    }
+  }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+import java.util.List;
+
+/**
+ * <p>Exports the latency histograms of the process engine to a monitoring system.
+ * Exporters are invoked periodically by the {@link LatencyMetricsReporter} with a
+ * snapshot of all histograms; the counts in the snapshots are cumulative since the
+ * engine was started.</p>
+ *
+ * <p>Exporters are configured with
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setLatencyMetricsExporters(List)}.</p>
+ */
+public interface LatencyMetricsExporter {
+
+  void export(List<LatencyHistogramSnapshot> snapshots);
+
+}
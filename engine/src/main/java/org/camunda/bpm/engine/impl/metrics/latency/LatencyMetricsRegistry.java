@@ -0,0 +1,149 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * <p>Holds the {@link LatencyHistogram}s of the process engine, one per metric
+ * name and label. A histogram is created when the first latency is recorded for
+ * its label; afterwards recording a latency only performs map lookups and does
+ * not allocate.</p>
+ *
+ * <p>Labels are compared by identity or equality, so a class object (e.g. the class
+ * of a command) can be used as label without creating its name on each call.</p>
+ */
+public class LatencyMetricsRegistry {
+
+  public static final long[] DEFAULT_BUCKET_BOUNDS = {
+      TimeUnit.MICROSECONDS.toNanos(500),
+      TimeUnit.MILLISECONDS.toNanos(1),
+      TimeUnit.MICROSECONDS.toNanos(2500),
+      TimeUnit.MILLISECONDS.toNanos(5),
+      TimeUnit.MILLISECONDS.toNanos(10),
+      TimeUnit.MILLISECONDS.toNanos(25),
+      TimeUnit.MILLISECONDS.toNanos(50),
+      TimeUnit.MILLISECONDS.toNanos(100),
+      TimeUnit.MILLISECONDS.toNanos(250),
+      TimeUnit.MILLISECONDS.toNanos(500),
+      TimeUnit.SECONDS.toNanos(1),
+      TimeUnit.MILLISECONDS.toNanos(2500),
+      TimeUnit.SECONDS.toNanos(5),
+      TimeUnit.SECONDS.toNanos(10)
+  };
+
+  protected static final Object NO_LABEL = new Object();
+
+  protected final long[] bucketBounds;
+
+  protected final ConcurrentMap<String, ConcurrentMap<Object, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+  public LatencyMetricsRegistry() {
+    this(DEFAULT_BUCKET_BOUNDS);
+  }
+
+  /**
+   * @param bucketBounds the inclusive upper bounds of the histogram buckets in nanoseconds
+   */
+  public LatencyMetricsRegistry(long[] bucketBounds) {
+    ensureNotNull("bucketBounds", bucketBounds);
+    for (int i = 1; i < bucketBounds.length; i++) {
+      if (bucketBounds[i - 1] >= bucketBounds[i]) {
+        throw new ProcessEngineException("Bucket bounds of latency histograms must be in strictly ascending order");
+      }
+    }
+    this.bucketBounds = bucketBounds.clone();
+  }
+
+  /**
+   * Records a latency which was measured with {@link System#nanoTime()}.
+   *
+   * @param name the name of the metric, see {@link LatencyMetrics}
+   * @param label what the latency is recorded for; may be <code>null</code>
+   */
+  public void record(String name, Object label, long latencyInNanos) {
+    getHistogram(name, label).record(latencyInNanos);
+  }
+
+  public LatencyHistogram getHistogram(String name, Object label) {
+    ConcurrentMap<Object, LatencyHistogram> histogramsByLabel = histograms.get(name);
+    if (histogramsByLabel == null) {
+      histogramsByLabel = histograms.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    }
+
+    Object labelKey = label != null ? label : NO_LABEL;
+    LatencyHistogram histogram = histogramsByLabel.get(labelKey);
+    if (histogram == null) {
+      histogram = histogramsByLabel.computeIfAbsent(labelKey, key -> new LatencyHistogram(name, getLabelValue(label), bucketBounds));
+    }
+    return histogram;
+  }
+
+  protected String getLabelValue(Object label) {
+    if (label == null) {
+      return null;
+    } else if (label instanceof Class) {
+      return ((Class<?>) label).getName();
+    } else {
+      return label.toString();
+    }
+  }
+
+  /**
+   * @return a snapshot of all histograms
+   */
+  public List<LatencyHistogramSnapshot> snapshot() {
+    List<LatencyHistogramSnapshot> snapshots = new ArrayList<>();
+    for (ConcurrentMap<Object, LatencyHistogram> histogramsByLabel : histograms.values()) {
+      for (LatencyHistogram histogram : histogramsByLabel.values()) {
+        snapshots.add(histogram.snapshot());
+      }
+    }
+    return snapshots;
+  }
+
+  /**
+   * @return a snapshot of the histograms of the given metric
+   */
+  public List<LatencyHistogramSnapshot> snapshot(String name) {
+    List<LatencyHistogramSnapshot> snapshots = new ArrayList<>();
+    ConcurrentMap<Object, LatencyHistogram> histogramsByLabel = histograms.get(name);
+    if (histogramsByLabel != null) {
+      for (LatencyHistogram histogram : histogramsByLabel.values()) {
+        snapshots.add(histogram.snapshot());
+      }
+    }
+    return snapshots;
+  }
+
+  public void clear() {
+    histograms.clear();
+  }
+
+  public long[] getBucketBounds() {
+    return bucketBounds.clone();
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+
+/**
+ * Periodically passes a snapshot of the latency histograms to the configured
+ * {@link LatencyMetricsExporter}s.
+ */
+public class LatencyMetricsReporter {
+
+  private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  protected LatencyMetricsRegistry latencyMetricsRegistry;
+  protected List<LatencyMetricsExporter> exporters;
+  protected long exportIntervalInMillis;
+
+  protected Timer timer;
+
+  public LatencyMetricsReporter(LatencyMetricsRegistry latencyMetricsRegistry, List<LatencyMetricsExporter> exporters, long exportIntervalInMillis) {
+    this.latencyMetricsRegistry = latencyMetricsRegistry;
+    this.exporters = exporters;
+    this.exportIntervalInMillis = exportIntervalInMillis;
+  }
+
+  public synchronized void start() {
+    if (timer == null) {
+      timer = new Timer("Camunda Latency Metrics Reporter", true);
+      timer.scheduleAtFixedRate(new LatencyMetricsExportTask(), exportIntervalInMillis, exportIntervalInMillis);
+    }
+  }
+
+  public synchronized void stop() {
+    if (timer != null) {
+      timer.cancel();
+      timer = null;
+      // export for the last time
+      reportNow();
+    }
+  }
+
+  public void reportNow() {
+    List<LatencyHistogramSnapshot> snapshots = latencyMetricsRegistry.snapshot();
+    for (LatencyMetricsExporter exporter : exporters) {
+      try {
+        exporter.export(snapshots);
+      }
+      catch (Exception e) {
+        try {
+          LOG.couldNotExportLatencyMetrics(exporter.getClass().getName(), e);
+        }
+        catch (Exception ex) {
+          // ignore if log can't be written
+        }
+      }
+    }
+  }
+
+  public LatencyMetricsRegistry getLatencyMetricsRegistry() {
+    return latencyMetricsRegistry;
+  }
+
+  public List<LatencyMetricsExporter> getExporters() {
+    return exporters;
+  }
+
+  public long getExportIntervalInMillis() {
+    return exportIntervalInMillis;
+  }
+
+  protected class LatencyMetricsExportTask extends TimerTask {
+
+    @Override
+    public void run() {
+      reportNow();
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.latency;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>Writes latency histogram snapshots in the Prometheus text exposition format, e.g.</p>
+ *
+ * <pre>
+ * # TYPE camunda_command_execution_seconds histogram
+ * camunda_command_execution_seconds_bucket{command="...StartProcessInstanceCmd",le="0.0005"} 0
+ * ...
+ * camunda_command_execution_seconds_bucket{command="...StartProcessInstanceCmd",le="+Inf"} 12
+ * camunda_command_execution_seconds_sum{command="...StartProcessInstanceCmd"} 0.083
+ * camunda_command_execution_seconds_count{command="...StartProcessInstanceCmd"} 12
+ * </pre>
+ */
+public class LatencyMetricsTextFormat {
+
+  public static final String METRIC_NAME_PREFIX = "camunda_";
+  public static final String METRIC_NAME_SUFFIX = "_seconds";
+
+  public static String format(List<LatencyHistogramSnapshot> snapshots) {
+    StringBuilder builder = new StringBuilder();
+    write(builder, snapshots);
+    return builder.toString();
+  }
+
+  public static void write(StringBuilder builder, List<LatencyHistogramSnapshot> snapshots) {
+    List<LatencyHistogramSnapshot> sortedSnapshots = new ArrayList<>(snapshots);
+    sortedSnapshots.sort(Comparator.comparing(LatencyHistogramSnapshot::getName)
+        .thenComparing(LatencyHistogramSnapshot::getLabel, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+    String currentName = null;
+    for (LatencyHistogramSnapshot snapshot : sortedSnapshots) {
+      String metricName = metricName(snapshot.getName());
+      if (!snapshot.getName().equals(currentName)) {
+        currentName = snapshot.getName();
+        builder.append("# TYPE ").append(metricName).append(" histogram\n");
+      }
+      writeHistogram(builder, metricName, snapshot);
+    }
+  }
+
+  protected static void writeHistogram(StringBuilder builder, String metricName, LatencyHistogramSnapshot snapshot) {
+    String label = null;
+    if (snapshot.getLabel() != null) {
+      label = LatencyMetrics.getLabelName(snapshot.getName()) + "=\"" + escapeLabelValue(snapshot.getLabel()) + "\"";
+    }
+
+    long[] bucketBounds = snapshot.getBucketBounds();
+    long[] cumulativeBucketCounts = snapshot.getCumulativeBucketCounts();
+    for (int i = 0; i < cumulativeBucketCounts.length; i++) {
+      String bound = i < bucketBounds.length ? toSeconds(bucketBounds[i]) : "+Inf";
+
+      builder.append(metricName).append("_bucket{");
+      if (label != null) {
+        builder.append(label).append(',');
+      }
+      builder.append("le=\"").append(bound).append("\"} ").append(cumulativeBucketCounts[i]).append('\n');
+    }
+
+    builder.append(metricName).append("_sum");
+    appendLabel(builder, label);
+    builder.append(' ').append(toSeconds(snapshot.getSum())).append('\n');
+
+    builder.append(metricName).append("_count");
+    appendLabel(builder, label);
+    builder.append(' ').append(snapshot.getCount()).append('\n');
+  }
+
+  protected static void appendLabel(StringBuilder builder, String label) {
+    if (label != null) {
+      builder.append('{').append(label).append('}');
+    }
+  }
+
+  protected static String metricName(String name) {
+    return METRIC_NAME_PREFIX + name.replace('-', '_') + METRIC_NAME_SUFFIX;
+  }
+
+  protected static String toSeconds(long nanos) {
+    return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+  }
+
+  protected static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\")
+        .replace("\"", "\\\"")
+        .replace("\n", "\\n");
+  }
+
+}
@@ -81,6 +81,11 @@ public class MigrationBatchJobHandler extends AbstractBatchJobHandler<MigrationB
     }
   }
 
+  @Override
+  protected boolean isInstanceIsolationSupported() {
+    return true;
+  }
+
   @Override
   public void executeHandler(MigrationBatchConfiguration batchConfiguration,
                              ExecutionEntity execution,
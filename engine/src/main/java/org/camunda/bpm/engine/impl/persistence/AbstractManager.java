@@ -55,6 +55,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricJobLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
@@ -203,6 +204,10 @@ public abstract class AbstractManager implements Session {
     return getSession(HistoricExternalTaskLogManager.class);
   }
 
+  protected HistoryEventOutboxManager getHistoryEventOutboxManager() {
+    return getSession(HistoryEventOutboxManager.class);
+  }
+
   protected JobManager getJobManager() {
     return getSession(JobManager.class);
   }
@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * Snapshot of the statistics of a {@link WeightedTinyLfuCache}. Counts are
+ * cumulative since the cache was created.
+ */
+public class CacheStatistics {
+
+  protected long hitCount;
+  protected long missCount;
+  protected long evictionCount;
+  protected int size;
+  protected long weight;
+  protected long maxWeight;
+
+  public CacheStatistics(long hitCount, long missCount, long evictionCount, int size, long weight, long maxWeight) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.size = size;
+    this.weight = weight;
+    this.maxWeight = maxWeight;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * @return the number of entries removed to stay within the maximum weight, including
+   * entries which were rejected by the admission policy
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public long getWeight() {
+    return weight;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStatistics["
+        + "hitCount=" + hitCount
+        + ", missCount=" + missCount
+        + ", evictionCount=" + evictionCount
+        + ", size=" + size
+        + ", weight=" + weight
+        + ", maxWeight=" + maxWeight
+        + "]";
+  }
+
+}
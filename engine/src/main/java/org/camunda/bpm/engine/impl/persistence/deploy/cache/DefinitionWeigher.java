@@ -0,0 +1,91 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.engine.impl.core.model.CoreActivity;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.instance.DomElement;
+
+/**
+ * <p>Weighs deployed definitions and model instances by the number of elements
+ * they consist of:</p>
+ *
+ * <ul>
+ *   <li>model instances by the number of XML elements of their document,</li>
+ *   <li>process and case definitions by the number of (nested) activities,</li>
+ *   <li>decision definitions with a decision table by the number of rules.</li>
+ * </ul>
+ *
+ * <p>All other values weigh <code>1</code>. The weight is computed once when an
+ * entry is added to the cache.</p>
+ */
+public class DefinitionWeigher implements CacheEntryWeigher {
+
+  @Override
+  public int weigh(Object value) {
+    long weight = 1;
+
+    if (value instanceof ModelInstance) {
+      weight = countElements(((ModelInstance) value).getDocument().getRootElement());
+    }
+    else if (value instanceof CoreActivity) {
+      weight = countActivities((CoreActivity) value);
+    }
+    else if (value instanceof DmnDecisionImpl) {
+      Object decisionLogic = ((DmnDecisionImpl) value).getDecisionLogic();
+      if (decisionLogic instanceof DmnDecisionTableImpl) {
+        weight += ((DmnDecisionTableImpl) decisionLogic).getRules().size();
+      }
+    }
+
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(1, weight));
+  }
+
+  protected long countElements(DomElement rootElement) {
+    long count = 0;
+    Deque<DomElement> elements = new ArrayDeque<>();
+    elements.push(rootElement);
+    while (!elements.isEmpty()) {
+      DomElement element = elements.pop();
+      count++;
+      for (DomElement childElement : element.getChildElements()) {
+        elements.push(childElement);
+      }
+    }
+    return count;
+  }
+
+  protected long countActivities(CoreActivity scope) {
+    long count = 0;
+    Deque<CoreActivity> activities = new ArrayDeque<>();
+    activities.push(scope);
+    while (!activities.isEmpty()) {
+      CoreActivity activity = activities.pop();
+      count++;
+      for (CoreActivity childActivity : activity.getActivities()) {
+        activities.push(childActivity);
+      }
+    }
+    return count;
+  }
+
+}
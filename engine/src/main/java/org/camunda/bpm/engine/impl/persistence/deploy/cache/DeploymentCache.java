@@ -34,7 +34,9 @@ import org.camunda.bpm.model.cmmn.CmmnModelInstance;
 import org.camunda.bpm.model.dmn.DmnModelInstance;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -321,6 +323,29 @@ public class DeploymentCache {
     return caseDefinitionCache.getCache();
   }
 
+  /**
+   * @return the statistics of all caches which record statistics, i.e. which are
+   * created by a {@link WeightedCacheFactory}, by the name of the cache
+   */
+  public Map<String, CacheStatistics> getCacheStatistics() {
+    Map<String, CacheStatistics> statistics = new LinkedHashMap<>();
+    addCacheStatistics(statistics, "processDefinition", getProcessDefinitionCache());
+    addCacheStatistics(statistics, "bpmnModelInstance", getBpmnModelInstanceCache());
+    addCacheStatistics(statistics, "caseDefinition", getCaseDefinitionCache());
+    addCacheStatistics(statistics, "cmmnModelInstance", getCmmnModelInstanceCache());
+    addCacheStatistics(statistics, "decisionDefinition", getDecisionDefinitionCache());
+    addCacheStatistics(statistics, "decisionRequirementsDefinition", getDecisionRequirementsDefinitionCache());
+    addCacheStatistics(statistics, "dmnModelInstance", getDmnDefinitionCache());
+    addCacheStatistics(statistics, "camundaFormDefinition", camundaFormDefinitionCache.getCache());
+    return statistics;
+  }
+
+  protected void addCacheStatistics(Map<String, CacheStatistics> statistics, String name, Cache<String, ?> cache) {
+    if (cache instanceof WeightedTinyLfuCache) {
+      statistics.put(name, ((WeightedTinyLfuCache<String, ?>) cache).getStatistics());
+    }
+  }
+
   public void setDeployers(List<Deployer> deployers) {
     this.cacheDeployer.setDeployers(deployers);
   }
@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.repository.ResourceDefinition;
+
+/**
+ * <p>Loads the latest version of every active process definition, and the latest
+ * version of every case and decision definition, into the deployment cache. The
+ * definitions are loaded in parallel, each one in its own command.</p>
+ *
+ * <p>Definitions which can't be loaded are logged and skipped; they are loaded
+ * again on their first use.</p>
+ */
+public class DeploymentCacheWarmup {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected int numberOfThreads;
+
+  public DeploymentCacheWarmup(CommandExecutor commandExecutor, int numberOfThreads) {
+    this.commandExecutor = commandExecutor;
+    this.numberOfThreads = numberOfThreads;
+  }
+
+  public void warmUp() {
+    long start = System.currentTimeMillis();
+
+    List<Callable<Void>> tasks = new ArrayList<>();
+    addTasks(tasks, new ProcessDefinitionQueryImpl(commandExecutor).latestVersion().active().list(),
+        DeploymentCache::findDeployedProcessDefinitionById);
+    addTasks(tasks, new CaseDefinitionQueryImpl(commandExecutor).latestVersion().list(),
+        DeploymentCache::findDeployedCaseDefinitionById);
+    addTasks(tasks, new DecisionDefinitionQueryImpl(commandExecutor).latestVersion().list(),
+        DeploymentCache::findDeployedDecisionDefinitionById);
+
+    if (tasks.isEmpty()) {
+      return;
+    }
+
+    int loadedDefinitions = 0;
+    ExecutorService executorService = Executors.newFixedThreadPool(Math.min(numberOfThreads, tasks.size()), new WarmupThreadFactory());
+    try {
+      for (Future<Void> future : executorService.invokeAll(tasks)) {
+        try {
+          future.get();
+          loadedDefinitions++;
+        }
+        catch (ExecutionException e) {
+          // already logged by the task
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    LOG.deploymentCacheWarmedUp(loadedDefinitions, tasks.size(), System.currentTimeMillis() - start);
+  }
+
+  protected void addTasks(List<Callable<Void>> tasks, List<? extends ResourceDefinition> definitions, BiConsumer<DeploymentCache, String> loader) {
+    for (ResourceDefinition definition : definitions) {
+      String definitionId = definition.getId();
+      tasks.add(() -> {
+        try {
+          commandExecutor.execute(commandContext -> {
+            loader.accept(commandContext.getProcessEngineConfiguration().getDeploymentCache(), definitionId);
+            return null;
+          });
+          return null;
+        }
+        catch (RuntimeException e) {
+          LOG.couldNotWarmUpDefinition(definitionId, e);
+          throw e;
+        }
+      });
+    }
+  }
+
+  protected static class WarmupThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "camunda-deployment-cache-warmup-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.Arrays;
+
+/**
+ * <p>Approximates how often keys were accessed recently (a count-min sketch with
+ * four counters per key). Counters are capped at 15 and all counters are halved
+ * once the number of recorded accesses reaches ten times the capacity, so that the
+ * frequency of keys which are no longer used decays.</p>
+ *
+ * <p>Not thread-safe; callers have to synchronize.</p>
+ */
+public class FrequencySketch {
+
+  protected static final int MAX_FREQUENCY = 15;
+  protected static final int[] SEEDS = { 0x97cb3127, 0xb0f2a63d, 0x5ba1c0e1, 0x2f3a6d95 };
+
+  protected final byte[] counters;
+  protected final int mask;
+  protected final int sampleSize;
+  protected int accesses;
+
+  public FrequencySketch(int capacity) {
+    // 16 counters per expected entry keep the over-estimation by hash collisions low
+    int expectedEntries = Math.max(1, Math.min(capacity, 1 << 16));
+    int length = Integer.highestOneBit(expectedEntries * 16 - 1) << 1;
+    this.counters = new byte[length];
+    this.mask = length - 1;
+    this.sampleSize = Math.max(160, 10 * capacity);
+  }
+
+  public int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_FREQUENCY;
+    for (int seed : SEEDS) {
+      frequency = Math.min(frequency, counters[index(hash, seed)]);
+    }
+    return frequency;
+  }
+
+  public void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean incremented = false;
+    for (int seed : SEEDS) {
+      int index = index(hash, seed);
+      if (counters[index] < MAX_FREQUENCY) {
+        counters[index]++;
+        incremented = true;
+      }
+    }
+
+    if (incremented && ++accesses >= sampleSize) {
+      reset();
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(counters, (byte) 0);
+    accesses = 0;
+  }
+
+  protected void reset() {
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = (byte) (counters[i] >>> 1);
+    }
+    accesses = accesses / 2;
+  }
+
+  protected int index(int hash, int seed) {
+    int h = (hash ^ seed) * 0x9e3779b9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  protected static int spread(int hash) {
+    int h = hash * 0x85ebca6b;
+    return h ^ (h >>> 15);
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.util.ProductPropertiesUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.ElementTreeSerializer;
+
+/**
+ * <p>Local file cache of parsed deployment resources. When a resource is parsed again,
+ * e.g. after its definitions were evicted from the {@link DeploymentCache} or after a
+ * restart of the engine, the document is restored from its snapshot instead of being
+ * read and validated against the XML schema again.</p>
+ *
+ * <p>Snapshots are keyed by a hash of the resource content and the engine version, so a
+ * snapshot is only used for exactly the resource it was created from. Snapshots which
+ * cannot be read are ignored and the resource is parsed as usual.</p>
+ */
+public class ParseSnapshotCache {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int MAGIC_NUMBER = 0x43504153;
+  protected static final int FORMAT_VERSION = 1;
+
+  protected static final String SNAPSHOT_SUFFIX = ".snapshot";
+  protected static final String NOT_VALIDATED_SNAPSHOT_SUFFIX = ".not-validated.snapshot";
+
+  protected File directory;
+
+  public ParseSnapshotCache(File directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * @param validatingSchema whether the resource is validated against the schema; a
+   * validated document contains default attributes which an unvalidated one lacks
+   * @return the restored root element or <code>null</code> if there is no usable snapshot
+   */
+  public Element load(byte[] resourceBytes, boolean validatingSchema) {
+    String sourceHash = sourceHash(resourceBytes);
+    File snapshotFile = snapshotFile(sourceHash, validatingSchema);
+    if (!snapshotFile.isFile()) {
+      return null;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+      if (in.readInt() != MAGIC_NUMBER
+          || in.readInt() != FORMAT_VERSION
+          || !sourceHash.equals(in.readUTF())) {
+        return null;
+      }
+      return ElementTreeSerializer.read(in);
+
+    } catch (IOException | RuntimeException e) {
+      LOG.couldNotReadParseSnapshot(snapshotFile.getPath(), e);
+      return null;
+    }
+  }
+
+  public void store(byte[] resourceBytes, boolean validatingSchema, Element rootElement) {
+    String sourceHash = sourceHash(resourceBytes);
+    File snapshotFile = snapshotFile(sourceHash, validatingSchema);
+    if (snapshotFile.isFile()) {
+      return;
+    }
+
+    File temporaryFile = null;
+    try {
+      Files.createDirectories(directory.toPath());
+      temporaryFile = File.createTempFile(sourceHash, ".tmp", directory);
+
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(sourceHash);
+        ElementTreeSerializer.write(rootElement, out);
+      }
+
+      // other engines sharing the directory never see a partially written snapshot
+      try {
+        Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+    } catch (IOException | RuntimeException e) {
+      LOG.couldNotWriteParseSnapshot(snapshotFile.getPath(), e);
+      if (temporaryFile != null) {
+        temporaryFile.delete();
+      }
+    }
+  }
+
+  protected File snapshotFile(String sourceHash, boolean validatingSchema) {
+    return new File(directory, sourceHash + (validatingSchema ? SNAPSHOT_SUFFIX : NOT_VALIDATED_SNAPSHOT_SUFFIX));
+  }
+
+  /**
+   * The engine version is part of the hash since the schema and thereby the default
+   * attributes of a validated document can change with it.
+   */
+  protected String sourceHash(byte[] resourceBytes) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(String.valueOf(ProductPropertiesUtil.getProductVersion()).getBytes(StandardCharsets.UTF_8));
+      digest.update(resourceBytes);
+
+      StringBuilder hash = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hash.append(String.format("%02x", b));
+      }
+      return hash.toString();
+
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new ProcessEngineException(e);
+    }
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+}
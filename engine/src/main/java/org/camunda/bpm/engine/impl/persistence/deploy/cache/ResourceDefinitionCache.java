@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.commons.utils.cache.Cache;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 
 
@@ -32,12 +33,24 @@ import java.util.concurrent.Callable;
  */
 public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity> {
 
+  protected static final int DEPLOYMENT_LOCK_COUNT = 64;
+
   protected Cache<String, T> cache;
   protected CacheDeployer cacheDeployer;
 
+  /**
+   * Definitions of one deployment are cached by one thread at a time, while
+   * definitions of different deployments can be parsed concurrently.
+   */
+  protected final Object[] deploymentLocks = new Object[DEPLOYMENT_LOCK_COUNT];
+
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
     this.cache = factory.createCache(cacheCapacity);
     this.cacheDeployer = cacheDeployer;
+
+    for (int i = 0; i < deploymentLocks.length; i++) {
+      deploymentLocks[i] = new Object();
+    }
   }
 
   public T findDefinitionFromCache(String definitionId) {
@@ -113,7 +126,7 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
     String deploymentId = definition.getDeploymentId();
     T cachedDefinition = cache.get(definitionId);
     if (cachedDefinition == null) {
-      synchronized (this) {
+      synchronized (getDeploymentLock(deploymentId)) {
         cachedDefinition = cache.get(definitionId);
         if (cachedDefinition == null) {
           DeploymentEntity deployment = Context
@@ -123,6 +136,10 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
           deployment.setNew(false);
           cacheDeployer.deployOnlyGivenResourcesOfDeployment(deployment, definition.getResourceName(), definition.getDiagramResourceName());
           cachedDefinition = cache.get(definitionId);
+          if (cachedDefinition == null) {
+            // a cache bounded by weight may not keep the definition it was just given
+            cachedDefinition = findDeployedArtifact(deployment, definition);
+          }
         }
       }
       checkInvalidDefinitionWasCached(deploymentId, definitionId, cachedDefinition);
@@ -133,6 +150,23 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
     return cachedDefinition;
   }
 
+  @SuppressWarnings("unchecked")
+  protected T findDeployedArtifact(DeploymentEntity deployment, T definition) {
+    List<T> deployedArtifacts = deployment.getDeployedArtifacts((Class<T>) definition.getClass());
+    if (deployedArtifacts != null) {
+      for (T deployedArtifact : deployedArtifacts) {
+        if (definition.getId().equals(deployedArtifact.getId())) {
+          return deployedArtifact;
+        }
+      }
+    }
+    return null;
+  }
+
+  protected Object getDeploymentLock(String deploymentId) {
+    return deploymentLocks[Math.floorMod(deploymentId.hashCode(), deploymentLocks.length)];
+  }
+
   public void addDefinition(T definition) {
     cache.put(definition.getId(), definition);
   }
@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Creates {@link WeightedTinyLfuCache}s which are bounded by the estimated size of
+ * the cached definitions and model instances instead of by their number.</p>
+ *
+ * <p>The maximum weight of each cache is either set explicitly with
+ * {@link #setMaxWeight(long)} or derived from the configured cache capacity, assuming
+ * that an average entry weighs {@link #getAverageEntryWeight()}.</p>
+ *
+ * <p>Can be set with {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setCacheFactory(CacheFactory)}.</p>
+ */
+public class WeightedCacheFactory implements CacheFactory {
+
+  public static final int DEFAULT_AVERAGE_ENTRY_WEIGHT = 50;
+
+  protected long maxWeight;
+  protected int averageEntryWeight = DEFAULT_AVERAGE_ENTRY_WEIGHT;
+  protected CacheEntryWeigher weigher = new DefinitionWeigher();
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    long cacheMaxWeight = maxWeight > 0 ? maxWeight : (long) maxNumberOfElementsInCache * averageEntryWeight;
+    return new WeightedTinyLfuCache<String, T>(cacheMaxWeight, maxNumberOfElementsInCache, weigher);
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public int getAverageEntryWeight() {
+    return averageEntryWeight;
+  }
+
+  public void setAverageEntryWeight(int averageEntryWeight) {
+    this.averageEntryWeight = averageEntryWeight;
+  }
+
+  public CacheEntryWeigher getWeigher() {
+    return weigher;
+  }
+
+  public void setWeigher(CacheEntryWeigher weigher) {
+    this.weigher = weigher;
+  }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>A cache that is bounded by the total weight of its entries and evicts with a
+ * W-TinyLFU policy:</p>
+ *
+ * <ul>
+ *   <li>New entries are added to a small admission window (1% of the maximum weight)
+ *   which is evicted in LRU order.</li>
+ *   <li>An entry evicted from the window is a candidate for the main region. If the
+ *   main region has no space left, the candidate is compared with the least recently
+ *   used entry of the main region and the one that was accessed less frequently
+ *   according to a {@link FrequencySketch} is evicted.</li>
+ * </ul>
+ *
+ * <p>Like this, a single large definition which is used only once doesn't replace
+ * several frequently used ones. The entry that was put last always stays in the window,
+ * even if it is heavier than the window or the main region, so that the caller can read
+ * it back. It is evicted like any other entry once further entries are put.</p>
+ *
+ * <p>Reads are served from a concurrent map without locking. They record the access in
+ * a buffer which is applied to the access order and frequencies under a lock, when the
+ * buffer is full or an entry is put. If the lock is busy and the buffer has reached its
+ * maximum size, further accesses are not recorded.</p>
+ */
+public class WeightedTinyLfuCache<K, V> implements Cache<K, V> {
+
+  protected static final double WINDOW_PERCENTAGE = 0.01;
+  protected static final int READ_BUFFER_DRAIN_THRESHOLD = 64;
+  protected static final int READ_BUFFER_MAX_SIZE = 1024;
+
+  protected final long maxWeight;
+  protected final long maxWindowWeight;
+  protected final long maxMainWeight;
+  protected final CacheEntryWeigher weigher;
+
+  protected final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+
+  protected final Queue<K> readBuffer = new ConcurrentLinkedQueue<>();
+  protected final AtomicInteger readBufferSize = new AtomicInteger();
+
+  // guarded by evictionLock
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+  protected final LinkedHashMap<K, Node<K, V>> window = new LinkedHashMap<>(16, 0.75f, true);
+  protected final LinkedHashMap<K, Node<K, V>> main = new LinkedHashMap<>(16, 0.75f, true);
+  protected final FrequencySketch sketch;
+  protected long windowWeight;
+  protected long mainWeight;
+
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+
+  public WeightedTinyLfuCache(long maxWeight, int expectedSize, CacheEntryWeigher weigher) {
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("Maximum weight must be at least 1");
+    }
+    this.maxWeight = maxWeight;
+    this.maxWindowWeight = Math.max(1, (long) (maxWeight * WINDOW_PERCENTAGE));
+    this.maxMainWeight = Math.max(1, maxWeight - maxWindowWeight);
+    this.weigher = weigher;
+    this.sketch = new FrequencySketch(expectedSize);
+  }
+
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+
+    recordRead(key);
+
+    if (node == null) {
+      missCount.increment();
+      return null;
+    }
+    else {
+      hitCount.increment();
+      return node.value;
+    }
+  }
+
+  @Override
+  public void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    Node<K, V> node = new Node<>(key, value, weigher.weigh(value));
+
+    evictionLock.lock();
+    try {
+      drainReadBuffer();
+      sketch.increment(key);
+      removeNode(data.remove(key));
+
+      data.put(key, node);
+      node.inWindow = true;
+      window.put(key, node);
+      windowWeight += node.weight;
+
+      evict(node);
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void remove(K key) {
+    evictionLock.lock();
+    try {
+      removeNode(data.remove(key));
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    evictionLock.lock();
+    try {
+      data.clear();
+      window.clear();
+      main.clear();
+      windowWeight = 0;
+      mainWeight = 0;
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return data.isEmpty();
+  }
+
+  @Override
+  public Set<K> keySet() {
+    return Collections.unmodifiableSet(data.keySet());
+  }
+
+  @Override
+  public int size() {
+    return data.size();
+  }
+
+  public long getWeight() {
+    evictionLock.lock();
+    try {
+      return windowWeight + mainWeight;
+    }
+    finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), size(), getWeight(), maxWeight);
+  }
+
+  protected void recordRead(K key) {
+    if (readBufferSize.get() < READ_BUFFER_MAX_SIZE) {
+      readBuffer.add(key);
+      readBufferSize.incrementAndGet();
+    }
+
+    if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+      try {
+        drainReadBuffer();
+      }
+      finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Applies the buffered reads to the frequencies and the access order, must be
+   * called while holding the eviction lock.
+   */
+  protected void drainReadBuffer() {
+    K key;
+    while ((key = readBuffer.poll()) != null) {
+      readBufferSize.decrementAndGet();
+      sketch.increment(key);
+
+      Node<K, V> node = data.get(key);
+      if (node != null) {
+        // moves the node to the most recently used position
+        if (node.inWindow) {
+          window.get(key);
+        }
+        else {
+          main.get(key);
+        }
+      }
+    }
+  }
+
+  /**
+   * Evicts entries of the window until it fits its maximum weight, except for the
+   * pinned entry which was just put.
+   */
+  protected void evict(Node<K, V> pinned) {
+    while (windowWeight > maxWindowWeight) {
+      Node<K, V> candidate = window.values().iterator().next();
+      if (candidate == pinned) {
+        // the pinned entry is the most recently used, no other entries are left
+        break;
+      }
+
+      window.remove(candidate.key);
+      windowWeight -= candidate.weight;
+      candidate.inWindow = false;
+
+      if (admit(candidate)) {
+        main.put(candidate.key, candidate);
+        mainWeight += candidate.weight;
+      }
+      else {
+        data.remove(candidate.key);
+        evictionCount.increment();
+      }
+    }
+  }
+
+  /**
+   * Makes room for the candidate in the main region by evicting victims which are
+   * accessed less frequently than the candidate. No victim is evicted if the
+   * candidate is rejected.
+   *
+   * @return <code>false</code> if the candidate must be evicted instead
+   */
+  protected boolean admit(Node<K, V> candidate) {
+    if (candidate.weight > maxMainWeight) {
+      return false;
+    }
+
+    long weightToFree = mainWeight + candidate.weight - maxMainWeight;
+    if (weightToFree <= 0) {
+      return true;
+    }
+
+    int candidateFrequency = sketch.frequency(candidate.key);
+    List<Node<K, V>> victims = new ArrayList<>();
+
+    // the least recently used entries of the main region are the victims
+    for (Node<K, V> victim : main.values()) {
+      if (candidateFrequency <= sketch.frequency(victim.key)) {
+        return false;
+      }
+
+      victims.add(victim);
+      weightToFree -= victim.weight;
+      if (weightToFree <= 0) {
+        break;
+      }
+    }
+
+    for (Node<K, V> victim : victims) {
+      main.remove(victim.key);
+      mainWeight -= victim.weight;
+      data.remove(victim.key);
+      evictionCount.increment();
+    }
+
+    return true;
+  }
+
+  protected void removeNode(Node<K, V> node) {
+    if (node != null) {
+      if (node.inWindow) {
+        window.remove(node.key);
+        windowWeight -= node.weight;
+      }
+      else {
+        main.remove(node.key);
+        mainWeight -= node.weight;
+      }
+    }
+  }
+
+  protected static class Node<K, V> {
+
+    protected final K key;
+    protected final V value;
+    protected final int weight;
+    protected boolean inWindow;
+
+    public Node(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -89,14 +89,20 @@ import org.camunda.bpm.engine.impl.batch.BatchQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchStatisticsQueryImpl;
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache;
+import org.camunda.bpm.engine.impl.db.AuthorizationDecisionCache.DecisionStamp;
+import org.camunda.bpm.engine.impl.db.AuthorizationGrantIndex;
 import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.PermissionCheck;
 import org.camunda.bpm.engine.impl.db.PermissionCheckBuilder;
+import org.camunda.bpm.engine.impl.db.PermissionGrant;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionQueryImpl;
@@ -131,6 +137,18 @@ public class AuthorizationManager extends AbstractManager {
 
   protected Boolean isRevokeAuthCheckUsed = null;
 
+  /**
+   * Decisions of the authorization checks executed in this command, see
+   * {@link ProcessEngineConfigurationImpl#isAuthorizationCheckCacheEnabled()}.
+   */
+  protected Map<String, Boolean> authorizationDecisions = null;
+
+  /**
+   * Grants of the current user, see {@link ProcessEngineConfigurationImpl#isAuthorizationGrantIndexEnabled()}.
+   */
+  protected AuthorizationGrantIndex authorizationGrantIndex = null;
+  protected String authorizationGrantIndexUserKey = null;
+
   public PermissionCheckBuilder newPermissionCheckBuilder() {
     return new PermissionCheckBuilder();
   }
@@ -144,6 +162,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    invalidateAuthorizationDecisions(authorization);
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -181,7 +200,19 @@ public class AuthorizationManager extends AbstractManager {
 
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
+
+    // the resource type may have changed, only the decision cache needs to know the previous one
+    AuthorizationEntity previousAuthorization = null;
+    if (Context.getProcessEngineConfiguration().getAuthorizationDecisionCache() != null) {
+      previousAuthorization = getDbEntityManager().selectById(AuthorizationEntity.class, authorization.getId());
+    }
     getDbEntityManager().merge(authorization);
+
+    if (previousAuthorization != null
+        && !Objects.equals(previousAuthorization.getResourceType(), authorization.getResourceType())) {
+      invalidateAuthorizationDecisions(previousAuthorization);
+    }
+    invalidateAuthorizationDecisions(authorization);
   }
 
   @Override
@@ -189,6 +220,7 @@ public class AuthorizationManager extends AbstractManager {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
+    invalidateAuthorizationDecisions(authorization);
   }
 
   // authorization checks ///////////////////////////////////////////
@@ -273,12 +305,8 @@ public class AuthorizationManager extends AbstractManager {
       throw LOG.invalidResourceForPermission(permissionCheck.getResource().resourceName(), permissionCheck.getPermission().getName());
     }
 
-    List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
-
-    boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
     CompositePermissionCheck compositePermissionCheck = createCompositePermissionCheck(permissionCheck);
-    AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
-    return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
+    return isAuthorizedForResource(userId, groupIds, compositePermissionCheck);
   }
 
   protected boolean isRevokeAuthCheckEnabled(String userId, List<String> groupIds) {
@@ -319,13 +347,115 @@ public class AuthorizationManager extends AbstractManager {
         throw LOG.invalidResourceForPermission(permissionCheck.getResource().resourceName(), permissionCheck.getPermission().getName());
       }
     }
+    return isAuthorizedForResource(userId, groupIds, compositePermissionCheck);
+  }
+
+  /**
+   * Decides the authorization check, using the decisions cached in this command and
+   * across commands if {@link ProcessEngineConfigurationImpl#isAuthorizationCheckCacheEnabled()}.
+   */
+  protected boolean isAuthorizedForResource(String userId, List<String> groupIds, CompositePermissionCheck compositePermissionCheck) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (!processEngineConfiguration.isAuthorizationCheckCacheEnabled()) {
+      return selectAuthorizationDecision(userId, groupIds, compositePermissionCheck);
+    }
+
+    if (authorizationDecisions == null) {
+      authorizationDecisions = new HashMap<>();
+    }
+
+    String key = AuthorizationDecisionCache.createKey(userId, groupIds, compositePermissionCheck);
+    Boolean decision = authorizationDecisions.get(key);
+    if (decision != null) {
+      return decision;
+    }
+
+    AuthorizationDecisionCache decisionCache = processEngineConfiguration.getAuthorizationDecisionCache();
+    if (decisionCache != null) {
+      DecisionStamp stamp = decisionCache.stamp(compositePermissionCheck);
+      decision = decisionCache.get(key);
+      if (decision == null) {
+        decision = selectAuthorizationDecision(userId, groupIds, compositePermissionCheck);
+        decisionCache.put(key, decision, stamp);
+      }
+
+    } else {
+      decision = selectAuthorizationDecision(userId, groupIds, compositePermissionCheck);
+
+    }
+
+    authorizationDecisions.put(key, decision);
+    return decision;
+  }
+
+  protected boolean selectAuthorizationDecision(String userId, List<String> groupIds, CompositePermissionCheck compositePermissionCheck) {
     List<String> filteredGroupIds = filterAuthenticatedGroupIds(groupIds);
 
     boolean isRevokeAuthorizationCheckEnabled = isRevokeAuthCheckEnabled(userId, groupIds);
+
+    if (Context.getProcessEngineConfiguration().isAuthorizationGrantIndexEnabled()) {
+      AuthorizationGrantIndex grantIndex = getAuthorizationGrantIndex(userId, filteredGroupIds, isRevokeAuthorizationCheckEnabled);
+      return grantIndex.isAuthorized(compositePermissionCheck);
+    }
+
     AuthorizationCheck authCheck = new AuthorizationCheck(userId, filteredGroupIds, compositePermissionCheck, isRevokeAuthorizationCheckEnabled);
     return getDbEntityManager().selectBoolean("isUserAuthorizedForResource", authCheck);
   }
 
+  protected AuthorizationGrantIndex getAuthorizationGrantIndex(String userId, List<String> filteredGroupIds, boolean isRevokeAuthorizationCheckEnabled) {
+    String userKey = AuthorizationDecisionCache.createKey(userId, filteredGroupIds, new CompositePermissionCheck());
+
+    if (authorizationGrantIndex == null || !userKey.equals(authorizationGrantIndexUserKey)) {
+      authorizationGrantIndex = new AuthorizationGrantIndex(userId, filteredGroupIds, isRevokeAuthorizationCheckEnabled,
+          resourceType -> selectPermissionGrants(userId, filteredGroupIds, resourceType));
+      authorizationGrantIndexUserKey = userKey;
+    }
+
+    return authorizationGrantIndex;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<PermissionGrant> selectPermissionGrants(String userId, List<String> filteredGroupIds, int resourceType) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("userId", userId);
+    params.put("authGroupIds", filteredGroupIds);
+    params.put("resourceType", resourceType);
+    return (List<PermissionGrant>) getDbEntityManager().selectList("selectPermissionGrantsForResourceType", params);
+  }
+
+  protected void invalidateAuthorizationDecisions(DbEntity authorization) {
+    if (authorization instanceof AuthorizationEntity) {
+      invalidateAuthorizationDecisions(((AuthorizationEntity) authorization).getResourceType());
+    }
+  }
+
+  /**
+   * Invalidates the cached decisions which depend on authorizations of the given resource type,
+   * or all cached decisions if the resource type is <code>null</code>.
+   */
+  protected void invalidateAuthorizationDecisions(Integer resourceType) {
+    authorizationDecisions = null;
+    authorizationGrantIndex = null;
+
+    AuthorizationDecisionCache decisionCache = Context.getProcessEngineConfiguration().getAuthorizationDecisionCache();
+    if (decisionCache != null) {
+      invalidate(decisionCache, resourceType);
+
+      // other commands may cache decisions based on the previous authorizations until this transaction is committed
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, commandContext -> invalidate(decisionCache, resourceType));
+    }
+  }
+
+  protected void invalidate(AuthorizationDecisionCache decisionCache, Integer resourceType) {
+    if (resourceType != null) {
+      decisionCache.invalidate(resourceType);
+    } else {
+      decisionCache.invalidate();
+    }
+  }
+
   public boolean isAuthorized(CompositePermissionCheck compositePermissionCheck) {
     Authentication currentAuthentication = getCurrentAuthentication();
 
@@ -457,6 +587,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceType", resource.resourceType());
       deleteParams.put("resourceId", resourceId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateAuthorizationDecisions(resource.resourceType());
     }
 
   }
@@ -473,6 +604,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("userId", userId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceIdAndUserId", deleteParams);
+      invalidateAuthorizationDecisions(resource.resourceType());
     }
 
   }
@@ -489,6 +621,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("groupId", groupId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceIdAndGroupId", deleteParams);
+      invalidateAuthorizationDecisions(resource.resourceType());
     }
 
   }
@@ -1199,6 +1332,8 @@ public class AuthorizationManager extends AbstractManager {
     }
     parameters.put("batchSize", batchSize);
 
+    invalidateAuthorizationDecisions((Integer) null);
+
     return getDbEntityManager()
         .deletePreserveOrder(AuthorizationEntity.class, "deleteAuthorizationsByRemovalTime",
             new ListQueryParameterObject(parameters, 0, batchSize));
@@ -16,20 +16,34 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.IoUtil;
 
 /**
  * @author Joram Barrez
  */
 public class ByteArrayManager extends AbstractManager {
 
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the
@@ -40,11 +54,73 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArrayNoRevisionCheck", byteArrayEntityId);
   }
 
+  /**
+   * Deletes the {@link ByteArrayEntity ByteArrayEntities} with the given ids with one
+   * statement, without optimistic locking.
+   */
+  public void deleteByteArraysByIds(List<String> byteArrayEntityIds) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("byteArrayIds", byteArrayEntityIds);
+    getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArraysByIds", parameters);
+  }
+
   public void insertByteArray(ByteArrayEntity arr) {
     arr.setCreateTime(ClockUtil.getCurrentTime());
     getDbEntityManager().insert(arr);
   }
 
+  /**
+   * Copies the bytes of the {@link ByteArrayEntity} with the given id to the output stream.
+   * The bytes are copied in chunks from {@link ResultSet#getBinaryStream(int)}, so the engine
+   * does not create a byte array of the whole content. Whether the JDBC driver streams the
+   * column depends on the driver and the column type: drivers which read BLOB columns through
+   * a locator (e.g. Oracle, DB2, H2) stream the content, while PostgreSQL (bytea) and MySQL or
+   * MariaDB (without streaming result sets) fetch the whole value into the driver's buffer
+   * before it is copied. If the entity was already loaded or changed in the current command,
+   * the bytes of the cached entity are copied instead.
+   *
+   * @return <code>false</code> if there is no byte array with the given id
+   */
+  public boolean copyBytesTo(String byteArrayId, OutputStream outputStream) {
+    ByteArrayEntity cachedByteArray = getDbEntityManager().getCachedEntity(ByteArrayEntity.class, byteArrayId);
+    if (cachedByteArray != null) {
+      byte[] bytes = cachedByteArray.getBytes();
+      if (bytes != null) {
+        IoUtil.copy(new ByteArrayInputStream(bytes), outputStream, byteArrayId);
+      }
+      return true;
+    }
+
+    String tablePrefix = Context.getProcessEngineConfiguration().getDatabaseTablePrefix();
+    String sql = "select BYTES_ from " + tablePrefix + "ACT_GE_BYTEARRAY where ID_ = ?";
+
+    Connection connection = getDbSqlSession().getSqlSession().getConnection();
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setString(1, byteArrayId);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        if (!resultSet.next()) {
+          return false;
+        }
+
+        // works for BLOB as well as for binary columns (e.g. bytea on PostgreSQL)
+        InputStream bytes = resultSet.getBinaryStream(1);
+        if (bytes != null) {
+          try {
+            IoUtil.copy(bytes, outputStream, byteArrayId);
+          }
+          finally {
+            IoUtil.closeSilently(bytes);
+          }
+        }
+        return true;
+      }
+    }
+    catch (SQLException e) {
+      throw LOG.couldNotReadByteArray(byteArrayId, e);
+    }
+  }
+
   public void addRemovalTimeToByteArraysByRootProcessInstanceId(String rootProcessInstanceId, Date removalTime) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("rootProcessInstanceId", rootProcessInstanceId);
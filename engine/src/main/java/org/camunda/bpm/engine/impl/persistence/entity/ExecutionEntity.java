@@ -24,6 +24,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineServices;
@@ -63,6 +65,7 @@ import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.incident.IncidentContext;
 import org.camunda.bpm.engine.impl.incident.IncidentHandling;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.pvm.PvmActivity;
@@ -1285,6 +1288,120 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     }
 
     processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+
+    if (isProcessInstanceStatePrefetchEnabled()) {
+      processInstance.prefetchProcessInstanceState(executions);
+    }
+  }
+
+  /**
+   * @return true if the runtime state of the process instance is prefetched together with the execution tree
+   */
+  protected boolean isProcessInstanceStatePrefetchEnabled() {
+    return Context.getProcessEngineConfiguration().isProcessInstanceStatePrefetchEnabled();
+  }
+
+  /**
+   * Fetches the event subscriptions, jobs, incidents, tasks, external tasks and variables
+   * of all given executions of this process instance with one query per entity type,
+   * instead of one query per execution and entity type when they are accessed lazily.
+   *
+   * Only collections which are not initialized yet are filled, so that changes made by the
+   * current command are kept. An entity type is not queried at all if every execution
+   * has already initialized its collection, e.g. from its cached entity state.
+   */
+  protected void prefetchProcessInstanceState(Collection<ExecutionEntity> executions) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    prefetch(executions, EventSubscriptionEntity.class, "selectEventSubscriptionsByProcessInstanceId",
+        execution -> execution.eventSubscriptions, (execution, eventSubscriptions) -> execution.eventSubscriptions = eventSubscriptions,
+        EventSubscriptionEntity::getExecutionId);
+
+    prefetch(executions, JobEntity.class, "selectJobsByProcessInstanceId",
+        execution -> execution.jobs, (execution, jobs) -> execution.jobs = jobs,
+        JobEntity::getExecutionId);
+
+    prefetch(executions, IncidentEntity.class, "selectIncidentsByProcessInstanceId",
+        execution -> execution.incidents, (execution, incidents) -> execution.incidents = incidents,
+        IncidentEntity::getExecutionId);
+
+    prefetch(executions, ExternalTaskEntity.class, "selectExternalTasksByProcessInstanceId",
+        execution -> execution.externalTasks, (execution, externalTasks) -> execution.externalTasks = externalTasks,
+        ExternalTaskEntity::getExecutionId);
+
+    prefetch(executions, TaskEntity.class, "selectTasksByProcessInstanceId",
+        execution -> execution.tasks, (execution, tasks) -> execution.tasks = tasks,
+        TaskEntity::getExecutionId);
+
+    List<ExecutionEntity> uninitializedExecutions = new ArrayList<>();
+
+    // variables of executions and tasks are fetched by a single query
+    List<TaskEntity> uninitializedTasks = new ArrayList<>();
+    for (ExecutionEntity execution : executions) {
+      if (!execution.variableStore.isInitialized()) {
+        uninitializedExecutions.add(execution);
+      }
+      for (TaskEntity task : execution.tasks) {
+        if (!task.variableStore.isInitialized()) {
+          uninitializedTasks.add(task);
+        }
+      }
+    }
+    if (!uninitializedExecutions.isEmpty() || !uninitializedTasks.isEmpty()) {
+      Map<String, List<VariableInstanceEntity>> variablesByScope = new HashMap<>();
+      for (VariableInstanceEntity variable : commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId)) {
+        CollectionUtil.addToMapOfLists(variablesByScope, variable.getVariableScopeId(), variable);
+      }
+      for (ExecutionEntity execution : uninitializedExecutions) {
+        execution.variableStore.setVariablesProvider(
+            new VariableCollectionProvider<>(getOrCreateList(variablesByScope, execution.id)));
+      }
+      for (TaskEntity task : uninitializedTasks) {
+        task.variableStore.setVariablesProvider(
+            new VariableCollectionProvider<>(getOrCreateList(variablesByScope, task.id)));
+      }
+    }
+  }
+
+  /**
+   * Fills the given collection of all given executions which did not initialize it yet
+   * with the entities of this process instance selected by the given statement.
+   *
+   * @param entityClass the type of the selected entities
+   * @param statement selects the entities by the id of this process instance
+   */
+  @SuppressWarnings("unchecked")
+  protected <T extends DbEntity> void prefetch(Collection<ExecutionEntity> executions,
+                                               Class<T> entityClass,
+                                               String statement,
+                                               Function<ExecutionEntity, List<T>> collection,
+                                               BiConsumer<ExecutionEntity, List<T>> collectionInitializer,
+                                               Function<T, String> executionId) {
+    List<ExecutionEntity> uninitializedExecutions = new ArrayList<>();
+    for (ExecutionEntity execution : executions) {
+      if (collection.apply(execution) == null) {
+        uninitializedExecutions.add(execution);
+      }
+    }
+
+    if (!uninitializedExecutions.isEmpty()) {
+      List<T> entities = Context.getCommandContext()
+          .getDbEntityManager()
+          .selectList(statement, processInstanceId);
+
+      Map<String, List<T>> entitiesByExecution = new HashMap<>();
+      for (T entity : entities) {
+        CollectionUtil.addToMapOfLists(entitiesByExecution, executionId.apply(entity), entity);
+      }
+      for (ExecutionEntity execution : uninitializedExecutions) {
+        collectionInitializer.accept(execution, getOrCreateList(entitiesByExecution, execution.id));
+      }
+    }
+  }
+
+  protected static <T> List<T> getOrCreateList(Map<String, List<T>> map, String key) {
+    List<T> list = map.get(key);
+    return list != null ? list : new ArrayList<>();
   }
 
   /**
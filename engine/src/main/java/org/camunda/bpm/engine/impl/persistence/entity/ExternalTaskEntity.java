@@ -550,7 +550,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity,
 
     Context.getCommandContext()
       .getExternalTaskManager()
-      .fireExternalTaskAvailableEvent();
+      .fireExternalTaskAvailableEvent(this);
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
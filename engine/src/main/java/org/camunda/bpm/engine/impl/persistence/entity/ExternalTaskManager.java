@@ -19,8 +19,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
@@ -34,6 +36,9 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.externaltask.AvailableExternalTaskTopic;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationChannel;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -49,13 +54,15 @@ public class ExternalTaskManager extends AbstractManager {
 
   public static QueryOrderingProperty EXT_TASK_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(ExternalTaskQueryProperty.PRIORITY, Direction.DESCENDING);
 
+  protected Set<ExternalTaskNotification> externalTaskNotifications;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask);
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -124,6 +131,11 @@ public class ExternalTaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTopicNamesByQuery", externalTaskQuery);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<AvailableExternalTaskTopic> selectAvailableExternalTaskTopics() {
+    return getDbEntityManager().selectList("selectAvailableExternalTaskTopics", ClockUtil.getCurrentTime());
+  }
+
   protected void updateExternalTaskSuspensionState(String processInstanceId,
     String processDefinitionId, String processDefinitionKey, SuspensionState suspensionState) {
     Map<String, Object> parameters = new HashMap<>();
@@ -170,16 +182,46 @@ public class ExternalTaskManager extends AbstractManager {
     return getTenantManager().configureQuery(parameter);
   }
 
+  /**
+   * Signals that external tasks of unknown topics became available once the current
+   * transaction is committed.
+   */
   public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-      .getTransactionContext()
-      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-        @Override
-        public void execute(CommandContext commandContext) {
-          ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-        }
-      });
+    String processEngineName = Context.getProcessEngineConfiguration().getProcessEngineName();
+    fireExternalTaskAvailableEvent(ExternalTaskNotification.forAllTopics(processEngineName));
+  }
+
+  /**
+   * Signals that the given external task became available once the current
+   * transaction is committed.
+   */
+  public void fireExternalTaskAvailableEvent(ExternalTaskEntity externalTask) {
+    String processEngineName = Context.getProcessEngineConfiguration().getProcessEngineName();
+    fireExternalTaskAvailableEvent(new ExternalTaskNotification(processEngineName, externalTask.getTopicName(), externalTask.getTenantId()));
+  }
+
+  protected void fireExternalTaskAvailableEvent(ExternalTaskNotification notification) {
+    if (externalTaskNotifications == null) {
+      // notifications of one transaction are published together
+      final Set<ExternalTaskNotification> notifications = new LinkedHashSet<>();
+      final ExternalTaskNotificationChannel notificationChannel = Context.getProcessEngineConfiguration()
+          .getExternalTaskNotificationChannel();
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          @Override
+          public void execute(CommandContext commandContext) {
+            ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+            if (notificationChannel != null) {
+              notificationChannel.publish(notifications);
+            }
+          }
+        });
+
+      externalTaskNotifications = notifications;
+    }
+
+    externalTaskNotifications.add(notification);
   }
 }
-
-
@@ -20,6 +20,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
@@ -62,6 +63,12 @@ public class HistoricActivityInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery, page);
   }
 
+  public void findHistoricActivityInstancesByQueryCriteria(HistoricActivityInstanceQueryImpl historicActivityInstanceQuery, Consumer<HistoricActivityInstance> consumer) {
+    configureQuery(historicActivityInstanceQuery);
+    getDbEntityManager().selectStream("selectHistoricActivityInstancesByQueryCriteria", historicActivityInstanceQuery,
+        result -> consumer.accept((HistoricActivityInstance) result));
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricActivityInstanceByNativeQuery", parameterMap, firstResult, maxResults);
@@ -68,6 +68,8 @@ public class HistoricCaseInstanceManager extends AbstractHistoricManager {
 
   public void deleteHistoricCaseInstancesByIds(List<String> historicCaseInstanceIds) {
     if (isHistoryEnabled()) {
+      getHistoryEventOutboxManager().purgeOutboxEntriesByScopeIds(historicCaseInstanceIds);
+
       getHistoricDetailManager().deleteHistoricDetailsByCaseInstanceIds(historicCaseInstanceIds);
 
       getHistoricVariableInstanceManager().deleteHistoricVariableInstancesByCaseInstanceIds(historicCaseInstanceIds);
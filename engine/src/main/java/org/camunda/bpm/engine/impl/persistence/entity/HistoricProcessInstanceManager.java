@@ -21,6 +21,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.history.CleanableHistoricProcessInstanceReportResult;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
@@ -77,6 +78,7 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
       // break down parameter list to not hit query parameter limitations
       List<List<String>> partitions = CollectionUtil.partition(processInstanceIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS);
       for (List<String> partition : partitions) {
+        commandContext.getHistoryEventOutboxManager().purgeOutboxEntriesByScopeIds(partition);
         commandContext.getHistoricDetailManager().deleteHistoricDetailsByProcessInstanceIds(partition);
         commandContext.getHistoricVariableInstanceManager().deleteHistoricVariableInstanceByProcessInstanceIds(partition);
         commandContext.getCommentManager().deleteCommentsByProcessInstanceIds(partition);
@@ -110,6 +112,14 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     return Collections.EMPTY_LIST;
   }
 
+  public void findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery, Consumer<HistoricProcessInstance> consumer) {
+    if (isHistoryEnabled()) {
+      configureQuery(historicProcessInstanceQuery);
+      getDbEntityManager().selectStream("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery,
+          result -> consumer.accept((HistoricProcessInstance) result));
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults) {
     return getDbEntityManager().selectListWithRawParameter("selectHistoricProcessInstanceByNativeQuery", parameterMap, firstResult, maxResults);
@@ -127,6 +127,9 @@ public class HistoricTaskInstanceManager extends AbstractHistoricManager {
 
   public void deleteHistoricTaskInstanceById(final String taskId) {
     if (isHistoryEnabled()) {
+      // the outbox entries of a standalone task are scoped by the task
+      getHistoryEventOutboxManager().purgeOutboxEntriesByScopeIds(Collections.singletonList(taskId));
+
       HistoricTaskInstanceEntity historicTaskInstance = findHistoricTaskInstanceById(taskId);
       if (historicTaskInstance != null) {
         CommandContext commandContext = Context.getCommandContext();
@@ -22,6 +22,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
@@ -123,6 +124,12 @@ public class HistoricVariableInstanceManager extends AbstractHistoricManager {
     return getDbEntityManager().selectList("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery, page);
   }
 
+  public void findHistoricVariableInstancesByQueryCriteria(HistoricVariableInstanceQueryImpl historicProcessVariableQuery, Consumer<HistoricVariableInstance> consumer) {
+    configureQuery(historicProcessVariableQuery);
+    getDbEntityManager().selectStream("selectHistoricVariableInstanceByQueryCriteria", historicProcessVariableQuery,
+        result -> consumer.accept((HistoricVariableInstance) result));
+  }
+
   public HistoricVariableInstanceEntity findHistoricVariableInstanceByVariableInstanceId(String variableInstanceId) {
     return (HistoricVariableInstanceEntity) getDbEntityManager().selectOne("selectHistoricVariableInstanceByVariableInstanceId", variableInstanceId);
   }
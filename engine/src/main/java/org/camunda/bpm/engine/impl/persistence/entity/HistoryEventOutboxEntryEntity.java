@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+
+/**
+ * <p>An entry of the history event outbox, holding the serialized history events which a
+ * command produced for one scope, i.e. one process instance.</p>
+ *
+ * <p>The sequence orders the entries of a scope; entries are immutable and are deleted once
+ * they are drained.</p>
+ */
+public class HistoryEventOutboxEntryEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected int revision;
+
+  protected String scopeId;
+  protected long sequence;
+  protected Date createTime;
+  protected byte[] bytes;
+
+  public HistoryEventOutboxEntryEntity() {
+  }
+
+  public HistoryEventOutboxEntryEntity(String scopeId, long sequence, byte[] bytes) {
+    this.scopeId = scopeId;
+    this.sequence = sequence;
+    this.bytes = bytes;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public String getScopeId() {
+    return scopeId;
+  }
+
+  public void setScopeId(String scopeId) {
+    this.scopeId = scopeId;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return HistoryEventOutboxEntryEntity.class;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", revision=" + revision
+        + ", scopeId=" + scopeId
+        + ", sequence=" + sequence
+        + ", createTime=" + createTime
+        + "]";
+  }
+
+}
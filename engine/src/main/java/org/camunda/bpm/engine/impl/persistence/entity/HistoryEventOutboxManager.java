@@ -0,0 +1,358 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.Direction;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryPropertyImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventOutboxDrainHandler;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * <p>Manages the history event outbox. The history events of a command are collected
+ * while the command is executed and are written as {@link HistoryEventOutboxEntryEntity outbox entries}
+ * when the sessions are flushed, i.e. in the same transaction as the runtime state they describe.</p>
+ *
+ * <p>A command writes one entry per scope it produced events for. The scope is the process
+ * instance (or case instance) of the events; events outside of an instance are scoped by the
+ * entity they describe. Within a scope, an entry gets the sequence <code>max + 1</code> of the
+ * entries which are still in the outbox. Commands which produce events for the same history
+ * entity change the same runtime entity and are serialized by optimistic locking, so a command
+ * reads the sequence of every such command committed before it. The order of the sequence
+ * therefore does not depend on clocks or id blocks of the cluster nodes. Draining the
+ * entries of a scope in the order of their sequence keeps the order of its events.</p>
+ */
+public class HistoryEventOutboxManager extends AbstractManager {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String SELECT_OUTBOX_SCOPES = "selectHistoryEventOutboxScopes";
+  public static final String SELECT_OUTBOX_ENTRIES_BY_SCOPE_IDS = "selectHistoryEventOutboxEntriesByScopeIds";
+  public static final String SELECT_OUTBOX_MAX_SEQUENCE = "selectHistoryEventOutboxMaxSequence";
+
+  protected static final QueryOrderingProperty CREATE_TIME_ORDERING_PROPERTY =
+      new QueryOrderingProperty(new QueryPropertyImpl("CREATE_TIME_"), Direction.ASCENDING);
+  protected static final QueryOrderingProperty SCOPE_ID_ORDERING_PROPERTY =
+      new QueryOrderingProperty(new QueryPropertyImpl("SCOPE_ID_"), Direction.ASCENDING);
+
+  protected static final Set<String> ALLOWED_JDK_CLASSES = new HashSet<>(Arrays.asList(
+      "java.lang.Boolean",
+      "java.lang.Double",
+      "java.lang.Integer",
+      "java.lang.Long",
+      "java.lang.Number",
+      "java.lang.String",
+      "java.sql.Timestamp",
+      "java.util.Date",
+      "[B"));
+
+  /** scope id (<code>null</code> for events without scope) -> events of the scope */
+  protected Map<String, OutboxEntryBuffer> entryBuffers = new LinkedHashMap<>();
+
+  public HistoryEventOutboxManager() {
+    // the entity manager must be flushed after the outbox entries are inserted;
+    // sessions opened earlier are flushed later
+    Context.getCommandContext().getDbEntityManager();
+  }
+
+  /**
+   * Adds the given event to the outbox entry of its scope in the current command. The event
+   * is serialized right away, so later changes to the same event object (e.g. by the
+   * {@link org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer})
+   * are recorded as a separate event.
+   */
+  public void addHistoryEvent(HistoryEvent historyEvent) {
+    String scopeId = getScopeId(historyEvent);
+
+    try {
+      OutboxEntryBuffer entryBuffer = entryBuffers.get(scopeId);
+      if (entryBuffer == null) {
+        entryBuffer = new OutboxEntryBuffer();
+        entryBuffers.put(scopeId, entryBuffer);
+      }
+
+      entryBuffer.write(historyEvent);
+
+    } catch (IOException e) {
+      throw LOG.serializeHistoryEventOutboxEntryException(historyEvent, e);
+    }
+  }
+
+  @Override
+  public void flush() {
+    try {
+      for (Entry<String, OutboxEntryBuffer> entryBuffer : entryBuffers.entrySet()) {
+        insertOutboxEntry(entryBuffer.getKey(), entryBuffer.getValue().toByteArray());
+      }
+
+    } catch (IOException e) {
+      throw LOG.serializeHistoryEventOutboxEntryException(null, e);
+
+    } finally {
+      for (OutboxEntryBuffer entryBuffer : entryBuffers.values()) {
+        entryBuffer.close();
+      }
+      entryBuffers.clear();
+    }
+  }
+
+  protected void insertOutboxEntry(String scopeId, byte[] bytes) {
+    HistoryEventOutboxEntryEntity outboxEntry = new HistoryEventOutboxEntryEntity();
+    outboxEntry.setBytes(bytes);
+    outboxEntry.setCreateTime(ClockUtil.getCurrentTime());
+
+    if (scopeId == null) {
+      // events without scope only insert history, the entry is its own scope
+      outboxEntry.setId(Context.getProcessEngineConfiguration().getIdGenerator().getNextId());
+      outboxEntry.setScopeId(outboxEntry.getId());
+      outboxEntry.setSequence(1);
+
+    } else {
+      outboxEntry.setScopeId(scopeId);
+      outboxEntry.setSequence(findMaxSequence(scopeId) + 1);
+    }
+
+    getDbEntityManager().insert(outboxEntry);
+  }
+
+  protected long findMaxSequence(String scopeId) {
+    Long maxSequence = (Long) getDbEntityManager().selectOne(SELECT_OUTBOX_MAX_SEQUENCE, scopeId);
+    return maxSequence != null ? maxSequence : 0;
+  }
+
+  /**
+   * @return the scope which orders the given event: the instance the event belongs to, or
+   * the history entity the event describes if there is no such instance
+   */
+  protected String getScopeId(HistoryEvent historyEvent) {
+    if (historyEvent.getProcessInstanceId() != null) {
+      return historyEvent.getProcessInstanceId();
+
+    } else if (historyEvent.getCaseInstanceId() != null) {
+      return historyEvent.getCaseInstanceId();
+
+    } else if (historyEvent instanceof HistoricVariableUpdateEventEntity) {
+      // all updates of a variable change the same historic variable instance
+      return ((HistoricVariableUpdateEventEntity) historyEvent).getVariableInstanceId();
+
+    } else {
+      return historyEvent.getId();
+    }
+  }
+
+  /**
+   * <p>Claims the next outbox entries to drain. The entries are claimed under an exclusive
+   * lock which is held until the transaction ends, so the drains of the cluster nodes
+   * don't write the same entries.</p>
+   *
+   * <p>The claimed entries belong to the <code>maxResults</code> scopes which wait the
+   * longest for their oldest entry. Every scope gets an equal share of the entries, so
+   * a scope with many entries doesn't delay the other scopes.</p>
+   *
+   * @return the claimed entries ordered by their sequence within each scope; for every
+   * scope, the returned entries precede all entries of the scope which are not returned
+   */
+  @SuppressWarnings("unchecked")
+  public List<HistoryEventOutboxEntryEntity> claimOutboxEntries(int maxResults) {
+    Context.getCommandContext().getPropertyManager().acquireExclusiveLockForHistoryEventOutbox();
+
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(null, 0, maxResults);
+    parameterObject.getOrderingProperties().add(CREATE_TIME_ORDERING_PROPERTY);
+    parameterObject.getOrderingProperties().add(SCOPE_ID_ORDERING_PROPERTY);
+
+    List<String> scopeIds = getDbEntityManager().selectList(SELECT_OUTBOX_SCOPES, parameterObject);
+    if (scopeIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    return findOutboxEntriesByScopeIds(scopeIds, Math.max(1, maxResults / scopeIds.size()));
+  }
+
+  /**
+   * @param entriesPerScope the maximum number of entries per scope, or <code>null</code> for all entries
+   * @return the first entries of the given scopes, ordered by the given scopes and by their sequence
+   * within each scope
+   */
+  @SuppressWarnings("unchecked")
+  protected List<HistoryEventOutboxEntryEntity> findOutboxEntriesByScopeIds(List<String> scopeIds, Integer entriesPerScope) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("scopeIds", scopeIds);
+    parameters.put("entriesPerScope", entriesPerScope);
+
+    List<HistoryEventOutboxEntryEntity> outboxEntries = getDbEntityManager()
+        .selectList(SELECT_OUTBOX_ENTRIES_BY_SCOPE_IDS, parameters);
+
+    Map<String, Integer> scopeOrder = new HashMap<>();
+    for (String scopeId : scopeIds) {
+      scopeOrder.put(scopeId, scopeOrder.size());
+    }
+    outboxEntries.sort(Comparator
+        .comparing((HistoryEventOutboxEntryEntity outboxEntry) -> scopeOrder.get(outboxEntry.getScopeId()))
+        .thenComparingLong(HistoryEventOutboxEntryEntity::getSequence));
+
+    return outboxEntries;
+  }
+
+  /**
+   * Writes the history events of the given entries to the history tables and deletes the entries.
+   */
+  public void drainOutboxEntries(List<HistoryEventOutboxEntryEntity> outboxEntries) {
+    HistoryEventHandler historyEventHandler = new HistoryEventOutboxDrainHandler();
+
+    for (HistoryEventOutboxEntryEntity outboxEntry : outboxEntries) {
+      historyEventHandler.handleEvents(getHistoryEvents(outboxEntry));
+      deleteOutboxEntry(outboxEntry);
+    }
+  }
+
+  public List<HistoryEvent> getHistoryEvents(HistoryEventOutboxEntryEntity outboxEntry) {
+    byte[] bytes = outboxEntry.getBytes();
+    if (bytes == null) {
+      return Collections.emptyList();
+    }
+
+    List<HistoryEvent> historyEvents = new ArrayList<>();
+    ObjectInputStream eventStream = null;
+    try {
+      eventStream = new HistoryEventInputStream(new ByteArrayInputStream(bytes));
+
+      Object historyEvent = eventStream.readObject();
+      while (historyEvent != null) {
+        historyEvents.add((HistoryEvent) historyEvent);
+        historyEvent = eventStream.readObject();
+      }
+
+    } catch (Exception e) {
+      throw LOG.deserializeHistoryEventOutboxEntryException(outboxEntry.getId(), e);
+
+    } finally {
+      IoUtil.closeSilently(eventStream);
+    }
+
+    return historyEvents;
+  }
+
+  /**
+   * Deletes the drained entry. The revision check makes a concurrent drain
+   * of the same entry fail with an {@link org.camunda.bpm.engine.OptimisticLockingException}.
+   */
+  public void deleteOutboxEntry(HistoryEventOutboxEntryEntity outboxEntry) {
+    getDbEntityManager().delete(outboxEntry);
+  }
+
+  /**
+   * <p>Purges the entries of the given scopes, whose history is about to be deleted. Without
+   * it, a later drain would write the history of the entries again after it was deleted.</p>
+   *
+   * <p>The entries are drained in the current transaction rather than discarded, so that
+   * the history is deleted by the statements which delete the older history of the scopes,
+   * while history which is kept on deletion (e.g. user operation logs) is kept as well. The
+   * outbox lock makes a running drain finish first.</p>
+   */
+  public void purgeOutboxEntriesByScopeIds(List<String> scopeIds) {
+    if (Context.getProcessEngineConfiguration().isHistoryEventOutboxEnabled() && !scopeIds.isEmpty()) {
+      Context.getCommandContext().getPropertyManager().acquireExclusiveLockForHistoryEventOutbox();
+      drainOutboxEntries(findOutboxEntriesByScopeIds(scopeIds, null));
+    }
+  }
+
+  /**
+   * The serialized events of one outbox entry.
+   */
+  protected static class OutboxEntryBuffer {
+
+    protected ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    protected ObjectOutputStream eventStream;
+
+    public OutboxEntryBuffer() throws IOException {
+      eventStream = new ObjectOutputStream(buffer);
+    }
+
+    public void write(HistoryEvent historyEvent) throws IOException {
+      eventStream.writeObject(historyEvent);
+      // the same event object may be passed again with a changed state
+      eventStream.reset();
+    }
+
+    public byte[] toByteArray() throws IOException {
+      // marks the end of the events
+      eventStream.writeObject(null);
+      eventStream.flush();
+      return buffer.toByteArray();
+    }
+
+    public void close() {
+      IoUtil.closeSilently(eventStream);
+    }
+  }
+
+  /**
+   * Only resolves history event classes and the value types of their fields.
+   */
+  protected static class HistoryEventInputStream extends ObjectInputStream {
+
+    public HistoryEventInputStream(InputStream in) throws IOException {
+      super(in);
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+      String className = desc.getName();
+      if (ALLOWED_JDK_CLASSES.contains(className)) {
+        return super.resolveClass(desc);
+      }
+
+      Class<?> clazz = ReflectUtil.loadClass(className);
+      if (!HistoryEvent.class.isAssignableFrom(clazz)) {
+        throw new InvalidClassException(className, "not a history event");
+      }
+      return clazz;
+    }
+
+  }
+
+}
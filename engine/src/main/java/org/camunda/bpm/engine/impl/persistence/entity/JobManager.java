@@ -42,11 +42,13 @@ import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.jobexecutor.LocalJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerExecuteNestedActivityJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
@@ -154,6 +156,12 @@ public class JobManager extends AbstractManager {
         job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
         job.setLockOwner(jobExecutor.getLockOwner());
         transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+      } else if (isLocalJobHandoffApplicable(job, jobExecutor)) {
+        // lock job & hand it over to the job executor of this node after commit
+        Date currentTime = ClockUtil.getCurrentTime();
+        job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+        job.setLockOwner(jobExecutor.getLockOwner());
+        transactionListener = new LocalJobAddedNotification(job.getId(), jobExecutor);
       } else {
         // reset Acquisition strategy and notify the JobExecutor that
         // a new Job is available for execution on future runs
@@ -165,6 +173,33 @@ public class JobManager extends AbstractManager {
     }
   }
 
+  /**
+   * Exclusive jobs are not handed over since another exclusive job of the same
+   * process instance may be executed concurrently. The remaining conditions
+   * mirror the job acquisition query.
+   */
+  protected boolean isLocalJobHandoffApplicable(JobEntity job, JobExecutor jobExecutor) {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+
+    if (!configuration.isJobExecutorLocalJobHandoff()
+        || !jobExecutor.isLocalJobHandoffSupported()
+        || job.isSuspended()
+        || job.isExclusive()
+        || !isJobDue(job)) {
+      return false;
+    }
+
+    if (!configuration.isHistoryCleanupEnabled() && HistoryCleanupJobHandler.TYPE.equals(job.getJobHandlerType())) {
+      return false;
+    }
+
+    if (configuration.isJobExecutorDeploymentAware() && job.getDeploymentId() != null) {
+      return configuration.getRegisteredDeployments().contains(job.getDeploymentId());
+    }
+
+    return true;
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -199,8 +234,22 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute("selectNextJobsToExecute", page);
+  }
+
+  /**
+   * Selects the next jobs to execute and locks their rows until the end of the
+   * transaction. Rows which are locked by a concurrent transaction are skipped,
+   * so that concurrent acquisitions select disjoint sets of jobs.
+   * Must only be used if {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory#isSkipLockedSupported()}.
+   */
+  public List<AcquirableJobEntity> findNextJobsToExecuteSkipLocked(Page page) {
+    return findNextJobsToExecute("selectNextJobsToExecuteSkipLocked", page);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<AcquirableJobEntity> findNextJobsToExecute(String statement, Page page) {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -235,7 +284,7 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
-    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    return getDbEntityManager().selectList(statement, params, page);
   }
 
   @SuppressWarnings("unchecked")
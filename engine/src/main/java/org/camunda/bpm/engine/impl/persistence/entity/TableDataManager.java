@@ -92,6 +92,7 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(TimerEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(JobDefinitionEntity.class, "ACT_RU_JOBDEF");
     persistentObjectToTableNameMap.put(BatchEntity.class, "ACT_RU_BATCH");
+    persistentObjectToTableNameMap.put(HistoryEventOutboxEntryEntity.class, "ACT_RU_HIST_OUTBOX");
 
     persistentObjectToTableNameMap.put(IncidentEntity.class, "ACT_RU_INCIDENT");
 
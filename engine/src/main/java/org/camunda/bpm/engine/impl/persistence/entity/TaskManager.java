@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.impl.Page;
@@ -138,6 +139,11 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTaskByQueryCriteria", taskQuery);
   }
 
+  public void findTasksByQueryCriteria(TaskQueryImpl taskQuery, Consumer<Task> consumer) {
+    configureQuery(taskQuery);
+    getDbEntityManager().selectStream("selectTaskByQueryCriteria", taskQuery, result -> consumer.accept((Task) result));
+  }
+
   public long findTaskCountByQueryCriteria(TaskQueryImpl taskQuery) {
     configureQuery(taskQuery);
     return (Long) getDbEntityManager().selectOne("selectTaskCountByQueryCriteria", taskQuery);
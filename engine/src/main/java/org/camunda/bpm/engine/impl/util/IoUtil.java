@@ -25,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
 
@@ -57,6 +58,28 @@ public class IoUtil {
     return outputStream.toByteArray();
   }
 
+  /**
+   * Copies the input stream to the output stream in chunks of 16 KB.
+   *
+   * @return the number of bytes copied
+   */
+  public static long copy(InputStream inputStream, OutputStream outputStream, String inputStreamName) {
+    byte[] buffer = new byte[16*1024];
+    long bytesCopied = 0;
+    try {
+      int bytesRead = inputStream.read(buffer);
+      while (bytesRead!=-1) {
+        outputStream.write(buffer, 0, bytesRead);
+        bytesCopied += bytesRead;
+        bytesRead = inputStream.read(buffer);
+      }
+    }
+    catch (Exception e) {
+      throw LOG.exceptionWhileReadingStream(inputStreamName, e);
+    }
+    return bytesCopied;
+  }
+
   public static String readClasspathResourceAsString(String resourceName) {
     InputStream resourceAsStream = IoUtil.class.getClassLoader().getResourceAsStream(resourceName);
 
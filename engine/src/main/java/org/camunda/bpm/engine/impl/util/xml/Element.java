@@ -70,6 +70,16 @@ public class Element {
     }
   }
 
+  /**
+   * Creates an element without attributes and children, used to restore a snapshot of a parsed document.
+   */
+  protected Element(String uri, String tagName, int line, int column) {
+    this.uri = uri;
+    this.tagName = tagName;
+    this.line = line;
+    this.column = column;
+  }
+
   public List<Element> elements(String tagName) {
     return elementsNS( (String) null, tagName);
   }
@@ -0,0 +1,110 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * <p>Writes and reads a parsed XML document in a compact binary format. A restored
+ * document contains the same elements, attributes, text and line numbers as the
+ * originally parsed one, including attribute defaults added by schema validation, so
+ * a {@link Parse} can process it without reading and validating the XML again.</p>
+ *
+ * <p>The format has no versioning of its own; callers have to discard snapshots
+ * written by another format or engine version.</p>
+ */
+public class ElementTreeSerializer {
+
+  protected static final int NULL_LENGTH = -1;
+
+  public static void write(Element element, DataOutputStream out) throws IOException {
+    writeString(element.uri, out);
+    writeString(element.tagName, out);
+    out.writeInt(element.line);
+    out.writeInt(element.column);
+    writeString(element.text.toString(), out);
+
+    out.writeInt(element.attributeMap.size());
+    for (Map.Entry<String, Attribute> attributeEntry : element.attributeMap.entrySet()) {
+      Attribute attribute = attributeEntry.getValue();
+      writeString(attributeEntry.getKey(), out);
+      writeString(attribute.getName(), out);
+      writeString(attribute.getValue(), out);
+      writeString(attribute.getUri(), out);
+    }
+
+    out.writeInt(element.elements.size());
+    for (Element childElement : element.elements) {
+      write(childElement, out);
+    }
+  }
+
+  public static Element read(DataInputStream in) throws IOException {
+    String uri = readString(in);
+    String tagName = readString(in);
+    int line = in.readInt();
+    int column = in.readInt();
+
+    Element element = new Element(uri, tagName, line, column);
+    element.appendText(readString(in));
+
+    int attributeCount = in.readInt();
+    for (int i = 0; i < attributeCount; i++) {
+      String key = readString(in);
+      String name = readString(in);
+      String value = readString(in);
+      String attributeUri = readString(in);
+      element.attributeMap.put(key, new Attribute(name, value, attributeUri));
+    }
+
+    int elementCount = in.readInt();
+    for (int i = 0; i < elementCount; i++) {
+      element.add(read(in));
+    }
+
+    return element;
+  }
+
+  protected static void writeString(String value, DataOutputStream out) throws IOException {
+    // writeUTF is limited to 64 KB, which scripts and documentation can exceed
+    if (value == null) {
+      out.writeInt(NULL_LENGTH);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  protected static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    } else if (length < 0) {
+      throw new IOException("Invalid string length " + length);
+    } else {
+      byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+
+}
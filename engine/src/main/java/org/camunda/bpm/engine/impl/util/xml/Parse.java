@@ -130,7 +130,20 @@ public abstract class Parse extends DefaultHandler {
     this.schemaResource = schemaResource;
   }
 
+  /**
+   * Uses an already parsed document instead of reading the stream source; see {@link ElementTreeSerializer}.
+   */
+  public Parse rootElement(Element rootElement) {
+    this.rootElement = rootElement;
+    return this;
+  }
+
   public Parse execute() {
+    if (rootElement != null) {
+      // document was restored from a snapshot
+      return this;
+    }
+
     try {
       InputStream inputStream = streamSource.getInputStream();
 
@@ -18,6 +18,9 @@ package org.camunda.bpm.engine.impl.variable.serializer;
 
 import java.util.Arrays;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
@@ -74,10 +77,22 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
       // ensure file name is not null
       fileName = "";
     }
-    FileValueBuilder builder = Variables.fileValue(fileName);
-    if (valueFields.getByteArrayValue() != null) {
-      builder.file(valueFields.getByteArrayValue());
+
+    FileValueImpl fileValue;
+    String streamedByteArrayId = getStreamedByteArrayId(valueFields);
+    if (streamedByteArrayId != null) {
+      // the content is loaded on access
+      CommandExecutor commandExecutor = Context.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+      fileValue = new StreamedFileValueImpl(fileName, streamedByteArrayId, commandExecutor);
+    }
+    else {
+      FileValueBuilder builder = Variables.fileValue(fileName);
+      if (valueFields.getByteArrayValue() != null) {
+        builder.file(valueFields.getByteArrayValue());
+      }
+      fileValue = (FileValueImpl) builder.create();
     }
+
     // to ensure the same array size all the time
     if (valueFields.getTextValue2() != null) {
       String[] split = Arrays.copyOf(valueFields.getTextValue2().split(MIMETYPE_ENCODING_SEPARATOR, NR_OF_VALUES_IN_TEXTFIELD2), NR_OF_VALUES_IN_TEXTFIELD2);
@@ -85,13 +100,27 @@ public class FileValueSerializer extends AbstractTypedValueSerializer<FileValue>
       String mimeType = returnNullIfEmptyString(split[0]);
       String encoding = returnNullIfEmptyString(split[1]);
 
-      builder.mimeType(mimeType);
-      builder.encoding(encoding);
+      fileValue.setMimeType(mimeType);
+      fileValue.setEncoding(encoding);
     }
 
-    builder.setTransient(asTransientValue);
+    fileValue.setTransient(asTransientValue);
+
+    return fileValue;
+  }
 
-    return builder.create();
+  /**
+   * @return the id of the byte array to stream the content from, or <code>null</code>
+   * if the content is read with the value fields
+   */
+  protected String getStreamedByteArrayId(ValueFields valueFields) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.isFileValueStreamingEnabled()
+        && valueFields instanceof ByteArrayValueFields) {
+      return ((ByteArrayValueFields) valueFields).getByteArrayValueId();
+    }
+    return null;
   }
 
   protected String returnNullIfEmptyString(String s) {
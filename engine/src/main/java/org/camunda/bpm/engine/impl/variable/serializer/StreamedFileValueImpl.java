@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.variable.impl.value.FileValueImpl;
+import org.camunda.bpm.engine.variable.type.PrimitiveValueType;
+
+/**
+ * <p>A file value whose content is not loaded together with the variable but only when
+ * it is accessed:</p>
+ *
+ * <ul>
+ *   <li>{@link #getValue()} copies the content from the database into a temporary file in
+ *   chunks and returns a stream of that file. Every call reads the content as it is stored
+ *   at the time of the call, i.e. it reflects later changes of the variable and returns
+ *   <code>null</code> once the content is deleted. The stream owns the temporary file: the
+ *   file is deleted when the stream is read to its end or closed, so callers which do not
+ *   read the whole content must close the stream.</li>
+ *   <li>{@link #getByteArray()} loads the content into memory once, e.g. when the value is
+ *   written again, and {@link #getValue()} returns streams of these bytes afterwards.</li>
+ * </ul>
+ *
+ * <p>The content is read in a command of its own, so the value can be accessed after the
+ * command that fetched the variable has completed.</p>
+ */
+public class StreamedFileValueImpl extends FileValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected String byteArrayId;
+  protected transient CommandExecutor commandExecutor;
+
+  public StreamedFileValueImpl(String filename, String byteArrayId, CommandExecutor commandExecutor) {
+    super(PrimitiveValueType.FILE, filename);
+    this.byteArrayId = byteArrayId;
+    this.commandExecutor = commandExecutor;
+  }
+
+  @Override
+  public InputStream getValue() {
+    if (value != null) {
+      return super.getValue();
+    }
+
+    File file = null;
+    boolean exists = false;
+    try {
+      file = Files.createTempFile("camunda-file-value-", ".tmp").toFile();
+
+      try (OutputStream outputStream = new FileOutputStream(file)) {
+        exists = copyBytesTo(outputStream);
+      }
+
+      return exists ? new TemporaryFileInputStream(file) : null;
+    }
+    catch (IOException e) {
+      exists = false;
+      throw LOG.couldNotReadByteArray(byteArrayId, e);
+    }
+    finally {
+      if (file != null && !exists) {
+        file.delete();
+      }
+    }
+  }
+
+  @Override
+  public byte[] getByteArray() {
+    if (value == null) {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      if (copyBytesTo(outputStream)) {
+        value = outputStream.toByteArray();
+      }
+    }
+    return value;
+  }
+
+  public String getByteArrayId() {
+    return byteArrayId;
+  }
+
+  /**
+   * @return <code>true</code> if the content was loaded into memory
+   */
+  public boolean isLoaded() {
+    return value != null;
+  }
+
+  protected boolean copyBytesTo(OutputStream outputStream) {
+    return commandExecutor.execute(commandContext ->
+      commandContext.getByteArrayManager().copyBytesTo(byteArrayId, outputStream));
+  }
+
+  /**
+   * The command executor can't be serialized; the content is loaded instead.
+   */
+  protected Object writeReplace() {
+    FileValueImpl fileValue = new FileValueImpl(getByteArray(), type, filename, mimeType, encoding);
+    fileValue.setTransient(isTransient);
+    return fileValue;
+  }
+
+  @Override
+  public String toString() {
+    return "StreamedFileValueImpl [mimeType=" + mimeType + ", filename=" + filename + ", type=" + type
+        + ", byteArrayId=" + byteArrayId + ", isTransient=" + isTransient + "]";
+  }
+
+  /**
+   * Deletes the temporary file when the stream is closed or its end is reached.
+   */
+  protected static class TemporaryFileInputStream extends FileInputStream {
+
+    protected File file;
+    protected boolean released = false;
+
+    public TemporaryFileInputStream(File file) throws FileNotFoundException {
+      super(file);
+      this.file = file;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return released ? -1 : releaseAtEnd(super.read());
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+      return released ? -1 : releaseAtEnd(super.read(b));
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      return released ? -1 : releaseAtEnd(super.read(b, off, len));
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!released) {
+        released = true;
+        try {
+          super.close();
+        }
+        finally {
+          file.delete();
+        }
+      }
+    }
+
+    protected int releaseAtEnd(int result) throws IOException {
+      if (result == -1) {
+        close();
+      }
+      return result;
+    }
+  }
+
+}
@@ -19,10 +19,12 @@ package org.camunda.bpm.engine.task;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineConfiguration;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.exception.NotValidException;
 import org.camunda.bpm.engine.query.Query;
 import org.camunda.bpm.engine.variable.type.ValueType;
 
@@ -1058,4 +1060,35 @@ public interface TaskQuery extends Query<TaskQuery, Task>{
    * this exception, {@link #or()} must be invoked first.
    * */
   TaskQuery endOr();
+
+  /**
+   * Executes the query and returns up to <code>maxResults</code> tasks
+   * following the one the given cursor was created for. In contrast to
+   * {@link #listPage(int, int)}, the database seeks to the cursor instead of
+   * skipping rows, so deep pages are as fast as the first one.
+   *
+   * <p>The query must either not be ordered (results are ordered by id) or only be
+   * ordered by {@link #orderByTaskCreateTime()}; the id is appended as tie-breaker.</p>
+   *
+   * @param cursor the cursor of the last result of the previous page, see
+   *   {@link #cursorOf(Task)}, or <code>null</code> to get the first page
+   *
+   * @throws NotValidException when the query is ordered differently or the cursor is invalid
+   */
+  List<Task> listAfter(String cursor, int maxResults);
+
+  /**
+   * @return an opaque cursor to pass to {@link #listAfter(String, int)} to get the
+   *   results following the given one
+   */
+  String cursorOf(Task task);
+
+  /**
+   * Executes the query and passes the tasks one by one to the given consumer
+   * while they are read from the database. In contrast to {@link #list()}, the
+   * results are neither collected nor cached, so the memory used does not depend
+   * on the number of results. The consumer is called within the transaction that
+   * executes the query.
+   */
+  void forEach(Consumer<? super Task> consumer);
 }
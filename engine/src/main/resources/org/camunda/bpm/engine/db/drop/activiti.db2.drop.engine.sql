@@ -189,6 +189,7 @@ drop index ACT_IDX_AUTH_ROOT_PI;
 drop index ACT_IDX_AUTH_RM_TIME;
 
 drop index ACT_IDX_BATCH_ID;
+drop index ACT_IDX_HIST_OUTBOX_SCOPE;
 
 drop table ACT_GE_PROPERTY;
 drop table ACT_GE_BYTEARRAY;
@@ -209,4 +210,5 @@ drop table ACT_RU_METER_LOG;
 drop table ACT_RU_TASK_METER_LOG;
 drop table ACT_RU_EXT_TASK;
 drop table ACT_RU_BATCH;
+drop table ACT_RU_HIST_OUTBOX;
 drop table ACT_GE_SCHEMA_LOG;
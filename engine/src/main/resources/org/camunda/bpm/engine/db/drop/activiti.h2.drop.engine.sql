@@ -182,6 +182,7 @@ drop index ACT_IDX_AUTH_ROOT_PI;
 drop index ACT_IDX_AUTH_RM_TIME;
 
 drop index ACT_IDX_BATCH_ID;
+drop index ACT_IDX_HIST_OUTBOX_SCOPE;
 
 drop table ACT_GE_PROPERTY if exists;
 drop table ACT_GE_BYTEARRAY if exists;
@@ -202,5 +203,6 @@ drop table ACT_RU_METER_LOG if exists;
 drop table ACT_RU_TASK_METER_LOG if exists;
 drop table ACT_RU_EXT_TASK if exists;
 drop table ACT_RU_BATCH if exists;
+drop table ACT_RU_HIST_OUTBOX if exists;
 drop table ACT_GE_SCHEMA_LOG if exists;
 
@@ -190,6 +190,7 @@ drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_ROOT_PI;
 drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_RM_TIME;
 
 drop index ACT_RU_VARIABLE.ACT_IDX_BATCH_ID;
+drop index ACT_RU_HIST_OUTBOX.ACT_IDX_HIST_OUTBOX_SCOPE;
 
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_PROPERTY') drop table ACT_GE_PROPERTY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_BYTEARRAY') drop table ACT_GE_BYTEARRAY;
@@ -210,4 +211,5 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_TASK_METER_LOG') drop table ACT_RU_TASK_METER_LOG;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK') drop table ACT_RU_EXT_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_BATCH') drop table ACT_RU_BATCH;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_HIST_OUTBOX') drop table ACT_RU_HIST_OUTBOX;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_SCHEMA_LOG') drop table ACT_GE_SCHEMA_LOG;
@@ -173,6 +173,7 @@ drop index ACT_IDX_AUTH_ROOT_PI on ACT_RU_AUTHORIZATION;
 drop index ACT_IDX_AUTH_RM_TIME on ACT_RU_AUTHORIZATION;
 
 drop index ACT_IDX_BATCH_ID on ACT_RU_VARIABLE;
+drop index ACT_IDX_HIST_OUTBOX_SCOPE on ACT_RU_HIST_OUTBOX;
 
 drop table if exists ACT_GE_PROPERTY;
 drop table if exists ACT_RU_VARIABLE;
@@ -193,4 +194,5 @@ drop table if exists ACT_RU_METER_LOG;
 drop table if exists ACT_RU_TASK_METER_LOG;
 drop table if exists ACT_RU_EXT_TASK;
 drop table if exists ACT_RU_BATCH;
+drop table if exists ACT_RU_HIST_OUTBOX;
 drop table if exists ACT_GE_SCHEMA_LOG;
@@ -17,3 +17,19 @@
 
 insert into ACT_GE_SCHEMA_LOG
 values ('800', CURRENT_TIMESTAMP, '7.19.0');
+
+-- history event outbox
+insert into ACT_GE_PROPERTY
+values ('history.outbox.lock', '0', 1);
+
+create table ACT_RU_HIST_OUTBOX (
+  ID_ nvarchar(64) not null,
+  REV_ int not null,
+  SCOPE_ID_ nvarchar(64) not null,
+  SEQUENCE_ numeric(19,0) not null,
+  CREATE_TIME_ datetime2,
+  BYTES_ image,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SCOPE on ACT_RU_HIST_OUTBOX(SCOPE_ID_, SEQUENCE_);
@@ -17,3 +17,19 @@
 
 insert into ACT_GE_SCHEMA_LOG
 values ('800', CURRENT_TIMESTAMP, '7.19.0');
+
+-- history event outbox
+insert into ACT_GE_PROPERTY
+values ('history.outbox.lock', '0', 1);
+
+create table ACT_RU_HIST_OUTBOX (
+  ID_ NVARCHAR2(64) NOT NULL,
+  REV_ INTEGER NOT NULL,
+  SCOPE_ID_ NVARCHAR2(64) NOT NULL,
+  SEQUENCE_ NUMBER(19,0) NOT NULL,
+  CREATE_TIME_ TIMESTAMP(6),
+  BYTES_ BLOB,
+  primary key (ID_)
+);
+
+create index ACT_IDX_HIST_OUTBOX_SCOPE on ACT_RU_HIST_OUTBOX(SCOPE_ID_, SEQUENCE_);
@@ -0,0 +1,259 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.authorization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.authorization.Authorization.ANY;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GLOBAL;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_REVOKE;
+import static org.camunda.bpm.engine.authorization.Permissions.ALL;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.UPDATE;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permission;
+import org.camunda.bpm.engine.authorization.Resource;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class AuthorizationCheckCacheTest {
+
+  protected static final long TIME_TO_LIVE = 60000;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setAuthorizationCheckCacheEnabled(true)
+        .setAuthorizationCheckCacheTimeToLive(TIME_TO_LIVE));
+  @Rule
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected AuthorizationService authorizationService;
+
+  protected String userId = "demo";
+  protected List<String> groupIds = Collections.singletonList("accounting");
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    authorizationService = engineRule.getAuthorizationService();
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    processEngineConfiguration.getAuthorizationDecisionCache().invalidate();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    processEngineConfiguration.setAuthorizationCheckCacheEnabled(true);
+    processEngineConfiguration.setAuthorizationGrantIndexEnabled(false);
+    ClockUtil.reset();
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+  }
+
+  @Test
+  public void shouldDecideUserGrantForSpecificResource() {
+    // given
+    createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+
+    // then
+    assertAuthorized(true, userId, groupIds, READ, PROCESS_DEFINITION, "foo");
+    assertAuthorized(false, userId, groupIds, READ, PROCESS_DEFINITION, "bar");
+    assertAuthorized(false, userId, groupIds, UPDATE, PROCESS_DEFINITION, "foo");
+  }
+
+  @Test
+  public void shouldDecideGroupRevokeBeforeGlobalGrant() {
+    // given
+    createAuthorization(AUTH_TYPE_GLOBAL, ANY, null, PROCESS_DEFINITION, ANY, ALL);
+    createAuthorization(AUTH_TYPE_REVOKE, null, "accounting", PROCESS_DEFINITION, "foo", READ);
+
+    // then
+    assertAuthorized(false, userId, groupIds, READ, PROCESS_DEFINITION, "foo");
+    assertAuthorized(true, userId, groupIds, UPDATE, PROCESS_DEFINITION, "foo");
+    assertAuthorized(true, userId, groupIds, READ, PROCESS_DEFINITION, "bar");
+    assertAuthorized(true, userId, Collections.singletonList("sales"), READ, PROCESS_DEFINITION, "foo");
+  }
+
+  @Test
+  public void shouldDecideUserGrantBeforeGroupRevoke() {
+    // given
+    createAuthorization(AUTH_TYPE_REVOKE, null, "accounting", PROCESS_DEFINITION, ANY, READ);
+    createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, ANY, READ);
+
+    // then
+    assertAuthorized(true, userId, groupIds, READ, PROCESS_DEFINITION, "foo");
+    assertAuthorized(false, "other", groupIds, READ, PROCESS_DEFINITION, "foo");
+  }
+
+  @Test
+  public void shouldDecideGroupGrantForAnyResource() {
+    // given
+    createAuthorization(AUTH_TYPE_GRANT, null, "accounting", PROCESS_DEFINITION, ANY, READ);
+
+    // then
+    assertAuthorized(true, userId, groupIds, READ, PROCESS_DEFINITION, "foo");
+    assertAuthorized(false, userId, Collections.emptyList(), READ, PROCESS_DEFINITION, "foo");
+  }
+
+  @Test
+  public void shouldCacheDecisionAcrossCommands() {
+    // given
+    createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+
+    // when
+    authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo");
+
+    // then
+    assertThat(processEngineConfiguration.getAuthorizationDecisionCache().size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldInvalidateCachedDecisionOnSave() {
+    // given
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isFalse();
+
+    // when
+    createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isTrue();
+  }
+
+  @Test
+  public void shouldInvalidateCachedDecisionOnDelete() {
+    // given
+    Authorization authorization = createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isTrue();
+
+    // when
+    authorizationService.deleteAuthorization(authorization.getId());
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isFalse();
+  }
+
+  @Test
+  public void shouldInvalidateCachedDecisionsOfPreviousAndNewResourceTypeOnUpdate() {
+    // given
+    Authorization authorization = createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isTrue();
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, TASK, "foo")).isFalse();
+
+    // when
+    authorization.setResource(TASK);
+    authorizationService.saveAuthorization(authorization);
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isFalse();
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, TASK, "foo")).isTrue();
+  }
+
+  @Test
+  public void shouldKeepCachedDecisionsOfOtherResourceTypesOnUpdate() {
+    // given
+    Authorization authorization = createAuthorization(AUTH_TYPE_GRANT, userId, null, PROCESS_DEFINITION, "foo", READ);
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, TASK, "foo")).isFalse();
+
+    // an authorization which is written without invalidating the cached decisions
+    insertAuthorizationWithoutInvalidation(AUTH_TYPE_GRANT, userId, TASK, "foo", READ);
+
+    // when
+    authorization.addPermission(UPDATE);
+    authorizationService.saveAuthorization(authorization);
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, UPDATE, PROCESS_DEFINITION, "foo")).isTrue();
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, TASK, "foo")).isFalse();
+  }
+
+  @Test
+  public void shouldExpireCachedDecision() {
+    // given
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isFalse();
+
+    // an authorization which is written by another process engine
+    insertAuthorizationWithoutInvalidation(AUTH_TYPE_GRANT, userId, PROCESS_DEFINITION, "foo", READ);
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isFalse();
+
+    // when
+    ClockUtil.offset(TIME_TO_LIVE + 1000);
+
+    // then
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, READ, PROCESS_DEFINITION, "foo")).isTrue();
+  }
+
+  protected Authorization createAuthorization(int type, String userId, String groupId, Resource resource, String resourceId, Permission permission) {
+    Authorization authorization = authorizationService.createNewAuthorization(type);
+    authorization.setUserId(userId);
+    authorization.setGroupId(groupId);
+    authorization.setResource(resource);
+    authorization.setResourceId(resourceId);
+    if (type == AUTH_TYPE_REVOKE) {
+      authorization.removePermission(permission);
+    } else {
+      authorization.addPermission(permission);
+    }
+    return authorizationService.saveAuthorization(authorization);
+  }
+
+  protected void insertAuthorizationWithoutInvalidation(int type, String userId, Resource resource, String resourceId, Permission permission) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      AuthorizationEntity authorization = new AuthorizationEntity(type);
+      authorization.setUserId(userId);
+      authorization.setResource(resource);
+      authorization.setResourceId(resourceId);
+      authorization.addPermission(permission);
+      commandContext.getDbEntityManager().insert(authorization);
+      return null;
+    });
+  }
+
+  /**
+   * Asserts that the authorization check statement and the grant index come to the same decision.
+   */
+  protected void assertAuthorized(boolean expected, String userId, List<String> groupIds, Permission permission, Resource resource, String resourceId) {
+    processEngineConfiguration.setAuthorizationCheckCacheEnabled(false);
+
+    processEngineConfiguration.setAuthorizationGrantIndexEnabled(false);
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, permission, resource, resourceId)).isEqualTo(expected);
+
+    processEngineConfiguration.setAuthorizationGrantIndexEnabled(true);
+    assertThat(authorizationService.isUserAuthorized(userId, groupIds, permission, resource, resourceId)).isEqualTo(expected);
+  }
+
+}
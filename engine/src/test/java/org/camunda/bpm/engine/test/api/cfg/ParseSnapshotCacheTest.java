@@ -0,0 +1,165 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.ParseSnapshotCache;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParseSnapshotCacheTest {
+
+  protected static final File SNAPSHOT_DIRECTORY = new File("target/parse-snapshots");
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .boundaryEvent("timer")
+        .cancelActivity(false)
+        .timerWithDuration("PT1H")
+        .endEvent()
+      .moveToActivity("task")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setParseSnapshotDirectory(SNAPSHOT_DIRECTORY.getPath()));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+
+  protected ParseSnapshotCache parseSnapshotCache;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+
+    parseSnapshotCache = processEngineConfiguration.getParseSnapshotCache();
+    deleteSnapshots();
+  }
+
+  @Test
+  public void shouldWriteSnapshotOnDeployment() {
+    // when
+    testRule.deploy(PROCESS);
+
+    // then
+    assertThat(snapshotFiles()).hasSize(1);
+  }
+
+  @Test
+  public void shouldRestoreProcessDefinitionFromSnapshot() {
+    // given
+    testRule.deploy(PROCESS);
+    File[] snapshotFiles = snapshotFiles();
+    long lastModified = snapshotFiles[0].lastModified();
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then the definition was rebuilt and the snapshot was not rewritten
+    assertThat(snapshotFiles()).hasSize(1);
+    assertThat(snapshotFiles()[0].lastModified()).isEqualTo(lastModified);
+
+    assertThat(engineRule.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    assertThat(engineRule.getManagementService().createJobQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRestoreSchemaDefaults() {
+    // given
+    ProcessDefinition processDefinition = testRule.deploy(PROCESS).getDeployedProcessDefinitions().get(0);
+    InputStream resource = repositoryService.getResourceAsStream(processDefinition.getDeploymentId(), processDefinition.getResourceName());
+    byte[] bytes = IoUtil.readInputStream(resource, "process");
+
+    // when
+    Element rootElement = parseSnapshotCache.load(bytes, true);
+
+    // then
+    assertThat(rootElement).isNotNull();
+    Element process = rootElement.element("process");
+    Element boundaryEvent = process.elements("boundaryEvent").get(0);
+    assertThat(boundaryEvent.attribute("cancelActivity")).isEqualTo("false");
+    // added by schema validation
+    assertThat(boundaryEvent.attribute("parallelMultiple")).isEqualTo("false");
+  }
+
+  @Test
+  public void shouldParseResourceIfSnapshotIsCorrupt() throws IOException {
+    // given
+    testRule.deploy(PROCESS);
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+
+    for (File snapshotFile : snapshotFiles()) {
+      Files.write(snapshotFile.toPath(), new byte[] { 1, 2, 3 });
+    }
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceById(processDefinition.getId());
+
+    // then
+    assertThat(processInstance).isNotNull();
+    assertThat(engineRule.getTaskService().createTaskQuery().processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+  }
+
+  protected File[] snapshotFiles() {
+    File[] files = SNAPSHOT_DIRECTORY.listFiles();
+    return files != null ? files : new File[0];
+  }
+
+  protected void deleteSnapshots() {
+    for (File snapshotFile : snapshotFiles()) {
+      snapshotFile.delete();
+    }
+  }
+
+}
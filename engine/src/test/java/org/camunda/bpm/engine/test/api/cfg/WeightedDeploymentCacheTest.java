@@ -0,0 +1,336 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheStatistics;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefinitionWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmup;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedTinyLfuCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class WeightedDeploymentCacheTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance OTHER_PROCESS = Bpmn.createExecutableProcess("otherProcess")
+      .startEvent()
+      .userTask()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final int MAX_CACHE_WEIGHT = 100;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    WeightedCacheFactory cacheFactory = new WeightedCacheFactory();
+    cacheFactory.setMaxWeight(MAX_CACHE_WEIGHT);
+    configuration.setCacheFactory(cacheFactory);
+  });
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+  }
+
+  @Test
+  public void shouldBoundCacheByWeight() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      cache.put("entry-" + i, 10);
+    }
+
+    // then
+    // 9 entries in the main region and the last entry in the window
+    assertThat(cache.getWeight()).isLessThanOrEqualTo(100);
+    assertThat(cache.size()).isEqualTo(10);
+    assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldNotAdmitLessFrequentlyUsedEntry() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    for (int i = 0; i < 9; i++) {
+      cache.put("small-" + i, 10);
+      cache.get("small-" + i);
+      cache.get("small-" + i);
+    }
+
+    cache.put("large", 50);
+
+    // when
+    cache.put("next", 1);
+
+    // then
+    assertThat(cache.get("large")).isNull();
+    for (int i = 0; i < 9; i++) {
+      assertThat(cache.get("small-" + i)).isEqualTo(10);
+    }
+  }
+
+  @Test
+  public void shouldKeepEntryThatWasPutLast() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    for (int i = 0; i < 9; i++) {
+      cache.put("small-" + i, 10);
+      cache.get("small-" + i);
+      cache.get("small-" + i);
+    }
+
+    // when
+    cache.put("large", 50);
+
+    // then
+    assertThat(cache.get("large")).isEqualTo(50);
+    for (int i = 0; i < 9; i++) {
+      assertThat(cache.get("small-" + i)).isEqualTo(10);
+    }
+  }
+
+  @Test
+  public void shouldNotEvictVictimsOfRejectedEntry() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    cache.put("a", 20);
+    cache.put("b", 40);
+    for (int i = 0; i < 5; i++) {
+      cache.get("b");
+    }
+    cache.put("c", 1);
+
+    // "x" is used more often than "a" but less often than "b", and needs the space of both
+    cache.get("x");
+    cache.put("x", 60);
+
+    // when
+    cache.put("y", 1);
+
+    // then
+    assertThat(cache.get("x")).isNull();
+    assertThat(cache.get("a")).isEqualTo(20);
+    assertThat(cache.get("b")).isEqualTo(40);
+  }
+
+  @Test
+  public void shouldAdmitMoreFrequentlyUsedEntry() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    for (int i = 0; i < 9; i++) {
+      cache.put("small-" + i, 10);
+    }
+
+    for (int i = 0; i < 3; i++) {
+      cache.get("large");
+    }
+    cache.put("large", 50);
+
+    // when
+    cache.put("next", 1);
+
+    // then
+    // 5 small entries are replaced by the large one
+    assertThat(cache.get("large")).isEqualTo(50);
+    assertThat(cache.getWeight()).isLessThanOrEqualTo(100);
+    assertThat(cache.size()).isEqualTo(6);
+  }
+
+  @Test
+  public void shouldNotKeepEntryHeavierThanCache() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    cache.put("huge", 200);
+
+    // when
+    cache.put("a", 10);
+
+    // then
+    assertThat(cache.get("huge")).isNull();
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getWeight()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldUpdateWeightOnRemoval() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    cache.put("a", 10);
+    cache.put("b", 20);
+
+    // when
+    cache.remove("a");
+
+    // then
+    assertThat(cache.getWeight()).isEqualTo(20);
+
+    // when
+    cache.clear();
+
+    // then
+    assertThat(cache.getWeight()).isZero();
+    assertThat(cache.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldRecordStatistics() {
+    // given
+    WeightedTinyLfuCache<String, Integer> cache = new WeightedTinyLfuCache<>(100, 10, value -> (Integer) value);
+    cache.put("a", 10);
+
+    // when
+    cache.get("a");
+    cache.get("a");
+    cache.get("b");
+
+    // then
+    CacheStatistics statistics = cache.getStatistics();
+    assertThat(statistics.getHitCount()).isEqualTo(2);
+    assertThat(statistics.getMissCount()).isEqualTo(1);
+    assertThat(statistics.getSize()).isEqualTo(1);
+    assertThat(statistics.getWeight()).isEqualTo(10);
+    assertThat(statistics.getMaxWeight()).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldWeighDefinitionsByNumberOfElements() {
+    // given
+    String processDefinitionId = testRule.deployAndGetDefinition(PROCESS).getId();
+    String otherProcessDefinitionId = testRule.deployAndGetDefinition(OTHER_PROCESS).getId();
+
+    ProcessDefinitionEntity processDefinition = deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+    ProcessDefinitionEntity otherProcessDefinition = deploymentCache.findDeployedProcessDefinitionById(otherProcessDefinitionId);
+
+    // when
+    DefinitionWeigher weigher = new DefinitionWeigher();
+
+    // then
+    // process definition, start event, user task, end event
+    assertThat(weigher.weigh(processDefinition)).isEqualTo(4);
+    assertThat(weigher.weigh(otherProcessDefinition)).isEqualTo(5);
+    assertThat(weigher.weigh(deploymentCache.findBpmnModelInstanceForProcessDefinition(otherProcessDefinitionId)))
+      .isGreaterThan(weigher.weigh(deploymentCache.findBpmnModelInstanceForProcessDefinition(processDefinitionId)));
+  }
+
+  @Test
+  public void shouldExposeCacheStatistics() {
+    // given
+    String processDefinitionId = testRule.deployAndGetDefinition(PROCESS).getId();
+
+    // when
+    repositoryService.getProcessDefinition(processDefinitionId);
+
+    // then
+    CacheStatistics statistics = deploymentCache.getCacheStatistics().get("processDefinition");
+    assertThat(statistics).isNotNull();
+    assertThat(statistics.getHitCount()).isPositive();
+    assertThat(statistics.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStartLargeDefinitionWithFilledCache() {
+    // given
+    List<String> processDefinitionIds = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      processDefinitionIds.add(testRule.deployAndGetDefinition(PROCESS).getId());
+    }
+    for (int i = 0; i < 3; i++) {
+      for (String processDefinitionId : processDefinitionIds) {
+        repositoryService.getProcessDefinition(processDefinitionId);
+      }
+    }
+
+    // heavier than the whole cache
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("largeProcess").startEvent();
+    for (int i = 0; i < MAX_CACHE_WEIGHT; i++) {
+      builder = builder.userTask("task" + i);
+    }
+    String largeProcessDefinitionId = testRule.deployAndGetDefinition(builder.endEvent().done()).getId();
+    testRule.deploy(OTHER_PROCESS);
+
+    // when
+    runtimeService.startProcessInstanceById(largeProcessDefinitionId);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("task0").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldWarmUpLatestActiveDefinitions() {
+    // given
+    testRule.deploy(PROCESS);
+    String latestProcessDefinitionId = testRule.deployAndGetDefinition(PROCESS).getId();
+    String suspendedProcessDefinitionId = testRule.deployAndGetDefinition(OTHER_PROCESS).getId();
+    repositoryService.suspendProcessDefinitionById(suspendedProcessDefinitionId);
+
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    new DeploymentCacheWarmup(processEngineConfiguration.getCommandExecutorTxRequired(), 2).warmUp();
+
+    // then
+    assertThat(deploymentCache.getProcessDefinitionCache().keySet()).containsExactly(latestProcessDefinitionId);
+    ProcessDefinition processDefinition = deploymentCache.findProcessDefinitionFromCache(latestProcessDefinitionId);
+    assertThat(processDefinition).isNotNull();
+  }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.exception.NotFoundException;
+import org.camunda.bpm.engine.exception.NullValueException;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskHandlingResult;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Tests {@link ExternalTaskService#handleBulk(String)}
+ */
+public class ExternalTaskBulkHandlingTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  protected final BpmnModelInstance oneTaskProcess = Bpmn.createExecutableProcess("oneTaskProcess")
+    .startEvent()
+    .serviceTask("theTask")
+      .camundaExternalTask("theTopic")
+    .userTask("afterTask")
+    .endEvent()
+    .moveToActivity("theTask")
+    .boundaryEvent("errorEvent")
+      .error("theErrorCode")
+    .userTask("afterErrorTask")
+    .endEvent()
+    .done();
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+
+    testRule.deploy(oneTaskProcess);
+  }
+
+  @Test
+  public void shouldCompleteAllTasks() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(3);
+
+    // when
+    List<ExternalTaskHandlingResult> results = externalTaskService.handleBulk(WORKER_ID)
+      .complete(tasks.get(0).getId())
+      .complete(tasks.get(1).getId(), Variables.createVariables().putValue("foo", "bar"), null)
+      .complete(tasks.get(2).getId())
+      .execute();
+
+    // then
+    assertThat(results)
+      .extracting("externalTaskId", "successful")
+      .containsExactly(
+          tuple(tasks.get(0).getId(), true),
+          tuple(tasks.get(1).getId(), true),
+          tuple(tasks.get(2).getId(), true));
+
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterTask").count()).isEqualTo(3);
+    assertThat(runtimeService.getVariable(tasks.get(1).getProcessInstanceId(), "foo")).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldHandleFailureAndBpmnError() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(2);
+
+    // when
+    List<ExternalTaskHandlingResult> results = externalTaskService.handleBulk(WORKER_ID)
+      .handleFailure(tasks.get(0).getId(), "anErrorMessage", "someDetails", 2, 0, null, null)
+      .handleBpmnError(tasks.get(1).getId(), "theErrorCode", null, null)
+      .execute();
+
+    // then
+    assertThat(results)
+      .extracting("successful")
+      .containsExactly(true, true);
+
+    ExternalTask failedTask = externalTaskService.createExternalTaskQuery().singleResult();
+    assertThat(failedTask.getId()).isEqualTo(tasks.get(0).getId());
+    assertThat(failedTask.getRetries()).isEqualTo(2);
+    assertThat(failedTask.getErrorMessage()).isEqualTo("anErrorMessage");
+
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterErrorTask").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReportTaskLockedByAnotherWorker() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(1);
+
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    LockedExternalTask otherWorkersTask = externalTaskService.fetchAndLock(1, "anotherWorkerId")
+      .topic("theTopic", LOCK_DURATION)
+      .execute()
+      .get(0);
+
+    // when
+    List<ExternalTaskHandlingResult> results = externalTaskService.handleBulk(WORKER_ID)
+      .complete(otherWorkersTask.getId())
+      .complete(tasks.get(0).getId())
+      .execute();
+
+    // then
+    assertThat(results.get(0).isSuccessful()).isFalse();
+    assertThat(results.get(0).getException())
+      .isInstanceOf(BadUserRequestException.class)
+      .hasMessageContaining("It is locked by worker 'anotherWorkerId'");
+    assertThat(results.get(1).isSuccessful()).isTrue();
+
+    assertThat(externalTaskService.createExternalTaskQuery().singleResult().getId()).isEqualTo(otherWorkersTask.getId());
+  }
+
+  @Test
+  public void shouldReportNonExistingTask() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(1);
+
+    // when
+    List<ExternalTaskHandlingResult> results = externalTaskService.handleBulk(WORKER_ID)
+      .complete("nonExistingId")
+      .complete(tasks.get(0).getId())
+      .execute();
+
+    // then
+    assertThat(results.get(0).isSuccessful()).isFalse();
+    assertThat(results.get(0).getException()).isInstanceOf(NotFoundException.class);
+    assertThat(results.get(1).isSuccessful()).isTrue();
+  }
+
+  @Test
+  public void shouldReportTaskHandledTwice() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(1);
+
+    // when
+    List<ExternalTaskHandlingResult> results = externalTaskService.handleBulk(WORKER_ID)
+      .complete(tasks.get(0).getId())
+      .handleBpmnError(tasks.get(0).getId(), "theErrorCode", null, null)
+      .execute();
+
+    // then
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(1).isSuccessful()).isFalse();
+    assertThat(results.get(1).getException()).isInstanceOf(NotFoundException.class);
+
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterTask").count()).isEqualTo(1);
+    assertThat(engineRule.getTaskService().createTaskQuery().taskDefinitionKey("afterErrorTask").count()).isZero();
+  }
+
+  @Test
+  public void shouldFailForNullWorkerId() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(1);
+
+    // when/then
+    assertThatThrownBy(() -> externalTaskService.handleBulk(null)
+        .complete(tasks.get(0).getId())
+        .execute())
+      .isInstanceOf(NullValueException.class)
+      .hasMessageContaining("workerId is null");
+  }
+
+  @Test
+  public void shouldFailForNullTaskId() {
+    // given
+    List<LockedExternalTask> tasks = startAndLock(1);
+
+    // when/then
+    assertThatThrownBy(() -> externalTaskService.handleBulk(WORKER_ID)
+        .complete(tasks.get(0).getId())
+        .complete(null)
+        .execute())
+      .isInstanceOf(NullValueException.class)
+      .hasMessageContaining("externalTaskId is null");
+
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isEqualTo(1);
+  }
+
+  protected List<LockedExternalTask> startAndLock(int numberOfInstances) {
+    for (int i = 0; i < numberOfInstances; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    return externalTaskService.fetchAndLock(numberOfInstances, WORKER_ID)
+      .topic("theTopic", LOCK_DURATION)
+      .execute();
+  }
+
+}
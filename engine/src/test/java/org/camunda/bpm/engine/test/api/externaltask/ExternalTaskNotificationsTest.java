@@ -0,0 +1,173 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.GetAvailableExternalTaskTopicsCmd;
+import org.camunda.bpm.engine.impl.externaltask.AvailableExternalTaskTopic;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationListener;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Tests the topic based notifications about available external tasks
+ */
+public class ExternalTaskNotificationsTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RecordingListener listener = new RecordingListener();
+
+  protected final BpmnModelInstance oneTaskProcess = Bpmn.createExecutableProcess("oneTaskProcess")
+    .startEvent()
+    .serviceTask("theTask")
+      .camundaExternalTask("theTopic")
+    .done();
+
+  protected final BpmnModelInstance twoTasksProcess = Bpmn.createExecutableProcess("twoTasksProcess")
+    .startEvent()
+    .parallelGateway("fork")
+      .serviceTask("firstTask")
+        .camundaExternalTask("theTopic")
+    .moveToNode("fork")
+      .serviceTask("secondTask")
+        .camundaExternalTask("theTopic")
+    .moveToNode("fork")
+      .serviceTask("thirdTask")
+        .camundaExternalTask("anotherTopic")
+    .done();
+
+  @Before
+  public void setUp() {
+    ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.addListener(listener);
+  }
+
+  @After
+  public void tearDown() {
+    ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.removeListener(listener);
+  }
+
+  @Test
+  public void shouldNotifyTopicOnTaskCreate() {
+    // given
+    testRule.deploy(oneTaskProcess);
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+
+    // then
+    assertThat(listener.notifications).hasSize(1);
+
+    ExternalTaskNotification notification = listener.notifications.get(0);
+    assertThat(notification.getProcessEngineName()).isEqualTo(engineRule.getProcessEngine().getName());
+    assertThat(notification.getTopicName()).isEqualTo("theTopic");
+    assertThat(notification.getTenantId()).isNull();
+  }
+
+  @Test
+  public void shouldNotifyEachTopicOncePerTransaction() {
+    // given
+    testRule.deploy(twoTasksProcess);
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("twoTasksProcess");
+
+    // then
+    assertThat(listener.notifications)
+      .extracting("topicName")
+      .containsExactlyInAnyOrder("theTopic", "anotherTopic");
+  }
+
+  @Test
+  public void shouldNotifyTopicOnUnlock() {
+    // given
+    testRule.deploy(oneTaskProcess);
+    engineRule.getRuntimeService().startProcessInstanceByKey("oneTaskProcess");
+
+    LockedExternalTask lockedTask = engineRule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    listener.notifications.clear();
+
+    // when
+    engineRule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    assertThat(listener.notifications)
+      .extracting("topicName")
+      .containsExactly("theTopic");
+  }
+
+  @Test
+  public void shouldSelectAvailableTopics() {
+    // given
+    testRule.deploy(twoTasksProcess);
+    engineRule.getRuntimeService().startProcessInstanceByKey("twoTasksProcess");
+    engineRule.getRuntimeService().startProcessInstanceByKey("twoTasksProcess");
+
+    engineRule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("anotherTopic", 10000)
+      .execute();
+
+    ProcessEngineConfigurationImpl configuration = engineRule.getProcessEngineConfiguration();
+
+    // when
+    List<AvailableExternalTaskTopic> availableTopics = configuration.getCommandExecutorTxRequired()
+        .execute(new GetAvailableExternalTaskTopicsCmd());
+
+    // then
+    assertThat(availableTopics)
+      .extracting("topicName", "tenantId", "taskCount")
+      .containsExactlyInAnyOrder(
+          tuple("theTopic", null, 4L),
+          tuple("anotherTopic", null, 1L));
+  }
+
+  protected static class RecordingListener implements ExternalTaskNotificationListener {
+
+    protected List<ExternalTaskNotification> notifications = new CopyOnWriteArrayList<ExternalTaskNotification>();
+
+    @Override
+    public void onExternalTasksAvailable(ExternalTaskNotification notification) {
+      notifications.add(notification);
+    }
+  }
+
+}
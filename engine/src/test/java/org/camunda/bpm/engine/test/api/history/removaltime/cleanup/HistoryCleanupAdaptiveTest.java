@@ -0,0 +1,348 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history.removaltime.cleanup;
+
+import static org.apache.commons.lang3.time.DateUtils.addDays;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_FULL;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler.MAX_BATCH_SIZE;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.DefaultHistoryRemovalTimeProvider;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatchSizeTuner;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupTableStatistics;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(HISTORY_FULL)
+public class HistoryCleanupAdaptiveTest {
+
+  protected static final String PROCESS_KEY = "process";
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess(PROCESS_KEY)
+    .camundaHistoryTimeToLive(5)
+    .startEvent()
+      .userTask("userTask")
+    .endEvent().done();
+
+  protected static final Date END_DATE = new Date(1363608000000L);
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+
+  protected Set<String> jobIds = new HashSet<>();
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+
+    engineConfiguration
+      .setHistoryRemovalTimeStrategy(HISTORY_REMOVAL_TIME_STRATEGY_END)
+      .setHistoryRemovalTimeProvider(new DefaultHistoryRemovalTimeProvider())
+      .initHistoryRemovalTime();
+
+    engineConfiguration.setHistoryCleanupStrategy(HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
+    engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
+    engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
+    engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+
+    engineConfiguration
+      .setHistoryCleanupAdaptiveEnabled(true)
+      .setHistoryCleanupTableParallelism(4)
+      .setHistoryCleanupBatchSizeTuner(null);
+
+    engineConfiguration.initHistoryCleanup();
+  }
+
+  @After
+  public void tearDown() {
+    for (String jobId : jobIds) {
+      clearJob(jobId);
+    }
+
+    engineConfiguration
+      .setHistoryRemovalTimeProvider(null)
+      .setHistoryRemovalTimeStrategy(null)
+      .initHistoryRemovalTime();
+
+    engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
+    engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+
+    engineConfiguration.getHistoryCleanupTableExecutor().shutdownNow();
+    engineConfiguration.setHistoryCleanupTableExecutor(null);
+
+    engineConfiguration
+      .setHistoryCleanupAdaptiveEnabled(false)
+      .setHistoryCleanupTableParallelism(4)
+      .setHistoryCleanupMaxAdaptiveBatchSize(5000)
+      .setHistoryCleanupBatchSizeTuner(null);
+
+    engineConfiguration.initHistoryCleanup();
+
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCleanupHistoryInParallel() {
+    // given
+    testRule.deploy(PROCESS);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(0);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(0);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(0);
+
+    Map<String, HistoryCleanupTableStatistics> statistics = engineConfiguration.getHistoryCleanupBatchSizeTuner()
+        .getStatistics();
+    assertThat(statistics).containsKeys("ACT_HI_PROCINST", "ACT_HI_ACTINST", "ACT_HI_TASKINST");
+    assertThat(statistics.get("ACT_HI_PROCINST").getDeletedRows()).isEqualTo(3);
+    assertThat(statistics.get("ACT_HI_TASKINST").getDeletedRows()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldRescheduleWhenFullBatchWasDeleted() {
+    // given
+    testRule.deploy(PROCESS);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    engineConfiguration.setHistoryCleanupBatchSize(2);
+    engineConfiguration
+      .setHistoryCleanupMaxAdaptiveBatchSize(2)
+      .setHistoryCleanupBatchSizeTuner(null)
+      .initHistoryCleanup();
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+
+    Job job = historyService.findHistoryCleanupJobs().get(0);
+    assertThat(job.getDuedate()).isCloseTo(ClockUtil.getCurrentTime(), 1000);
+  }
+
+  @Test
+  public void shouldShareEngineExecutorBetweenCleanupJobs() {
+    // given
+    testRule.deploy(PROCESS);
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey(PROCESS_KEY);
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    engineConfiguration.setHistoryCleanupDegreeOfParallelism(2);
+    engineConfiguration.initHistoryCleanup();
+
+    AtomicInteger createdThreads = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+      createdThreads.incrementAndGet();
+      return new Thread(runnable);
+    });
+    engineConfiguration.setHistoryCleanupTableExecutor(executor);
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(0);
+    assertThat(historyService.findHistoryCleanupJobs()).hasSize(2);
+    assertThat(createdThreads.get()).isEqualTo(2);
+    assertThat(executor.isShutdown()).isFalse();
+  }
+
+  @Test
+  public void shouldLimitTableParallelismByConnectionPool() {
+    // given
+    int maxActiveConnections = ((PooledDataSource) engineConfiguration.getDataSource()).getPoolMaximumActiveConnections();
+    engineConfiguration.setHistoryCleanupDegreeOfParallelism(maxActiveConnections - 2);
+    engineConfiguration.setHistoryCleanupTableParallelism(4);
+
+    // when
+    ExecutorService executor = engineConfiguration.getHistoryCleanupTableExecutor();
+
+    // then
+    assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldShrinkBatchSizeOfSlowTable() {
+    // given
+    HistoryCleanupBatchSizeTuner tuner = new HistoryCleanupBatchSizeTuner(100, 1000, 1000);
+
+    // when
+    tuner.record("ACT_HI_DETAIL", 100, 100, millis(4000));
+
+    // then
+    assertThat(tuner.getBatchSize("ACT_HI_DETAIL")).isEqualTo(50);
+    assertThat(tuner.getBatchSize("ACT_HI_VARINST")).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldGrowBatchSizeOfFastTableUpToMaximum() {
+    // given
+    HistoryCleanupBatchSizeTuner tuner = new HistoryCleanupBatchSizeTuner(100, 300, 1000);
+
+    // when
+    tuner.record("ACT_HI_DETAIL", 100, 100, millis(100));
+    tuner.record("ACT_HI_DETAIL", 200, 200, millis(100));
+
+    // then
+    assertThat(tuner.getBatchSize("ACT_HI_DETAIL")).isEqualTo(300);
+
+    HistoryCleanupTableStatistics statistics = tuner.getStatistics().get("ACT_HI_DETAIL");
+    assertThat(statistics.getStatements()).isEqualTo(2);
+    assertThat(statistics.getDeletedRows()).isEqualTo(300);
+    assertThat(statistics.getRowsPerSecond()).isEqualTo(1500.0);
+  }
+
+  @Test
+  public void shouldNotGrowBatchSizeOfDrainedTable() {
+    // given
+    HistoryCleanupBatchSizeTuner tuner = new HistoryCleanupBatchSizeTuner(100, 1000, 1000);
+
+    // when
+    tuner.record("ACT_HI_DETAIL", 100, 10, millis(10));
+
+    // then
+    assertThat(tuner.getBatchSize("ACT_HI_DETAIL")).isEqualTo(100);
+  }
+
+  @Test
+  public void shouldRejectInvalidTableParallelism() {
+    // given
+    engineConfiguration.setHistoryCleanupTableParallelism(0);
+
+    // when/then
+    assertThatThrownBy(() -> engineConfiguration.initHistoryCleanup())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("historyCleanupTableParallelism");
+  }
+
+  @Test
+  public void shouldRejectMaxAdaptiveBatchSizeLowerThanBatchSize() {
+    // given
+    engineConfiguration
+      .setHistoryCleanupMaxAdaptiveBatchSize(1)
+      .setHistoryCleanupBatchSizeTuner(null);
+
+    // when/then
+    assertThatThrownBy(() -> engineConfiguration.initHistoryCleanup())
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("historyCleanupMaxAdaptiveBatchSize");
+  }
+
+  protected void runHistoryCleanup() {
+    historyService.cleanUpHistoryAsync(true);
+
+    for (Job job : historyService.findHistoryCleanupJobs()) {
+      jobIds.add(job.getId());
+      managementService.executeJob(job.getId());
+    }
+  }
+
+  protected void clearJob(String jobId) {
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      JobEntity job = commandContext.getJobManager().findJobById(jobId);
+      if (job != null) {
+        commandContext.getJobManager().delete(job);
+      }
+      commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(jobId);
+      return null;
+    });
+  }
+
+  protected static long millis(long millis) {
+    return millis * 1_000_000;
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchIdChunks;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.MigrationTestRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.batch.BatchMigrationHelper;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchIdChunksTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule migrationRule = new MigrationTestRule(engineRule);
+  protected BatchMigrationHelper helper = new BatchMigrationHelper(engineRule, migrationRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(migrationRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected ManagementService managementService;
+
+  protected int defaultBatchJobsPerSeed;
+  protected int defaultInvocationsPerBatchJob;
+
+  @Before
+  public void enableIdChunks() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+
+    defaultBatchJobsPerSeed = configuration.getBatchJobsPerSeed();
+    defaultInvocationsPerBatchJob = configuration.getInvocationsPerBatchJob();
+
+    configuration.setBatchIdChunksEnabled(true);
+    configuration.setBatchJobsPerSeed(2);
+    configuration.setInvocationsPerBatchJob(1);
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @After
+  public void resetConfiguration() {
+    configuration.setBatchIdChunksEnabled(false);
+    configuration.setBatchJobsPerSeed(defaultBatchJobsPerSeed);
+    configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+  }
+
+  @Test
+  public void shouldStoreIdsInChunks() {
+    // when
+    Batch batch = helper.migrateProcessInstancesAsync(5);
+
+    // then
+    BatchConfiguration batchConfiguration = readBatchConfiguration(batch);
+    assertThat(batchConfiguration.getIds()).isEmpty();
+
+    BatchIdChunks idChunks = batchConfiguration.getIdChunks();
+    assertThat(idChunks).isNotNull();
+    assertThat(idChunks.getRemainingIdCount()).isEqualTo(5);
+    assertThat(idChunks.getOffset()).isZero();
+    assertThat(findByteArray(idChunks.getFirstChunkId())).isNotNull();
+
+    assertThat(batch.getTotalJobs()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldNotStoreIdsInChunksForSingleSeedJob() {
+    // when
+    Batch batch = helper.migrateProcessInstancesAsync(2);
+
+    // then
+    BatchConfiguration batchConfiguration = readBatchConfiguration(batch);
+    assertThat(batchConfiguration.getIds()).hasSize(2);
+    assertThat(batchConfiguration.getIdChunks()).isNull();
+  }
+
+  @Test
+  public void shouldNotStoreIdsInChunksIfDisabled() {
+    // given
+    configuration.setBatchIdChunksEnabled(false);
+
+    // when
+    Batch batch = helper.migrateProcessInstancesAsync(5);
+
+    // then
+    BatchConfiguration batchConfiguration = readBatchConfiguration(batch);
+    assertThat(batchConfiguration.getIds()).hasSize(5);
+    assertThat(batchConfiguration.getIdChunks()).isNull();
+  }
+
+  @Test
+  public void shouldMoveCursorOnSeedJobExecution() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(5);
+    String firstChunkId = readBatchConfiguration(batch).getIdChunks().getFirstChunkId();
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).hasSize(2);
+
+    BatchIdChunks idChunks = readBatchConfiguration(batch).getIdChunks();
+    assertThat(idChunks.getRemainingIdCount()).isEqualTo(3);
+    assertThat(idChunks.getFirstChunkId()).isNotEqualTo(firstChunkId);
+    assertThat(findByteArray(firstChunkId)).isNull();
+  }
+
+  @Test
+  public void shouldCompleteBatch() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(5);
+
+    // when
+    helper.completeSeedJobs(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).hasSize(5);
+    assertThat(readBatchConfiguration(batch).getIdChunks().isEmpty()).isTrue();
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(helper.countSourceProcessInstances()).isZero();
+    assertThat(helper.countTargetProcessInstances()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldDeleteRemainingChunksOnBatchDeletion() {
+    // given
+    Batch batch = helper.migrateProcessInstancesAsync(5);
+    helper.executeSeedJob(batch);
+    String chunkId = readBatchConfiguration(batch).getIdChunks().getFirstChunkId();
+
+    // when
+    managementService.deleteBatch(batch.getId(), true);
+
+    // then
+    assertThat(findByteArray(chunkId)).isNull();
+  }
+
+  protected BatchConfiguration readBatchConfiguration(Batch batch) {
+    return configuration.getCommandExecutorTxRequired().execute(commandContext -> {
+      BatchEntity batchEntity = commandContext.getBatchManager().findBatchById(batch.getId());
+      AbstractBatchJobHandler<?> batchJobHandler = (AbstractBatchJobHandler<?>) batchEntity.getBatchJobHandler();
+      return batchJobHandler.readConfiguration(batchEntity.getConfigurationBytes());
+    });
+  }
+
+  protected ByteArrayEntity findByteArray(String id) {
+    return configuration.getCommandExecutorTxRequired().execute(commandContext ->
+        commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, id));
+  }
+
+}
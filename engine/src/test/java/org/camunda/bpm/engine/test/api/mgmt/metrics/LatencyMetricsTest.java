@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.StartProcessInstanceCmd;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyHistogramSnapshot;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetrics;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsExporter;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.latency.LatencyMetricsTextFormat;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LatencyMetricsTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final RecordingExporter EXPORTER = new RecordingExporter();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setLatencyMetricsEnabled(true)
+      .setLatencyMetricsExporters(Collections.singletonList(EXPORTER))
+      // exported by the test only
+      .setLatencyMetricsExportIntervalInMillis(60 * 60 * 1000));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  protected LatencyMetricsRegistry latencyMetricsRegistry;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+
+    latencyMetricsRegistry = processEngineConfiguration.getLatencyMetricsRegistry();
+    latencyMetricsRegistry.clear();
+    EXPORTER.exports.clear();
+  }
+
+  @Test
+  public void shouldRecordCommandExecution() {
+    // given
+    testRule.deploy(PROCESS);
+    latencyMetricsRegistry.clear();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    LatencyHistogramSnapshot snapshot = findSnapshot(LatencyMetrics.COMMAND_EXECUTION, StartProcessInstanceCmd.class.getName());
+    assertThat(snapshot).isNotNull();
+    assertThat(snapshot.getCount()).isEqualTo(2);
+    assertThat(snapshot.getSum()).isPositive();
+
+    long[] cumulativeBucketCounts = snapshot.getCumulativeBucketCounts();
+    assertThat(cumulativeBucketCounts).hasSize(snapshot.getBucketBounds().length + 1);
+    assertThat(cumulativeBucketCounts[cumulativeBucketCounts.length - 1]).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRecordDbFlush() {
+    // when
+    testRule.deploy(PROCESS);
+
+    // then
+    List<LatencyHistogramSnapshot> snapshots = latencyMetricsRegistry.snapshot(LatencyMetrics.DB_FLUSH);
+    assertThat(snapshots).hasSize(1);
+    assertThat(snapshots.get(0).getLabel()).isNull();
+    assertThat(snapshots.get(0).getCount()).isPositive();
+  }
+
+  @Test
+  public void shouldExportSnapshots() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    processEngineConfiguration.getLatencyMetricsReporter().reportNow();
+
+    // then
+    assertThat(EXPORTER.exports).hasSize(1);
+    assertThat(EXPORTER.exports.get(0))
+      .extracting(LatencyHistogramSnapshot::getName)
+      .contains(LatencyMetrics.COMMAND_EXECUTION, LatencyMetrics.DB_FLUSH);
+  }
+
+  @Test
+  public void shouldWriteTextFormat() {
+    // given
+    LatencyMetricsRegistry registry = new LatencyMetricsRegistry(new long[] {1_000_000, 500_000_000});
+    registry.record(LatencyMetrics.COMMAND_EXECUTION, StartProcessInstanceCmd.class, 500_000);
+    registry.record(LatencyMetrics.COMMAND_EXECUTION, StartProcessInstanceCmd.class, 2_000_000);
+    registry.record(LatencyMetrics.COMMAND_EXECUTION, StartProcessInstanceCmd.class, 2_000_000_000);
+
+    // when
+    String text = LatencyMetricsTextFormat.format(registry.snapshot());
+
+    // then
+    String label = "command=\"" + StartProcessInstanceCmd.class.getName() + "\"";
+    assertThat(text).isEqualTo(
+        "# TYPE camunda_command_execution_seconds histogram\n"
+        + "camunda_command_execution_seconds_bucket{" + label + ",le=\"0.001\"} 1\n"
+        + "camunda_command_execution_seconds_bucket{" + label + ",le=\"0.5\"} 2\n"
+        + "camunda_command_execution_seconds_bucket{" + label + ",le=\"+Inf\"} 3\n"
+        + "camunda_command_execution_seconds_sum{" + label + "} 2.0025\n"
+        + "camunda_command_execution_seconds_count{" + label + "} 3\n");
+  }
+
+  protected LatencyHistogramSnapshot findSnapshot(String name, String label) {
+    for (LatencyHistogramSnapshot snapshot : latencyMetricsRegistry.snapshot(name)) {
+      if (label.equals(snapshot.getLabel())) {
+        return snapshot;
+      }
+    }
+    return null;
+  }
+
+  protected static class RecordingExporter implements LatencyMetricsExporter {
+
+    protected List<List<LatencyHistogramSnapshot>> exports = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void export(List<LatencyHistogramSnapshot> snapshots) {
+      exports.add(snapshots);
+    }
+  }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.task.TaskQuery;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class KeysetPaginationTest {
+
+  protected static final int PAGE_SIZE = 2;
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testHelper);
+
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected BpmnModelInstance simpleProcess = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @Before
+  public void assignServices() {
+    historyService = engineRule.getHistoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @After
+  public void deleteStandaloneTasks() {
+    for (Task task : taskService.createTaskQuery().list()) {
+      if (task.getProcessInstanceId() == null) {
+        taskService.deleteTask(task.getId(), true);
+      }
+    }
+  }
+
+  @Test
+  public void shouldPageTasksById() {
+    // given
+    createTasks(5);
+
+    TaskQuery query = taskService.createTaskQuery();
+
+    // when
+    List<Task> tasks = listAll(query::listAfter, query::cursorOf);
+
+    // then
+    List<Task> expectedTasks = taskService.createTaskQuery()
+        .orderByTaskId().asc()
+        .list();
+    assertThat(tasks).extracting("id")
+        .containsExactlyElementsOf(ids(expectedTasks));
+  }
+
+  @Test
+  public void shouldPageTasksByCreateTimeWithSameCreateTimes() {
+    // given
+    Date now = ClockUtil.getCurrentTime();
+    ClockUtil.setCurrentTime(now);
+    createTasks(3);
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 1000));
+    createTasks(2);
+
+    TaskQuery query = taskService.createTaskQuery()
+        .orderByTaskCreateTime().desc();
+
+    // when
+    List<Task> tasks = listAll(query::listAfter, query::cursorOf);
+
+    // then
+    List<Task> expectedTasks = taskService.createTaskQuery()
+        .orderByTaskCreateTime().desc()
+        .orderByTaskId().desc()
+        .list();
+    assertThat(tasks).extracting("id")
+        .containsExactlyElementsOf(ids(expectedTasks));
+  }
+
+  @Test
+  public void shouldReturnFirstPageForEmptyCursor() {
+    // given
+    createTasks(3);
+
+    // when
+    List<Task> tasks = taskService.createTaskQuery().listAfter("", PAGE_SIZE);
+
+    // then
+    List<Task> expectedTasks = taskService.createTaskQuery()
+        .orderByTaskId().asc()
+        .listPage(0, PAGE_SIZE);
+    assertThat(tasks).extracting("id")
+        .containsExactlyElementsOf(ids(expectedTasks));
+  }
+
+  @Test
+  public void shouldNotFilterListAfterPaging() {
+    // given
+    createTasks(3);
+
+    TaskQuery query = taskService.createTaskQuery();
+    List<Task> firstPage = query.listAfter(null, 1);
+
+    // when
+    query.listAfter(query.cursorOf(firstPage.get(0)), 1);
+
+    // then
+    assertThat(query.list()).hasSize(3);
+    assertThat(query.count()).isEqualTo(3);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldPageHistoricProcessInstancesByStartTime() {
+    // given
+    testHelper.deploy(simpleProcess);
+
+    Date now = ClockUtil.getCurrentTime();
+    ClockUtil.setCurrentTime(now);
+    startProcessInstances(2);
+    ClockUtil.setCurrentTime(new Date(now.getTime() + 1000));
+    startProcessInstances(3);
+
+    HistoricProcessInstanceQuery query = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc();
+
+    // when
+    List<HistoricProcessInstance> processInstances = listAll(query::listAfter, query::cursorOf);
+
+    // then
+    List<HistoricProcessInstance> expectedProcessInstances = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceStartTime().asc()
+        .orderByProcessInstanceId().asc()
+        .list();
+    assertThat(processInstances).extracting("id")
+        .containsExactlyElementsOf(historicProcessInstanceIds(expectedProcessInstances));
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldPageHistoricActivityInstancesById() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(3);
+
+    HistoricActivityInstanceQuery query = historyService.createHistoricActivityInstanceQuery();
+
+    // when
+    List<HistoricActivityInstance> activityInstances = listAll(query::listAfter, query::cursorOf);
+
+    // then
+    List<HistoricActivityInstance> expectedActivityInstances = historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId().asc()
+        .list();
+    assertThat(activityInstances).hasSize(6);
+    assertThat(activityInstances).extracting("id")
+        .containsExactlyElementsOf(historicActivityInstanceIds(expectedActivityInstances));
+  }
+
+  @Test
+  public void shouldFailForUnsupportedOrdering() {
+    // given
+    TaskQuery query = taskService.createTaskQuery()
+        .orderByTaskName().asc();
+
+    // when/then
+    assertThatThrownBy(() -> query.listAfter(null, PAGE_SIZE))
+        .isInstanceOf(NotValidException.class)
+        .hasMessageContaining("Keyset pagination requires the query to be ordered by CREATE_TIME_");
+  }
+
+  @Test
+  public void shouldFailForInvalidCursor() {
+    // given
+    TaskQuery query = taskService.createTaskQuery()
+        .orderByTaskCreateTime().asc();
+
+    // when/then
+    assertThatThrownBy(() -> query.listAfter("invalid", PAGE_SIZE))
+        .isInstanceOf(NotValidException.class)
+        .hasMessageContaining("Invalid cursor 'invalid'");
+  }
+
+  protected <T> List<T> listAll(BiFunction<String, Integer, List<T>> listAfter, Function<T, String> cursorOf) {
+    List<T> results = new ArrayList<>();
+
+    String cursor = null;
+    List<T> page;
+    do {
+      page = listAfter.apply(cursor, PAGE_SIZE);
+      results.addAll(page);
+      if (!page.isEmpty()) {
+        cursor = cursorOf.apply(page.get(page.size() - 1));
+      }
+    } while (page.size() == PAGE_SIZE);
+
+    return results;
+  }
+
+  protected void createTasks(int count) {
+    for (int i = 0; i < count; i++) {
+      taskService.saveTask(taskService.newTask());
+    }
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  protected List<String> ids(List<Task> tasks) {
+    List<String> ids = new ArrayList<>();
+    for (Task task : tasks) {
+      ids.add(task.getId());
+    }
+    return ids;
+  }
+
+  protected List<String> historicProcessInstanceIds(List<HistoricProcessInstance> processInstances) {
+    List<String> ids = new ArrayList<>();
+    for (HistoricProcessInstance processInstance : processInstances) {
+      ids.add(processInstance.getId());
+    }
+    return ids;
+  }
+
+  protected List<String> historicActivityInstanceIds(List<HistoricActivityInstance> activityInstances) {
+    List<String> ids = new ArrayList<>();
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      ids.add(activityInstance.getId());
+    }
+    return ids;
+  }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.queries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.session.SqlSession;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.TaskQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class StreamingQueryTest {
+
+  public ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testHelper);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected HistoryService historyService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  protected BpmnModelInstance simpleProcess = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+        .camundaFormKey("form")
+      .endEvent()
+      .done();
+
+  @Before
+  public void assignServices() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    historyService = engineRule.getHistoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldStreamTasks() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(3);
+
+    // when
+    List<Task> tasks = new ArrayList<>();
+    taskService.createTaskQuery()
+        .orderByTaskId().asc()
+        .initializeFormKeys()
+        .forEach(tasks::add);
+
+    // then
+    List<Task> expectedTasks = taskService.createTaskQuery()
+        .orderByTaskId().asc()
+        .list();
+    assertThat(tasks).extracting("id")
+        .containsExactlyElementsOf(ids(expectedTasks));
+    assertThat(tasks).extracting("formKey")
+        .containsOnly("form");
+  }
+
+  @Test
+  public void shouldNotCacheStreamedTasks() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(2);
+
+    // when
+    List<TaskEntity> cachedTasks = processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      List<Task> tasks = new ArrayList<>();
+      taskService.createTaskQuery().forEach(tasks::add);
+      assertThat(tasks).hasSize(2);
+
+      return commandContext.getDbEntityManager()
+          .getDbEntityCache()
+          .getEntitiesByType(TaskEntity.class);
+    });
+
+    // then
+    assertThat(cachedTasks).isEmpty();
+  }
+
+  @Test
+  public void shouldStreamNoResultsForExcludingConditions() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(1);
+
+    // when
+    List<Task> tasks = new ArrayList<>();
+    taskService.createTaskQuery()
+        .taskMinPriority(60)
+        .taskMaxPriority(40)
+        .forEach(tasks::add);
+
+    // then
+    assertThat(tasks).isEmpty();
+  }
+
+  @Test
+  public void shouldPropagateExceptionOfConsumer() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(2);
+
+    List<Task> tasks = new ArrayList<>();
+
+    // when/then
+    assertThatThrownBy(() -> taskService.createTaskQuery().forEach(task -> {
+      tasks.add(task);
+      throw new IllegalStateException("consumer failed");
+    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("consumer failed");
+    assertThat(tasks).hasSize(1);
+  }
+
+  @Test
+  public void shouldValidateQueryWithoutStreaming() {
+    // given
+    TaskQueryImpl query = (TaskQueryImpl) taskService.createTaskQuery().orderByTaskId();
+
+    // when/then
+    assertThatThrownBy(query::validateForEach)
+        .isInstanceOf(NotValidException.class)
+        .hasMessageContaining("call asc() or desc() after using orderByXX()");
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldStreamHistoricProcessInstances() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(3);
+
+    // when
+    List<String> processInstanceIds = new ArrayList<>();
+    historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc()
+        .forEach(processInstance -> processInstanceIds.add(processInstance.getId()));
+
+    // then
+    List<HistoricProcessInstance> expectedProcessInstances = historyService.createHistoricProcessInstanceQuery()
+        .orderByProcessInstanceId().asc()
+        .list();
+    assertThat(expectedProcessInstances).extracting("id")
+        .containsExactlyElementsOf(processInstanceIds);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldStreamHistoricActivityInstances() {
+    // given
+    testHelper.deploy(simpleProcess);
+    startProcessInstances(2);
+
+    // when
+    List<String> activityInstanceIds = new ArrayList<>();
+    historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId().asc()
+        .forEach(activityInstance -> activityInstanceIds.add(activityInstance.getId()));
+
+    // then
+    List<HistoricActivityInstance> expectedActivityInstances = historyService.createHistoricActivityInstanceQuery()
+        .orderByHistoricActivityInstanceId().asc()
+        .list();
+    assertThat(activityInstanceIds).hasSize(4);
+    assertThat(expectedActivityInstances).extracting("id")
+        .containsExactlyElementsOf(activityInstanceIds);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldStreamHistoricVariableInstancesWithValues() {
+    // given
+    testHelper.deploy(simpleProcess);
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("stringVar", "value")
+        .putValue("bytesVar", "bytes".getBytes()));
+
+    // when
+    List<HistoricVariableInstance> variableInstances = new ArrayList<>();
+    historyService.createHistoricVariableInstanceQuery()
+        .orderByVariableName().asc()
+        .forEach(variableInstances::add);
+
+    // then
+    assertThat(variableInstances).hasSize(2);
+    assertThat(variableInstances.get(0).getName()).isEqualTo("bytesVar");
+    assertThat((byte[]) variableInstances.get(0).getValue()).isEqualTo("bytes".getBytes());
+    assertThat(variableInstances.get(1).getName()).isEqualTo("stringVar");
+    assertThat(variableInstances.get(1).getValue()).isEqualTo("value");
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldNotRetainByteArraysOfStreamedHistoricVariableInstances() {
+    // given
+    testHelper.deploy(simpleProcess);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+          .putValue("bytesVar", ("bytes" + i).getBytes()));
+    }
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      // when
+      Map<String, byte[]> streamedByteArrays = new HashMap<>();
+      historyService.createHistoricVariableInstanceQuery().forEach(variableInstance -> {
+        HistoricVariableInstanceEntity variableInstanceEntity = (HistoricVariableInstanceEntity) variableInstance;
+        streamedByteArrays.put(variableInstanceEntity.getByteArrayValueId(), variableInstanceEntity.getByteArrayValue());
+      });
+
+      // then
+      assertThat(streamedByteArrays).hasSize(3);
+      assertThat(commandContext.getDbEntityManager()
+          .getDbEntityCache()
+          .getEntitiesByType(ByteArrayEntity.class)).isEmpty();
+
+      // the byte arrays are not served from the local cache of the MyBatis session
+      SqlSession sqlSession = commandContext.getDbSqlSession().getSqlSession();
+      for (Map.Entry<String, byte[]> streamedByteArray : streamedByteArrays.entrySet()) {
+        ByteArrayEntity byteArray = sqlSession.selectOne("selectByteArray", streamedByteArray.getKey());
+        assertThat(byteArray.getBytes())
+            .isEqualTo(streamedByteArray.getValue())
+            .isNotSameAs(streamedByteArray.getValue());
+      }
+      return null;
+    });
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  protected List<String> ids(List<Task> tasks) {
+    List<String> ids = new ArrayList<>();
+    for (Task task : tasks) {
+      ids.add(task.getId());
+    }
+    return ids;
+  }
+
+}
@@ -0,0 +1,376 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.batch.BatchStatistics;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.batch.BatchMigrationHelper;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.camunda.commons.testing.WatchLogger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchInstanceIsolationTest {
+
+  protected static final String CONFIG_LOGGER = "org.camunda.bpm.engine.cfg";
+
+  protected ProcessEngineRule rule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(rule);
+  protected BatchModificationHelper helper = new BatchModificationHelper(rule);
+  protected BatchMigrationHelper migrationHelper = new BatchMigrationHelper(rule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(rule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule();
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  protected int defaultInvocationsPerBatchJob;
+
+  protected BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("userTask")
+      .serviceTask("serviceTask")
+        .camundaClass(FailingDelegate.class.getName())
+      .userTask("afterServiceTask")
+      .endEvent()
+      .done();
+
+  @Before
+  public void initServices() {
+    runtimeService = rule.getRuntimeService();
+    taskService = rule.getTaskService();
+    managementService = rule.getManagementService();
+  }
+
+  @Before
+  public void storeEngineSettings() {
+    configuration = rule.getProcessEngineConfiguration();
+    defaultInvocationsPerBatchJob = configuration.getInvocationsPerBatchJob();
+    configuration.setInvocationsPerBatchJob(4);
+    configuration.setBatchJobInstanceIsolationEnabled(true);
+  }
+
+  @After
+  public void restoreEngineSettings() {
+    configuration.setInvocationsPerBatchJob(defaultInvocationsPerBatchJob);
+    configuration.setBatchJobInstanceIsolationEnabled(false);
+    configuration.setBatchJobInstanceParallelism(1);
+
+    ExecutorService batchJobInstanceExecutor = configuration.getBatchJobInstanceExecutor();
+    batchJobInstanceExecutor.shutdownNow();
+    configuration.setBatchJobInstanceExecutor(null);
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void shouldCommitSucceedingInstancesOfFailingJob() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    String failingProcessInstanceId = startProcessInstance(true);
+    processInstanceIds.add(1, failingProcessInstanceId);
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask").count()).isEqualTo(3);
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask")
+        .processInstanceId(failingProcessInstanceId).count()).isZero();
+
+    Job job = helper.getJobForDefinition(helper.getExecutionJobDefinition(batch));
+    assertThat(job.getRetries()).isEqualTo(2);
+    assertThat(job.getExceptionMessage()).contains("1 of 4 ids");
+  }
+
+  @Test
+  public void shouldRetryOnlyFailedInstances() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    String failingProcessInstanceId = startProcessInstance(true);
+    processInstanceIds.add(failingProcessInstanceId);
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+    helper.executeJobs(batch);
+
+    runtimeService.setVariable(failingProcessInstanceId, "fail", false);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    for (String processInstanceId : processInstanceIds) {
+      assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask")
+          .processInstanceId(processInstanceId).count()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void shouldNotExecuteCommittedInstancesAgainWhenJobTransactionFails() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(4);
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+
+    String jobId = helper.getJobForDefinition(helper.getExecutionJobDefinition(batch)).getId();
+
+    // the process instances commit, but the transaction of the job is rolled back afterwards
+    assertThatThrownBy(() -> configuration.getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getJobManager().findJobById(jobId).execute(commandContext);
+      throw new ProcessEngineException("job transaction failed");
+    })).hasMessage("job transaction failed");
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    for (String processInstanceId : processInstanceIds) {
+      assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask")
+          .processInstanceId(processInstanceId).count()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void shouldDeleteCompletedIdRecordsWithBatch() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    processInstanceIds.add(startProcessInstance(true));
+    long byteArrayCount = managementService.getTableCount().get("ACT_GE_BYTEARRAY");
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+    helper.executeJobs(batch);
+
+    // when
+    managementService.deleteBatch(batch.getId(), true);
+
+    // then
+    assertThat(managementService.getTableCount().get("ACT_GE_BYTEARRAY")).isEqualTo(byteArrayCount);
+  }
+
+  @Test
+  public void shouldReportFailedInstancesInStatistics() {
+    // given
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    processInstanceIds.add(startProcessInstance(true));
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+    helper.executeJobs(batch);
+
+    // when
+    helper.failExecutionJobs(batch, 1);
+
+    // then
+    BatchStatistics batchStatistics = managementService.createBatchStatisticsQuery().singleResult();
+    assertThat(batchStatistics.getFailedJobs()).isEqualTo(1);
+    assertThat(batchStatistics.getFailedInstances()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReportAllInstancesOfFailedJobInStatisticsWithoutIsolation() {
+    // given
+    configuration.setBatchJobInstanceIsolationEnabled(false);
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    processInstanceIds.add(startProcessInstance(true));
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+    helper.executeJobs(batch);
+
+    // when
+    helper.failExecutionJobs(batch, 1);
+
+    // then
+    BatchStatistics batchStatistics = managementService.createBatchStatisticsQuery().singleResult();
+    assertThat(batchStatistics.getFailedJobs()).isEqualTo(1);
+    assertThat(batchStatistics.getFailedInstances()).isEqualTo(4);
+  }
+
+  @Test
+  public void shouldRollbackWholeJobWithoutIsolation() {
+    // given
+    configuration.setBatchJobInstanceIsolationEnabled(false);
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    processInstanceIds.add(startProcessInstance(true));
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask").count()).isZero();
+  }
+
+  @Test
+  public void shouldExecuteInstancesInParallel() {
+    // given
+    configuration.setBatchJobInstanceParallelism(3);
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    List<String> processInstanceIds = startProcessInstances(3);
+    String failingProcessInstanceId = startProcessInstance(true);
+    processInstanceIds.add(failingProcessInstanceId);
+
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, processInstanceIds);
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask").count()).isEqualTo(3);
+
+    Job job = helper.getJobForDefinition(helper.getExecutionJobDefinition(batch));
+    assertThat(job.getExceptionMessage()).contains("1 of 4 ids").contains(failingProcessInstanceId);
+  }
+
+  @Test
+  public void shouldShareEngineExecutorBetweenJobs() {
+    // given
+    configuration.setBatchJobInstanceParallelism(2);
+
+    AtomicInteger createdThreads = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+      createdThreads.incrementAndGet();
+      return new Thread(runnable);
+    });
+    configuration.setBatchJobInstanceExecutor(executor);
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(process);
+    Batch batch = startBeforeServiceTaskAsync(processDefinition, startProcessInstances(8));
+    helper.executeSeedJob(batch);
+
+    // when
+    helper.executeJobs(batch);
+
+    // then
+    assertThat(helper.getExecutionJobs(batch)).isEmpty();
+    assertThat(taskService.createTaskQuery().taskDefinitionKey("afterServiceTask").count()).isEqualTo(8);
+    assertThat(createdThreads.get()).isEqualTo(2);
+    assertThat(executor.isShutdown()).isFalse();
+  }
+
+  @Test
+  public void shouldMigrateInstancesInParallel() {
+    // given
+    configuration.setBatchJobInstanceParallelism(2);
+
+    ProcessDefinition sourceProcessDefinition = testRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+    ProcessDefinition targetProcessDefinition = testRule.deployAndGetDefinition(ProcessModels.ONE_TASK_PROCESS);
+
+    Batch batch = migrationHelper.migrateProcessInstancesAsync(4, sourceProcessDefinition, targetProcessDefinition);
+    migrationHelper.executeSeedJob(batch);
+
+    // when
+    migrationHelper.executeJobs(batch);
+
+    // then
+    assertThat(migrationHelper.getExecutionJobs(batch)).isEmpty();
+    assertThat(runtimeService.createProcessInstanceQuery()
+        .processDefinitionId(targetProcessDefinition.getId()).count()).isEqualTo(4);
+  }
+
+  @Test
+  @WatchLogger(loggerNames = {CONFIG_LOGGER}, level = "WARN")
+  public void shouldWarnIfConnectionPoolIsTooSmall() {
+    // given
+    int maxActiveConnections = ((PooledDataSource) configuration.getDataSource()).getPoolMaximumActiveConnections();
+    configuration.setBatchJobInstanceParallelism(maxActiveConnections);
+
+    // when
+    configuration.checkBatchJobInstanceConnections();
+
+    // then
+    assertThat(loggingRule.getFilteredLog(CONFIG_LOGGER, "database connections at the same time")).hasSize(1);
+  }
+
+  protected Batch startBeforeServiceTaskAsync(ProcessDefinition processDefinition, List<String> processInstanceIds) {
+    return runtimeService.createModification(processDefinition.getId())
+        .startBeforeActivity("serviceTask")
+        .processInstanceIds(processInstanceIds)
+        .executeAsync();
+  }
+
+  protected List<String> startProcessInstances(int count) {
+    List<String> processInstanceIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      processInstanceIds.add(startProcessInstance(false));
+    }
+    return processInstanceIds;
+  }
+
+  protected String startProcessInstance(boolean fail) {
+    return runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", fail))
+        .getId();
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ProcessInstanceStatePrefetchTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("task1")
+        .camundaInputParameter("localVariable", "value1")
+      .boundaryEvent()
+        .timerWithDuration("PT1H")
+      .endEvent()
+      .moveToNode("fork")
+      .userTask("task2")
+        .camundaInputParameter("localVariable", "value2")
+      .boundaryEvent()
+        .timerWithDuration("PT1H")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setProcessInstanceStatePrefetchEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    managementService = engineRule.getManagementService();
+
+    testRule.deploy(PROCESS);
+  }
+
+  @Test
+  public void shouldAssignPrefetchedStateToExecutions() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstance.getId());
+
+      // then
+      int scopeExecutions = 0;
+      for (ExecutionEntity concurrentExecution : execution.getExecutions()) {
+        for (ExecutionEntity scopeExecution : concurrentExecution.getExecutions()) {
+          String activityId = scopeExecution.getActivityId();
+          String expectedValue = "task1".equals(activityId) ? "value1" : "value2";
+
+          assertThat(scopeExecution.getVariableLocal("localVariable")).isEqualTo(expectedValue);
+          assertThat(scopeExecution.getTasks()).hasSize(1);
+          assertThat(scopeExecution.getTasks().get(0).getTaskDefinitionKey()).isEqualTo(activityId);
+          assertThat(scopeExecution.getJobs()).hasSize(1);
+          assertThat(scopeExecution.getEventSubscriptions()).isEmpty();
+          assertThat(scopeExecution.getIncidents()).isEmpty();
+          scopeExecutions++;
+        }
+        assertThat(concurrentExecution.getVariablesLocal()).isEmpty();
+        assertThat(concurrentExecution.getTasks()).isEmpty();
+      }
+      assertThat(scopeExecutions).isEqualTo(2);
+
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldKeepStateChangedBeforePrefetch() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().taskDefinitionKey("task1").singleResult();
+
+    // when
+    Object value = processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(task.getExecutionId());
+      execution.setVariableLocal("localVariable", "changed");
+
+      // fetches the execution tree
+      execution.getParent();
+
+      return execution.getVariableLocal("localVariable");
+    });
+
+    // then
+    assertThat(value).isEqualTo("changed");
+    assertThat(runtimeService.getVariableLocal(task.getExecutionId(), "localVariable")).isEqualTo("changed");
+  }
+
+  @Test
+  public void shouldDeleteProcessInstance() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+
+    // then
+    assertThat(runtimeService.createExecutionQuery().count()).isZero();
+    assertThat(runtimeService.createVariableInstanceQuery().count()).isZero();
+    assertThat(taskService.createTaskQuery().count()).isZero();
+    assertThat(managementService.createJobQuery().count()).isZero();
+  }
+
+}
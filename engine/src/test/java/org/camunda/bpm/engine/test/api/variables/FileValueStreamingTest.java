@@ -0,0 +1,232 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.StreamedFileValueImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.FileValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class FileValueStreamingTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setFileValueStreamingEnabled(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected byte[] content;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    testRule.deploy(PROCESS);
+
+    // larger than a single chunk
+    content = new byte[100 * 1024 + 17];
+    new Random(42).nextBytes(content);
+  }
+
+  @Test
+  public void shouldStreamFileValue() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin")
+        .file(content)
+        .mimeType("application/octet-stream")
+        .encoding("UTF-8")
+        .create());
+
+    // when
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // then
+    assertThat(fileValue).isInstanceOf(StreamedFileValueImpl.class);
+    assertThat(((StreamedFileValueImpl) fileValue).isLoaded()).isFalse();
+    assertThat(fileValue.getFilename()).isEqualTo("data.bin");
+    assertThat(fileValue.getMimeType()).isEqualTo("application/octet-stream");
+    assertThat(fileValue.getEncoding()).isEqualTo("UTF-8");
+
+    assertThat(read(fileValue)).isEqualTo(content);
+    assertThat(((StreamedFileValueImpl) fileValue).isLoaded()).isFalse();
+  }
+
+  @Test
+  public void shouldLoadByteArrayOnDemand() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+    StreamedFileValueImpl fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // when
+    byte[] bytes = fileValue.getByteArray();
+
+    // then
+    assertThat(bytes).isEqualTo(content);
+    assertThat(fileValue.isLoaded()).isTrue();
+  }
+
+  @Test
+  public void shouldCopyStreamedFileValueToOtherVariable() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "copy", fileValue);
+
+    // then
+    FileValue copy = runtimeService.getVariableTyped(processInstance.getId(), "copy");
+    assertThat(copy.getFilename()).isEqualTo("data.bin");
+    assertThat(read(copy)).isEqualTo(content);
+  }
+
+  @Test
+  public void shouldReturnNullIfVariableWasRemoved() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), "file");
+
+    // then
+    assertThat(fileValue.getValue()).isNull();
+  }
+
+  @Test
+  public void shouldReadCurrentContentOnEveryAccess() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+    assertThat(read(fileValue)).isEqualTo(content);
+
+    // when
+    byte[] newContent = "new content".getBytes();
+    runtimeService.setVariable(processInstance.getId(), "file", Variables.fileValue("data.bin").file(newContent).create());
+
+    // then
+    assertThat(read(fileValue)).isEqualTo(newContent);
+  }
+
+  @Test
+  public void shouldDeleteTemporaryFileWhenStreamIsReadToEnd() throws IOException {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+    int temporaryFiles = countTemporaryFiles();
+
+    // when
+    InputStream inputStream = fileValue.getValue();
+    assertThat(countTemporaryFiles()).isEqualTo(temporaryFiles + 1);
+
+    // the stream is read to its end but not closed
+    byte[] bytes = IoUtil.readInputStream(inputStream, "file");
+
+    // then
+    assertThat(bytes).isEqualTo(content);
+    assertThat(countTemporaryFiles()).isEqualTo(temporaryFiles);
+    assertThat(inputStream.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void shouldNotStreamFileValueWithoutContent() {
+    // given
+    ProcessInstance processInstance = startProcessWithFile(Variables.fileValue("empty.txt").create());
+
+    // when
+    FileValue fileValue = runtimeService.getVariableTyped(processInstance.getId(), "file");
+
+    // then
+    assertThat(fileValue).isNotInstanceOf(StreamedFileValueImpl.class);
+    assertThat(fileValue.getValue()).isNull();
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void shouldStreamHistoricFileValue() {
+    // given
+    startProcessWithFile(Variables.fileValue("data.bin").file(content).create());
+
+    // when
+    HistoricVariableInstance variableInstance = historyService.createHistoricVariableInstanceQuery()
+        .variableName("file")
+        .disableCustomObjectDeserialization()
+        .singleResult();
+
+    // then
+    FileValue fileValue = (FileValue) variableInstance.getTypedValue();
+    assertThat(fileValue).isInstanceOf(StreamedFileValueImpl.class);
+    assertThat(read(fileValue)).isEqualTo(content);
+  }
+
+  protected ProcessInstance startProcessWithFile(FileValue fileValue) {
+    return runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("file", fileValue));
+  }
+
+  protected int countTemporaryFiles() {
+    File[] files = new File(System.getProperty("java.io.tmpdir"))
+        .listFiles((dir, name) -> name.startsWith("camunda-file-value-"));
+    return files != null ? files.length : 0;
+  }
+
+  protected byte[] read(FileValue fileValue) {
+    InputStream inputStream = fileValue.getValue();
+    try {
+      return IoUtil.readInputStream(inputStream, "file");
+    }
+    finally {
+      IoUtil.closeSilently(inputStream);
+    }
+  }
+
+}
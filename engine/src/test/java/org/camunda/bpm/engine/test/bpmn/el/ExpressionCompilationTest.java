@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.impl.el.CompiledValueExpression;
+import org.camunda.bpm.engine.impl.el.JuelExpressionManager;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpressionCompilationTest extends PluggableProcessEngineTest {
+
+  protected JuelExpressionManager expressionManager;
+  protected int compilationThreshold;
+
+  @Before
+  public void enableCompilation() {
+    expressionManager = (JuelExpressionManager) processEngineConfiguration.getExpressionManager();
+    compilationThreshold = expressionManager.getCompilationThreshold();
+    expressionManager.setCompilationThreshold(1);
+  }
+
+  @After
+  public void resetCompilation() {
+    expressionManager.setCompilationThreshold(compilationThreshold);
+  }
+
+  @Test
+  public void shouldEvaluateCompiledExpressionLikeInterpretedExpression() {
+    // given
+    String[] expressions = {
+        "${a * 2 + 1}",
+        "${a > 1 && (b == 'foo' || empty c)}",
+        "${!(a < 1) ? b : 'bar'}",
+        "${-a % 2 != 0}",
+        "Value: ${b}, ${a / 4}",
+        "${b.length()}"
+    };
+    ELContext elContext = expressionManager.createElContext(Variables.createVariables()
+        .putValue("a", 2)
+        .putValue("b", "foo")
+        .putValue("c", null)
+        .asVariableContext());
+
+    for (String expression : expressions) {
+      ValueExpression interpretedExpression = expressionManager.createValueExpression(expression);
+
+      // when
+      ValueExpression compiledExpression = expressionManager.compile(interpretedExpression);
+
+      // then
+      assertThat(compiledExpression).isInstanceOf(CompiledValueExpression.class);
+      assertThat(compiledExpression.getValue(elContext)).isEqualTo(interpretedExpression.getValue(elContext));
+    }
+  }
+
+  @Test
+  public void shouldNotCompileLiteralText() {
+    // given
+    ValueExpression literalExpression = expressionManager.createValueExpression("literal text");
+
+    // when
+    ValueExpression compiledExpression = expressionManager.compile(literalExpression);
+
+    // then
+    assertThat(compiledExpression).isSameAs(literalExpression);
+  }
+
+  @Test
+  public void shouldEvaluateCompiledConditions() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .exclusiveGateway()
+          .condition("high", "${amount > 100 && execution.processBusinessKey == 'aKey'}")
+          .userTask("highAmount")
+          .endEvent()
+        .moveToLastGateway()
+          .condition("low", "${amount <= 100 || execution.processBusinessKey != 'aKey'}")
+          .userTask("lowAmount")
+          .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    for (int i = 0; i < 3; i++) {
+      // when
+      ProcessInstance highAmount = runtimeService.startProcessInstanceByKey("process", "aKey",
+          Variables.putValue("amount", 200));
+      ProcessInstance lowAmount = runtimeService.startProcessInstanceByKey("process", "aKey",
+          Variables.putValue("amount", 50));
+      ProcessInstance otherKey = runtimeService.startProcessInstanceByKey("process", "anotherKey",
+          Variables.putValue("amount", 200));
+
+      // then
+      assertThat(runtimeService.getActiveActivityIds(highAmount.getId())).containsExactly("highAmount");
+      assertThat(runtimeService.getActiveActivityIds(lowAmount.getId())).containsExactly("lowAmount");
+      assertThat(runtimeService.getActiveActivityIds(otherKey.getId())).containsExactly("lowAmount");
+    }
+  }
+
+  @Test
+  public void shouldResolveNonVariableIdentifiersWithResolverChain() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask("task")
+          .camundaAssignee("${execution.processBusinessKey}")
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    for (int i = 0; i < 3; i++) {
+      // when
+      runtimeService.startProcessInstanceByKey("process", "user" + i);
+
+      // then
+      assertThat(taskService.createTaskQuery().taskAssignee("user" + i).count()).isEqualTo(1L);
+    }
+  }
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.DrainHistoryEventOutboxCmd;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryEventOutboxWriter;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryEventOutboxEntryEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryEventOutboxTest {
+
+  protected static final int BATCH_SIZE = 2;
+
+  protected static final BpmnModelInstance USER_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("userTask")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance MANUAL_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .manualTask("manualTask")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setHistoryEventOutboxEnabled(true)
+      .setHistoryEventOutboxBatchSize(BATCH_SIZE)
+      // drained by the test only
+      .setHistoryEventOutboxDrainIntervalInMillis(60 * 60 * 1000)
+      .setHistoryCleanupStrategy(ProcessEngineConfiguration.HISTORY_CLEANUP_STRATEGY_END_TIME_BASED));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  protected HistoryEventOutboxWriter historyEventOutboxWriter;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+
+    historyEventOutboxWriter = processEngineConfiguration.getHistoryEventOutboxWriter();
+  }
+
+  @After
+  public void drainOutbox() {
+    historyEventOutboxWriter.drainNow();
+  }
+
+  @Test
+  public void shouldWriteHistoryWhenOutboxIsDrained() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(findOutboxEntries()).hasSize(1);
+
+    // when
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    assertThat(findOutboxEntries()).isEmpty();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstance.getId());
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_ACTIVE);
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(2);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(1);
+
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(historicVariable.getValue()).isEqualTo("bar");
+  }
+
+  @Test
+  public void shouldKeepChangesOfOneCommand() {
+    // given
+    testRule.deploy(MANUAL_TASK_PROCESS);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+
+    HistoricActivityInstance manualTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("manualTask")
+        .singleResult();
+    assertThat(manualTask.getStartTime()).isNotNull();
+    assertThat(manualTask.getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldKeepOrderOfCommandsDrainedTogether() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    runtimeService.setVariable(processInstance.getId(), "foo", "baz");
+
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("userTask")
+        .singleResult();
+    assertThat(userTask.getStartTime()).isNotNull();
+    assertThat(userTask.getEndTime()).isNotNull();
+
+    assertThat(historyService.createHistoricTaskInstanceQuery().finished().count()).isEqualTo(1);
+
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(historicVariable.getValue()).isEqualTo("baz");
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldUpdateHistoryOfEarlierDrain() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    historyEventOutboxWriter.drainNow();
+
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+
+    HistoricActivityInstance userTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("userTask")
+        .singleResult();
+    assertThat(userTask.getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldDrainOutboxInBatches() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+
+    int processInstances = 2 * BATCH_SIZE + 1;
+    for (int i = 0; i < processInstances; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    assertThat(findOutboxEntries()).isEmpty();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(processInstances);
+  }
+
+  @Test
+  public void shouldOrderEntriesOfProcessInstance() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "foo", "bar");
+
+    // then
+    List<HistoryEventOutboxEntryEntity> outboxEntries = findOutboxEntries();
+    assertThat(outboxEntries).extracting("scopeId", "sequence").containsOnly(
+        tuple(processInstance.getId(), 1L),
+        tuple(processInstance.getId(), 2L),
+        tuple(findOtherProcessInstanceId(processInstance), 1L));
+  }
+
+  @Test
+  public void shouldRestartSequenceOfDrainedScope() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    runtimeService.setVariable(processInstance.getId(), "foo", "bar");
+
+    historyEventOutboxWriter.drainNow();
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "foo", "baz");
+
+    // then
+    assertThat(findOutboxEntries()).extracting("scopeId", "sequence")
+        .containsExactly(tuple(processInstance.getId(), 1L));
+
+    historyEventOutboxWriter.drainNow();
+    assertThat(historyService.createHistoricVariableInstanceQuery().singleResult().getValue()).isEqualTo("baz");
+  }
+
+  @Test
+  public void shouldNotDelayScopesBehindBusyScope() {
+    // given
+    testRule.deploy(USER_TASK_PROCESS);
+    ProcessInstance busyProcessInstance = runtimeService.startProcessInstanceByKey("process");
+    for (int i = 0; i < 3; i++) {
+      runtimeService.setVariable(busyProcessInstance.getId(), "foo", i);
+    }
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    int drainedEntries = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new DrainHistoryEventOutboxCmd(BATCH_SIZE));
+
+    // then
+    assertThat(drainedEntries).isEqualTo(BATCH_SIZE);
+    assertThat(historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId()).count()).isEqualTo(1);
+    assertThat(findOutboxEntries()).extracting("scopeId", "sequence").containsExactly(
+        tuple(busyProcessInstance.getId(), 2L),
+        tuple(busyProcessInstance.getId(), 3L),
+        tuple(busyProcessInstance.getId(), 4L));
+  }
+
+  @Test
+  public void shouldNotWriteHistoryOfDeletedProcessInstanceAgain() {
+    // given
+    testRule.deploy(MANUAL_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    historyEventOutboxWriter.drainNow();
+
+    // an entry of the process instance which is not drained yet
+    HistoricActivityInstanceEventEntity undrainedEvent = createActivityInstanceStartEvent(processInstance);
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getHistoryEventOutboxManager().addHistoryEvent(undrainedEvent);
+      return null;
+    });
+
+    // when
+    historyService.deleteHistoricProcessInstance(processInstance.getId());
+    historyEventOutboxWriter.drainNow();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailStartupWithRemovalTimeBasedCleanup() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createProcessEngineConfigurationFromResource("camunda.cfg.xml")
+        .setProcessEngineName("historyEventOutboxEngine");
+    configuration.setHistoryEventOutboxEnabled(true)
+      .setHistoryCleanupStrategy(ProcessEngineConfiguration.HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
+
+    // when/then
+    assertThatThrownBy(configuration::buildProcessEngine)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("historyCleanupStrategy");
+  }
+
+  protected HistoricActivityInstanceEventEntity createActivityInstanceStartEvent(ProcessInstance processInstance) {
+    HistoricActivityInstanceEventEntity historyEvent = new HistoricActivityInstanceEventEntity();
+    historyEvent.setId("undrainedActivityInstance");
+    historyEvent.setEventType(HistoryEventTypes.ACTIVITY_INSTANCE_START.getEventName());
+    historyEvent.setActivityInstanceId("undrainedActivityInstance");
+    historyEvent.setActivityId("manualTask");
+    historyEvent.setActivityType("manualTask");
+    historyEvent.setProcessInstanceId(processInstance.getId());
+    historyEvent.setExecutionId(processInstance.getId());
+    historyEvent.setProcessDefinitionId(processInstance.getProcessDefinitionId());
+    historyEvent.setProcessDefinitionKey("process");
+    historyEvent.setStartTime(ClockUtil.getCurrentTime());
+    return historyEvent;
+  }
+
+  protected String findOtherProcessInstanceId(ProcessInstance processInstance) {
+    return runtimeService.createProcessInstanceQuery().list().stream()
+        .map(ProcessInstance::getId)
+        .filter(id -> !id.equals(processInstance.getId()))
+        .findFirst()
+        .get();
+  }
+
+  protected List<HistoryEventOutboxEntryEntity> findOutboxEntries() {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(commandContext -> commandContext.getHistoryEventOutboxManager().claimOutboxEntries(Integer.MAX_VALUE));
+  }
+
+}
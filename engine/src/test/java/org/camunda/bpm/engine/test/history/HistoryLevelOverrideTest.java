@@ -0,0 +1,221 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ParseException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.OverridableHistoryLevel;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryLevelOverrideTest {
+
+  protected static final String RESOURCE_PATH = "org/camunda/bpm/engine/test/history/HistoryLevelOverrideTest.";
+
+  protected static final BpmnModelInstance TECHNICAL_PROCESS = Bpmn.createExecutableProcess("technicalProcess")
+      .startEvent()
+      .userTask("userTask")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance AUDITED_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("userTask")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setHistoryLevelOverridesEnabled(true)
+      .setHistoryLevelOverrides(Collections.singletonMap("technicalProcess", ProcessEngineConfiguration.HISTORY_NONE)));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  public void shouldKeepHistoryLevelOfProcessEngine() {
+    HistoryLevel historyLevel = processEngineConfiguration.getHistoryLevel();
+
+    assertThat(historyLevel).isInstanceOf(OverridableHistoryLevel.class);
+    assertThat(historyLevel.getId()).isEqualTo(HistoryLevel.HISTORY_LEVEL_FULL.getId());
+    assertThat(historyLevel).isEqualTo(HistoryLevel.HISTORY_LEVEL_FULL);
+    assertThat(HistoryLevel.HISTORY_LEVEL_FULL).isEqualTo(historyLevel);
+    assertThat(HistoryLevel.HISTORY_LEVEL_NONE).isNotEqualTo(historyLevel);
+  }
+
+  @Test
+  public void shouldProduceFullHistoryWithoutOverride() {
+    // given
+    testRule.deploy(AUDITED_PROCESS);
+
+    // when
+    runProcess();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(3);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricDetailQuery().count()).isEqualTo(2);
+  }
+
+  @Test
+  @Deployment(resources = RESOURCE_PATH + "processHistoryLevelNone.bpmn20.xml")
+  public void shouldProduceNoHistoryForProcessHistoryLevelNone() {
+    // when
+    runProcess();
+
+    // then
+    assertNoHistory();
+  }
+
+  @Test
+  public void shouldProduceNoHistoryForConfiguredHistoryLevelNone() {
+    // given
+    testRule.deploy(TECHNICAL_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("technicalProcess",
+        Variables.createVariables().putValue("foo", "bar"));
+    runtimeService.setVariable(processInstance.getId(), "foo", "baz");
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // then
+    assertNoHistory();
+  }
+
+  @Test
+  @Deployment(resources = RESOURCE_PATH + "processHistoryLevelActivity.bpmn20.xml")
+  public void shouldProduceActivityHistoryForProcessHistoryLevelActivity() {
+    // when
+    runProcess();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(3);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = RESOURCE_PATH + "activityHistoryLevelNone.bpmn20.xml")
+  public void shouldProduceNoHistoryForActivityHistoryLevelNone() {
+    // when
+    runProcess();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("end").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("userTask").count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  @Deployment(resources = RESOURCE_PATH + "processHistoryLevelNoneActivityHistoryLevelFull.bpmn20.xml")
+  public void shouldNotProduceActivityHistoryExcludedByProcessHistoryLevel() {
+    // when
+    runProcess();
+
+    // then
+    assertNoHistory();
+  }
+
+  @Test
+  @Deployment(resources = RESOURCE_PATH + "processHistoryLevelActivityActivityHistoryLevelNone.bpmn20.xml")
+  public void shouldCombineProcessAndActivityHistoryLevel() {
+    // when
+    runProcess();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("start").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("end").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("userTask").count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldFailToDeployUnknownHistoryLevel() {
+    assertThatThrownBy(() -> repositoryService.createDeployment()
+        .addClasspathResource(RESOURCE_PATH + "unknownHistoryLevel.bpmn20.xml")
+        .deploy())
+      .isInstanceOf(ParseException.class)
+      .hasMessageContaining("Unknown history level 'unknown'");
+  }
+
+  protected void runProcess() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar"));
+    runtimeService.setVariable(processInstance.getId(), "foo", "baz");
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+  }
+
+  protected void assertNoHistory() {
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class MultiRowInsertHistoryTest {
+
+  protected static final int MAX_ROWS = 3;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .manualTask()
+      .manualTask()
+      .manualTask()
+      .manualTask()
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+    configuration.setJdbcBatchMultiRowInsert(true)
+      .setJdbcBatchMultiRowInsertMaxRows(MAX_ROWS));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  public void shouldInsertHistoryWithMultiRowStatements() {
+    // given
+    testRule.deploy(PROCESS);
+
+    VariableMap variables = Variables.createVariables();
+    for (int i = 0; i < 10; i++) {
+      variables.putValue("var" + i, i);
+    }
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // then
+    // start event, four manual tasks and the user task
+    assertThat(historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count()).isEqualTo(6);
+
+    List<HistoricVariableInstance> historicVariables = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertThat(historicVariables).hasSize(10);
+    for (HistoricVariableInstance historicVariable : historicVariables) {
+      int index = Integer.parseInt(historicVariable.getName().substring(3));
+      assertThat(historicVariable.getValue()).isEqualTo(index);
+    }
+
+    assertThat(historyService.createHistoricDetailQuery()
+        .processInstanceId(processInstance.getId())
+        .variableUpdates()
+        .count()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldUpdateHistoryInsertedWithMultiRowStatements() {
+    // given
+    testRule.deploy(PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("foo", "bar").putValue("baz", "qux"));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "foo", "updated");
+
+    // then
+    HistoricVariableInstance historicVariable = historyService.createHistoricVariableInstanceQuery()
+        .variableName("foo")
+        .singleResult();
+    assertThat(historicVariable.getValue()).isEqualTo("updated");
+  }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsSkipLockedCmd;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.junit.Test;
+
+public class AcquireJobsSkipLockedCmdTest extends PluggableProcessEngineTest {
+
+  protected static final String ONE_JOB_PROCESS = "org/camunda/bpm/engine/test/standalone/jobexecutor/oneJobProcess.bpmn20.xml";
+
+  @Deployment(resources = ONE_JOB_PROCESS)
+  @Test
+  public void shouldAcquireJobs() {
+    // given
+    startProcessInstancesWithDueJobs(3);
+
+    // when
+    AcquiredJobs acquiredJobs = executeAcquireJobsCommand(5);
+
+    // then
+    assertThat(acquiredJobs.size()).isEqualTo(3);
+    assertThat(acquiredJobs.getNumberOfJobsFailedToLock()).isZero();
+
+    for (Job job : managementService.createJobQuery().list()) {
+      assertThat(acquiredJobs.contains(job.getId())).isTrue();
+    }
+  }
+
+  @Deployment(resources = ONE_JOB_PROCESS)
+  @Test
+  public void shouldNotAcquireLockedJobs() {
+    // given
+    startProcessInstancesWithDueJobs(2);
+    executeAcquireJobsCommand(5);
+
+    // when
+    AcquiredJobs acquiredJobs = executeAcquireJobsCommand(5);
+
+    // then
+    assertThat(acquiredJobs.size()).isZero();
+  }
+
+  @Deployment(resources = ONE_JOB_PROCESS)
+  @Test
+  public void shouldSkipJobsLockedByConcurrentAcquisition() throws InterruptedException {
+    // skip locked is not available on all test databases
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    if (!dbSqlSessionFactory.isSkipLockedSupported()) {
+      return;
+    }
+
+    // given
+    startProcessInstancesWithDueJobs(4);
+
+    final CountDownLatch firstAcquisitionSelected = new CountDownLatch(1);
+    final CountDownLatch secondAcquisitionCompleted = new CountDownLatch(1);
+    final List<AcquiredJobs> firstAcquisitionResult = new ArrayList<AcquiredJobs>();
+
+    // the first acquisition keeps its transaction open after selecting two jobs
+    Thread firstAcquisition = new Thread() {
+      public void run() {
+        firstAcquisitionResult.add(processEngineConfiguration.getCommandExecutorTxRequired()
+          .execute(new Command<AcquiredJobs>() {
+            public AcquiredJobs execute(CommandContext commandContext) {
+              AcquiredJobs acquiredJobs = new AcquireJobsSkipLockedCmd(processEngineConfiguration.getJobExecutor(), 2)
+                .execute(commandContext);
+              firstAcquisitionSelected.countDown();
+              await(secondAcquisitionCompleted);
+              return acquiredJobs;
+            }
+          }));
+      }
+    };
+    firstAcquisition.start();
+    await(firstAcquisitionSelected);
+
+    // when
+    AcquiredJobs secondAcquisitionResult = executeAcquireJobsCommand(4);
+    secondAcquisitionCompleted.countDown();
+    firstAcquisition.join(10000);
+
+    // then
+    assertThat(firstAcquisitionResult).hasSize(1);
+    AcquiredJobs firstAcquisitionJobs = firstAcquisitionResult.get(0);
+    assertThat(firstAcquisitionJobs.size()).isEqualTo(2);
+    assertThat(firstAcquisitionJobs.getNumberOfJobsFailedToLock()).isZero();
+    assertThat(secondAcquisitionResult.size()).isEqualTo(2);
+    assertThat(secondAcquisitionResult.getNumberOfJobsFailedToLock()).isZero();
+
+    Set<String> acquiredJobIds = new HashSet<String>();
+    for (Job job : managementService.createJobQuery().list()) {
+      if (firstAcquisitionJobs.contains(job.getId()) || secondAcquisitionResult.contains(job.getId())) {
+        acquiredJobIds.add(job.getId());
+      }
+    }
+    assertThat(acquiredJobIds).hasSize(4);
+  }
+
+  protected void startProcessInstancesWithDueJobs(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+
+    for (Job job : managementService.createJobQuery().list()) {
+      makeSureJobDue(job);
+    }
+  }
+
+  protected void makeSureJobDue(final Job job) {
+    processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          Date currentTime = ClockUtil.getCurrentTime();
+          commandContext.getJobManager()
+            .findJobById(job.getId())
+            .setDuedate(new Date(currentTime.getTime() - 10000));
+          return null;
+        }
+      });
+  }
+
+  protected AcquiredJobs executeAcquireJobsCommand(int numJobsToAcquire) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new AcquireJobsSkipLockedCmd(processEngineConfiguration.getJobExecutor(), numJobsToAcquire));
+  }
+
+  protected static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+}
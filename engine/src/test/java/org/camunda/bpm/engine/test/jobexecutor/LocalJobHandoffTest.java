@@ -0,0 +1,170 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquireJobsCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LocalJobHandoffTest {
+
+  protected static final BpmnModelInstance NON_EXCLUSIVE_ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+      .camundaExpression("${true}")
+      .camundaAsyncBefore()
+      .camundaExclusive(false)
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance EXCLUSIVE_ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+      .camundaExpression("${true}")
+      .camundaAsyncBefore()
+      .camundaExclusive(true)
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setJobExecutorLocalJobHandoff(true));
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl configuration;
+  protected RuntimeService runtimeService;
+  protected DefaultJobExecutor jobExecutor;
+
+  @Before
+  public void setUp() {
+    configuration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+
+    jobExecutor = (DefaultJobExecutor) configuration.getJobExecutor();
+    // jobs can only be executed if they are handed over
+    jobExecutor.setAcquireJobsCmdFactory(new NoJobsAcquireJobsCommandFactory());
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.shutdown();
+  }
+
+  @Test
+  public void shouldExecuteNonExclusiveJobWithoutAcquisition() throws InterruptedException {
+    // given
+    testRule.deploy(NON_EXCLUSIVE_ASYNC_TASK);
+    jobExecutor.start();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    waitForProcessInstancesToComplete();
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldNotHandOverExclusiveJob() {
+    // given
+    testRule.deploy(EXCLUSIVE_ASYNC_TASK);
+    jobExecutor.start();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery().singleResult();
+    assertThat(job.getLockOwner()).isNull();
+    assertThat(job.getLockExpirationTime()).isNull();
+  }
+
+  @Test
+  public void shouldNotHandOverJobIfJobExecutorIsNotActive() {
+    // given
+    testRule.deploy(NON_EXCLUSIVE_ASYNC_TASK);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery().singleResult();
+    assertThat(job.getLockOwner()).isNull();
+  }
+
+  @Test
+  public void shouldUnlockRejectedJob() {
+    // given
+    testRule.deploy(NON_EXCLUSIVE_ASYNC_TASK);
+    jobExecutor.start();
+
+    ThreadPoolExecutor rejectingExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<Runnable>());
+    rejectingExecutor.shutdown();
+    jobExecutor.setThreadPoolExecutor(rejectingExecutor);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then the job is left to the regular acquisition
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery().singleResult();
+    assertThat(job.getLockOwner()).isNull();
+    assertThat(job.getLockExpirationTime()).isNull();
+  }
+
+  protected void waitForProcessInstancesToComplete() throws InterruptedException {
+    for (int i = 0; i < 100 && runtimeService.createProcessInstanceQuery().count() > 0; i++) {
+      Thread.sleep(100);
+    }
+  }
+
+  public static class NoJobsAcquireJobsCommandFactory implements AcquireJobsCommandFactory {
+
+    public Command<AcquiredJobs> getCommand(final int numJobsToAcquire) {
+      return new Command<AcquiredJobs>() {
+        public AcquiredJobs execute(CommandContext commandContext) {
+          return new AcquiredJobs(numJobsToAcquire);
+        }
+      };
+    }
+  }
+
+}
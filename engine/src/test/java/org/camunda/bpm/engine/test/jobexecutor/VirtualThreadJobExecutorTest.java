@@ -0,0 +1,155 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.PermitLimitedJobAcquisitionStrategy;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final String THREAD_NAME_PREFIX = "virtual-job-executor-";
+
+  protected static final BpmnModelInstance ASYNC_TASK = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+      .camundaClass(RecordThreadNameDelegate.class.getName())
+      .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(2);
+    jobExecutor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+    configuration.setJobExecutor(jobExecutor);
+  });
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  @After
+  public void tearDown() {
+    engineRule.getProcessEngineConfiguration().getJobExecutor().shutdown();
+    RecordThreadNameDelegate.THREAD_NAMES.clear();
+  }
+
+  @Test
+  public void shouldExecuteJobsOnVirtualThreads() throws InterruptedException {
+    assumeTrue(VirtualThreadJobExecutor.isSupported());
+
+    // given
+    testRule.deploy(ASYNC_TASK);
+    RuntimeService runtimeService = engineRule.getRuntimeService();
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    engineRule.getProcessEngineConfiguration().getJobExecutor().start();
+    for (int i = 0; i < 100 && runtimeService.createProcessInstanceQuery().count() > 0; i++) {
+      Thread.sleep(100);
+    }
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordThreadNameDelegate.THREAD_NAMES)
+      .isNotEmpty()
+      .allMatch(name -> name.startsWith(THREAD_NAME_PREFIX));
+  }
+
+  @Test
+  public void shouldLimitJobsToAcquireToAvailablePermits() {
+    // given
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(2);
+
+    // when
+    PermitLimitedJobAcquisitionStrategy strategy = new PermitLimitedJobAcquisitionStrategy(new FixedJobAcquisitionStrategy(5, 0), jobExecutor);
+
+    // then
+    assertThat(strategy.getNumJobsToAcquire("engine")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldWaitIfPermitsAreExhausted() {
+    // given
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(0);
+    PermitLimitedJobAcquisitionStrategy strategy = new PermitLimitedJobAcquisitionStrategy(new FixedJobAcquisitionStrategy(5, 0), jobExecutor);
+
+    // when
+    strategy.reconfigure(new JobAcquisitionContext());
+
+    // then
+    assertThat(strategy.getNumJobsToAcquire("engine")).isZero();
+    assertThat(strategy.getWaitTime()).isEqualTo(PermitLimitedJobAcquisitionStrategy.DEFAULT_PERMITS_EXHAUSTED_WAIT_TIME);
+  }
+
+  protected static class FixedJobAcquisitionStrategy implements JobAcquisitionStrategy {
+
+    protected int numJobsToAcquire;
+    protected long waitTime;
+
+    public FixedJobAcquisitionStrategy(int numJobsToAcquire, long waitTime) {
+      this.numJobsToAcquire = numJobsToAcquire;
+      this.waitTime = waitTime;
+    }
+
+    public void reconfigure(JobAcquisitionContext context) {
+    }
+
+    public long getWaitTime() {
+      return waitTime;
+    }
+
+    public int getNumJobsToAcquire(String processEngine) {
+      return numJobsToAcquire;
+    }
+  }
+
+  public static class RecordThreadNameDelegate implements JavaDelegate {
+
+    protected static final Set<String> THREAD_NAMES = ConcurrentHashMap.newKeySet();
+
+    public void execute(DelegateExecution execution) throws Exception {
+      THREAD_NAMES.add(Thread.currentThread().getName());
+    }
+  }
+
+}
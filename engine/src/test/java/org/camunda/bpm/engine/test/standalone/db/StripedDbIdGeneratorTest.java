@@ -0,0 +1,149 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.StripedDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedDbIdGeneratorTest {
+
+  protected static final int BLOCK_SIZE = 10;
+
+  protected BlockCountingCommandExecutor commandExecutor;
+  protected StripedDbIdGenerator idGenerator;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new BlockCountingCommandExecutor();
+
+    idGenerator = new StripedDbIdGenerator();
+    idGenerator.setIdBlockSize(BLOCK_SIZE);
+    idGenerator.setStripeCount(4);
+    idGenerator.setCommandExecutor(commandExecutor);
+  }
+
+  @Test
+  public void shouldHandOutConsecutiveIdsOnSingleThread() {
+    // given
+    idGenerator.setStripeCount(1);
+    idGenerator.setPrefetchThreshold(0);
+
+    // when
+    List<String> ids = new ArrayList<String>();
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // then
+    assertThat(ids).containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    // given
+    final Set<String> ids = ConcurrentHashMap.newKeySet();
+    final int idsPerThread = 1000;
+    List<Thread> threads = new ArrayList<Thread>();
+
+    // when
+    for (int i = 0; i < 16; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < idsPerThread; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertThat(ids).hasSize(16 * idsPerThread);
+  }
+
+  @Test
+  public void shouldPrefetchNextBlock() throws InterruptedException {
+    // given
+    idGenerator.setStripeCount(1);
+    idGenerator.setPrefetchThreshold(2);
+
+    // when
+    for (int i = 0; i < BLOCK_SIZE - 2; i++) {
+      idGenerator.getNextId();
+    }
+    // give the prefetch thread the chance to complete
+    for (int i = 0; i < 100 && commandExecutor.fetchedBlocks.get() < 2; i++) {
+      Thread.sleep(10);
+    }
+
+    // then
+    assertThat(commandExecutor.fetchedBlocks.get()).isEqualTo(2);
+    // the prefetched block is used once the current block is exhausted
+    idGenerator.getNextId();
+    idGenerator.getNextId();
+    assertThat(idGenerator.getNextId()).isEqualTo(String.valueOf(BLOCK_SIZE));
+  }
+
+  @Test
+  public void shouldFetchNewBlockAfterReset() {
+    // given
+    idGenerator.setStripeCount(1);
+    idGenerator.setPrefetchThreshold(0);
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.reset();
+
+    // then
+    assertThat(idGenerator.getNextId()).isEqualTo(String.valueOf(BLOCK_SIZE));
+  }
+
+  /**
+   * Hands out consecutive id blocks without accessing a database.
+   */
+  protected static class BlockCountingCommandExecutor implements CommandExecutor {
+
+    protected AtomicLong nextId = new AtomicLong();
+    protected AtomicInteger fetchedBlocks = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Command<T> command) {
+      fetchedBlocks.incrementAndGet();
+      long first = nextId.getAndAdd(BLOCK_SIZE);
+      return (T) new IdBlock(first, first + BLOCK_SIZE - 1);
+    }
+  }
+
+}
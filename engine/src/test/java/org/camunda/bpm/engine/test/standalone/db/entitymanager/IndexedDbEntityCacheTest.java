@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.IndexedDbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TimerEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexedDbEntityCacheTest {
+
+  protected IndexedDbEntityCache entityCache;
+
+  @Before
+  public void setUp() {
+    entityCache = new IndexedDbEntityCache(DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping());
+  }
+
+  @Test
+  public void shouldGetEntitiesByTypeHierarchy() {
+    // given
+    MessageEntity message = new MessageEntity();
+    message.setId("message");
+    TimerEntity timer = new TimerEntity();
+    timer.setId("timer");
+    PropertyEntity property = new PropertyEntity("name", "value");
+
+    entityCache.putTransient(message);
+    entityCache.putTransient(timer);
+    entityCache.putTransient(property);
+
+    // then
+    assertThat(entityCache.getEntitiesByType(TimerEntity.class)).containsExactly(timer);
+    assertThat(entityCache.getEntitiesByType(MessageEntity.class)).containsExactly(message);
+    assertThat(entityCache.getEntitiesByType(JobEntity.class)).containsOnly(message, timer);
+    assertThat(entityCache.getEntitiesByType(AcquirableJobEntity.class)).containsOnly(message, timer);
+    assertThat(entityCache.getEntitiesByType(PropertyEntity.class)).containsExactly(property);
+  }
+
+  @Test
+  public void shouldIndexTypeAddedAfterLookup() {
+    // given
+    MessageEntity message = new MessageEntity();
+    message.setId("message");
+    entityCache.putTransient(message);
+    assertThat(entityCache.getEntitiesByType(JobEntity.class)).containsExactly(message);
+
+    // when
+    TimerEntity timer = new TimerEntity();
+    timer.setId("timer");
+    entityCache.putTransient(timer);
+
+    // then
+    assertThat(entityCache.getEntitiesByType(JobEntity.class)).containsOnly(message, timer);
+  }
+
+  @Test
+  public void shouldTrackStateTransitions() {
+    // given
+    PropertyEntity property = new PropertyEntity("name", "value");
+    entityCache.putTransient(property);
+    assertThat(entityCache.countCachedEntitiesByState(DbEntityState.TRANSIENT)).isEqualTo(1);
+
+    // when the entity manager flushes the entity
+    CachedDbEntity cachedEntity = entityCache.getCachedEntity(property);
+    cachedEntity.setEntityState(DbEntityState.PERSISTENT);
+
+    // then
+    assertThat(entityCache.countCachedEntitiesByState(DbEntityState.TRANSIENT)).isEqualTo(0);
+    assertThat(entityCache.getCachedEntitiesByState(DbEntityState.PERSISTENT)).containsExactly(cachedEntity);
+
+    // when
+    entityCache.setDeleted(property);
+
+    // then
+    assertThat(entityCache.countCachedEntitiesByState(DbEntityState.PERSISTENT)).isEqualTo(0);
+    assertThat(entityCache.getCachedEntitiesByState(DbEntityState.DELETED_PERSISTENT)).containsExactly(cachedEntity);
+    assertThat(entityCache.isDeleted(property)).isTrue();
+  }
+
+  @Test
+  public void shouldRemoveEntityFromIndexes() {
+    // given
+    TimerEntity timer = new TimerEntity();
+    timer.setId("timer");
+    entityCache.putTransient(timer);
+
+    // when
+    entityCache.remove(timer);
+
+    // then
+    assertThat(entityCache.size()).isEqualTo(0);
+    assertThat(entityCache.getCachedEntities()).isEmpty();
+    assertThat(entityCache.getEntitiesByType(TimerEntity.class)).isEmpty();
+    assertThat(entityCache.countCachedEntitiesByState(DbEntityState.TRANSIENT)).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldReplaceMergedEntity() {
+    // given
+    PropertyEntity property = new PropertyEntity("name", "value");
+    entityCache.putMerged(property);
+
+    // when
+    PropertyEntity mergedProperty = new PropertyEntity("name", "otherValue");
+    entityCache.putMerged(mergedProperty);
+
+    // then
+    List<CachedDbEntity> cachedEntities = entityCache.getCachedEntities();
+    assertThat(cachedEntities).hasSize(1);
+    assertThat(cachedEntities.get(0).getEntity()).isSameAs(mergedProperty);
+    assertThat(entityCache.getEntitiesByType(PropertyEntity.class)).containsExactly(mergedProperty);
+  }
+
+}
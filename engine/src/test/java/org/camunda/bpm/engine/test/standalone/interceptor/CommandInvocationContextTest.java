@@ -16,17 +16,36 @@
  */
 package org.camunda.bpm.engine.test.standalone.interceptor;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 
+import java.util.List;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
 import org.camunda.bpm.engine.test.util.PluggableProcessEngineTest;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.Rule;
 import org.junit.Test;
 
 public class CommandInvocationContextTest extends PluggableProcessEngineTest {
 
+  protected static final String CONTEXT_LOGGER = "org.camunda.bpm.engine.context";
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule().watch(CONTEXT_LOGGER).level(Level.DEBUG);
+
   /**
    * Test that the command invocation context always holds the correct command;
    * in outer commands as well as nested commands.
@@ -38,6 +57,51 @@ public class CommandInvocationContextTest extends PluggableProcessEngineTest {
     processEngineConfiguration.getCommandExecutorTxRequired().execute(outerCommand);
   }
 
+  @Test
+  public void shouldExecuteLongSynchronousSequence() {
+    // given
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+    for (int i = 0; i < 100; i++) {
+      builder = builder.manualTask("task" + i)
+          .camundaExecutionListenerExpression("start", "${execution.setVariable('visited', visited + 1)}");
+    }
+    BpmnModelInstance process = builder.userTask("userTask").endEvent().done();
+    testRule.deploy(process);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("visited", 0));
+
+    // then
+    assertThat(runtimeService.getVariable(processInstance.getId(), "visited")).isEqualTo(100L);
+    assertThat(taskService.createTaskQuery().singleResult().getTaskDefinitionKey()).isEqualTo("userTask");
+  }
+
+  @Test
+  public void shouldLogBpmnStackTraceOfFailedOperation() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent("start")
+        .manualTask("first")
+        .serviceTask("failing").camundaExpression("${unknownBean.call()}")
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    // when
+    assertThatThrownBy(() -> runtimeService.startProcessInstanceByKey("process"))
+      .isInstanceOf(ProcessEngineException.class);
+
+    // then
+    List<ILoggingEvent> stackTraceLog = loggingRule.getFilteredLog(CONTEXT_LOGGER, "BPMN Stack Trace");
+    assertThat(stackTraceLog).hasSize(1);
+
+    String stackTrace = stackTraceLog.get(0).getFormattedMessage();
+    assertThat(stackTrace).contains("failing (activity-execute");
+    assertThat(stackTrace.indexOf("failing")).isLessThan(stackTrace.indexOf("first"));
+    assertThat(stackTrace.indexOf("first")).isLessThan(stackTrace.lastIndexOf("start"));
+  }
+
   protected class SelfAssertingCommand implements Command<Void> {
 
     protected Command<Void> innerCommand;
@@ -61,8 +61,10 @@ public class PerfTestProcessEngine {
     processEngineConfiguration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_TRUE);
 
     processEngineConfiguration.setHistory(properties.getProperty("historyLevel"));
+    processEngineConfiguration.setHistoryLevelOverridesEnabled(Boolean.valueOf(properties.getProperty("historyLevelOverridesEnabled")));
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
+    processEngineConfiguration.setJdbcBatchMultiRowInsert(Boolean.valueOf(properties.getProperty("jdbcBatchMultiRowInsert")));
 
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsSkipLockedCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * <p>Acquires jobs like a job executor would do. Every thread of the performance test
+ * uses its own lock owner, so concurrent threads behave like job executors of
+ * different cluster nodes competing for the same jobs.</p>
+ *
+ * <p>The job executors are never started; the acquired jobs remain locked until
+ * their lock expires.</p>
+ */
+public class AcquireJobsStep implements PerfTestStepBehavior {
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected boolean skipLocked;
+  protected int numJobsToAcquire;
+  protected JobAcquisitionStatistics statistics;
+
+  protected ThreadLocal<JobExecutor> nodeJobExecutor = new ThreadLocal<JobExecutor>() {
+    protected JobExecutor initialValue() {
+      return new DefaultJobExecutor();
+    }
+  };
+
+  public AcquireJobsStep(ProcessEngine processEngine, boolean skipLocked, int numJobsToAcquire, JobAcquisitionStatistics statistics) {
+    this.processEngineConfiguration = ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration();
+    this.skipLocked = skipLocked;
+    this.numJobsToAcquire = numJobsToAcquire;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    JobExecutor jobExecutor = nodeJobExecutor.get();
+
+    Command<AcquiredJobs> acquireJobsCmd;
+    if (skipLocked) {
+      acquireJobsCmd = new AcquireJobsSkipLockedCmd(jobExecutor, numJobsToAcquire);
+    }
+    else {
+      acquireJobsCmd = new AcquireJobsCmd(jobExecutor, numJobsToAcquire);
+    }
+
+    try {
+      AcquiredJobs acquiredJobs = processEngineConfiguration.getCommandExecutorTxRequired().execute(acquireJobsCmd);
+      statistics.acquisitionCompleted(acquiredJobs.size(), acquiredJobs.getNumberOfJobsFailedToLock());
+    }
+    catch (OptimisticLockingException e) {
+      // the whole acquisition failed, e.g. on databases which abort conflicting transactions
+      statistics.acquisitionFailed(numJobsToAcquire);
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Lets every woken up {@link ParkedExternalTaskWorkers worker} fetch and lock
+ * a single task of its topic and completes the locked tasks.
+ */
+public class FetchAndLockParkedWorkersStep extends ProcessEngineAwareStep {
+
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected ExternalTaskService externalTaskService;
+  protected ParkedExternalTaskWorkers workers;
+
+  public FetchAndLockParkedWorkersStep(ProcessEngine processEngine, ParkedExternalTaskWorkers workers) {
+    super(processEngine);
+    this.externalTaskService = processEngine.getExternalTaskService();
+    this.workers = workers;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    Set<Integer> wokenUpWorkers = workers.getWokenUpWorkers();
+    for (Integer worker : wokenUpWorkers) {
+      if (!wokenUpWorkers.remove(worker)) {
+        // handled by a concurrent pass
+        continue;
+      }
+
+      String workerId = "worker-" + worker;
+      List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(1, workerId)
+          .topic(workers.getWorkerTopic(worker), LOCK_DURATION)
+          .execute();
+
+      workers.fetched(tasks.size());
+
+      for (LockedExternalTask task : tasks) {
+        externalTaskService.complete(task.getId(), workerId);
+      }
+    }
+  }
+
+}
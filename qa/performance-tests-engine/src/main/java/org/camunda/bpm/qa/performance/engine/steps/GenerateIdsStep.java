@@ -0,0 +1,43 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+
+/**
+ * Generates a number of ids using the given {@link IdGenerator}.
+ */
+public class GenerateIdsStep implements PerfTestStepBehavior {
+
+  protected IdGenerator idGenerator;
+  protected int numberOfIds;
+
+  public GenerateIdsStep(IdGenerator idGenerator, int numberOfIds) {
+    this.idGenerator = idGenerator;
+    this.numberOfIds = numberOfIds;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    for (int i = 0; i < numberOfIds; i++) {
+      idGenerator.getNextId();
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the outcome of the job acquisitions performed by {@link AcquireJobsStep}.
+ */
+public class JobAcquisitionStatistics {
+
+  protected AtomicLong acquisitions = new AtomicLong();
+  protected AtomicLong failedAcquisitions = new AtomicLong();
+  protected AtomicLong acquiredJobs = new AtomicLong();
+  protected AtomicLong jobsFailedToLock = new AtomicLong();
+
+  public void acquisitionCompleted(int acquired, int failedToLock) {
+    acquisitions.incrementAndGet();
+    acquiredJobs.addAndGet(acquired);
+    jobsFailedToLock.addAndGet(failedToLock);
+  }
+
+  public void acquisitionFailed(int failedToLock) {
+    acquisitions.incrementAndGet();
+    failedAcquisitions.incrementAndGet();
+    jobsFailedToLock.addAndGet(failedToLock);
+  }
+
+  public long getAcquisitions() {
+    return acquisitions.get();
+  }
+
+  public long getFailedAcquisitions() {
+    return failedAcquisitions.get();
+  }
+
+  public long getAcquiredJobs() {
+    return acquiredJobs.get();
+  }
+
+  public long getJobsFailedToLock() {
+    return jobsFailedToLock.get();
+  }
+
+  /**
+   * @return the share of selected jobs which could not be locked because a
+   *   concurrent acquisition locked them first
+   */
+  public double getConflictRate() {
+    long selectedJobs = getAcquiredJobs() + getJobsFailedToLock();
+    return selectedJobs == 0 ? 0 : (double) getJobsFailedToLock() / selectedJobs;
+  }
+
+  public double getAcquiredJobsPerSecond(long durationInMillis) {
+    return durationInMillis == 0 ? 0 : getAcquiredJobs() * 1000d / durationInMillis;
+  }
+
+  public void print(long durationInMillis) {
+    System.out.println("Number of acquisitions: " + getAcquisitions());
+    System.out.println("Number of failed acquisitions: " + getFailedAcquisitions());
+    System.out.println("Number of acquired jobs: " + getAcquiredJobs());
+    System.out.println("Number of jobs failed to lock: " + getJobsFailedToLock());
+    System.out.println(String.format("Acquired jobs per second: %.2f", getAcquiredJobsPerSecond(durationInMillis)));
+    System.out.println(String.format("Conflict rate: %.2f%%", getConflictRate() * 100));
+  }
+
+}
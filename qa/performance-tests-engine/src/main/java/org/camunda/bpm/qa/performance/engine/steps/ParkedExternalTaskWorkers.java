@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotificationListener;
+
+/**
+ * <p>Simulates external task workers which wait in a long polling fetch and lock
+ * request. Workers are distributed evenly across a number of topics.</p>
+ *
+ * <p>With topic based wake up, a notification only wakes the workers of the notified
+ * topic. Otherwise, every notification wakes all workers, which is how pending
+ * requests are signalled through {@link org.camunda.bpm.engine.impl.ProcessEngineImpl#EXT_TASK_CONDITIONS}.
+ * Woken workers fetch and lock in {@link FetchAndLockParkedWorkersStep}.</p>
+ */
+public class ParkedExternalTaskWorkers implements ExternalTaskNotificationListener {
+
+  protected boolean topicWakeUp;
+
+  protected List<String> topics = new ArrayList<String>();
+  protected String[] workerTopics;
+  protected Map<String, List<Integer>> workersByTopic = new HashMap<String, List<Integer>>();
+  protected List<Integer> allWorkers = new ArrayList<Integer>();
+
+  protected Set<Integer> wokenUpWorkers = ConcurrentHashMap.newKeySet();
+
+  protected AtomicLong notifications = new AtomicLong();
+  protected AtomicLong fetchQueries = new AtomicLong();
+  protected AtomicLong lockedTasks = new AtomicLong();
+
+  public ParkedExternalTaskWorkers(int numberOfWorkers, int numberOfTopics, boolean topicWakeUp) {
+    this.topicWakeUp = topicWakeUp;
+    this.workerTopics = new String[numberOfWorkers];
+
+    for (int i = 0; i < numberOfTopics; i++) {
+      String topic = "topic-" + i;
+      topics.add(topic);
+      workersByTopic.put(topic, new ArrayList<Integer>());
+    }
+
+    for (int worker = 0; worker < numberOfWorkers; worker++) {
+      String topic = topics.get(worker % numberOfTopics);
+      workerTopics[worker] = topic;
+      workersByTopic.get(topic).add(worker);
+      allWorkers.add(worker);
+    }
+  }
+
+  @Override
+  public void onExternalTasksAvailable(ExternalTaskNotification notification) {
+    notifications.incrementAndGet();
+
+    if (topicWakeUp && !notification.isForAllTopics()) {
+      List<Integer> topicWorkers = workersByTopic.get(notification.getTopicName());
+      if (topicWorkers != null) {
+        wokenUpWorkers.addAll(topicWorkers);
+      }
+    }
+    else {
+      wokenUpWorkers.addAll(allWorkers);
+    }
+  }
+
+  public List<String> getTopics() {
+    return Collections.unmodifiableList(topics);
+  }
+
+  public String getWorkerTopic(int worker) {
+    return workerTopics[worker];
+  }
+
+  public Set<Integer> getWokenUpWorkers() {
+    return wokenUpWorkers;
+  }
+
+  public void fetched(int lockedTaskCount) {
+    fetchQueries.incrementAndGet();
+    lockedTasks.addAndGet(lockedTaskCount);
+  }
+
+  public void print(long durationInMillis) {
+    long queries = fetchQueries.get();
+    long locked = lockedTasks.get();
+
+    System.out.println("Number of parked workers: " + workerTopics.length);
+    System.out.println("Number of topics: " + topics.size());
+    System.out.println("Number of notifications: " + notifications.get());
+    System.out.println("Number of fetch and lock queries: " + queries);
+    System.out.println("Number of locked tasks: " + locked);
+    System.out.println(String.format("Fetch and lock queries per locked task: %.2f", locked == 0 ? 0 : (double) queries / locked));
+    System.out.println(String.format("Locked tasks per second: %.2f", durationInMillis == 0 ? 0 : locked * 1000d / durationInMillis));
+  }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE1;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE2;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE3;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE4;
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.VARIABLE5;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * Starts the same process with and without a history level override. The overrides
+ * are only applied with the <code>cfgHistoryLevelOverridesOn</code> profile; combined with
+ * the Sql Statement Log, this shows the history writes which are saved per process instance.
+ */
+public class HistoryLevelOverridePerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  @Test
+  @Deployment
+  public void noOverride() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  @Deployment
+  public void historyLevelActivity() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  @Deployment
+  public void historyLevelNone() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  protected Map<String, Object> createVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put(VARIABLE1, "someValue");
+    variables.put(VARIABLE2, "someValue");
+    variables.put(VARIABLE3, "someValue");
+    variables.put(VARIABLE4, "someValue");
+    variables.put(VARIABLE5, "someValue");
+    return variables;
+  }
+
+}
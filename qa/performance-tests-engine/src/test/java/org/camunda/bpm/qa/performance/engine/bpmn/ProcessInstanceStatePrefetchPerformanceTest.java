@@ -0,0 +1,114 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.PROCESS_INSTANCE_ID;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.ProcessEngineAwareStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * <p>Deletes a wide process instance with and without prefetching its runtime state
+ * together with the execution tree. Each of the parallel branches has a task, a timer
+ * job and a local variable which are otherwise loaded with one query per execution.</p>
+ *
+ * <p>Run with the <code>sql-statementlog</code> profile to compare the number of
+ * SQL statements.</p>
+ */
+public class ProcessInstanceStatePrefetchPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final String PROCESS_KEY = "wideProcess";
+  protected static final int NUMBER_OF_BRANCHES = 20;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected String deploymentId;
+
+  @Before
+  public void deployWideProcess() {
+    processEngineConfiguration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+    deploymentId = repositoryService.createDeployment()
+        .addModelInstance("wideProcess.bpmn", createWideProcess())
+        .deploy()
+        .getId();
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setProcessInstanceStatePrefetchEnabled(false);
+    repositoryService.deleteDeployment(deploymentId, true);
+  }
+
+  @Test
+  public void deleteWithoutPrefetch() {
+    processEngineConfiguration.setProcessInstanceStatePrefetchEnabled(false);
+    startAndDeleteProcessInstance();
+  }
+
+  @Test
+  public void deleteWithPrefetch() {
+    processEngineConfiguration.setProcessInstanceStatePrefetchEnabled(true);
+    startAndDeleteProcessInstance();
+  }
+
+  protected void startAndDeleteProcessInstance() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, PROCESS_KEY))
+      .step(new DeleteProcessInstanceStep(engine))
+    .run();
+  }
+
+  protected static BpmnModelInstance createWideProcess() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess(PROCESS_KEY)
+      .startEvent()
+      .parallelGateway("fork");
+
+    for (int i = 0; i < NUMBER_OF_BRANCHES; i++) {
+      builder = builder.moveToNode("fork")
+        .userTask("task" + i)
+          .camundaInputParameter("localVariable", "value")
+        .boundaryEvent()
+          .timerWithDuration("PT1H")
+        .endEvent();
+    }
+
+    return builder.done();
+  }
+
+  protected static class DeleteProcessInstanceStep extends ProcessEngineAwareStep {
+
+    public DeleteProcessInstanceStep(ProcessEngine processEngine) {
+      super(processEngine);
+    }
+
+    @Override
+    public void execute(PerfTestRunContext context) {
+      String processInstanceId = context.getVariable(PROCESS_INSTANCE_ID);
+      runtimeService.deleteProcessInstance(processInstanceId, null);
+    }
+  }
+
+}
@@ -16,8 +16,13 @@
  */
 package org.camunda.bpm.qa.performance.engine.dmn;
 
+import java.util.List;
 import java.util.Map;
 
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableIndexBuilder;
+import org.camunda.bpm.dmn.engine.impl.evaluation.index.DecisionTableIndexTransformListener;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
@@ -46,6 +51,12 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
   private static final String TEN_RULES_TWO_INPUTS = "tenRulesTwoInputs";
   private static final String ONE_HUNDRED_RULES_TWO_INPUTS = "oneHundredRulesTwoInputs";
 
+  private static final String FIVE_THOUSAND_RULES_TWO_INPUTS = "fiveThousandRulesTwoInputs";
+
+  // a single rule of the generated decision table matches
+  private static final int CATEGORIES = 50;
+  private static final int AMOUNT_RANGES = 100;
+
   @Test
   @Deployment
   public void twoRules() {
@@ -110,12 +121,90 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
     .run();
   }
 
+  @Test
+  public void fiveThousandRulesTwoInputs() {
+    deployGeneratedDecisionTable();
+
+    performanceTest()
+      .step(evaluateGeneratedDecisionTableStep())
+    .run();
+  }
+
+  @Test
+  public void fiveThousandRulesTwoInputsIndexed() {
+    List<DmnTransformListener> transformListeners = ((ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration())
+        .getDmnEngineConfiguration()
+        .getTransformer()
+        .getTransformListeners();
+
+    DmnTransformListener indexListener = new DecisionTableIndexTransformListener(new DecisionTableIndexBuilder(1));
+    transformListeners.add(indexListener);
+    try {
+      deployGeneratedDecisionTable();
+    }
+    finally {
+      transformListeners.remove(indexListener);
+    }
+
+    performanceTest()
+      .step(evaluateGeneratedDecisionTableStep())
+    .run();
+  }
+
   private EvaluateDecisionTableStep evaluateDecisionTableStep(String decisionKey) {
     Map<String, Object> variables = createVariables();
 
     return new EvaluateDecisionTableStep(engine, decisionKey, variables);
   }
 
+  private EvaluateDecisionTableStep evaluateGeneratedDecisionTableStep() {
+    Map<String, Object> variables = Variables.createVariables()
+        .putValue("category", "category" + (CATEGORIES - 1))
+        .putValue("amount", AMOUNT_RANGES * 10 - 1);
+
+    return new EvaluateDecisionTableStep(engine, FIVE_THOUSAND_RULES_TWO_INPUTS, variables);
+  }
+
+  private void deployGeneratedDecisionTable() {
+    org.camunda.bpm.engine.repository.Deployment deployment = repositoryService.createDeployment()
+        .addString(FIVE_THOUSAND_RULES_TWO_INPUTS + ".dmn", createGeneratedDecisionTable())
+        .deploy();
+
+    processEngineRule.manageDeployment(deployment);
+  }
+
+  /**
+   * Creates a decision table with a rule for each category and range of amounts,
+   * e.g. <code>"category7"</code> and <code>[20..30[</code>.
+   */
+  private String createGeneratedDecisionTable() {
+    StringBuilder dmn = new StringBuilder()
+      .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+      .append("<definitions xmlns=\"http://www.omg.org/spec/DMN/20151101/dmn.xsd\" id=\"definitions\" name=\"camunda\" namespace=\"http://camunda.org/schema/1.0/dmn\">")
+      .append("<decision id=\"").append(FIVE_THOUSAND_RULES_TWO_INPUTS).append("\" name=\"").append(FIVE_THOUSAND_RULES_TWO_INPUTS).append("\">")
+      .append("<decisionTable id=\"decisionTable\">")
+      .append("<input id=\"category\"><inputExpression typeRef=\"string\"><text>category</text></inputExpression></input>")
+      .append("<input id=\"amount\"><inputExpression typeRef=\"integer\"><text>amount</text></inputExpression></input>")
+      .append("<output id=\"output\" name=\"result\" typeRef=\"string\" />");
+
+    for (int category = 0; category < CATEGORIES; category++) {
+      for (int range = 0; range < AMOUNT_RANGES; range++) {
+        String ruleId = "rule_" + category + "_" + range;
+        dmn.append("<rule id=\"").append(ruleId).append("\">")
+          .append("<inputEntry id=\"").append(ruleId).append("_category\"><text>\"category").append(category).append("\"</text></inputEntry>")
+          .append("<inputEntry id=\"").append(ruleId).append("_amount\"><text>[").append(range * 10).append("..").append(range * 10 + 10).append("[</text></inputEntry>")
+          .append("<outputEntry id=\"").append(ruleId).append("_output\"><text>\"").append(ruleId).append("\"</text></outputEntry>")
+          .append("</rule>");
+      }
+    }
+
+    return dmn
+      .append("</decisionTable>")
+      .append("</decision>")
+      .append("</definitions>")
+      .toString();
+  }
+
   private Map<String, Object> createVariables() {
     return Variables.createVariables()
         .putValue("input", NUMBER_OF_MATCHING_RULES);
@@ -0,0 +1,104 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.externaltask;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResult;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResults;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.FetchAndLockParkedWorkersStep;
+import org.camunda.bpm.qa.performance.engine.steps.ParkedExternalTaskWorkers;
+import org.camunda.bpm.qa.performance.engine.steps.ProcessEngineAwareStep;
+import org.junit.Test;
+
+/**
+ * <p>Compares waking up all parked long polling workers whenever an external task
+ * is created to only waking up the workers of the task's topic.</p>
+ *
+ * <p>Reports the number of fetch and lock queries issued per locked task and the
+ * number of locked tasks per second.</p>
+ */
+public class ExternalTaskWakeUpPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/qa/performance/engine/externaltask/ExternalTaskWakeUpPerformanceTest.bpmn";
+  protected static final String PROCESS_KEY = "externalTask";
+
+  protected static final int NUMBER_OF_WORKERS = 1000;
+  protected static final int NUMBER_OF_TOPICS = 50;
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void wakeUpAllWorkers() {
+    fetchAndLock(false);
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void wakeUpWorkersByTopic() {
+    fetchAndLock(true);
+  }
+
+  protected void fetchAndLock(boolean topicWakeUp) {
+    ParkedExternalTaskWorkers workers = new ParkedExternalTaskWorkers(NUMBER_OF_WORKERS, NUMBER_OF_TOPICS, topicWakeUp);
+    ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.addListener(workers);
+
+    try {
+      PerfTestResults results = performanceTest()
+        .step(new StartExternalTaskProcessStep(engine, workers.getTopics()))
+        .step(new FetchAndLockParkedWorkersStep(engine, workers))
+      .run();
+
+      long duration = 0;
+      for (PerfTestResult passResult : results.getPassResults()) {
+        duration += passResult.getDuration();
+      }
+      workers.print(duration);
+    }
+    finally {
+      ProcessEngineImpl.EXT_TASK_NOTIFICATIONS.removeListener(workers);
+    }
+  }
+
+  /**
+   * Starts a process instance whose external task has a random topic.
+   */
+  protected static class StartExternalTaskProcessStep extends ProcessEngineAwareStep {
+
+    protected List<String> topics;
+
+    public StartExternalTaskProcessStep(ProcessEngine processEngine, List<String> topics) {
+      super(processEngine);
+      this.topics = topics;
+    }
+
+    @Override
+    public void execute(PerfTestRunContext context) {
+      Map<String, Object> variables = new HashMap<String, Object>();
+      variables.put("topic", topics.get(ThreadLocalRandom.current().nextInt(topics.size())));
+      runtimeService.startProcessInstanceByKey(PROCESS_KEY, variables);
+    }
+  }
+
+}
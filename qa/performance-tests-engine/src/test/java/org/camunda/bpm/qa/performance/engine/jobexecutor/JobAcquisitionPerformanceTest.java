@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jobexecutor;
+
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResult;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResults;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.AcquireJobsStep;
+import org.camunda.bpm.qa.performance.engine.steps.JobAcquisitionStatistics;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.Test;
+
+/**
+ * <p>Compares job acquisition with optimistic locking to job acquisition with
+ * <code>SELECT ... FOR UPDATE SKIP LOCKED</code> while several nodes compete for
+ * the same jobs. Each thread acts as a separate node.</p>
+ *
+ * <p>Reports the number of acquired jobs per second and the share of selected jobs
+ * which could not be locked (conflict rate).</p>
+ */
+public class JobAcquisitionPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/qa/performance/engine/jobexecutor/JobAcquisitionPerformanceTest.bpmn";
+  protected static final String PROCESS_KEY = "asyncStart";
+
+  protected static final int JOBS_PER_ACQUISITION = 3;
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void optimisticLockingAcquisition() {
+    acquireJobs(false);
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void skipLockedAcquisition() {
+    acquireJobs(true);
+  }
+
+  protected void acquireJobs(boolean skipLocked) {
+    JobAcquisitionStatistics statistics = new JobAcquisitionStatistics();
+
+    PerfTestResults results = performanceTest()
+      .steps(JOBS_PER_ACQUISITION, new StartProcessInstanceStep(engine, PROCESS_KEY))
+      .step(new AcquireJobsStep(engine, skipLocked, JOBS_PER_ACQUISITION, statistics))
+    .run();
+
+    long duration = 0;
+    for (PerfTestResult passResult : results.getPassResults()) {
+      duration += passResult.getDuration();
+    }
+    statistics.print(duration);
+  }
+
+}
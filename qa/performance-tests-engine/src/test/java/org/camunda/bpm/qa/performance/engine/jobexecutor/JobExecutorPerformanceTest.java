@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jobexecutor;
+
+import static org.junit.Assume.assumeTrue;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.camunda.bpm.qa.performance.engine.steps.WaitStep;
+import org.junit.Test;
+
+/**
+ * <p>Compares the {@link DefaultJobExecutor} to the {@link VirtualThreadJobExecutor}
+ * for jobs which block in a delegate (see {@link org.camunda.bpm.qa.performance.engine.bpmn.delegate.RandomSleepDelegate}).</p>
+ *
+ * <p>The thread pool of the default job executor is limited to its maximum pool size,
+ * while the virtual thread job executor executes as many jobs concurrently as the
+ * engine has database connections.</p>
+ */
+public class JobExecutorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final String PROCESS_RESOURCE = "org/camunda/bpm/qa/performance/engine/jobexecutor/JobExecutorPerformanceTest.bpmn";
+  protected static final String PROCESS_KEY = "randomSleep";
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void threadPoolJobExecutor() {
+    runWithJobExecutor(new DefaultJobExecutor());
+  }
+
+  @Test
+  @Deployment(resources = PROCESS_RESOURCE)
+  public void virtualThreadJobExecutor() {
+    assumeTrue(VirtualThreadJobExecutor.isSupported());
+
+    VirtualThreadJobExecutor jobExecutor = new VirtualThreadJobExecutor();
+    jobExecutor.setMaxConcurrentJobs(getProcessEngineConfiguration().getJdbcMaxActiveConnections());
+    runWithJobExecutor(jobExecutor);
+  }
+
+  protected void runWithJobExecutor(JobExecutor jobExecutor) {
+    ProcessEngineConfigurationImpl configuration = getProcessEngineConfiguration();
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) engine;
+    JobExecutor originalJobExecutor = configuration.getJobExecutor();
+
+    jobExecutor.setMaxJobsPerAcquisition(configuration.getJdbcMaxActiveConnections());
+    jobExecutor.setRejectedJobsHandler(new NotifyAcquisitionRejectedJobsHandler());
+    configuration.setJobExecutor(jobExecutor);
+    jobExecutor.registerProcessEngine(processEngine);
+    jobExecutor.start();
+
+    try {
+      performanceTest()
+        .step(new StartProcessInstanceStep(engine, PROCESS_KEY))
+        .step(new WaitStep())
+      .run();
+    }
+    finally {
+      jobExecutor.shutdown();
+      jobExecutor.unregisterProcessEngine(processEngine);
+      configuration.setJobExecutor(originalJobExecutor);
+    }
+  }
+
+  protected ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+    return ((ProcessEngineImpl) engine).getProcessEngineConfiguration();
+  }
+
+}